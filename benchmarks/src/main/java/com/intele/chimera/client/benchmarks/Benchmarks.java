@@ -0,0 +1,34 @@
+package com.intele.chimera.client.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Runs the benchmarks with the {@link GCProfiler}, so that the allocation rate per operation is reported
+ * next to the throughput. Accepts the JMH command line options, e.g. a benchmark name pattern or {@code -rf json}.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * java -jar target/benchmarks.jar Serialization -rf json -rff serialization.json
+ * }
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public final class Benchmarks {
+
+	private Benchmarks() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Options options = new OptionsBuilder().
+				parent(new CommandLineOptions(args)).
+				addProfiler(GCProfiler.class).
+				build();
+		new Runner(options).run();
+	}
+}
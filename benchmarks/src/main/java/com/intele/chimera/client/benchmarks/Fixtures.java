@@ -0,0 +1,74 @@
+package com.intele.chimera.client.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * Requests and response documents shared by the benchmarks.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+final class Fixtures {
+
+	static final int SERVICE_ID = 1;
+
+	private Fixtures() {
+	}
+
+	static Sms[] messages(int count) {
+		Sms[] messages = new Sms[count];
+		for(int i = 0; i < count; i++) {
+			messages[i] = new Sms.Builder("+47410" + String.format("%05d", i), "Your order " + i + " has been shipped").
+					withClientReference("ref-" + i).
+					build();
+		}
+		return messages;
+	}
+
+	static Request request(int count) {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(SERVICE_ID, "username", "password").build();
+		for(Sms sms : messages(count)) {
+			gatewayRequest.addMessage(sms);
+		}
+		return gatewayRequest.getRequest();
+	}
+
+	/**
+	 * @return an XML response with a message status per message
+	 */
+	static byte[] xmlResponse(int count) {
+		StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>").
+				append("<ns2:response xmlns:ns2=\"http://chimera.intele.com/gw/xsd/SMSGateway/Response/2013/02\">").
+				append("<batchReference>batch</batchReference>");
+		for(int i = 0; i < count; i++) {
+			xml.append("<messageStatus><statusCode>1</statusCode><statusMessage>Message enqueued for sending</statusMessage>").
+					append("<clientReference>ref-").append(i).append("</clientReference>").
+					append("<recipient>+47410").append(String.format("%05d", i)).append("</recipient>").
+					append("<messageId>id-").append(i).append("</messageId>").
+					append("<sequenceIndex>").append(i + 1).append("</sequenceIndex></messageStatus>");
+		}
+		return xml.append("</ns2:response>").toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return a JSON response with a message status per message
+	 */
+	static byte[] jsonResponse(int count) {
+		StringBuilder json = new StringBuilder("{\"batchReference\":\"batch\",\"messageStatus\":[");
+		for(int i = 0; i < count; i++) {
+			if(i > 0) {
+				json.append(',');
+			}
+			json.append("{\"statusCode\":1,\"statusMessage\":\"Message enqueued for sending\",").
+					append("\"clientReference\":\"ref-").append(i).append("\",").
+					append("\"recipient\":\"+47410").append(String.format("%05d", i)).append("\",").
+					append("\"messageId\":\"id-").append(i).append("\",").
+					append("\"sequenceIndex\":").append(i + 1).append('}');
+		}
+		return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,53 @@
+package com.intele.chimera.client.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * Adding prebuilt messages to a request, at several batch sizes.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GatewayRequestBenchmark {
+
+	@Param({"1", "100", "1000"})
+	public int batchSize;
+
+	private Sms[] messages;
+
+	@Setup
+	public void setUp() {
+		messages = Fixtures.messages(batchSize);
+	}
+
+	@Benchmark
+	public Request addMessages() {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(Fixtures.SERVICE_ID, "username", "password").build();
+		for(Sms sms : messages) {
+			gatewayRequest.addMessage(sms);
+		}
+		return gatewayRequest.getRequest();
+	}
+}
@@ -0,0 +1,76 @@
+package com.intele.chimera.client.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.intele.chimera.client.GatewayClient;
+import com.intele.chimera.client.GatewayClientBuilder;
+import com.intele.chimera.client.impl.HttpUrlConnectionTransport;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+import com.intele.chimera.stub.StubGateway;
+
+/**
+ * <p>Sending a request with {@link GatewayClient#send(Request)} to a {@link StubGateway} in the same process, over the
+ * loopback interface, with the JAX-RS and the {@link HttpUrlConnectionTransport}.
+ * <p>The stub answers without latency with a message status per message, so the benchmark covers writing the request,
+ * the HTTP exchange and reading the response.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SendBenchmark {
+
+	@Param({"jaxrs", "httpurlconnection"})
+	public String transport;
+
+	@Param({"1", "100"})
+	public int batchSize;
+
+	private StubGateway stub;
+	private GatewayClient gatewayClient;
+	private Request request;
+
+	@Setup
+	public void setUp() throws IOException {
+		stub = new StubGateway.Builder().build();
+		GatewayClientBuilder builder = new GatewayClientBuilder().
+				withTargetServer(stub.getTarget()).
+				withEagerJaxbInitialization(true);
+		if("httpurlconnection".equals(transport)) {
+			builder.withTransport(new HttpUrlConnectionTransport.Factory());
+		}
+		gatewayClient = builder.build();
+		request = Fixtures.request(batchSize);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		gatewayClient.close();
+		stub.close();
+	}
+
+	@Benchmark
+	public Response send() {
+		return gatewayClient.send(request);
+	}
+}
@@ -0,0 +1,117 @@
+package com.intele.chimera.client.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.intele.chimera.client.impl.JaxbContexts;
+import com.intele.chimera.client.impl.JaxbProvider;
+import com.intele.chimera.client.impl.RequestJsonWriter;
+import com.intele.chimera.client.impl.RequestXmlWriter;
+import com.intele.chimera.client.impl.ResponseJsonReader;
+import com.intele.chimera.client.impl.StreamingResponseReader;
+import com.intele.chimera.client.response.StreamingResponse;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+/**
+ * <p>Writing a request as XML, as JSON and with JAXB, and reading a response from XML with JAXB, streamed, and from JSON.
+ * <p>Entities are written to and read from memory, so the benchmarks measure the entity providers only.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+	private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+	@Param({"1", "100", "1000"})
+	public int batchSize;
+
+	private final RequestXmlWriter xmlWriter = new RequestXmlWriter();
+	private final RequestJsonWriter jsonWriter = new RequestJsonWriter();
+	private final JaxbProvider jaxbProvider = new JaxbProvider();
+	private final StreamingResponseReader streamingReader = new StreamingResponseReader();
+	private final ResponseJsonReader jsonReader = new ResponseJsonReader();
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+	private Request request;
+	private byte[] xmlResponse;
+	private byte[] jsonResponse;
+
+	@Setup
+	public void setUp() {
+		JaxbContexts.initialize();
+		request = Fixtures.request(batchSize);
+		xmlResponse = Fixtures.xmlResponse(batchSize);
+		jsonResponse = Fixtures.jsonResponse(batchSize);
+	}
+
+	@Benchmark
+	public int writeXml() throws IOException {
+		out.reset();
+		xmlWriter.write(request, out);
+		return out.size();
+	}
+
+	@Benchmark
+	public int writeJson() throws IOException {
+		out.reset();
+		jsonWriter.write(request, out);
+		return out.size();
+	}
+
+	@Benchmark
+	public int writeJaxb() throws IOException {
+		out.reset();
+		jaxbProvider.writeTo(request, Request.class, Request.class, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE,
+				new MultivaluedHashMap<String, Object>(), out);
+		return out.size();
+	}
+
+	@Benchmark
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public Object readJaxb() throws IOException {
+		return jaxbProvider.readFrom((Class) Response.class, Response.class, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE,
+				new MultivaluedHashMap<String, String>(), new ByteArrayInputStream(xmlResponse));
+	}
+
+	@Benchmark
+	public int readStreaming() throws IOException {
+		int statuses = 0;
+		try(StreamingResponse response = streamingReader.readFrom(StreamingResponse.class, StreamingResponse.class, NO_ANNOTATIONS,
+				MediaType.APPLICATION_XML_TYPE, new MultivaluedHashMap<String, String>(), new ByteArrayInputStream(xmlResponse))) {
+			while(response.next()) {
+				statuses += response.getStatusCode();
+			}
+		}
+		return statuses;
+	}
+
+	@Benchmark
+	public Response readJson() throws IOException {
+		return jsonReader.read(new ByteArrayInputStream(jsonResponse));
+	}
+}
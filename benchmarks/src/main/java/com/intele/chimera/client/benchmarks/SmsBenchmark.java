@@ -0,0 +1,57 @@
+package com.intele.chimera.client.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.intele.chimera.client.request.GasSettings;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.OriginatorTypeEnum;
+
+/**
+ * Building a message, with and without settings.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SmsBenchmark {
+
+	private GasSettings gasSettings;
+
+	@Setup
+	public void setUp() {
+		gasSettings = new GasSettings.Builder("02001").withDescription("Donation").build();
+	}
+
+	@Benchmark
+	public Sms build() {
+		return new Sms.Builder("+4741000000", "Your code is 123456").build();
+	}
+
+	@Benchmark
+	public Sms buildWithSettings() {
+		return new Sms.Builder("+4741000000", "Your code is 123456").
+				withClientReference("ref-1").
+				withPriority(1).
+				withValidity(3600).
+				withDifferentiator("otp").
+				withOriginatorSettings(OriginatorTypeEnum.ALPHANUMERIC, "Intelecom").
+				withGasSettings(gasSettings).
+				build();
+	}
+}
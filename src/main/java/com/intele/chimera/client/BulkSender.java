@@ -0,0 +1,318 @@
+package com.intele.chimera.client;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.InvocationCallback;
+
+import com.intele.chimera.client.SmsBatcher.BatchReferencePolicy;
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+/**
+ * <p>Sends any number of {@link Sms} messages in bounded memory: the messages are pulled from an {@link Iterator} as
+ * they are needed, cut into requests of at most the chunk size, and at most the given number of requests are in flight
+ * at a time. The result of each message is returned by the {@link Results} iterator as its request completes.
+ * <p>Pulling the results drives the sending. A new request is sent whenever one completes, so memory is bounded by the
+ * messages of the requests in flight and of the request whose results are being read, whatever the number of
+ * messages, and throughput grows with the concurrency until the gateway or the connection pool is the limit.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * BulkSender bulkSender = new BulkSender.Builder(gatewayClient).
+ * 	withChunkSize(500).
+ * 	withConcurrency(8).
+ * 	build();
+ * try(BulkSender.Results results = bulkSender.sendAll(100, "username", "password", messages)) {
+ * 	while(results.hasNext()) {
+ * 		BulkSender.Result result = results.next();
+ * 		if(result.getFailure() != null) {
+ * 			...
+ * 		}
+ * 	}
+ * }
+ * }
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see GatewayClient#sendAll(int, String, String, Iterator)
+ * @see SmsBatcher
+ */
+public class BulkSender {
+
+	public static final int DEFAULT_CHUNK_SIZE = SmsBatcher.DEFAULT_MAX_BATCH_SIZE;
+	public static final int DEFAULT_CONCURRENCY = 4;
+
+	public static class Builder {
+		private final GatewayClient gatewayClient;
+		private int chunkSize = DEFAULT_CHUNK_SIZE;
+		private int concurrency = DEFAULT_CONCURRENCY;
+		private BatchReferencePolicy batchReferencePolicy = SmsBatcher.NO_BATCH_REFERENCE;
+
+		/**
+		 * @param gatewayClient the client used to send the requests
+		 */
+		public Builder(GatewayClient gatewayClient) {
+			if(gatewayClient == null) {
+				throw new IllegalArgumentException("Gateway client cannot be null.");
+			}
+			this.gatewayClient = gatewayClient;
+		}
+		/**
+		 * @param chunkSize the maximum number of messages in one request. Default {@value BulkSender#DEFAULT_CHUNK_SIZE}
+		 * @return the updated builder
+		 */
+		public Builder withChunkSize(int chunkSize) {
+			if(chunkSize < 1) {
+				throw new IllegalArgumentException("Chunk size must be at least 1.");
+			}
+			this.chunkSize = chunkSize;
+			return this;
+		}
+		/**
+		 * @param concurrency the maximum number of requests in flight. Default {@value BulkSender#DEFAULT_CONCURRENCY}
+		 * @return the updated builder
+		 */
+		public Builder withConcurrency(int concurrency) {
+			if(concurrency < 1) {
+				throw new IllegalArgumentException("Concurrency must be at least 1.");
+			}
+			this.concurrency = concurrency;
+			return this;
+		}
+		/**
+		 * @param batchReferencePolicy decides the batch reference of each request
+		 * @return the updated builder
+		 */
+		public Builder withBatchReferencePolicy(BatchReferencePolicy batchReferencePolicy) {
+			if(batchReferencePolicy == null) {
+				throw new IllegalArgumentException("Batch reference policy cannot be null.");
+			}
+			this.batchReferencePolicy = batchReferencePolicy;
+			return this;
+		}
+		/**
+		 * @return the newly created sender
+		 */
+		public BulkSender build() {
+			return new BulkSender(this);
+		}
+	}
+
+	/**
+	 * The outcome of sending one message: its status, or the failure of its request.
+	 */
+	public static final class Result {
+		private final Message message;
+		private final MessageStatus messageStatus;
+		private final Throwable failure;
+
+		private Result(Message message, MessageStatus messageStatus, Throwable failure) {
+			this.message = message;
+			this.messageStatus = messageStatus;
+			this.failure = failure;
+		}
+
+		/**
+		 * @return the message sent
+		 */
+		public Message getMessage() {
+			return message;
+		}
+
+		/**
+		 * @return the status of the message, or {@code null} if it failed
+		 */
+		public MessageStatus getMessageStatus() {
+			return messageStatus;
+		}
+
+		/**
+		 * @return why the message could not be sent, or {@code null} if it was
+		 */
+		public Throwable getFailure() {
+			return failure;
+		}
+	}
+
+	private final GatewayClient gatewayClient;
+	private final int chunkSize;
+	private final int concurrency;
+	private final BatchReferencePolicy batchReferencePolicy;
+	private final AtomicLong batchNumber = new AtomicLong();
+
+	private BulkSender(Builder builder) {
+		this.gatewayClient = builder.gatewayClient;
+		this.chunkSize = builder.chunkSize;
+		this.concurrency = builder.concurrency;
+		this.batchReferencePolicy = builder.batchReferencePolicy;
+	}
+
+	/**
+	 * <p>Send the messages of an iterator. Nothing is sent before the results are read.
+	 *
+	 * @param serviceId
+	 * @param username
+	 * @param password
+	 * @param messages the messages to send, pulled as they are needed
+	 * @return the results of the messages, in order of completion of their requests
+	 */
+	public Results sendAll(int serviceId, String username, String password, Iterator<Sms> messages) {
+		return new Results(serviceId, username, password, messages);
+	}
+
+	/**
+	 * <p>The results of the messages being sent, in order of completion of their requests, and in the order of the
+	 * messages within a request. A failed request yields a failed result for each of its messages.
+	 * <p>Not thread-safe: read the results from one thread. {@link #close()} stops sending and cancels the requests in
+	 * flight.
+	 */
+	public final class Results implements Iterator<Result>, AutoCloseable {
+		private final int serviceId;
+		private final String username;
+		private final String password;
+		private final Iterator<Sms> messages;
+		private final BlockingQueue<Chunk> completed = new LinkedBlockingQueue<>();
+		private final List<Chunk> inFlight = new ArrayList<>();
+		private Chunk current;
+		private int position;
+		private boolean closed;
+
+		private Results(int serviceId, String username, String password, Iterator<Sms> messages) {
+			this.serviceId = serviceId;
+			this.username = username;
+			this.password = password;
+			this.messages = messages;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if(current != null && position < current.messages.size()) {
+				return true;
+			}
+			current = null;
+			if(closed) {
+				return false;
+			}
+			this.fill();
+			if(inFlight.isEmpty()) {
+				return false;
+			}
+			try {
+				current = completed.take();
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ProcessingException(e);
+			}
+			inFlight.remove(current);
+			position = 0;
+			this.fill();
+			return true;
+		}
+
+		@Override
+		public Result next() {
+			if(!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			int index = position++;
+			Message message = current.messages.get(index);
+			if(current.failure != null) {
+				return new Result(message, null, current.failure);
+			}
+			MessageStatus messageStatus = current.statuses[index];
+			if(messageStatus == null) {
+				return new Result(message, null, new IllegalStateException("No message status returned for sequence index " +
+						(index + SmsBatcher.FIRST_SEQUENCE_INDEX) + "."));
+			}
+			return new Result(message, messageStatus, null);
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * Stops sending and cancels the requests in flight. Their messages are not reported.
+		 */
+		@Override
+		public void close() {
+			closed = true;
+			current = null;
+			for(Chunk chunk : inFlight) {
+				if(chunk.future != null) {
+					chunk.future.cancel(true);
+				}
+			}
+			inFlight.clear();
+			completed.clear();
+		}
+
+		/**
+		 * Sends requests until the concurrency is reached or the messages run out.
+		 */
+		private void fill() {
+			while(inFlight.size() < concurrency && messages.hasNext()) {
+				GatewayRequest gatewayRequest = new GatewayRequest.Builder(serviceId, username, password).
+						withBatchReference(batchReferencePolicy.batchReference(serviceId, batchNumber.incrementAndGet())).
+						build();
+				for(int i = 0; i < chunkSize && messages.hasNext(); i++) {
+					gatewayRequest.addMessage(messages.next());
+				}
+				Chunk chunk = new Chunk(gatewayRequest.getRequest().getMessage());
+				inFlight.add(chunk);
+				try {
+					chunk.future = gatewayClient.sendAsync(gatewayRequest.getRequest(), chunk);
+				} catch(RuntimeException e) {
+					chunk.failed(e);
+				}
+			}
+		}
+
+		/**
+		 * The messages of one request, and their statuses once the response has arrived.
+		 */
+		private final class Chunk implements InvocationCallback<Response> {
+			private final List<Message> messages;
+			private volatile Future<Response> future;
+			private MessageStatus[] statuses;
+			private Throwable failure;
+
+			private Chunk(List<Message> messages) {
+				this.messages = messages;
+			}
+
+			@Override
+			public void completed(Response response) {
+				MessageStatus[] statuses = new MessageStatus[messages.size()];
+				for(MessageStatus messageStatus : response.getMessageStatus()) {
+					int index = messageStatus.getSequenceIndex() - SmsBatcher.FIRST_SEQUENCE_INDEX;
+					if(index >= 0 && index < statuses.length) {
+						statuses[index] = messageStatus;
+					}
+				}
+				this.statuses = statuses;
+				// the queue publishes the statuses to the reading thread
+				completed.add(this);
+			}
+
+			@Override
+			public void failed(Throwable throwable) {
+				this.failure = throwable;
+				completed.add(this);
+			}
+		}
+	}
+}
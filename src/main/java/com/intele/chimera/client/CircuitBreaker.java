@@ -0,0 +1,366 @@
+package com.intele.chimera.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Circuit breaker that stops sending to a degraded gateway, so that sends fail at once instead of waiting for
+ * the socket timeout.
+ * <p>The breaker records the outcome of the last calls in a sliding window. A call fails when the gateway could not
+ * be reached or answered with a server error, and is slow when it takes longer than the slow call duration.
+ * Once the window holds the minimum number of calls and the failure rate or the slow call rate reaches its threshold,
+ * the breaker opens: sends fail with a {@link CircuitBreakerOpenException} without being sent. After the open duration
+ * the breaker is half-open and lets a limited number of probe calls through. It closes when the probes are below the
+ * thresholds, and opens again otherwise.
+ * <p>Each permission is tagged with the generation of the breaker, which changes whenever it opens or turns half-open.
+ * The outcome of a call permitted in an earlier generation is dropped, so calls sent before the breaker opened cannot
+ * count as probes, or as calls of the window after it closes again.
+ * <p>State transitions are reported to the {@link Listener listeners}, on the thread that recorded the call.
+ * Exceptions thrown by a listener are ignored, so that a failing listener does not fail the send.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * CircuitBreaker circuitBreaker = new CircuitBreaker.Builder().
+ * 	withFailureRateThreshold(50).
+ * 	withSlowCallThreshold(80, 5, TimeUnit.SECONDS).
+ * 	withListener(listener).
+ * 	build();
+ * GatewayClient gatewayClient = new GatewayClientBuilder().
+ * 	withCircuitBreaker(circuitBreaker).
+ * 	build();
+ * }
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see GatewayClientBuilder#withCircuitBreaker(CircuitBreaker)
+ */
+public class CircuitBreaker {
+
+	public static final float DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+	public static final float DEFAULT_SLOW_CALL_RATE_THRESHOLD = 100;
+	public static final long DEFAULT_SLOW_CALL_DURATION_MILLIS = 60000;
+	public static final int DEFAULT_WINDOW_SIZE = 100;
+	public static final int DEFAULT_MINIMUM_CALLS = 20;
+	public static final long DEFAULT_OPEN_DURATION_MILLIS = 30000;
+	public static final int DEFAULT_HALF_OPEN_CALLS = 3;
+	/** The permission returned when a call may not be sent */
+	public static final long NOT_PERMITTED = -1;
+
+	public enum State {
+		/** Calls are sent and recorded. */
+		CLOSED,
+		/** Calls fail without being sent. */
+		OPEN,
+		/** A limited number of probe calls are sent to decide whether to close or open again. */
+		HALF_OPEN
+	}
+
+	/**
+	 * Receives the state transitions of a circuit breaker.
+	 */
+	public interface Listener {
+		/**
+		 * @param circuitBreaker the circuit breaker
+		 * @param from the previous state
+		 * @param to the new state
+		 */
+		void onStateTransition(CircuitBreaker circuitBreaker, State from, State to);
+	}
+
+	public static class Builder {
+		private float failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+		private float slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+		private long slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_CALL_DURATION_MILLIS);
+		private int windowSize = DEFAULT_WINDOW_SIZE;
+		private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+		private long openDurationNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_OPEN_DURATION_MILLIS);
+		private int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+		private final List<Listener> listeners = new ArrayList<>();
+
+		/**
+		 * @param percentage the failure rate at which the breaker opens. Default {@value CircuitBreaker#DEFAULT_FAILURE_RATE_THRESHOLD}
+		 * @return the updated builder
+		 */
+		public Builder withFailureRateThreshold(float percentage) {
+			this.failureRateThreshold = checkPercentage(percentage);
+			return this;
+		}
+		/**
+		 * @param percentage the slow call rate at which the breaker opens. Default {@value CircuitBreaker#DEFAULT_SLOW_CALL_RATE_THRESHOLD}
+		 * @param duration the duration from which a call is slow. Default {@value CircuitBreaker#DEFAULT_SLOW_CALL_DURATION_MILLIS} ms
+		 * @param unit the time unit of the duration
+		 * @return the updated builder
+		 */
+		public Builder withSlowCallThreshold(float percentage, long duration, TimeUnit unit) {
+			if(duration <= 0) {
+				throw new IllegalArgumentException("Slow call duration must be positive.");
+			}
+			this.slowCallRateThreshold = checkPercentage(percentage);
+			this.slowCallDurationNanos = unit.toNanos(duration);
+			return this;
+		}
+		/**
+		 * @param windowSize the number of most recent calls recorded. Default {@value CircuitBreaker#DEFAULT_WINDOW_SIZE}
+		 * @param minimumCalls the number of calls recorded before the rates are evaluated. Default {@value CircuitBreaker#DEFAULT_MINIMUM_CALLS}
+		 * @return the updated builder
+		 */
+		public Builder withSlidingWindow(int windowSize, int minimumCalls) {
+			if(windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+				throw new IllegalArgumentException("Window size and minimum calls must be at least 1, and minimum calls cannot exceed the window size.");
+			}
+			this.windowSize = windowSize;
+			this.minimumCalls = minimumCalls;
+			return this;
+		}
+		/**
+		 * @param duration the time the breaker stays open before probing. Default {@value CircuitBreaker#DEFAULT_OPEN_DURATION_MILLIS} ms
+		 * @param unit the time unit of the duration
+		 * @return the updated builder
+		 */
+		public Builder withOpenDuration(long duration, TimeUnit unit) {
+			if(duration < 0) {
+				throw new IllegalArgumentException("Open duration cannot be negative.");
+			}
+			this.openDurationNanos = unit.toNanos(duration);
+			return this;
+		}
+		/**
+		 * @param halfOpenCalls the number of probe calls let through when half-open. Default {@value CircuitBreaker#DEFAULT_HALF_OPEN_CALLS}
+		 * @return the updated builder
+		 */
+		public Builder withHalfOpenCalls(int halfOpenCalls) {
+			if(halfOpenCalls < 1) {
+				throw new IllegalArgumentException("Half-open calls must be at least 1.");
+			}
+			this.halfOpenCalls = halfOpenCalls;
+			return this;
+		}
+		/**
+		 * @param listener a listener for state transitions
+		 * @return the updated builder
+		 */
+		public Builder withListener(Listener listener) {
+			if(listener == null) {
+				throw new IllegalArgumentException("Listener cannot be null.");
+			}
+			this.listeners.add(listener);
+			return this;
+		}
+		/**
+		 * @return the newly created circuit breaker
+		 */
+		public CircuitBreaker build() {
+			return new CircuitBreaker(this);
+		}
+
+		private static float checkPercentage(float percentage) {
+			if(!(percentage > 0 && percentage <= 100)) {
+				throw new IllegalArgumentException("Threshold must be a percentage above 0 and at most 100.");
+			}
+			return percentage;
+		}
+	}
+
+	private static final byte SUCCESS = 0;
+	private static final byte FAILURE = 1;
+	private static final byte SLOW = 2;
+
+	private final float failureRateThreshold;
+	private final float slowCallRateThreshold;
+	private final long slowCallDurationNanos;
+	private final int minimumCalls;
+	private final long openDurationNanos;
+	private final int halfOpenCalls;
+	private final List<Listener> listeners;
+
+	/**
+	 * Outcomes of the recorded calls as bit sets of {@link #FAILURE} and {@link #SLOW}, a ring guarded by this.
+	 */
+	private final byte[] window;
+	private int next;
+	private int calls;
+	private int failures;
+	private int slowCalls;
+	private State state = State.CLOSED;
+	/** Incremented when the breaker opens or turns half-open */
+	private long generation;
+	private long openedAt;
+	private int probesPermitted;
+	private int probesRecorded;
+	private int probeFailures;
+	private int probeSlowCalls;
+
+	private CircuitBreaker(Builder builder) {
+		this.failureRateThreshold = builder.failureRateThreshold;
+		this.slowCallRateThreshold = builder.slowCallRateThreshold;
+		this.slowCallDurationNanos = builder.slowCallDurationNanos;
+		this.minimumCalls = builder.minimumCalls;
+		this.openDurationNanos = builder.openDurationNanos;
+		this.halfOpenCalls = builder.halfOpenCalls;
+		this.listeners = new CopyOnWriteArrayList<>(builder.listeners);
+		this.window = new byte[builder.windowSize];
+	}
+
+	/**
+	 * <p>Asks permission for a call. A permitted call must be reported with {@link #onSuccess(long, long, TimeUnit)},
+	 * {@link #onFailure(long, long, TimeUnit)} or {@link #onIgnored(long)}, passing back the permission.
+	 * @return the permission of the call, or {@link #NOT_PERMITTED} if it may not be sent
+	 */
+	public long acquirePermission() {
+		State from;
+		long permission;
+		synchronized(this) {
+			from = state;
+			if(state == State.CLOSED) {
+				return generation;
+			}
+			if(state == State.OPEN) {
+				if(System.nanoTime() - openedAt < openDurationNanos) {
+					return NOT_PERMITTED;
+				}
+				this.toHalfOpen();
+			}
+			if(probesPermitted >= halfOpenCalls) {
+				return NOT_PERMITTED;
+			}
+			probesPermitted++;
+			permission = generation;
+		}
+		this.notifyTransition(from, State.HALF_OPEN);
+		return permission;
+	}
+
+	/**
+	 * @param permission the permission of the call
+	 * @param duration the duration of the call
+	 * @param unit the time unit of the duration
+	 */
+	public void onSuccess(long permission, long duration, TimeUnit unit) {
+		this.record(permission, this.isSlow(duration, unit) ? SLOW : SUCCESS);
+	}
+
+	/**
+	 * @param permission the permission of the call
+	 * @param duration the duration of the call
+	 * @param unit the time unit of the duration
+	 */
+	public void onFailure(long permission, long duration, TimeUnit unit) {
+		this.record(permission, (byte) (FAILURE | (this.isSlow(duration, unit) ? SLOW : SUCCESS)));
+	}
+
+	/**
+	 * Reports a permitted call whose outcome says nothing about the gateway, e.g. one that was cancelled.
+	 * @param permission the permission of the call
+	 */
+	public void onIgnored(long permission) {
+		synchronized(this) {
+			if(permission == generation && state == State.HALF_OPEN && probesPermitted > probesRecorded) {
+				probesPermitted--;
+			}
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * @return the percentage of failed calls in the window, or -1 if fewer than the minimum calls have been recorded
+	 */
+	public synchronized float getFailureRate() {
+		return calls < minimumCalls ? -1 : failures * 100f / calls;
+	}
+
+	/**
+	 * @return the percentage of slow calls in the window, or -1 if fewer than the minimum calls have been recorded
+	 */
+	public synchronized float getSlowCallRate() {
+		return calls < minimumCalls ? -1 : slowCalls * 100f / calls;
+	}
+
+	private boolean isSlow(long duration, TimeUnit unit) {
+		return unit.toNanos(duration) >= slowCallDurationNanos;
+	}
+
+	private void record(long permission, byte outcome) {
+		State from;
+		State to;
+		synchronized(this) {
+			from = state;
+			if(permission != generation) {
+				// permitted before the breaker last opened or turned half-open
+				return;
+			}
+			if(state == State.CLOSED) {
+				if(calls == window.length) {
+					byte evicted = window[next];
+					failures -= evicted & FAILURE;
+					slowCalls -= (evicted & SLOW) >> 1;
+				} else {
+					calls++;
+				}
+				window[next] = outcome;
+				next = (next + 1) % window.length;
+				failures += outcome & FAILURE;
+				slowCalls += (outcome & SLOW) >> 1;
+				if(calls >= minimumCalls && this.exceeds(failures, slowCalls, calls)) {
+					this.toOpen();
+				}
+			} else if(state == State.HALF_OPEN) {
+				probesRecorded++;
+				probeFailures += outcome & FAILURE;
+				probeSlowCalls += (outcome & SLOW) >> 1;
+				if(this.exceeds(probeFailures, probeSlowCalls, halfOpenCalls)) {
+					this.toOpen();
+				} else if(probesRecorded >= halfOpenCalls) {
+					this.toClosed();
+				}
+			}
+			to = state;
+		}
+		if(from != to) {
+			this.notifyTransition(from, to);
+		}
+	}
+
+	private boolean exceeds(int failures, int slowCalls, int calls) {
+		return failures * 100f / calls >= failureRateThreshold || slowCalls * 100f / calls >= slowCallRateThreshold;
+	}
+
+	private void toOpen() {
+		state = State.OPEN;
+		generation++;
+		openedAt = System.nanoTime();
+	}
+
+	private void toHalfOpen() {
+		state = State.HALF_OPEN;
+		generation++;
+		probesPermitted = 0;
+		probesRecorded = 0;
+		probeFailures = 0;
+		probeSlowCalls = 0;
+	}
+
+	private void toClosed() {
+		state = State.CLOSED;
+		next = 0;
+		calls = 0;
+		failures = 0;
+		slowCalls = 0;
+	}
+
+	private void notifyTransition(State from, State to) {
+		if(from == to) {
+			return;
+		}
+		for(Listener listener : listeners) {
+			try {
+				listener.onStateTransition(this, from, to);
+			} catch(RuntimeException ignored) { }
+		}
+	}
+}
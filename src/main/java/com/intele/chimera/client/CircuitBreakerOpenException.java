@@ -0,0 +1,29 @@
+package com.intele.chimera.client;
+
+import javax.ws.rs.ProcessingException;
+
+/**
+ * <p>Thrown when a request is not sent because the {@link CircuitBreaker} is open, or half-open with all probe calls
+ * in flight. Nothing has been sent to the gateway.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class CircuitBreakerOpenException extends ProcessingException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final CircuitBreaker.State state;
+
+	/**
+	 * @param state the state of the circuit breaker when the request was rejected
+	 */
+	public CircuitBreakerOpenException(CircuitBreaker.State state) {
+		super("Circuit breaker is " + state + ", request not sent.");
+		this.state = state;
+	}
+
+	public CircuitBreaker.State getState() {
+		return state;
+	}
+}
@@ -1,8 +1,15 @@
 package com.intele.chimera.client;
 
+import java.util.Iterator;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import javax.ws.rs.client.Client;
+import javax.ws.rs.client.InvocationCallback;
 
 import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.client.response.StreamingResponse;
 import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
 import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
 
@@ -15,7 +22,7 @@ import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
  * implement {@link AutoCloseable#close()} to close the {@link Client}.
  * 
  * @author  gre
- * @version 1.0		Aug 6, 2015
+ * @version 1.1		Oct 18, 2026
  */
 public interface GatewayClient extends AutoCloseable {
 
@@ -35,4 +42,73 @@ public interface GatewayClient extends AutoCloseable {
 	 * @return the gateway response
 	 */
 	public Response send(Request request);
+
+	/**
+	 * <p>Send a request with one or more SMS messages without blocking the calling thread.
+	 * <p>Use the {@link GatewayRequest} builder class to create the request.
+	 *
+	 * @param gatewayRequest
+	 * @return a future holding the gateway response
+	 * @see #sendAsync(Request)
+	 */
+	public Future<Response> sendAsync(GatewayRequest gatewayRequest);
+
+	/**
+	 * <p>Send a request with one or more SMS messages without blocking the calling thread.
+	 * <p>The returned future can be {@link Future#cancel(boolean) cancelled} to abort the request.
+	 * Any failure is rethrown wrapped in an {@link java.util.concurrent.ExecutionException} from {@link Future#get()}.
+	 *
+	 * @param request
+	 * @return a future holding the gateway response
+	 */
+	public Future<Response> sendAsync(Request request);
+
+	/**
+	 * <p>Send a request with one or more SMS messages without blocking the calling thread.
+	 * <p>The callback is notified from a thread managed by the JAX-RS implementation once
+	 * the response has been received or the request failed.
+	 *
+	 * @param request
+	 * @param callback notified on completion; may be {@code null}
+	 * @return a future holding the gateway response
+	 */
+	public Future<Response> sendAsync(Request request, InvocationCallback<Response> callback);
+
+	/**
+	 * <p>Send a request with one or more SMS messages without blocking the calling thread,
+	 * waiting at most the given time for the gateway to respond.
+	 * <p>The timeout is passed on to the JAX-RS implementation as a read timeout for this call only.
+	 * A timed out request is reported as a failure to the callback and the future.
+	 *
+	 * @param request
+	 * @param timeout the maximum time to wait for the response; 0 means the client default
+	 * @param unit the time unit of the timeout
+	 * @param callback notified on completion; may be {@code null}
+	 * @return a future holding the gateway response
+	 */
+	public Future<Response> sendAsync(Request request, long timeout, TimeUnit unit, InvocationCallback<Response> callback);
+
+	/**
+	 * <p>Send a request and read the message statuses of the response one at a time as they arrive,
+	 * instead of unmarshalling the whole response first. Intended for large batches.
+	 * <p>Only supported for the XML media type. The returned response must be closed.
+	 *
+	 * @param request
+	 * @return the gateway response, positioned before the first message status
+	 */
+	public StreamingResponse sendStreaming(Request request);
+
+	/**
+	 * <p>Send any number of messages in bounded memory, in requests of {@value BulkSender#DEFAULT_CHUNK_SIZE} messages
+	 * with {@value BulkSender#DEFAULT_CONCURRENCY} requests in flight. The messages are pulled as they are needed,
+	 * and nothing is sent before the results are read.
+	 * <p>Use the {@link BulkSender} builder for other chunk sizes and concurrency.
+	 *
+	 * @param serviceId
+	 * @param username
+	 * @param password
+	 * @param messages the messages to send
+	 * @return the results of the messages as their requests complete; close it to stop sending
+	 */
+	public BulkSender.Results sendAll(int serviceId, String username, String password, Iterator<Sms> messages);
 }
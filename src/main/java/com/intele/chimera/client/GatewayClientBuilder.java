@@ -1,11 +1,26 @@
 package com.intele.chimera.client;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.MediaType;
 
+import com.intele.chimera.client.impl.CircuitBreakingTransport;
 import com.intele.chimera.client.impl.GatewayClientImpl;
+import com.intele.chimera.client.impl.GatewayListeners;
+import com.intele.chimera.client.impl.GatewayTransport;
+import com.intele.chimera.client.impl.HttpUrlConnectionTransport;
+import com.intele.chimera.client.impl.JaxbContexts;
+import com.intele.chimera.client.impl.JaxRsTransport;
+import com.intele.chimera.client.impl.ListeningTransport;
+import com.intele.chimera.client.impl.LoadBalancingTransport;
+import com.intele.chimera.client.impl.OutboxTransport;
+import com.intele.chimera.client.impl.RateLimitingTransport;
+import com.intele.chimera.client.impl.RetryingTransport;
 
 /**
  * <p>Builder to create a {@link GatewayClient} that holds a reference to a {@link Client} object that it uses to send requests to the Intelecom SMS Gateway.
@@ -13,9 +28,11 @@ import com.intele.chimera.client.impl.GatewayClientImpl;
  * <p>The builder uses the default JAX-RS builder implementation - {@link ClientBuilder#newClient()}. It is also possible to either add a {@link Configuration} or specify the {@link Client}
  * yourself.
  * <p>The creation of a new {@link Client} is a relatively expensive operation and so the {@link GatewayClient} should be reused if possible. 
+ * <p>Instead of a JAX-RS {@link Client}, another {@link GatewayTransport} can be selected with {@link #withTransport(GatewayTransport.Factory)},
+ * e.g. the {@link HttpUrlConnectionTransport} on the JDK HTTP client.
  *
  * @author gre
- * @version 1.0		Aug 5, 2015
+ * @version 1.1		Oct 18, 2026
  *
  */
 public class GatewayClientBuilder {
@@ -26,8 +43,20 @@ public class GatewayClientBuilder {
 
 	private Client client;
 	private String target;
+	private List<String> targets;
+	private int ejectionFailures = LoadBalancingTransport.DEFAULT_EJECTION_FAILURES;
+	private long ejectionDurationNanos = TimeUnit.MILLISECONDS.toNanos(LoadBalancingTransport.DEFAULT_EJECTION_DURATION_MILLIS);
 	private MediaType mediaType;
 	private Configuration configuration;
+	private GatewayTransport.Factory transportFactory;
+	private boolean eagerJaxbInitialization;
+	private int compressionThreshold = JaxRsTransport.NO_COMPRESSION;
+	private RateLimiter rateLimiter;
+	private long rateLimitMaxWaitNanos;
+	private RetryPolicy retryPolicy;
+	private CircuitBreaker circuitBreaker;
+	private Outbox outbox;
+	private final List<GatewayListener> listeners = new ArrayList<>();
 
 	/**
 	 * <p>Specify the {@link Client} to be used.
@@ -39,6 +68,9 @@ public class GatewayClientBuilder {
 		if(configuration != null) {
 			throw new IllegalArgumentException("Client cannot be set when a configuration has been provided. Instead set the configuration directly on the provided client.");
 		}
+		if(transportFactory != null) {
+			throw new IllegalArgumentException("Client cannot be set when a transport has been provided.");
+		}
 		this.client = client;
 		return this;
 	}
@@ -50,6 +82,55 @@ public class GatewayClientBuilder {
 	 * @return the updated builder
 	 */
 	public GatewayClientBuilder withTargetServer(String targetServer) {
+		this.target = targetOf(targetServer);
+		this.targets = null;
+		return this;
+	}
+
+	/**
+	 * <p>Send to several target servers, e.g. the primary and secondary gateway sites.
+	 * <p>Each request goes to the server with the fewest outstanding requests. Servers that keep failing are
+	 * ejected for a while, and requests that could not reach a server fail over to the next one.
+	 * 
+	 * @param targetServers
+	 * @return the updated builder
+	 * @see #withEndpointEjection(int, long, TimeUnit)
+	 */
+	public GatewayClientBuilder withTargetServers(String... targetServers) {
+		if(targetServers == null || targetServers.length == 0) {
+			throw new IllegalArgumentException("Target servers cannot be empty.");
+		}
+		List<String> targets = new ArrayList<>(targetServers.length);
+		for(String targetServer : targetServers) {
+			targets.add(targetOf(targetServer));
+		}
+		this.target = targets.get(0);
+		this.targets = targets;
+		return this;
+	}
+
+	/**
+	 * <p>Override when a target server is ejected, with several target servers. Default {@value LoadBalancingTransport#DEFAULT_EJECTION_FAILURES}
+	 * consecutive failures for {@value LoadBalancingTransport#DEFAULT_EJECTION_DURATION_MILLIS} ms.
+	 * 
+	 * @param consecutiveFailures the consecutive failures, connection failures or server errors, after which a server is ejected
+	 * @param duration the time a server stays ejected
+	 * @param unit the time unit of the duration
+	 * @return the updated builder
+	 */
+	public GatewayClientBuilder withEndpointEjection(int consecutiveFailures, long duration, TimeUnit unit) {
+		if(consecutiveFailures < 1) {
+			throw new IllegalArgumentException("Consecutive failures must be at least 1.");
+		}
+		if(duration < 0) {
+			throw new IllegalArgumentException("Ejection duration cannot be negative.");
+		}
+		this.ejectionFailures = consecutiveFailures;
+		this.ejectionDurationNanos = unit.toNanos(duration);
+		return this;
+	}
+
+	private static String targetOf(String targetServer) {
 		if(targetServer == null) {
 			throw new IllegalArgumentException("Target server cannot be null.");
 		}
@@ -60,12 +141,13 @@ public class GatewayClientBuilder {
 			b.append(targetServer);
 		}
 		b.append(DEFAULT_TARGET_SERVER_PATH);
-		this.target = b.toString();
-		
-		return this;
+		return b.toString();
 	}
+
 	/**
 	 * <p>Override the default media type {@value MediaType#APPLICATION_XML_TYPE}.
+	 * <p>{@link MediaType#APPLICATION_JSON_TYPE} is written and read by the JSON codec of this library,
+	 * independent of the JSON providers available in the container.
 	 *
 	 * @param mediaType
 	 * @return the updated builder
@@ -85,10 +167,156 @@ public class GatewayClientBuilder {
 		if(client != null) {
 			throw new IllegalArgumentException("Configuration cannot be set when a client has been provided. Instead set the configuration directly on the provided client.");
 		}
+		if(transportFactory != null) {
+			throw new IllegalArgumentException("Configuration cannot be set when a transport has been provided.");
+		}
 		this.configuration = configuration;
 		return this;
 	}
+
+	/**
+	 * <p>Use another transport than a JAX-RS {@link Client}, e.g. the {@link HttpUrlConnectionTransport}.
+	 * 
+	 * @param transportFactory creates the transport for the target server
+	 * @return the updated builder
+	 */
+	public GatewayClientBuilder withTransport(GatewayTransport.Factory transportFactory) {
+		if(client != null || configuration != null) {
+			throw new IllegalArgumentException("Transport cannot be set when a client or configuration has been provided.");
+		}
+		if(compressionThreshold != JaxRsTransport.NO_COMPRESSION) {
+			throw new IllegalArgumentException("Transport cannot be set when request compression has been enabled. Instead enable compression on the transport factory.");
+		}
+		this.transportFactory = transportFactory;
+		return this;
+	}
 	
+	/**
+	 * <p>Gzip-compress request bodies larger than the threshold, and accept gzip-compressed responses.
+	 * <p>The body is compressed while it is serialized; only the first {@code thresholdBytes} are buffered
+	 * to decide whether to compress.
+	 * 
+	 * @param thresholdBytes the largest request body in bytes that is sent uncompressed
+	 * @return the updated builder
+	 */
+	public GatewayClientBuilder withRequestCompression(int thresholdBytes) {
+		if(thresholdBytes < 0) {
+			throw new IllegalArgumentException("Compression threshold cannot be negative.");
+		}
+		if(transportFactory != null) {
+			throw new IllegalArgumentException("Request compression cannot be enabled when a transport has been provided. Instead enable compression on the transport factory.");
+		}
+		this.compressionThreshold = thresholdBytes;
+		return this;
+	}
+
+	/**
+	 * <p>Limit the rate of messages sent per service. Sends wait as long as needed for their permits.
+	 * 
+	 * @param rateLimiter the rate limiter, which may be shared between clients
+	 * @return the updated builder
+	 */
+	public GatewayClientBuilder withRateLimiter(RateLimiter rateLimiter) {
+		return this.withRateLimiter(rateLimiter, RateLimitingTransport.NO_MAX_WAIT, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * <p>Limit the rate of messages sent per service. Sends whose permits are not due within the maximum wait
+	 * fail with a {@link RateLimitExceededException}; a maximum wait of 0 never waits.
+	 * 
+	 * @param rateLimiter the rate limiter, which may be shared between clients
+	 * @param maxWait the longest a send may wait for its permits
+	 * @param unit the time unit of the maximum wait
+	 * @return the updated builder
+	 */
+	public GatewayClientBuilder withRateLimiter(RateLimiter rateLimiter, long maxWait, TimeUnit unit) {
+		if(rateLimiter == null) {
+			throw new IllegalArgumentException("Rate limiter cannot be null.");
+		}
+		if(maxWait < 0) {
+			throw new IllegalArgumentException("Max wait cannot be negative.");
+		}
+		this.rateLimiter = rateLimiter;
+		this.rateLimitMaxWaitNanos = maxWait == RateLimitingTransport.NO_MAX_WAIT ? RateLimitingTransport.NO_MAX_WAIT : unit.toNanos(maxWait);
+		return this;
+	}
+
+	/**
+	 * <p>Send failed requests again as the retry policy allows. Each attempt takes its own rate limiter permits.
+	 * 
+	 * @param retryPolicy the retry policy, which may be shared between clients
+	 * @return the updated builder
+	 */
+	public GatewayClientBuilder withRetryPolicy(RetryPolicy retryPolicy) {
+		if(retryPolicy == null) {
+			throw new IllegalArgumentException("Retry policy cannot be null.");
+		}
+		this.retryPolicy = retryPolicy;
+		return this;
+	}
+
+	/**
+	 * <p>Fail sends at once while the gateway is degraded, instead of waiting for the socket timeout.
+	 * Sends rejected by the open circuit breaker fail with a {@link CircuitBreakerOpenException} and are not retried.
+	 * With several target servers, the circuit breaker covers them together; single failing servers are ejected instead.
+	 * 
+	 * @param circuitBreaker the circuit breaker, which may be shared between clients of the same gateway
+	 * @return the updated builder
+	 */
+	public GatewayClientBuilder withCircuitBreaker(CircuitBreaker circuitBreaker) {
+		if(circuitBreaker == null) {
+			throw new IllegalArgumentException("Circuit breaker cannot be null.");
+		}
+		this.circuitBreaker = circuitBreaker;
+		return this;
+	}
+
+	/**
+	 * <p>Journal the messages of each send in the outbox until the send completes, so that messages whose send was
+	 * interrupted by the end of the process can be sent again when it restarts. Messages are journalled once per send,
+	 * not per retry.
+	 * 
+	 * @param outbox the outbox, which may be shared between clients
+	 * @return the updated builder
+	 * @see Outbox#getPending()
+	 */
+	public GatewayClientBuilder withOutbox(Outbox outbox) {
+		if(outbox == null) {
+			throw new IllegalArgumentException("Outbox cannot be null.");
+		}
+		this.outbox = outbox;
+		return this;
+	}
+
+	/**
+	 * <p>Report every send and its outcome to the listener, e.g. a {@link GatewayMetrics}. Listeners are called in the
+	 * order they were added. The entity bytes are reported as well unless a transport has been provided; in that case
+	 * add the listener to the transport factory too.
+	 * 
+	 * @param listener
+	 * @return the updated builder
+	 */
+	public GatewayClientBuilder withListener(GatewayListener listener) {
+		if(listener == null) {
+			throw new IllegalArgumentException("Listener cannot be null.");
+		}
+		this.listeners.add(listener);
+		return this;
+	}
+
+	/**
+	 * <p>Create the shared JAXB contexts when the client is built instead of when the first message is sent.
+	 * <p>The contexts are created once per class loader, so only the first client built pays the cost.
+	 * 
+	 * @param eagerJaxbInitialization
+	 * @return the updated builder
+	 * @see JaxbContexts
+	 */
+	public GatewayClientBuilder withEagerJaxbInitialization(boolean eagerJaxbInitialization) {
+		this.eagerJaxbInitialization = eagerJaxbInitialization;
+		return this;
+	}
+
 	/**
 	 * Creates the GatewayClient.
 	 * 
@@ -96,16 +324,58 @@ public class GatewayClientBuilder {
 	 */
 	public GatewayClient build() {
 		this.initializeVariables();
+		if(eagerJaxbInitialization) {
+			JaxbContexts.initialize();
+		}
 		
+		GatewayTransport.Factory factory = transportFactory;
+		if(factory == null) {
+			JaxRsTransport.Factory jaxRsFactory = new JaxRsTransport.Factory(client);
+			if(compressionThreshold != JaxRsTransport.NO_COMPRESSION) {
+				jaxRsFactory.withRequestCompression(compressionThreshold);
+			}
+			if(!listeners.isEmpty()) {
+				jaxRsFactory.withListener(GatewayListeners.of(listeners));
+			}
+			factory = jaxRsFactory;
+		}
 		return new GatewayClientImpl(
-				client,
-				target,
-				mediaType
+				this.decorate(this.createTransport(factory))
 				);
 	}
 
+	private GatewayTransport createTransport(GatewayTransport.Factory factory) {
+		if(targets == null || targets.size() == 1) {
+			return factory.create(target, mediaType);
+		}
+		List<GatewayTransport> transports = new ArrayList<>(targets.size());
+		for(String endpoint : targets) {
+			transports.add(factory.create(endpoint, mediaType));
+		}
+		return new LoadBalancingTransport(transports, ejectionFailures, ejectionDurationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private GatewayTransport decorate(GatewayTransport transport) {
+		if(circuitBreaker != null) {
+			transport = new CircuitBreakingTransport(transport, circuitBreaker);
+		}
+		if(rateLimiter != null) {
+			transport = new RateLimitingTransport(transport, rateLimiter, rateLimitMaxWaitNanos, TimeUnit.NANOSECONDS);
+		}
+		if(retryPolicy != null) {
+			transport = new RetryingTransport(transport, retryPolicy);
+		}
+		if(outbox != null) {
+			transport = new OutboxTransport(transport, outbox);
+		}
+		if(!listeners.isEmpty()) {
+			transport = new ListeningTransport(transport, GatewayListeners.of(listeners));
+		}
+		return transport;
+	}
+
 	private void initializeVariables() {
-		if(client == null) {
+		if(client == null && transportFactory == null) {
 			if(configuration != null) {
 				client = ClientBuilder.newClient(configuration);
 			} else {
@@ -0,0 +1,74 @@
+package com.intele.chimera.client;
+
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>Receives the sends of a {@link GatewayClient} and the bytes it exchanges with the gateway, e.g. to record metrics.
+ * <p>Every send is reported once with {@link #onSend(Request)} and then once with {@link #onResponse(Request, Object, long)}
+ * or {@link #onFailure(Request, Throwable, long)}, including its retries. Bytes are reported as the entities are written
+ * and read, compressed if compression is enabled. Methods are called on the sending threads and must be thread-safe
+ * and fast; exceptions they throw are ignored.
+ * <p>Extend {@link Adapter} to receive only some of the events.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see GatewayMetrics
+ * @see GatewayClientBuilder#withListener(GatewayListener)
+ */
+public interface GatewayListener {
+
+	/**
+	 * @param request the request about to be sent
+	 */
+	void onSend(Request request);
+
+	/**
+	 * @param request the request sent
+	 * @param response the response read, a {@link com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response}
+	 * 		or a {@link com.intele.chimera.client.response.StreamingResponse}
+	 * @param durationNanos the time from {@link #onSend(Request)} until the response was read
+	 */
+	void onResponse(Request request, Object response, long durationNanos);
+
+	/**
+	 * @param request the request sent
+	 * @param failure the failure reported to the caller
+	 * @param durationNanos the time from {@link #onSend(Request)} until the send failed
+	 */
+	void onFailure(Request request, Throwable failure, long durationNanos);
+
+	/**
+	 * @param bytes the number of entity bytes written to the gateway
+	 */
+	void onBytesSent(long bytes);
+
+	/**
+	 * @param bytes the number of entity bytes read from the gateway
+	 */
+	void onBytesReceived(long bytes);
+
+	/**
+	 * Listener ignoring every event, to override the events of interest.
+	 */
+	public static class Adapter implements GatewayListener {
+		@Override
+		public void onSend(Request request) {
+		}
+
+		@Override
+		public void onResponse(Request request, Object response, long durationNanos) {
+		}
+
+		@Override
+		public void onFailure(Request request, Throwable failure, long durationNanos) {
+		}
+
+		@Override
+		public void onBytesSent(long bytes) {
+		}
+
+		@Override
+		public void onBytesReceived(long bytes) {
+		}
+	}
+}
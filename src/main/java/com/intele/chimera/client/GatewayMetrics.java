@@ -0,0 +1,360 @@
+package com.intele.chimera.client;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+/**
+ * <p>{@link GatewayListener} that records send metrics: the latency and messages per request as histograms, the number of
+ * requests, failures and messages, the bytes sent and received, the sends in flight, and the message statuses per
+ * {@code statusCode}.
+ * <p>Recording is lock-free and does not allocate: counters are atomic, and the histograms count values in log-linear
+ * buckets, in the manner of HdrHistogram, with a relative error below 1.6%. Latencies are recorded in microseconds.
+ * The status codes of a {@link com.intele.chimera.client.response.StreamingResponse} are not recorded, since its message
+ * statuses are read after the send.
+ * <p>{@link #snapshot()} copies the metrics for reporting. Snapshots can be exported in the Prometheus text format.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * GatewayMetrics metrics = new GatewayMetrics();
+ * GatewayClient gatewayClient = new GatewayClientBuilder().
+ * 	withListener(metrics).
+ * 	build();
+ * ...
+ * GatewayMetrics.Snapshot snapshot = metrics.snapshot();
+ * long p99Millis = snapshot.getLatency(99, TimeUnit.MILLISECONDS);
+ * }
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see GatewayClientBuilder#withListener(GatewayListener)
+ */
+public class GatewayMetrics implements GatewayListener {
+
+	/**
+	 * Status codes below this limit are counted without a map lookup.
+	 */
+	private static final int STATUS_CODE_LIMIT = 4096;
+
+	private final Histogram latency = new Histogram();
+	private final Histogram messagesPerRequest = new Histogram();
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+	private final AtomicLong messages = new AtomicLong();
+	private final AtomicLong bytesSent = new AtomicLong();
+	private final AtomicLong bytesReceived = new AtomicLong();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLongArray statusCodes = new AtomicLongArray(STATUS_CODE_LIMIT);
+	private final ConcurrentMap<Integer, AtomicLong> otherStatusCodes = new ConcurrentHashMap<>();
+
+	@Override
+	public void onSend(Request request) {
+		int size = request.getMessage().size();
+		requests.incrementAndGet();
+		messages.addAndGet(size);
+		messagesPerRequest.record(size);
+		inFlight.incrementAndGet();
+	}
+
+	@Override
+	public void onResponse(Request request, Object response, long durationNanos) {
+		inFlight.decrementAndGet();
+		latency.record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+		if(response instanceof Response) {
+			List<MessageStatus> messageStatuses = ((Response) response).getMessageStatus();
+			for(int i = 0; i < messageStatuses.size(); i++) {
+				this.countStatusCode(messageStatuses.get(i).getStatusCode());
+			}
+		}
+	}
+
+	@Override
+	public void onFailure(Request request, Throwable failure, long durationNanos) {
+		inFlight.decrementAndGet();
+		failures.incrementAndGet();
+		latency.record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+	}
+
+	@Override
+	public void onBytesSent(long bytes) {
+		bytesSent.addAndGet(bytes);
+	}
+
+	@Override
+	public void onBytesReceived(long bytes) {
+		bytesReceived.addAndGet(bytes);
+	}
+
+	/**
+	 * @return a copy of the metrics recorded so far
+	 */
+	public Snapshot snapshot() {
+		SortedMap<Integer, Long> statusCodeCounts = new TreeMap<>();
+		for(int statusCode = 0; statusCode < STATUS_CODE_LIMIT; statusCode++) {
+			long count = statusCodes.get(statusCode);
+			if(count > 0) {
+				statusCodeCounts.put(statusCode, count);
+			}
+		}
+		for(Map.Entry<Integer, AtomicLong> statusCode : otherStatusCodes.entrySet()) {
+			statusCodeCounts.put(statusCode.getKey(), statusCode.getValue().get());
+		}
+		return new Snapshot(this, statusCodeCounts);
+	}
+
+	private void countStatusCode(int statusCode) {
+		if(statusCode >= 0 && statusCode < STATUS_CODE_LIMIT) {
+			statusCodes.incrementAndGet(statusCode);
+			return;
+		}
+		AtomicLong count = otherStatusCodes.get(statusCode);
+		if(count == null) {
+			AtomicLong created = new AtomicLong();
+			count = otherStatusCodes.putIfAbsent(statusCode, created);
+			if(count == null) {
+				count = created;
+			}
+		}
+		count.incrementAndGet();
+	}
+
+	/**
+	 * Metrics copied at one point in time.
+	 */
+	public static final class Snapshot {
+		private final long[] latencyCounts;
+		private final long latencyCount;
+		private final long latencySum;
+		private final long latencyMax;
+		private final long[] messagesPerRequestCounts;
+		private final long messagesPerRequestMax;
+		private final long requests;
+		private final long failures;
+		private final long messages;
+		private final long bytesSent;
+		private final long bytesReceived;
+		private final int inFlight;
+		private final SortedMap<Integer, Long> statusCodeCounts;
+
+		private Snapshot(GatewayMetrics metrics, SortedMap<Integer, Long> statusCodeCounts) {
+			this.latencyCounts = metrics.latency.copyCounts();
+			this.latencyCount = count(latencyCounts);
+			this.latencySum = metrics.latency.sum.get();
+			this.latencyMax = metrics.latency.max.get();
+			this.messagesPerRequestCounts = metrics.messagesPerRequest.copyCounts();
+			this.messagesPerRequestMax = metrics.messagesPerRequest.max.get();
+			this.requests = metrics.requests.get();
+			this.failures = metrics.failures.get();
+			this.messages = metrics.messages.get();
+			this.bytesSent = metrics.bytesSent.get();
+			this.bytesReceived = metrics.bytesReceived.get();
+			this.inFlight = metrics.inFlight.get();
+			this.statusCodeCounts = Collections.unmodifiableSortedMap(statusCodeCounts);
+		}
+
+		/**
+		 * @return the number of requests sent
+		 */
+		public long getRequests() {
+			return requests;
+		}
+
+		/**
+		 * @return the number of sends that failed
+		 */
+		public long getFailures() {
+			return failures;
+		}
+
+		/**
+		 * @return the number of messages sent
+		 */
+		public long getMessages() {
+			return messages;
+		}
+
+		public long getBytesSent() {
+			return bytesSent;
+		}
+
+		public long getBytesReceived() {
+			return bytesReceived;
+		}
+
+		/**
+		 * @return the number of sends waiting for their response
+		 */
+		public int getInFlight() {
+			return inFlight;
+		}
+
+		/**
+		 * @param percentile the percentile, from 0 to 100
+		 * @param unit the time unit of the latency
+		 * @return the latency of sends at the percentile, or 0 if nothing was sent
+		 */
+		public long getLatency(double percentile, TimeUnit unit) {
+			return unit.convert(Histogram.valueAt(latencyCounts, latencyCount, percentile, latencyMax), TimeUnit.MICROSECONDS);
+		}
+
+		/**
+		 * @param unit the time unit of the latency
+		 * @return the highest latency of sends
+		 */
+		public long getMaxLatency(TimeUnit unit) {
+			return unit.convert(latencyMax, TimeUnit.MICROSECONDS);
+		}
+
+		/**
+		 * @param unit the time unit of the latency
+		 * @return the mean latency of sends, or 0 if nothing was sent
+		 */
+		public double getMeanLatency(TimeUnit unit) {
+			return latencyCount == 0 ? 0 : (double) latencySum / latencyCount * unit.convert(1, TimeUnit.SECONDS) / TimeUnit.SECONDS.toMicros(1);
+		}
+
+		/**
+		 * @param percentile the percentile, from 0 to 100
+		 * @return the number of messages per request at the percentile, or 0 if nothing was sent
+		 */
+		public long getMessagesPerRequest(double percentile) {
+			return Histogram.valueAt(messagesPerRequestCounts, count(messagesPerRequestCounts), percentile, messagesPerRequestMax);
+		}
+
+		/**
+		 * @return the number of message statuses per status code, in the order of the status codes
+		 */
+		public SortedMap<Integer, Long> getStatusCodeCounts() {
+			return statusCodeCounts;
+		}
+
+		/**
+		 * Writes the metrics in the Prometheus text exposition format, with the latency in seconds.
+		 *
+		 * @param out
+		 * @throws IOException
+		 */
+		public void export(Appendable out) throws IOException {
+			counter(out, "smsgw_requests_total", "Requests sent.", requests);
+			counter(out, "smsgw_failures_total", "Sends that failed.", failures);
+			counter(out, "smsgw_messages_total", "Messages sent.", messages);
+			counter(out, "smsgw_sent_bytes_total", "Entity bytes sent.", bytesSent);
+			counter(out, "smsgw_received_bytes_total", "Entity bytes received.", bytesReceived);
+			out.append("# HELP smsgw_in_flight Sends waiting for their response.\n# TYPE smsgw_in_flight gauge\nsmsgw_in_flight ")
+					.append(String.valueOf(inFlight)).append('\n');
+			out.append("# HELP smsgw_message_statuses_total Message statuses per status code.\n# TYPE smsgw_message_statuses_total counter\n");
+			for(Map.Entry<Integer, Long> statusCode : statusCodeCounts.entrySet()) {
+				out.append("smsgw_message_statuses_total{status_code=\"").append(String.valueOf(statusCode.getKey())).append("\"} ")
+						.append(String.valueOf(statusCode.getValue())).append('\n');
+			}
+			out.append("# HELP smsgw_latency_seconds Latency of sends.\n# TYPE smsgw_latency_seconds summary\n");
+			for(double quantile : new double[] {0.5, 0.9, 0.99, 0.999}) {
+				out.append("smsgw_latency_seconds{quantile=\"").append(String.valueOf(quantile)).append("\"} ")
+						.append(String.valueOf(Histogram.valueAt(latencyCounts, latencyCount, quantile * 100, latencyMax) / 1e6)).append('\n');
+			}
+			out.append("smsgw_latency_seconds_sum ").append(String.valueOf(latencySum / 1e6)).append('\n');
+			out.append("smsgw_latency_seconds_count ").append(String.valueOf(latencyCount)).append('\n');
+		}
+
+		private static void counter(Appendable out, String name, String help, long value) throws IOException {
+			out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+			out.append("# TYPE ").append(name).append(" counter\n");
+			out.append(name).append(' ').append(String.valueOf(value)).append('\n');
+		}
+
+		private static long count(long[] counts) {
+			long count = 0;
+			for(long c : counts) {
+				count += c;
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Counts non-negative values in buckets: one per value below 128, and 64 per power of two above,
+	 * so that a value and the highest value of its bucket differ by less than 1/64.
+	 */
+	static final class Histogram {
+		private static final int LINEAR = 128;
+		private static final int SUB_BUCKETS = 64;
+		private static final int SUB_BUCKET_BITS = 6;
+		private static final int BUCKETS = LINEAR + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+		private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+		private final AtomicLong sum = new AtomicLong();
+		private final AtomicLong max = new AtomicLong();
+
+		void record(long value) {
+			if(value < 0) {
+				value = 0;
+			}
+			counts.incrementAndGet(index(value));
+			sum.addAndGet(value);
+			long current;
+			while(value > (current = max.get()) && !max.compareAndSet(current, value)) {
+				// retry with the new max
+			}
+		}
+
+		long[] copyCounts() {
+			long[] copy = new long[BUCKETS];
+			for(int i = 0; i < BUCKETS; i++) {
+				copy[i] = counts.get(i);
+			}
+			return copy;
+		}
+
+		static int index(long value) {
+			if(value < LINEAR) {
+				return (int) value;
+			}
+			int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+			return LINEAR + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+		}
+
+		/**
+		 * @return the highest value counted in the bucket
+		 */
+		static long highestValue(int index) {
+			if(index < LINEAR) {
+				return index;
+			}
+			int shift = (index - LINEAR) / SUB_BUCKETS + 1;
+			long subBucket = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+			return ((subBucket + 1) << shift) - 1;
+		}
+
+		/**
+		 * @return the highest value of the bucket holding the value at the percentile, at most the max
+		 */
+		static long valueAt(long[] counts, long total, double percentile, long max) {
+			if(total == 0) {
+				return 0;
+			}
+			long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+			long seen = 0;
+			for(int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if(seen >= rank) {
+					return Math.min(highestValue(i), max);
+				}
+			}
+			return max;
+		}
+	}
+}
@@ -0,0 +1,585 @@
+package com.intele.chimera.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import javax.ws.rs.ProcessingException;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+
+import com.intele.chimera.client.impl.JaxbContexts;
+import com.intele.chimera.client.impl.JaxbPool;
+import com.intele.chimera.client.impl.RequestXmlWriter;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>Durable journal of the messages being sent, so that messages whose send was interrupted by the end of the process
+ * can be sent again when it restarts.
+ * <p>The journal is a directory of memory-mapped segment files. Each message is appended as a record holding its
+ * service identifier and the message as SMSGatewayRequest-2013-02 XML, without the credentials of the request.
+ * When its send completes, an acknowledgement record is appended. Segments whose messages are all acknowledged are
+ * deleted, oldest first.
+ * <p>An appended record survives the end of the process at once, since it is in the page cache of the operating system.
+ * It survives a crash of the operating system once it is synced to disk. Syncing is a group commit: a single background
+ * thread forces all records appended since its last sync, as soon as a sender waits for one of them and otherwise after
+ * the sync interval, so concurrent senders share the cost of each sync.
+ * <p>Opening an outbox replays its journal. The messages appended but never acknowledged are available from
+ * {@link #getPending()}, to be sent again and {@link #acknowledge(long) acknowledged}. A torn record at the end of a
+ * segment, left by a crash while appending, ends the replay of that segment.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * Outbox outbox = new Outbox.Builder(Paths.get("/var/lib/sms/outbox")).build();
+ * GatewayClient gatewayClient = new GatewayClientBuilder().
+ * 	withOutbox(outbox).
+ * 	build();
+ * for(Outbox.Entry entry : outbox.getPending()) {
+ * 	// send entry.getMessage() for entry.getServiceId() again, then
+ * 	outbox.acknowledge(entry.getId());
+ * }
+ * }
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see GatewayClientBuilder#withOutbox(Outbox)
+ */
+public class Outbox implements AutoCloseable {
+
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+	public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 100;
+
+	private static final String SEGMENT_PREFIX = "outbox-";
+	private static final String SEGMENT_SUFFIX = ".journal";
+	/**
+	 * Record header: payload length, record type and CRC-32 of the payload.
+	 */
+	private static final int HEADER_SIZE = 4 + 1 + 4;
+	private static final byte MESSAGE = 1;
+	private static final byte ACKNOWLEDGEMENT = 2;
+	private static final int XML_BUFFER_SIZE = 512;
+
+	private static final RequestXmlWriter XML_WRITER = new RequestXmlWriter();
+	private static final ThreadLocal<RecordBuffer> BUFFERS = new ThreadLocal<RecordBuffer>() {
+		@Override
+		protected RecordBuffer initialValue() {
+			return new RecordBuffer();
+		}
+	};
+
+	/**
+	 * A message appended but not acknowledged before the outbox was last closed.
+	 */
+	public static final class Entry {
+		private final long id;
+		private final int serviceId;
+		private final Message message;
+
+		private Entry(long id, int serviceId, Message message) {
+			this.id = id;
+			this.serviceId = serviceId;
+			this.message = message;
+		}
+
+		/**
+		 * @return the identifier to {@link Outbox#acknowledge(long) acknowledge} the entry with
+		 */
+		public long getId() {
+			return id;
+		}
+
+		public int getServiceId() {
+			return serviceId;
+		}
+
+		public Message getMessage() {
+			return message;
+		}
+	}
+
+	public static class Builder {
+		private final Path directory;
+		private int segmentSize = DEFAULT_SEGMENT_SIZE;
+		private long syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SYNC_INTERVAL_MILLIS);
+
+		/**
+		 * @param directory the directory of the journal, created if it does not exist
+		 */
+		public Builder(Path directory) {
+			if(directory == null) {
+				throw new IllegalArgumentException("Directory cannot be null.");
+			}
+			this.directory = directory;
+		}
+		/**
+		 * @param segmentSize the size of a segment file in bytes, which limits the size of a message record.
+		 * 		Default {@value Outbox#DEFAULT_SEGMENT_SIZE}
+		 * @return the updated builder
+		 */
+		public Builder withSegmentSize(int segmentSize) {
+			if(segmentSize < 4096) {
+				throw new IllegalArgumentException("Segment size must be at least 4096 bytes.");
+			}
+			this.segmentSize = segmentSize;
+			return this;
+		}
+		/**
+		 * @param interval the longest a record stays unsynced when no sender waits for it.
+		 * 		Default {@value Outbox#DEFAULT_SYNC_INTERVAL_MILLIS} ms
+		 * @param unit the time unit of the interval
+		 * @return the updated builder
+		 */
+		public Builder withSyncInterval(long interval, TimeUnit unit) {
+			if(interval <= 0) {
+				throw new IllegalArgumentException("Sync interval must be positive.");
+			}
+			this.syncIntervalNanos = unit.toNanos(interval);
+			return this;
+		}
+		/**
+		 * Opens the outbox and replays its journal.
+		 * @return the newly opened outbox
+		 * @throws IOException if the journal cannot be read or a segment cannot be created
+		 */
+		public Outbox build() throws IOException {
+			return new Outbox(this);
+		}
+	}
+
+	private final Path directory;
+	private final int segmentSize;
+	private final long syncIntervalNanos;
+	private final List<Entry> pending;
+	/**
+	 * Identifiers of the pending entries, so that each is acknowledged once.
+	 */
+	private final Set<Long> pendingIds;
+	/**
+	 * Index of the first segment appended to since the outbox was opened.
+	 */
+	private final long firstIndex;
+	private final Thread syncThread;
+
+	/**
+	 * Guarded by this. Segments by index; positions are the segment index in the high and the offset in the low 32 bits.
+	 */
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+	private final List<Segment> unsynced = new ArrayList<>();
+	private final List<SyncAction> syncActions = new ArrayList<>();
+	private Segment current;
+	private long written;
+	private long synced;
+	private int waiting;
+	private boolean closed;
+
+	private Outbox(Builder builder) throws IOException {
+		this.directory = builder.directory;
+		this.segmentSize = builder.segmentSize;
+		this.syncIntervalNanos = builder.syncIntervalNanos;
+		Files.createDirectories(directory);
+		this.pending = Collections.unmodifiableList(this.replay());
+		this.pendingIds = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+		for(Entry entry : pending) {
+			pendingIds.add(entry.getId());
+		}
+		this.firstIndex = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+		this.current = this.createSegment(firstIndex);
+		this.written = position(current.index, 0);
+		this.synced = written;
+		this.syncThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				syncLoop();
+			}
+		}, "smsgw-outbox-sync");
+		syncThread.setDaemon(true);
+		syncThread.start();
+	}
+
+	/**
+	 * Appends a message. The record survives the end of the process when this method returns, and a crash of the
+	 * operating system once it is synced.
+	 *
+	 * @param serviceId the service the message is sent for
+	 * @param message
+	 * @return the identifier of the record, to wait for its sync and acknowledge it with
+	 * @throws ProcessingException if a new segment cannot be created
+	 */
+	public long append(int serviceId, Message message) {
+		RecordBuffer buffer = BUFFERS.get();
+		buffer.reset();
+		Request request = new Request();
+		request.setServiceId(serviceId);
+		request.getMessage().add(message);
+		try {
+			XML_WRITER.write(request, buffer, XML_BUFFER_SIZE);
+		} catch(IOException e) {
+			throw new ProcessingException(e);
+		}
+		return this.write(MESSAGE, buffer.bytes(), buffer.size());
+	}
+
+	/**
+	 * Marks an appended message or a {@link #getPending() pending entry} as sent, so that it is not replayed.
+	 * Each identifier must be acknowledged once.
+	 *
+	 * @param id the identifier of the record
+	 * @throws ProcessingException if a new segment cannot be created
+	 */
+	public void acknowledge(long id) {
+		if(index(id) < firstIndex && !pendingIds.remove(id)) {
+			// not a pending entry of an earlier segment, or already acknowledged
+			return;
+		}
+		RecordBuffer buffer = BUFFERS.get();
+		buffer.reset();
+		ByteBuffer.wrap(buffer.bytes(8), 0, 8).putLong(id);
+		this.write(ACKNOWLEDGEMENT, buffer.bytes(), 8);
+	}
+
+	/**
+	 * Blocks until the record is synced to disk.
+	 *
+	 * @param id the identifier of the record
+	 * @throws InterruptedException
+	 */
+	public void awaitSync(long id) throws InterruptedException {
+		synchronized(this) {
+			if(synced > id) {
+				return;
+			}
+			waiting++;
+			this.notifyAll();
+			try {
+				while(synced <= id) {
+					this.wait();
+				}
+			} finally {
+				waiting--;
+			}
+		}
+	}
+
+	/**
+	 * Runs the action once the record is synced to disk, on the sync thread or, if it is already synced, on the calling thread.
+	 * The action must not block.
+	 *
+	 * @param id the identifier of the record
+	 * @param action
+	 */
+	public void whenSynced(long id, Runnable action) {
+		synchronized(this) {
+			if(synced <= id) {
+				syncActions.add(new SyncAction(id, action));
+				this.notifyAll();
+				return;
+			}
+		}
+		action.run();
+	}
+
+	/**
+	 * @return the messages appended but not acknowledged before the outbox was last closed, in the order they were appended
+	 */
+	public List<Entry> getPending() {
+		return pending;
+	}
+
+	/**
+	 * Syncs the appended records and stops the sync thread. The segment files are kept for the next time the outbox is opened.
+	 */
+	@Override
+	public void close() {
+		synchronized(this) {
+			if(closed) {
+				return;
+			}
+			closed = true;
+			this.notifyAll();
+		}
+		boolean interrupted = false;
+		while(syncThread.isAlive()) {
+			try {
+				syncThread.join();
+			} catch(InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if(interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private long write(byte type, byte[] payload, int length) {
+		int size = HEADER_SIZE + length;
+		if(size > segmentSize) {
+			throw new IllegalArgumentException("Record of " + length + " bytes does not fit in a segment of " + segmentSize + " bytes.");
+		}
+		CRC32 crc = new CRC32();
+		crc.update(payload, 0, length);
+		synchronized(this) {
+			if(closed) {
+				throw new IllegalStateException("Outbox is closed.");
+			}
+			if(current.buffer.remaining() < size) {
+				unsynced.add(current);
+				current = this.createSegment(current.index + 1);
+			}
+			MappedByteBuffer buffer = current.buffer;
+			long id = position(current.index, buffer.position());
+			buffer.putInt(length);
+			buffer.put(type);
+			buffer.putInt((int) crc.getValue());
+			buffer.put(payload, 0, length);
+			written = position(current.index, buffer.position());
+			if(type == MESSAGE) {
+				current.unacknowledged++;
+			} else {
+				this.acknowledged(ByteBuffer.wrap(payload, 0, 8).getLong());
+			}
+			return id;
+		}
+	}
+
+	/**
+	 * Deletes the oldest segments once all of their messages are acknowledged. Guarded by this.
+	 */
+	private void acknowledged(long id) {
+		Segment segment = segments.get(index(id));
+		if(segment == null || --segment.unacknowledged > 0) {
+			return;
+		}
+		Iterator<Segment> oldest = segments.values().iterator();
+		while(oldest.hasNext()) {
+			segment = oldest.next();
+			if(segment == current || segment.unacknowledged > 0) {
+				return;
+			}
+			oldest.remove();
+			unsynced.remove(segment);
+			try {
+				Files.deleteIfExists(segment.path);
+			} catch(IOException e) {
+				// deleted again by the next replay
+			}
+		}
+	}
+
+	private void syncLoop() {
+		for(;;) {
+			long target;
+			List<Segment> segments;
+			synchronized(this) {
+				long deadline = System.nanoTime() + syncIntervalNanos;
+				long remaining = 0;
+				while(!closed && (synced == written || (waiting == 0 && syncActions.isEmpty()
+						&& (remaining = deadline - System.nanoTime()) > 0))) {
+					try {
+						if(synced == written) {
+							this.wait();
+							deadline = System.nanoTime() + syncIntervalNanos;
+						} else {
+							TimeUnit.NANOSECONDS.timedWait(this, remaining);
+						}
+					} catch(InterruptedException e) {
+						// stopped by close only
+					}
+				}
+				if(closed && synced == written) {
+					return;
+				}
+				target = written;
+				segments = new ArrayList<>(unsynced);
+				segments.add(current);
+				unsynced.clear();
+			}
+			for(Segment segment : segments) {
+				segment.buffer.force();
+			}
+			List<Runnable> actions = new ArrayList<>();
+			synchronized(this) {
+				synced = target;
+				Iterator<SyncAction> syncAction = syncActions.iterator();
+				while(syncAction.hasNext()) {
+					SyncAction next = syncAction.next();
+					if(next.id < synced) {
+						actions.add(next.action);
+						syncAction.remove();
+					}
+				}
+				this.notifyAll();
+			}
+			for(Runnable action : actions) {
+				try {
+					action.run();
+				} catch(RuntimeException e) {
+					// a failing action must not stop the syncs of the others
+				}
+			}
+		}
+	}
+
+	private Segment createSegment(long index) {
+		Path path = directory.resolve(String.format("%s%016x%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			Segment segment = new Segment(index, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+			segments.put(index, segment);
+			return segment;
+		} catch(IOException e) {
+			throw new ProcessingException("Unable to create outbox segment " + path + ".", e);
+		}
+	}
+
+	/**
+	 * Reads the segments in order, keeping the messages without an acknowledgement.
+	 */
+	private List<Entry> replay() throws IOException {
+		TreeMap<Long, Path> paths = new TreeMap<>();
+		try(DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for(Path path : stream) {
+				String name = path.getFileName().toString();
+				try {
+					paths.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()), 16), path);
+				} catch(NumberFormatException e) {
+					// not a segment
+				}
+			}
+		}
+		Map<Long, byte[]> messages = new LinkedHashMap<>();
+		for(Map.Entry<Long, Path> segmentPath : paths.entrySet()) {
+			Segment segment;
+			try(FileChannel channel = FileChannel.open(segmentPath.getValue(), StandardOpenOption.READ)) {
+				segment = new Segment(segmentPath.getKey(), segmentPath.getValue(), channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			}
+			segments.put(segment.index, segment);
+			this.replay(segment, messages);
+			segment.buffer = null;
+		}
+		List<Entry> entries = new ArrayList<>(messages.size());
+		try {
+			JaxbPool pool = JaxbContexts.pool(Request.class);
+			Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+			try {
+				for(Map.Entry<Long, byte[]> message : messages.entrySet()) {
+					Request request = (Request) unmarshaller.unmarshal(new ByteArrayInputStream(message.getValue()));
+					entries.add(new Entry(message.getKey(), request.getServiceId(), request.getMessage().get(0)));
+				}
+			} finally {
+				pool.release(unmarshaller);
+			}
+		} catch(JAXBException e) {
+			throw new IOException("Unable to read outbox message.", e);
+		}
+		Iterator<Segment> oldest = segments.values().iterator();
+		while(oldest.hasNext()) {
+			Segment segment = oldest.next();
+			if(segment.unacknowledged > 0) {
+				break;
+			}
+			oldest.remove();
+			Files.deleteIfExists(segment.path);
+		}
+		return entries;
+	}
+
+	private void replay(Segment segment, Map<Long, byte[]> messages) {
+		ByteBuffer buffer = segment.buffer;
+		CRC32 crc = new CRC32();
+		while(buffer.remaining() >= HEADER_SIZE) {
+			int offset = buffer.position();
+			int length = buffer.getInt();
+			byte type = buffer.get();
+			int checksum = buffer.getInt();
+			if(length <= 0 || length > buffer.remaining()) {
+				return;
+			}
+			byte[] payload = new byte[length];
+			buffer.get(payload);
+			crc.reset();
+			crc.update(payload, 0, length);
+			if((int) crc.getValue() != checksum) {
+				return;
+			}
+			if(type == MESSAGE) {
+				messages.put(position(segment.index, offset), payload);
+				segment.unacknowledged++;
+			} else if(type == ACKNOWLEDGEMENT && length == 8) {
+				long id = ByteBuffer.wrap(payload).getLong();
+				if(messages.remove(id) != null) {
+					segments.get(index(id)).unacknowledged--;
+				}
+			}
+		}
+	}
+
+	private static long position(long index, int offset) {
+		return index << 32 | offset;
+	}
+
+	private static long index(long position) {
+		return position >>> 32;
+	}
+
+	private static final class Segment {
+		private final long index;
+		private final Path path;
+		private MappedByteBuffer buffer;
+		private int unacknowledged;
+
+		private Segment(long index, Path path, MappedByteBuffer buffer) {
+			this.index = index;
+			this.path = path;
+			this.buffer = buffer;
+		}
+	}
+
+	private static final class SyncAction {
+		private final long id;
+		private final Runnable action;
+
+		private SyncAction(long id, Runnable action) {
+			this.id = id;
+			this.action = action;
+		}
+	}
+
+	/**
+	 * Reusable per thread, to build records without allocating.
+	 */
+	private static final class RecordBuffer extends ByteArrayOutputStream {
+		private RecordBuffer() {
+			super(1024);
+		}
+
+		private byte[] bytes() {
+			return buf;
+		}
+
+		private byte[] bytes(int size) {
+			if(buf.length < size) {
+				buf = new byte[size];
+			}
+			return buf;
+		}
+	}
+}
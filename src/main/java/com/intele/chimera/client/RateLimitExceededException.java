@@ -0,0 +1,36 @@
+package com.intele.chimera.client;
+
+import javax.ws.rs.ProcessingException;
+
+/**
+ * <p>Thrown when a request is not sent because the {@link RateLimiter} has no permits for its messages within
+ * the maximum wait. Nothing has been sent to the gateway.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class RateLimitExceededException extends ProcessingException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int serviceId;
+	private final int messages;
+
+	/**
+	 * @param serviceId the service of the request
+	 * @param messages the number of messages in the request
+	 */
+	public RateLimitExceededException(int serviceId, int messages) {
+		super("Rate limit of service " + serviceId + " exceeded by a request with " + messages + " messages.");
+		this.serviceId = serviceId;
+		this.messages = messages;
+	}
+
+	public int getServiceId() {
+		return serviceId;
+	}
+
+	public int getMessages() {
+		return messages;
+	}
+}
@@ -0,0 +1,283 @@
+package com.intele.chimera.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.client.InvocationCallback;
+
+import com.intele.chimera.client.impl.SettableFuture;
+
+/**
+ * <p>Token-bucket rate limiter with an independent bucket per service identifier, counting messages.
+ * <p>Each bucket refills at the rate of its service and holds at most the burst size. Acquiring reserves the permits
+ * with a single compare-and-set and then waits until they are due, so concurrent senders are served in the order of
+ * their reservations and together never exceed the rate. A request for more permits than the burst size is allowed,
+ * but waits until all of its permits have been refilled.
+ * <p>Permits can be acquired blocking ({@link #acquire(int, int)}), without waiting ({@link #tryAcquire(int, int)}),
+ * with a bounded wait ({@link #tryAcquire(int, int, long, TimeUnit)}) and asynchronously
+ * ({@link #tryAcquireAsync(int, int, long, TimeUnit, InvocationCallback)}). Permits reserved by a wait that is
+ * interrupted or cancelled are not returned.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * RateLimiter rateLimiter = new RateLimiter.Builder(50).
+ * 	withRate(100, 200).
+ * 	build();
+ * GatewayClient gatewayClient = new GatewayClientBuilder().
+ * 	withRateLimiter(rateLimiter).
+ * 	build();
+ * }
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see GatewayClientBuilder#withRateLimiter(RateLimiter)
+ */
+public class RateLimiter implements AutoCloseable {
+
+	public static final int DEFAULT_BURST = 1;
+
+	public static class Builder {
+		private final double permitsPerSecond;
+		private final Map<Integer, Double> serviceRates = new HashMap<>();
+		private int burst = DEFAULT_BURST;
+		private ScheduledExecutorService scheduler;
+
+		/**
+		 * @param permitsPerSecond the rate of every service without a rate of its own
+		 */
+		public Builder(double permitsPerSecond) {
+			this.permitsPerSecond = checkRate(permitsPerSecond);
+		}
+		/**
+		 * @param serviceId the service identifier
+		 * @param permitsPerSecond the rate of the service
+		 * @return the updated builder
+		 */
+		public Builder withRate(int serviceId, double permitsPerSecond) {
+			this.serviceRates.put(serviceId, checkRate(permitsPerSecond));
+			return this;
+		}
+		/**
+		 * @param burst the most permits a bucket holds after being idle. Default {@value RateLimiter#DEFAULT_BURST},
+		 * 		which keeps every service at its rate over any interval
+		 * @return the updated builder
+		 */
+		public Builder withBurst(int burst) {
+			if(burst < 1) {
+				throw new IllegalArgumentException("Burst must be at least 1.");
+			}
+			this.burst = burst;
+			return this;
+		}
+		/**
+		 * <p>Use the given scheduler for asynchronous waits instead of a dedicated daemon thread.
+		 * The scheduler is not shut down when the rate limiter is closed.
+		 * @param scheduler
+		 * @return the updated builder
+		 */
+		public Builder withScheduler(ScheduledExecutorService scheduler) {
+			this.scheduler = scheduler;
+			return this;
+		}
+		/**
+		 * @return the newly created rate limiter
+		 */
+		public RateLimiter build() {
+			return new RateLimiter(this);
+		}
+
+		private static double checkRate(double permitsPerSecond) {
+			if(!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+				throw new IllegalArgumentException("Rate must be a positive number.");
+			}
+			return permitsPerSecond;
+		}
+	}
+
+	private static final long NOT_PERMITTED = -1;
+
+	private final double permitsPerSecond;
+	private final Map<Integer, Double> serviceRates;
+	private final int burst;
+	private final ConcurrentMap<Integer, Bucket> buckets = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService scheduler;
+	private final boolean ownsScheduler;
+
+	private RateLimiter(Builder builder) {
+		this.permitsPerSecond = builder.permitsPerSecond;
+		this.serviceRates = new HashMap<>(builder.serviceRates);
+		this.burst = builder.burst;
+		this.ownsScheduler = builder.scheduler == null;
+		this.scheduler = ownsScheduler ? Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "smsgw-rate-limiter");
+				thread.setDaemon(true);
+				return thread;
+			}
+		}) : builder.scheduler;
+	}
+
+	/**
+	 * Waits until the permits are available.
+	 *
+	 * @param serviceId
+	 * @param permits the number of messages
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void acquire(int serviceId, int permits) throws InterruptedException {
+		sleep(this.bucket(serviceId).reserve(permits, Long.MAX_VALUE));
+	}
+
+	/**
+	 * Takes the permits if they are available now.
+	 *
+	 * @param serviceId
+	 * @param permits the number of messages
+	 * @return whether the permits were acquired
+	 */
+	public boolean tryAcquire(int serviceId, int permits) {
+		return this.bucket(serviceId).reserve(permits, 0) != NOT_PERMITTED;
+	}
+
+	/**
+	 * Waits for the permits if they are available within the timeout. Fails immediately, without waiting,
+	 * when they are not.
+	 *
+	 * @param serviceId
+	 * @param permits the number of messages
+	 * @param timeout the longest time to wait
+	 * @param unit the time unit of the timeout
+	 * @return whether the permits were acquired
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean tryAcquire(int serviceId, int permits, long timeout, TimeUnit unit) throws InterruptedException {
+		long wait = this.bucket(serviceId).reserve(permits, unit.toNanos(timeout));
+		if(wait == NOT_PERMITTED) {
+			return false;
+		}
+		sleep(wait);
+		return true;
+	}
+
+	/**
+	 * Acquires the permits without blocking the calling thread. The future and callback are completed with
+	 * {@code true} when the permits are due, or immediately with {@code false} if they are not available within the timeout.
+	 *
+	 * @param serviceId
+	 * @param permits the number of messages
+	 * @param timeout the longest time to wait; {@link Long#MAX_VALUE} nanoseconds or more waits as long as needed
+	 * @param unit the time unit of the timeout
+	 * @param callback notified when the permits are acquired or refused; may be {@code null}
+	 * @return a future holding whether the permits were acquired
+	 */
+	public Future<Boolean> tryAcquireAsync(int serviceId, int permits, long timeout, TimeUnit unit, InvocationCallback<Boolean> callback) {
+		final SettableFuture<Boolean> future = new SettableFuture<>(callback);
+		long wait = this.bucket(serviceId).reserve(permits, unit.toNanos(timeout));
+		if(wait == NOT_PERMITTED) {
+			future.complete(false);
+		} else if(wait == 0) {
+			future.complete(true);
+		} else {
+			future.setCancellationTarget(scheduler.schedule(new Runnable() {
+				@Override
+				public void run() {
+					future.complete(true);
+				}
+			}, wait, TimeUnit.NANOSECONDS));
+		}
+		return future;
+	}
+
+	/**
+	 * @param serviceId
+	 * @return the rate of the service in permits per second
+	 */
+	public double getRate(int serviceId) {
+		Double rate = serviceRates.get(serviceId);
+		return rate != null ? rate : permitsPerSecond;
+	}
+
+	/**
+	 * Stops the scheduler of asynchronous waits, unless it was provided.
+	 */
+	@Override
+	public void close() {
+		if(ownsScheduler) {
+			scheduler.shutdown();
+		}
+	}
+
+	private Bucket bucket(int serviceId) {
+		Bucket bucket = buckets.get(serviceId);
+		if(bucket == null) {
+			Bucket created = new Bucket(this.getRate(serviceId), burst);
+			bucket = buckets.putIfAbsent(serviceId, created);
+			if(bucket == null) {
+				bucket = created;
+			}
+		}
+		return bucket;
+	}
+
+	private static void sleep(long nanos) throws InterruptedException {
+		if(nanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(nanos);
+		}
+	}
+
+	/**
+	 * <p>Lock-free token bucket in the form of the generic cell rate algorithm: the only state is the time at which
+	 * the bucket will be empty after all reservations so far. A full bucket is a time {@code burst} permits in the past.
+	 */
+	private static final class Bucket {
+		private final long nanosPerPermit;
+		private final long burstNanos;
+		private final AtomicLong emptyAt;
+
+		private Bucket(double permitsPerSecond, int burst) {
+			// rounded up, so rounding never raises the rate
+			this.nanosPerPermit = Math.max(1, (long) Math.ceil(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+			this.burstNanos = multiply(nanosPerPermit, burst);
+			this.emptyAt = new AtomicLong(System.nanoTime() - burstNanos);
+		}
+
+		/**
+		 * @return the time to wait until the reserved permits are due, or {@link RateLimiter#NOT_PERMITTED}
+		 * 		without reserving anything if that is longer than the maximum wait
+		 */
+		private long reserve(int permits, long maxWaitNanos) {
+			if(permits < 0) {
+				throw new IllegalArgumentException("Permits cannot be negative.");
+			}
+			long cost = multiply(nanosPerPermit, permits);
+			while(true) {
+				long now = System.nanoTime();
+				long current = emptyAt.get();
+				long full = now - burstNanos;
+				long start = current - full > 0 ? current : full;
+				long next = start + cost;
+				long wait = Math.max(0, next - now);
+				if(wait > maxWaitNanos) {
+					return NOT_PERMITTED;
+				}
+				if(emptyAt.compareAndSet(current, next)) {
+					return wait;
+				}
+			}
+		}
+
+		private static long multiply(long nanos, int permits) {
+			return permits > Long.MAX_VALUE / 4 / nanos ? Long.MAX_VALUE / 4 : nanos * permits;
+		}
+	}
+}
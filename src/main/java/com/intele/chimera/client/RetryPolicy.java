@@ -0,0 +1,301 @@
+package com.intele.chimera.client;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+import com.intele.chimera.client.impl.GatewayFaults;
+import com.intele.chimera.gw.xsd.smsgateway.fault._2013._02.Fault;
+
+/**
+ * <p>Decides which failed sends are retried, how often and after how long.
+ * <p>Retries wait for an exponentially growing backoff with full jitter: a random time between zero and the backoff,
+ * so clients that failed together do not retry together. No retry starts after the deadline, counted from the
+ * first attempt, and asynchronous attempts time out at the deadline. A retry budget limits retries to a ratio of
+ * the requests sent, plus a reserve of retries for quiet periods, so an outage does not multiply the load on the gateway.
+ * <p>Failures are {@link #classify(Throwable) classified} by whether the gateway may have processed the request.
+ * A request that may have been processed is not retried by default, since sending it again can deliver its messages
+ * twice. {@link Builder#withAmbiguousRetries(boolean)} retries it when every message has a {@code clientReference},
+ * for callers that accept duplicates or can reconcile them by client reference afterwards.
+ * Fault documents returned by the gateway are classified by their {@code code} when it is listed as retryable
+ * or not retryable, and by the HTTP status otherwise.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * GatewayClient gatewayClient = new GatewayClientBuilder().
+ * 	withRetryPolicy(new RetryPolicy.Builder().
+ * 		withMaxAttempts(4).
+ * 		withBackoff(200, 10000, TimeUnit.MILLISECONDS).
+ * 		withDeadline(1, TimeUnit.MINUTES).
+ * 		build()).
+ * 	build();
+ * }
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see GatewayClientBuilder#withRetryPolicy(RetryPolicy)
+ */
+public class RetryPolicy {
+
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+	public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 100;
+	public static final long DEFAULT_MAX_BACKOFF_MILLIS = 5000;
+	public static final long DEFAULT_DEADLINE_MILLIS = 30000;
+	public static final double DEFAULT_RETRY_RATIO = 0.2;
+	public static final int DEFAULT_MIN_RETRIES = 10;
+	/**
+	 * Deadline without a limit.
+	 */
+	public static final long NO_DEADLINE = 0;
+
+	/**
+	 * Whether a failed send may be retried.
+	 */
+	public enum Classification {
+		/** The failure is permanent, e.g. an invalid request or rejected credentials. */
+		NOT_RETRYABLE,
+		/** The gateway did not process the request, e.g. the connection could not be established or the gateway was unavailable. */
+		RETRYABLE,
+		/**
+		 * The gateway may have processed the request, e.g. the connection was lost while waiting for the response.
+		 * Only retried when enabled with {@link Builder#withAmbiguousRetries(boolean)}.
+		 */
+		RETRYABLE_IF_IDENTIFIED
+	}
+
+	public static class Builder {
+		private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+		private long initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_INITIAL_BACKOFF_MILLIS);
+		private long maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_BACKOFF_MILLIS);
+		private long deadlineNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DEADLINE_MILLIS);
+		private double retryRatio = DEFAULT_RETRY_RATIO;
+		private int minRetries = DEFAULT_MIN_RETRIES;
+		private final Set<Integer> retryableFaultCodes = new HashSet<>();
+		private final Set<Integer> nonRetryableFaultCodes = new HashSet<>();
+		private boolean ambiguousRetries;
+		private ScheduledExecutorService scheduler;
+
+		/**
+		 * @param maxAttempts the maximum number of attempts, including the first. Default {@value RetryPolicy#DEFAULT_MAX_ATTEMPTS}
+		 * @return the updated builder
+		 */
+		public Builder withMaxAttempts(int maxAttempts) {
+			if(maxAttempts < 1) {
+				throw new IllegalArgumentException("Max attempts must be at least 1.");
+			}
+			this.maxAttempts = maxAttempts;
+			return this;
+		}
+		/**
+		 * @param initialBackoff the backoff before the first retry, doubled for each later retry.
+		 * 		Default {@value RetryPolicy#DEFAULT_INITIAL_BACKOFF_MILLIS} ms
+		 * @param maxBackoff the largest backoff. Default {@value RetryPolicy#DEFAULT_MAX_BACKOFF_MILLIS} ms
+		 * @param unit the time unit of the backoffs
+		 * @return the updated builder
+		 */
+		public Builder withBackoff(long initialBackoff, long maxBackoff, TimeUnit unit) {
+			if(initialBackoff < 0 || maxBackoff < initialBackoff) {
+				throw new IllegalArgumentException("Backoff cannot be negative, and max backoff cannot be less than initial backoff.");
+			}
+			this.initialBackoffNanos = unit.toNanos(initialBackoff);
+			this.maxBackoffNanos = unit.toNanos(maxBackoff);
+			return this;
+		}
+		/**
+		 * @param deadline the total time for all attempts, or {@link RetryPolicy#NO_DEADLINE}.
+		 * 		Default {@value RetryPolicy#DEFAULT_DEADLINE_MILLIS} ms
+		 * @param unit the time unit of the deadline
+		 * @return the updated builder
+		 */
+		public Builder withDeadline(long deadline, TimeUnit unit) {
+			if(deadline < 0) {
+				throw new IllegalArgumentException("Deadline cannot be negative.");
+			}
+			this.deadlineNanos = unit.toNanos(deadline);
+			return this;
+		}
+		/**
+		 * @param retryRatio the retries allowed per request sent. Default {@value RetryPolicy#DEFAULT_RETRY_RATIO}
+		 * @param minRetries the retries allowed regardless of the ratio, e.g. after a quiet period. Default {@value RetryPolicy#DEFAULT_MIN_RETRIES}
+		 * @return the updated builder
+		 */
+		public Builder withRetryBudget(double retryRatio, int minRetries) {
+			if(!(retryRatio >= 0) || minRetries < 0) {
+				throw new IllegalArgumentException("Retry ratio and min retries cannot be negative.");
+			}
+			this.retryRatio = retryRatio;
+			this.minRetries = minRetries;
+			return this;
+		}
+		/**
+		 * @param codes fault codes for which the gateway did not process the request and it can be sent again
+		 * @return the updated builder
+		 */
+		public Builder withRetryableFaultCodes(int... codes) {
+			for(int code : codes) {
+				this.retryableFaultCodes.add(code);
+			}
+			return this;
+		}
+		/**
+		 * @param codes fault codes for which sending the request again does not help
+		 * @return the updated builder
+		 */
+		public Builder withNonRetryableFaultCodes(int... codes) {
+			for(int code : codes) {
+				this.nonRetryableFaultCodes.add(code);
+			}
+			return this;
+		}
+		/**
+		 * <p>Retry failures after which the gateway may have processed the request, when every message has a
+		 * {@code clientReference}. The gateway is not known to recognize a message sent again, so a retry may deliver
+		 * messages twice.
+		 * @param ambiguousRetries true to retry. Default false
+		 * @return the updated builder
+		 */
+		public Builder withAmbiguousRetries(boolean ambiguousRetries) {
+			this.ambiguousRetries = ambiguousRetries;
+			return this;
+		}
+		/**
+		 * <p>Use the given scheduler for the backoff of asynchronous sends instead of a dedicated daemon thread per client.
+		 * The scheduler is not shut down when the client is closed.
+		 * @param scheduler
+		 * @return the updated builder
+		 */
+		public Builder withScheduler(ScheduledExecutorService scheduler) {
+			this.scheduler = scheduler;
+			return this;
+		}
+		/**
+		 * @return the newly created retry policy
+		 */
+		public RetryPolicy build() {
+			return new RetryPolicy(this);
+		}
+	}
+
+	private final int maxAttempts;
+	private final long initialBackoffNanos;
+	private final long maxBackoffNanos;
+	private final long deadlineNanos;
+	private final double retryRatio;
+	private final int minRetries;
+	private final Set<Integer> retryableFaultCodes;
+	private final Set<Integer> nonRetryableFaultCodes;
+	private final boolean ambiguousRetries;
+	private final ScheduledExecutorService scheduler;
+
+	private RetryPolicy(Builder builder) {
+		this.maxAttempts = builder.maxAttempts;
+		this.initialBackoffNanos = builder.initialBackoffNanos;
+		this.maxBackoffNanos = builder.maxBackoffNanos;
+		this.deadlineNanos = builder.deadlineNanos;
+		this.retryRatio = builder.retryRatio;
+		this.minRetries = builder.minRetries;
+		this.retryableFaultCodes = Collections.unmodifiableSet(new HashSet<>(builder.retryableFaultCodes));
+		this.nonRetryableFaultCodes = Collections.unmodifiableSet(new HashSet<>(builder.nonRetryableFaultCodes));
+		this.ambiguousRetries = builder.ambiguousRetries;
+		this.scheduler = builder.scheduler;
+	}
+
+	/**
+	 * @param failure the failure of a send
+	 * @return whether the send may be retried
+	 */
+	public Classification classify(Throwable failure) {
+		if(failure instanceof RateLimitExceededException) {
+			return Classification.RETRYABLE;
+		}
+		if(failure instanceof CircuitBreakerOpenException) {
+			// retrying within the open duration is rejected as well
+			return Classification.NOT_RETRYABLE;
+		}
+		if(failure instanceof WebApplicationException) {
+			Response response = ((WebApplicationException) failure).getResponse();
+			Fault fault = GatewayFaults.of(failure);
+			if(fault != null && fault.getCode() != null) {
+				if(retryableFaultCodes.contains(fault.getCode())) {
+					return Classification.RETRYABLE;
+				} else if(nonRetryableFaultCodes.contains(fault.getCode())) {
+					return Classification.NOT_RETRYABLE;
+				}
+			}
+			int status = response == null ? 0 : response.getStatus();
+			switch(status) {
+			case 429:
+			case 503:
+				return Classification.RETRYABLE;
+			case 500:
+			case 502:
+			case 504:
+				return Classification.RETRYABLE_IF_IDENTIFIED;
+			default:
+				return Classification.NOT_RETRYABLE;
+			}
+		}
+		if(failure instanceof ProcessingException) {
+			for(Throwable cause = failure.getCause(); cause != null; cause = cause.getCause()) {
+				if(cause instanceof ConnectException || cause instanceof UnknownHostException || cause instanceof NoRouteToHostException) {
+					return Classification.RETRYABLE;
+				} else if(cause instanceof IOException) {
+					return Classification.RETRYABLE_IF_IDENTIFIED;
+				}
+			}
+		}
+		return Classification.NOT_RETRYABLE;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public long getInitialBackoff(TimeUnit unit) {
+		return unit.convert(initialBackoffNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public long getMaxBackoff(TimeUnit unit) {
+		return unit.convert(maxBackoffNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return the deadline, or {@link #NO_DEADLINE}
+	 */
+	public long getDeadline(TimeUnit unit) {
+		return unit.convert(deadlineNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public double getRetryRatio() {
+		return retryRatio;
+	}
+
+	public int getMinRetries() {
+		return minRetries;
+	}
+
+	/**
+	 * @return whether failures classified {@link Classification#RETRYABLE_IF_IDENTIFIED} are retried
+	 */
+	public boolean isAmbiguousRetries() {
+		return ambiguousRetries;
+	}
+
+	/**
+	 * @return the scheduler for the backoff of asynchronous sends, or {@code null} for a dedicated one per client
+	 */
+	public ScheduledExecutorService getScheduler() {
+		return scheduler;
+	}
+}
@@ -0,0 +1,384 @@
+package com.intele.chimera.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.client.InvocationCallback;
+
+import com.intele.chimera.client.impl.SettableFuture;
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+/**
+ * <p>Collects single {@link Sms} messages and sends them to the gateway in batches, one {@link GatewayRequest}
+ * per batch instead of one per message.
+ * <p>Messages are grouped by service identifier and credentials. A batch is sent when it reaches the maximum
+ * batch size or when its oldest message has waited for the linger time, whichever comes first.
+ * The {@link MessageStatus} for each message is routed back to its submitter by the {@code sequenceIndex}
+ * of the response, which counts the messages of a request starting at {@value #FIRST_SEQUENCE_INDEX}.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * SmsBatcher batcher = new SmsBatcher.Builder(gatewayClient).
+ * 	withMaxBatchSize(500).
+ * 	withLinger(20, TimeUnit.MILLISECONDS).
+ * 	build();
+ * Future<MessageStatus> status = batcher.submit(100, "username", "password",
+ * 	new Sms.Builder("+4741000000", "Test message").build());
+ * }
+ * </pre>
+ * <p>{@link #close()} sends any pending messages but does not close the underlying {@link GatewayClient}.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see GatewayClient#sendAsync(com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request, InvocationCallback)
+ */
+public class SmsBatcher implements AutoCloseable {
+
+	public static final int FIRST_SEQUENCE_INDEX = 1;
+	public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+	public static final long DEFAULT_LINGER_MILLIS = 10;
+
+	/**
+	 * Decides the batch reference of each request sent by the batcher.
+	 */
+	public interface BatchReferencePolicy {
+		/**
+		 * @param serviceId the service of the batch
+		 * @param batchNumber increasing number of the batch, unique per batcher
+		 * @return the batch reference, or {@code null} for none
+		 */
+		public String batchReference(int serviceId, long batchNumber);
+	}
+
+	/**
+	 * Sends the batches without a batch reference.
+	 */
+	public static final BatchReferencePolicy NO_BATCH_REFERENCE = new BatchReferencePolicy() {
+		@Override
+		public String batchReference(int serviceId, long batchNumber) {
+			return null;
+		}
+	};
+
+	public static class Builder {
+		private final GatewayClient gatewayClient;
+		private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+		private long lingerNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_LINGER_MILLIS);
+		private BatchReferencePolicy batchReferencePolicy = NO_BATCH_REFERENCE;
+		private ScheduledExecutorService scheduler;
+
+		/**
+		 * @param gatewayClient the client used to send the batches
+		 */
+		public Builder(GatewayClient gatewayClient) {
+			if(gatewayClient == null) {
+				throw new IllegalArgumentException("Gateway client cannot be null.");
+			}
+			this.gatewayClient = gatewayClient;
+		}
+		/**
+		 * @param maxBatchSize the maximum number of messages in one request. Default {@value SmsBatcher#DEFAULT_MAX_BATCH_SIZE}
+		 * @return the updated builder
+		 */
+		public Builder withMaxBatchSize(int maxBatchSize) {
+			if(maxBatchSize < 1) {
+				throw new IllegalArgumentException("Max batch size must be at least 1.");
+			}
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+		/**
+		 * @param linger how long the first message of a batch may wait for more messages. Default {@value SmsBatcher#DEFAULT_LINGER_MILLIS} ms
+		 * @param unit the time unit of the linger
+		 * @return the updated builder
+		 */
+		public Builder withLinger(long linger, TimeUnit unit) {
+			if(linger < 0) {
+				throw new IllegalArgumentException("Linger cannot be negative.");
+			}
+			this.lingerNanos = unit.toNanos(linger);
+			return this;
+		}
+		/**
+		 * @param batchReferencePolicy decides the batch reference of each request
+		 * @return the updated builder
+		 */
+		public Builder withBatchReferencePolicy(BatchReferencePolicy batchReferencePolicy) {
+			if(batchReferencePolicy == null) {
+				throw new IllegalArgumentException("Batch reference policy cannot be null.");
+			}
+			this.batchReferencePolicy = batchReferencePolicy;
+			return this;
+		}
+		/**
+		 * <p>Use the given scheduler for the linger timers instead of a dedicated daemon thread.
+		 * The scheduler is not shut down when the batcher is closed.
+		 * @param scheduler
+		 * @return the updated builder
+		 */
+		public Builder withScheduler(ScheduledExecutorService scheduler) {
+			this.scheduler = scheduler;
+			return this;
+		}
+		/**
+		 * @return the newly created batcher
+		 */
+		public SmsBatcher build() {
+			return new SmsBatcher(this);
+		}
+	}
+
+	private final GatewayClient gatewayClient;
+	private final int maxBatchSize;
+	private final long lingerNanos;
+	private final BatchReferencePolicy batchReferencePolicy;
+	private final ScheduledExecutorService scheduler;
+	private final boolean ownsScheduler;
+	private final ConcurrentMap<LaneKey, Lane> lanes = new ConcurrentHashMap<>();
+	private final AtomicLong batchNumber = new AtomicLong();
+	private volatile boolean closed;
+
+	private SmsBatcher(Builder builder) {
+		this.gatewayClient = builder.gatewayClient;
+		this.maxBatchSize = builder.maxBatchSize;
+		this.lingerNanos = builder.lingerNanos;
+		this.batchReferencePolicy = builder.batchReferencePolicy;
+		this.ownsScheduler = builder.scheduler == null;
+		this.scheduler = ownsScheduler ? Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "smsgw-batcher");
+				thread.setDaemon(true);
+				return thread;
+			}
+		}) : builder.scheduler;
+	}
+
+	/**
+	 * Queues a message for sending.
+	 *
+	 * @param serviceId
+	 * @param username
+	 * @param password
+	 * @param sms
+	 * @return a future holding the status of the message
+	 */
+	public Future<MessageStatus> submit(int serviceId, String username, String password, Sms sms) {
+		return this.submit(serviceId, username, password, sms, null);
+	}
+
+	/**
+	 * Queues a message for sending.
+	 *
+	 * @param serviceId
+	 * @param username
+	 * @param password
+	 * @param sms
+	 * @param callback notified with the status of the message; may be {@code null}
+	 * @return a future holding the status of the message
+	 */
+	public Future<MessageStatus> submit(int serviceId, String username, String password, Sms sms, InvocationCallback<MessageStatus> callback) {
+		if(closed) {
+			throw new IllegalStateException("Batcher is closed.");
+		}
+		LaneKey key = new LaneKey(serviceId, username, password);
+		Lane lane = lanes.get(key);
+		if(lane == null) {
+			Lane created = new Lane(key);
+			lane = lanes.putIfAbsent(key, created);
+			if(lane == null) {
+				lane = created;
+			}
+		}
+		SettableFuture<MessageStatus> future = new SettableFuture<>(callback);
+		lane.add(sms, future);
+		return future;
+	}
+
+	/**
+	 * Sends all pending messages without waiting for the linger time.
+	 */
+	public void flush() {
+		for(Lane lane : lanes.values()) {
+			lane.flush(null);
+		}
+	}
+
+	/**
+	 * Sends all pending messages and stops accepting new ones.
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		this.flush();
+		if(ownsScheduler) {
+			scheduler.shutdown();
+		}
+	}
+
+	private void dispatch(LaneKey key, Batch batch) {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(key.serviceId, key.username, key.password).
+				withBatchReference(batchReferencePolicy.batchReference(key.serviceId, batchNumber.incrementAndGet())).
+				build();
+		final List<SettableFuture<MessageStatus>> futures = new ArrayList<>(batch.futures.size());
+		for(int i = 0; i < batch.messages.size(); i++) {
+			SettableFuture<MessageStatus> future = batch.futures.get(i);
+			if(!future.isCancelled()) {
+				gatewayRequest.addMessage(batch.messages.get(i));
+				futures.add(future);
+			}
+		}
+		if(futures.isEmpty()) {
+			return;
+		}
+		try {
+			gatewayClient.sendAsync(gatewayRequest.getRequest(), new InvocationCallback<Response>() {
+				@Override
+				public void completed(Response response) {
+					route(response, futures);
+				}
+
+				@Override
+				public void failed(Throwable throwable) {
+					for(SettableFuture<MessageStatus> future : futures) {
+						future.fail(throwable);
+					}
+				}
+			});
+		} catch(RuntimeException e) {
+			for(SettableFuture<MessageStatus> future : futures) {
+				future.fail(e);
+			}
+		}
+	}
+
+	private static void route(Response response, List<SettableFuture<MessageStatus>> futures) {
+		for(MessageStatus messageStatus : response.getMessageStatus()) {
+			int index = messageStatus.getSequenceIndex() - FIRST_SEQUENCE_INDEX;
+			if(index >= 0 && index < futures.size()) {
+				futures.get(index).complete(messageStatus);
+			}
+		}
+		for(int i = 0; i < futures.size(); i++) {
+			futures.get(i).fail(new IllegalStateException("No message status returned for sequence index " + (i + FIRST_SEQUENCE_INDEX) + "."));
+		}
+	}
+
+	private static final class Batch {
+		private final List<Sms> messages = new ArrayList<>();
+		private final List<SettableFuture<MessageStatus>> futures = new ArrayList<>();
+	}
+
+	private final class Lane {
+		private final LaneKey key;
+		private Batch current;
+
+		private Lane(LaneKey key) {
+			this.key = key;
+		}
+
+		private void add(Sms sms, SettableFuture<MessageStatus> future) {
+			Batch full = null;
+			Batch started = null;
+			synchronized(this) {
+				// checked under the lock, so a message is either flushed by close() or rejected
+				if(closed) {
+					throw new IllegalStateException("Batcher is closed.");
+				}
+				if(current == null) {
+					current = new Batch();
+					started = current;
+				}
+				current.messages.add(sms);
+				current.futures.add(future);
+				if(current.messages.size() >= maxBatchSize) {
+					full = current;
+					current = null;
+				}
+			}
+			if(full != null) {
+				dispatch(key, full);
+			} else if(started != null) {
+				this.scheduleFlush(started);
+			}
+		}
+
+		private void scheduleFlush(final Batch batch) {
+			if(lingerNanos == 0) {
+				this.flush(batch);
+				return;
+			}
+			try {
+				scheduler.schedule(new Runnable() {
+					@Override
+					public void run() {
+						flush(batch);
+					}
+				}, lingerNanos, TimeUnit.NANOSECONDS);
+			} catch(RejectedExecutionException e) {
+				// e.g. a shared scheduler that was shut down: send now rather than leave the batch pending
+				this.flush(batch);
+			}
+		}
+
+		/**
+		 * @param expected only flush if this batch is still pending; {@code null} flushes whatever is pending
+		 */
+		private void flush(Batch expected) {
+			Batch batch;
+			synchronized(this) {
+				if(current == null || (expected != null && current != expected)) {
+					return;
+				}
+				batch = current;
+				current = null;
+			}
+			dispatch(key, batch);
+		}
+	}
+
+	private static final class LaneKey {
+		private final int serviceId;
+		private final String username;
+		private final String password;
+
+		private LaneKey(int serviceId, String username, String password) {
+			this.serviceId = serviceId;
+			this.username = username;
+			this.password = password;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = 31 + serviceId;
+			result = 31 * result + (username == null ? 0 : username.hashCode());
+			return 31 * result + (password == null ? 0 : password.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj) {
+				return true;
+			}
+			if(!(obj instanceof LaneKey)) {
+				return false;
+			}
+			LaneKey other = (LaneKey) obj;
+			return serviceId == other.serviceId &&
+					(username == null ? other.username == null : username.equals(other.username)) &&
+					(password == null ? other.password == null : password.equals(other.password));
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.intele.chimera.client.impl;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import com.intele.chimera.client.GatewayListener;
+
+/**
+ * <p>JAX-RS interceptor that reports the entity bytes written and read to a {@link GatewayListener}.
+ * <p>Registered with the {@link #PRIORITY}, it runs before the {@link GzipInterceptor}, so its streams are the ones
+ * closest to the connection and the bytes are counted as they are sent and received.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class ByteCountingInterceptor implements WriterInterceptor, ReaderInterceptor {
+
+	/**
+	 * Priority ahead of the {@link GzipInterceptor}, which has the default user priority.
+	 */
+	public static final int PRIORITY = Priorities.ENTITY_CODER;
+
+	private final GatewayListener listener;
+
+	/**
+	 * @param listener
+	 */
+	public ByteCountingInterceptor(GatewayListener listener) {
+		if(listener == null) {
+			throw new IllegalArgumentException("Listener cannot be null.");
+		}
+		this.listener = listener;
+	}
+
+	@Override
+	public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+		OutputStream entityStream = context.getOutputStream();
+		context.setOutputStream(new CountingOutputStream(entityStream, listener));
+		try {
+			context.proceed();
+		} finally {
+			context.setOutputStream(entityStream);
+		}
+	}
+
+	@Override
+	public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException {
+		context.setInputStream(new CountingInputStream(context.getInputStream(), listener));
+		return context.proceed();
+	}
+
+	/**
+	 * Reports the bytes of every write to the listener.
+	 */
+	static final class CountingOutputStream extends FilterOutputStream {
+		private final GatewayListener listener;
+
+		CountingOutputStream(OutputStream out, GatewayListener listener) {
+			super(out);
+			this.listener = listener;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			listener.onBytesSent(1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			if(len > 0) {
+				listener.onBytesSent(len);
+			}
+		}
+	}
+
+	/**
+	 * Reports the bytes of every read to the listener. Streamed responses are counted as they are read.
+	 */
+	static final class CountingInputStream extends FilterInputStream {
+		private final GatewayListener listener;
+
+		CountingInputStream(InputStream in, GatewayListener listener) {
+			super(in);
+			this.listener = listener;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = in.read();
+			if(b != -1) {
+				listener.onBytesReceived(1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = in.read(b, off, len);
+			if(read > 0) {
+				listener.onBytesReceived(read);
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = in.skip(n);
+			if(skipped > 0) {
+				listener.onBytesReceived(skipped);
+			}
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+	}
+}
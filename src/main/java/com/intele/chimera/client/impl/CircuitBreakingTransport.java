@@ -0,0 +1,131 @@
+package com.intele.chimera.client.impl;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.Response;
+
+import com.intele.chimera.client.CircuitBreaker;
+import com.intele.chimera.client.CircuitBreakerOpenException;
+import com.intele.chimera.client.RateLimitExceededException;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>{@link GatewayTransport} decorator that sends a request only when the {@link CircuitBreaker} permits it,
+ * and records the outcome and duration of each call.
+ * <p>A call fails when the gateway could not be reached or answered with a server error (5xx). Client errors (4xx)
+ * are answers of a healthy gateway and count as successes; cancelled calls and failures before sending are not recorded.
+ * Each outcome is reported with the permission of its call, so the breaker can drop calls sent before it last changed.
+ * A request that is not permitted fails with a {@link CircuitBreakerOpenException}, synchronously or through the
+ * callback and future of {@link #sendAsync(Request, Class, long, TimeUnit, InvocationCallback)}.
+ * <p>Closing the transport closes the decorated transport.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class CircuitBreakingTransport implements GatewayTransport {
+
+	private final GatewayTransport transport;
+	private final CircuitBreaker circuitBreaker;
+
+	/**
+	 * @param transport the decorated transport
+	 * @param circuitBreaker
+	 */
+	public CircuitBreakingTransport(GatewayTransport transport, CircuitBreaker circuitBreaker) {
+		if(circuitBreaker == null) {
+			throw new IllegalArgumentException("Circuit breaker cannot be null.");
+		}
+		this.transport = transport;
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	@Override
+	public <T> T send(Request request, Class<T> responseType) {
+		long permission = circuitBreaker.acquirePermission();
+		if(permission == CircuitBreaker.NOT_PERMITTED) {
+			throw new CircuitBreakerOpenException(circuitBreaker.getState());
+		}
+		long start = System.nanoTime();
+		try {
+			T response = transport.send(request, responseType);
+			circuitBreaker.onSuccess(permission, System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			return response;
+		} catch(RuntimeException e) {
+			this.record(permission, e, System.nanoTime() - start);
+			throw e;
+		}
+	}
+
+	@Override
+	public <T> Future<T> sendAsync(Request request, Class<T> responseType, long timeout, TimeUnit unit, final InvocationCallback<T> callback) {
+		final long permission = circuitBreaker.acquirePermission();
+		if(permission == CircuitBreaker.NOT_PERMITTED) {
+			SettableFuture<T> rejected = new SettableFuture<>(callback);
+			rejected.fail(new CircuitBreakerOpenException(circuitBreaker.getState()));
+			return rejected;
+		}
+		final long start = System.nanoTime();
+		try {
+			return transport.sendAsync(request, responseType, timeout, unit, new InvocationCallback<T>() {
+				@Override
+				public void completed(T response) {
+					circuitBreaker.onSuccess(permission, System.nanoTime() - start, TimeUnit.NANOSECONDS);
+					if(callback != null) {
+						callback.completed(response);
+					}
+				}
+
+				@Override
+				public void failed(Throwable throwable) {
+					record(permission, throwable, System.nanoTime() - start);
+					if(callback != null) {
+						callback.failed(throwable);
+					}
+				}
+			});
+		} catch(RuntimeException e) {
+			this.record(permission, e, System.nanoTime() - start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void close() {
+		transport.close();
+	}
+
+	/**
+	 * @return the decorated transport
+	 */
+	public GatewayTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * @return the circuit breaker
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	private void record(long permission, Throwable failure, long durationNanos) {
+		if(failure instanceof WebApplicationException) {
+			Response response = ((WebApplicationException) failure).getResponse();
+			if(response != null && response.getStatus() >= 500) {
+				circuitBreaker.onFailure(permission, durationNanos, TimeUnit.NANOSECONDS);
+			} else {
+				circuitBreaker.onSuccess(permission, durationNanos, TimeUnit.NANOSECONDS);
+			}
+		} else if(failure instanceof ProcessingException && !(failure instanceof RateLimitExceededException)
+				&& !(failure instanceof CircuitBreakerOpenException)) {
+			circuitBreaker.onFailure(permission, durationNanos, TimeUnit.NANOSECONDS);
+		} else {
+			// cancelled, or failed before sending
+			circuitBreaker.onIgnored(permission);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.intele.chimera.client.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p>Entity stream that gzip-compresses the entity once it grows beyond a threshold.
+ * <p>Up to the threshold the entity is held in a buffer, so small entities are sent as is. When the threshold is
+ * exceeded the target stream is opened for compression and the buffered bytes and everything after them are
+ * compressed on the fly, without holding the whole entity in memory. Flushing before the decision has no effect,
+ * so the decision is not forced by serializers flushing at the end of the document.
+ * <p>Not thread-safe; one instance is used per entity.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+final class CompressingOutputStream extends OutputStream {
+
+	static final String GZIP = "gzip";
+
+	/**
+	 * Opens the stream the entity is written to, once it is known whether it is compressed.
+	 */
+	interface Target {
+		/**
+		 * @param compressed whether the entity is gzip-compressed; the {@code Content-Encoding} must be set accordingly
+		 * @return the stream for the entity bytes
+		 */
+		OutputStream open(boolean compressed) throws IOException;
+	}
+
+	private final int threshold;
+	private final Target target;
+	private byte[] buffer;
+	private int count;
+	private OutputStream out;
+	private GZIPOutputStream gzip;
+	private boolean finished;
+
+	/**
+	 * @param threshold the largest entity in bytes that is sent uncompressed
+	 * @param target
+	 */
+	CompressingOutputStream(int threshold, Target target) {
+		if(threshold < 0) {
+			throw new IllegalArgumentException("Threshold cannot be negative.");
+		}
+		this.threshold = threshold;
+		this.target = target;
+		this.buffer = new byte[Math.min(threshold, 8192)];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if(out == null && count == threshold) {
+			this.compress();
+		}
+		if(out != null) {
+			out.write(b);
+			return;
+		}
+		this.ensure(1);
+		buffer[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if(out == null && len > threshold - count) {
+			this.compress();
+		}
+		if(out != null) {
+			out.write(b, off, len);
+			return;
+		}
+		this.ensure(len);
+		System.arraycopy(b, off, buffer, count, len);
+		count += len;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if(out != null) {
+			out.flush();
+		}
+	}
+
+	/**
+	 * @return whether the entity is compressed; only final after {@link #finish()} or once the threshold is exceeded
+	 */
+	boolean isCompressed() {
+		return gzip != null;
+	}
+
+	/**
+	 * Completes the entity without closing the target stream: writes a buffered entity uncompressed,
+	 * or the gzip trailer of a compressed one.
+	 */
+	void finish() throws IOException {
+		if(finished) {
+			return;
+		}
+		finished = true;
+		if(out == null) {
+			out = target.open(false);
+			out.write(buffer, 0, count);
+			buffer = null;
+		} else {
+			gzip.finish();
+		}
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			this.finish();
+		} finally {
+			if(out != null) {
+				out.close();
+			}
+		}
+	}
+
+	private void compress() throws IOException {
+		gzip = new GZIPOutputStream(target.open(true), 8192);
+		out = gzip;
+		gzip.write(buffer, 0, count);
+		buffer = null;
+	}
+
+	private void ensure(int length) {
+		if(buffer.length - count < length) {
+			byte[] grown = new byte[Math.min(threshold, Math.max(buffer.length * 2, count + length))];
+			System.arraycopy(buffer, 0, grown, 0, count);
+			buffer = grown;
+		}
+	}
+}
@@ -1,32 +1,42 @@
 package com.intele.chimera.client.impl;
 
+import java.util.Iterator;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.Entity;
-import javax.ws.rs.client.Invocation;
-import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.core.MediaType;
 
+import com.intele.chimera.client.BulkSender;
 import com.intele.chimera.client.GatewayClient;
 import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.client.response.StreamingResponse;
 import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
 import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
 
 /**
  * @author  gre
- * @version 1.0		Aug 6, 2015
+ * @version 1.1		Oct 18, 2026
  *
  */
 public class GatewayClientImpl implements GatewayClient {
 
-	private final Client client;
-	private final String target;
-	private final MediaType mediaType;
+	/**
+	 * @see JaxRsTransport#READ_TIMEOUT_PROPERTY
+	 */
+	public static final String READ_TIMEOUT_PROPERTY = JaxRsTransport.READ_TIMEOUT_PROPERTY;
+
+	private final GatewayTransport transport;
 
 	public GatewayClientImpl(Client client, String target, MediaType mediaType) {
+		this(new JaxRsTransport(client, target, mediaType));
+	}
+
+	public GatewayClientImpl(GatewayTransport transport) {
 		super();
-		this.client = client;
-		this.target = target;
-		this.mediaType = mediaType;
+		this.transport = transport;
 	}
 	
 	@Override
@@ -37,22 +47,48 @@ public class GatewayClientImpl implements GatewayClient {
 	
 	@Override
 	public Response send(Request request) {
-		WebTarget webTarget = client.target(target);
-		Entity<Request> entity;
-		if(mediaType.equals(MediaType.APPLICATION_XML_TYPE)) {
-			entity = Entity.xml(request);
-		} else if(mediaType.equals(MediaType.APPLICATION_JSON_TYPE)) {
-			entity = Entity.json(request);
-		} else {
-			throw new IllegalStateException("Mediatype "+mediaType+" is not supported.");
-		}
-		
-		Invocation buildPost = webTarget.request().accept(mediaType).buildPost(entity);
-		return buildPost.invoke(Response.class);
+		return transport.send(request, Response.class);
+	}
+
+	@Override
+	public Future<Response> sendAsync(GatewayRequest gatewayRequest) {
+		return this.sendAsync(gatewayRequest.getRequest());
+	}
+
+	@Override
+	public Future<Response> sendAsync(Request request) {
+		return this.sendAsync(request, 0, TimeUnit.MILLISECONDS, null);
+	}
+
+	@Override
+	public Future<Response> sendAsync(Request request, InvocationCallback<Response> callback) {
+		return this.sendAsync(request, 0, TimeUnit.MILLISECONDS, callback);
+	}
+
+	@Override
+	public Future<Response> sendAsync(Request request, long timeout, TimeUnit unit, InvocationCallback<Response> callback) {
+		return transport.sendAsync(request, Response.class, timeout, unit, callback);
+	}
+
+	@Override
+	public StreamingResponse sendStreaming(Request request) {
+		return transport.send(request, StreamingResponse.class);
+	}
+
+	@Override
+	public BulkSender.Results sendAll(int serviceId, String username, String password, Iterator<Sms> messages) {
+		return new BulkSender.Builder(this).build().sendAll(serviceId, username, password, messages);
+	}
+
+	/**
+	 * @return the transport used to reach the gateway
+	 */
+	public GatewayTransport getTransport() {
+		return transport;
 	}
 
 	@Override
 	public void close() {
-		this.client.close();
+		this.transport.close();
 	}
 }
@@ -0,0 +1,108 @@
+package com.intele.chimera.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import com.intele.chimera.gw.xsd.smsgateway.fault._2013._02.Fault;
+
+/**
+ * <p>Reads the SMSGateway-2013-02 {@link Fault} document the gateway returns with an unsuccessful HTTP status.
+ * <p>Both transports keep the entity of an error response readable, so the fault can be read from the
+ * {@link WebApplicationException} thrown by a send, as XML or JSON depending on the media type of the response.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public final class GatewayFaults {
+
+	private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+	private static final char[] FAULT = JsonInput.chars("fault");
+	private static final char[] CODE = JsonInput.chars("code");
+	private static final char[] REASON = JsonInput.chars("reason");
+
+	private static final JaxbProvider JAXB_PROVIDER = new JaxbProvider();
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static final Class<Object> FAULT_TYPE = (Class) Fault.class;
+
+	private GatewayFaults() {
+	}
+
+	/**
+	 * @param failure the failure of a send
+	 * @return the fault document of the error response, or {@code null} if the failure is not an error response
+	 * 		or its entity is not a fault document
+	 */
+	public static Fault of(Throwable failure) {
+		if(!(failure instanceof WebApplicationException)) {
+			return null;
+		}
+		Response response = ((WebApplicationException) failure).getResponse();
+		byte[] body = response == null ? null : body(response);
+		if(body == null || body.length == 0) {
+			return null;
+		}
+		MediaType mediaType = response.getMediaType();
+		try {
+			if(mediaType != null && MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType)) {
+				return readJson(body);
+			}
+			return (Fault) JAXB_PROVIDER.readFrom(FAULT_TYPE, Fault.class, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE, null,
+					new ByteArrayInputStream(body));
+		} catch(IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * The entity is a byte array for responses built by the {@link HttpUrlConnectionTransport}, and a buffered
+	 * stream for responses received by a JAX-RS client.
+	 */
+	private static byte[] body(Response response) {
+		try {
+			Object entity = response.getEntity();
+			if(entity instanceof byte[]) {
+				return (byte[]) entity;
+			}
+		} catch(IllegalStateException e) {
+			// entity of an inbound response is only available through readEntity
+		}
+		try {
+			return response.hasEntity() ? response.readEntity(byte[].class) : null;
+		} catch(IllegalStateException | ProcessingException e) {
+			return null;
+		}
+	}
+
+	private static Fault readJson(byte[] body) throws IOException {
+		JsonInput json = new JsonInput(new ByteArrayInputStream(body), Math.max(1, Math.min(body.length, 8192)));
+		json.expect(JsonInput.BEGIN_OBJECT);
+		Fault fault = new Fault();
+		readJson(json, fault);
+		return fault;
+	}
+
+	private static void readJson(JsonInput json, Fault fault) throws IOException {
+		int token;
+		while((token = json.next()) == JsonInput.NAME) {
+			if(json.nameIs(CODE)) {
+				fault.setCode(json.nextInt());
+			} else if(json.nameIs(REASON)) {
+				fault.setReason(json.nextString());
+			} else if(json.nameIs(FAULT)) {
+				json.expect(JsonInput.BEGIN_OBJECT);
+				readJson(json, fault);
+			} else {
+				json.skipValue();
+			}
+		}
+		if(token != JsonInput.END_OBJECT) {
+			throw json.syntaxError("Expected a member name");
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.intele.chimera.client.impl;
+
+import java.util.List;
+
+import com.intele.chimera.client.GatewayListener;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>{@link GatewayListener} that passes every event on to several listeners, ignoring the exceptions they throw,
+ * so that a failing listener neither fails the send nor keeps the other listeners from the event.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public final class GatewayListeners implements GatewayListener {
+
+	private final GatewayListener[] listeners;
+
+	private GatewayListeners(GatewayListener[] listeners) {
+		this.listeners = listeners;
+	}
+
+	/**
+	 * @param listeners
+	 * @return a listener passing events on to the listeners in order
+	 */
+	public static GatewayListener of(List<? extends GatewayListener> listeners) {
+		if(listeners == null || listeners.isEmpty()) {
+			throw new IllegalArgumentException("Listeners cannot be empty.");
+		}
+		GatewayListener[] copy = listeners.toArray(new GatewayListener[listeners.size()]);
+		for(GatewayListener listener : copy) {
+			if(listener == null) {
+				throw new IllegalArgumentException("Listener cannot be null.");
+			}
+		}
+		return new GatewayListeners(copy);
+	}
+
+	@Override
+	public void onSend(Request request) {
+		for(GatewayListener listener : listeners) {
+			try {
+				listener.onSend(request);
+			} catch(RuntimeException ignored) { }
+		}
+	}
+
+	@Override
+	public void onResponse(Request request, Object response, long durationNanos) {
+		for(GatewayListener listener : listeners) {
+			try {
+				listener.onResponse(request, response, durationNanos);
+			} catch(RuntimeException ignored) { }
+		}
+	}
+
+	@Override
+	public void onFailure(Request request, Throwable failure, long durationNanos) {
+		for(GatewayListener listener : listeners) {
+			try {
+				listener.onFailure(request, failure, durationNanos);
+			} catch(RuntimeException ignored) { }
+		}
+	}
+
+	@Override
+	public void onBytesSent(long bytes) {
+		for(GatewayListener listener : listeners) {
+			try {
+				listener.onBytesSent(bytes);
+			} catch(RuntimeException ignored) { }
+		}
+	}
+
+	@Override
+	public void onBytesReceived(long bytes) {
+		for(GatewayListener listener : listeners) {
+			try {
+				listener.onBytesReceived(bytes);
+			} catch(RuntimeException ignored) { }
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.intele.chimera.client.impl;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.MediaType;
+
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>Sends a {@link Request} to one gateway endpoint and reads the reply as the requested type.
+ * <p>Implementations must be safe for concurrent use. Failures are reported as runtime exceptions;
+ * HTTP error statuses as the matching {@link javax.ws.rs.WebApplicationException} subclass.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see JaxRsTransport
+ * @see HttpUrlConnectionTransport
+ */
+public interface GatewayTransport extends AutoCloseable {
+
+	/**
+	 * Creates transports for a target endpoint.
+	 */
+	public interface Factory {
+		/**
+		 * @param target the full URL of the gateway endpoint
+		 * @param mediaType the media type used for the request and response entities
+		 * @return a new transport
+		 */
+		public GatewayTransport create(String target, MediaType mediaType);
+	}
+
+	/**
+	 * Sends the request and blocks until the response has been read.
+	 *
+	 * @param request
+	 * @param responseType the type to read the response entity as
+	 * @return the response entity
+	 */
+	public <T> T send(Request request, Class<T> responseType);
+
+	/**
+	 * Sends the request without blocking the calling thread.
+	 *
+	 * @param request
+	 * @param responseType the type to read the response entity as
+	 * @param timeout the maximum time to wait for the response; 0 means the transport default
+	 * @param unit the time unit of the timeout
+	 * @param callback notified on completion; may be {@code null}
+	 * @return a future holding the response entity
+	 */
+	public <T> Future<T> sendAsync(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback);
+
+	/**
+	 * Releases the resources held by the transport.
+	 */
+	@Override
+	public void close();
+}
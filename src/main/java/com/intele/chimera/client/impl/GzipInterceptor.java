@@ -0,0 +1,86 @@
+package com.intele.chimera.client.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * <p>JAX-RS interceptor that gzip-compresses request entities larger than a threshold and decompresses
+ * gzip-encoded response entities.
+ * <p>The {@code Content-Encoding} header is only set once the entity has grown beyond the threshold, which works
+ * because the headers are not sent before the first entity byte is written.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see CompressingOutputStream
+ */
+public class GzipInterceptor implements WriterInterceptor, ReaderInterceptor {
+
+	private final int threshold;
+
+	/**
+	 * @param threshold the largest request entity in bytes that is sent uncompressed
+	 */
+	public GzipInterceptor(int threshold) {
+		if(threshold < 0) {
+			throw new IllegalArgumentException("Threshold cannot be negative.");
+		}
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+		final OutputStream entityStream = context.getOutputStream();
+		final MultivaluedMap<String, Object> headers = context.getHeaders();
+		CompressingOutputStream out = new CompressingOutputStream(threshold, new CompressingOutputStream.Target() {
+			@Override
+			public OutputStream open(boolean compressed) {
+				if(compressed) {
+					headers.putSingle(HttpHeaders.CONTENT_ENCODING, CompressingOutputStream.GZIP);
+				}
+				return entityStream;
+			}
+		});
+		context.setOutputStream(out);
+		try {
+			context.proceed();
+			out.finish();
+		} finally {
+			context.setOutputStream(entityStream);
+		}
+	}
+
+	@Override
+	public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException {
+		if(isGzip(context.getHeaders().get(HttpHeaders.CONTENT_ENCODING))) {
+			context.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+			context.setInputStream(new GZIPInputStream(context.getInputStream()));
+		}
+		return context.proceed();
+	}
+
+	static boolean isGzip(List<String> contentEncodings) {
+		if(contentEncodings != null) {
+			for(String contentEncoding : contentEncodings) {
+				if(isGzip(contentEncoding)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	static boolean isGzip(String contentEncoding) {
+		return contentEncoding != null && (CompressingOutputStream.GZIP.equalsIgnoreCase(contentEncoding.trim()) ||
+				"x-gzip".equalsIgnoreCase(contentEncoding.trim()));
+	}
+}
@@ -0,0 +1,508 @@
+package com.intele.chimera.client.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import com.intele.chimera.client.GatewayListener;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>{@link GatewayTransport} on the JDK {@link HttpURLConnection} instead of a JAX-RS {@code Client}. The JAX-RS API
+ * classes used for media types, headers and responses still need a JAX-RS implementation on the classpath.
+ * <p>The JDK keeps idle connections alive and reuses them for later requests to the same server, also over TLS,
+ * the same as the default HttpURLConnection connector of Jersey. Each request in flight holds a connection of its own;
+ * the number of idle connections kept per server is controlled by the {@code http.maxConnections} system property.
+ * Request entities are streamed with chunked transfer encoding, and can be gzip-compressed above a size threshold.
+ * <p>Entities are read and written by {@link MessageBodyReader} and {@link MessageBodyWriter} providers;
+ * providers added to the {@link Factory} take precedence over the built-in ones.
+ * <p>Asynchronous sends run on an executor, unless another one is provided a pool of as many daemon threads as
+ * {@code http.maxConnections}, so the requests in flight do not open more connections than are kept alive.
+ * Further sends wait in the queue of the pool. The timeout of an asynchronous send is measured from its submission:
+ * the time spent in the queue is deducted from the connect and read timeouts, and the send fails with a
+ * {@link ProcessingException} caused by a {@link SocketTimeoutException} when the timeout elapses, also while queued.
+ * <p>The transport gains nothing in connection handling or performance over the default connector of Jersey.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * GatewayClient gatewayClient = new GatewayClientBuilder().
+ * 	withTransport(new HttpUrlConnectionTransport.Factory().
+ * 		withConnectTimeout(5, TimeUnit.SECONDS).
+ * 		withReadTimeout(30, TimeUnit.SECONDS)).
+ * 	build();
+ * }
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class HttpUrlConnectionTransport implements GatewayTransport {
+
+	private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+	/** The default of the {@code http.maxConnections} system property of the JDK */
+	private static final int DEFAULT_MAX_CONNECTIONS = 5;
+
+	public static class Factory implements GatewayTransport.Factory {
+		private int connectTimeoutMillis;
+		private int readTimeoutMillis;
+		private ExecutorService executor;
+		private int compressionThreshold = JaxRsTransport.NO_COMPRESSION;
+		private final List<Object> providers = new ArrayList<>();
+		private GatewayListener listener;
+
+		/**
+		 * @param connectTimeout the maximum time to establish a connection; 0 means no timeout
+		 * @param unit
+		 * @return the updated factory
+		 */
+		public Factory withConnectTimeout(long connectTimeout, TimeUnit unit) {
+			this.connectTimeoutMillis = toMillis(connectTimeout, unit);
+			return this;
+		}
+		/**
+		 * @param readTimeout the maximum time to wait for the response; 0 means no timeout
+		 * @param unit
+		 * @return the updated factory
+		 */
+		public Factory withReadTimeout(long readTimeout, TimeUnit unit) {
+			this.readTimeoutMillis = toMillis(readTimeout, unit);
+			return this;
+		}
+		/**
+		 * <p>Run asynchronous sends on the given executor. The executor is not shut down when the transport is closed.
+		 * @param executor
+		 * @return the updated factory
+		 */
+		public Factory withExecutor(ExecutorService executor) {
+			this.executor = executor;
+			return this;
+		}
+		/**
+		 * <p>Gzip-compress request entities larger than the threshold, and accept gzip-compressed responses.
+		 * @param thresholdBytes the largest request entity in bytes that is sent uncompressed
+		 * @return the updated factory
+		 */
+		public Factory withRequestCompression(int thresholdBytes) {
+			if(thresholdBytes < 0) {
+				throw new IllegalArgumentException("Compression threshold cannot be negative.");
+			}
+			this.compressionThreshold = thresholdBytes;
+			return this;
+		}
+		/**
+		 * <p>Add a {@link MessageBodyReader} and/or {@link MessageBodyWriter} provider.
+		 * @param provider
+		 * @return the updated factory
+		 */
+		public Factory withProvider(Object provider) {
+			if(!(provider instanceof MessageBodyReader) && !(provider instanceof MessageBodyWriter)) {
+				throw new IllegalArgumentException("Provider must be a MessageBodyReader or a MessageBodyWriter.");
+			}
+			this.providers.add(provider);
+			return this;
+		}
+		/**
+		 * <p>Report the entity bytes sent and received to the listener, compressed if compression is enabled.
+		 * Exceptions thrown by the listener are ignored.
+		 * @param listener
+		 * @return the updated factory
+		 */
+		public Factory withListener(GatewayListener listener) {
+			if(listener == null) {
+				throw new IllegalArgumentException("Listener cannot be null.");
+			}
+			this.listener = GatewayListeners.of(Collections.singletonList(listener));
+			return this;
+		}
+
+		@Override
+		public GatewayTransport create(String target, MediaType mediaType) {
+			return new HttpUrlConnectionTransport(this, target, mediaType);
+		}
+
+		private static int toMillis(long timeout, TimeUnit unit) {
+			if(timeout < 0) {
+				throw new IllegalArgumentException("Timeout cannot be negative.");
+			}
+			return (int) Math.min(Integer.MAX_VALUE, unit.toMillis(timeout));
+		}
+	}
+
+	private final URL url;
+	private final MediaType mediaType;
+	private final int connectTimeoutMillis;
+	private final int readTimeoutMillis;
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+	/** Fails asynchronous sends when their timeout elapses */
+	private final ScheduledThreadPoolExecutor timer;
+	private final int compressionThreshold;
+	private final List<Object> providers;
+	private final GatewayListener listener;
+
+	private HttpUrlConnectionTransport(Factory factory, String target, MediaType mediaType) {
+		try {
+			this.url = new URL(target);
+		} catch(MalformedURLException e) {
+			throw new IllegalArgumentException("Invalid target " + target + ".", e);
+		}
+		this.mediaType = mediaType;
+		this.connectTimeoutMillis = factory.connectTimeoutMillis;
+		this.readTimeoutMillis = factory.readTimeoutMillis;
+		this.compressionThreshold = factory.compressionThreshold;
+		this.ownsExecutor = factory.executor == null;
+		this.executor = ownsExecutor ? newExecutor() : factory.executor;
+		this.timer = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("smsgw-http-timeout-"));
+		this.timer.setRemoveOnCancelPolicy(true);
+		this.listener = factory.listener;
+		this.providers = new ArrayList<>(factory.providers);
+		this.providers.add(new RequestXmlWriter());
+		this.providers.add(new StreamingResponseReader());
+		this.providers.add(new RequestJsonWriter());
+		this.providers.add(new ResponseJsonReader());
+		this.providers.add(new JaxbProvider());
+	}
+
+	@Override
+	public <T> T send(Request request, Class<T> responseType) {
+		return this.exchange(this.open(readTimeoutMillis), request, responseType);
+	}
+
+	@Override
+	public <T> Future<T> sendAsync(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback) {
+		if(timeout < 0) {
+			throw new IllegalArgumentException("Timeout cannot be negative.");
+		}
+		long timeoutNanos = unit.toNanos(timeout);
+		final AsyncExchange<T> exchange = new AsyncExchange<>(request, responseType, timeoutNanos > 0 ? System.nanoTime() + timeoutNanos : 0, callback);
+		exchange.setCancellationTarget(executor.submit(exchange));
+		if(timeoutNanos > 0) {
+			exchange.setTimer(timer.schedule(new Runnable() {
+				@Override
+				public void run() {
+					exchange.timeout();
+				}
+			}, timeoutNanos, TimeUnit.NANOSECONDS));
+		}
+		return exchange;
+	}
+
+	@Override
+	public void close() {
+		try {
+			if(ownsExecutor) {
+				executor.shutdown();
+			}
+		} finally {
+			timer.shutdownNow();
+		}
+	}
+
+	private HttpURLConnection open(int readTimeout) {
+		return this.open(connectTimeoutMillis, readTimeout);
+	}
+
+	private HttpURLConnection open(int connectTimeout, int readTimeout) {
+		try {
+			HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+			connection.setConnectTimeout(connectTimeout);
+			connection.setReadTimeout(readTimeout);
+			return connection;
+		} catch(IOException e) {
+			throw new ProcessingException(e);
+		}
+	}
+
+	private <T> T exchange(HttpURLConnection connection, Request request, Class<T> responseType) {
+		MessageBodyWriter<Request> writer = this.writer();
+		MultivaluedMap<String, Object> requestHeaders = new MultivaluedHashMap<>();
+		requestHeaders.putSingle(HttpHeaders.CONTENT_TYPE, mediaType);
+		requestHeaders.putSingle(HttpHeaders.ACCEPT, mediaType);
+		if(compressionThreshold != JaxRsTransport.NO_COMPRESSION) {
+			requestHeaders.putSingle(HttpHeaders.ACCEPT_ENCODING, CompressingOutputStream.GZIP);
+		}
+		boolean keepOpen = false;
+		try {
+			connection.setRequestMethod("POST");
+			connection.setDoOutput(true);
+			for(Map.Entry<String, List<Object>> header : requestHeaders.entrySet()) {
+				connection.setRequestProperty(header.getKey(), String.valueOf(header.getValue().get(0)));
+			}
+			try(OutputStream out = this.entityStream(connection)) {
+				writer.writeTo(request, Request.class, Request.class, NO_ANNOTATIONS, mediaType, requestHeaders, out);
+			}
+
+			int status = connection.getResponseCode();
+			if(!WebApplicationExceptions.isSuccessful(status)) {
+				throw WebApplicationExceptions.of(this.errorResponse(connection, status));
+			}
+			MediaType responseMediaType = connection.getContentType() == null ? mediaType : MediaType.valueOf(connection.getContentType());
+			InputStream in = new DrainingInputStream(this.counted(connection.getInputStream()));
+			if(GzipInterceptor.isGzip(connection.getContentEncoding())) {
+				in = new GZIPInputStream(in);
+			}
+			try {
+				T entity = this.reader(responseType, responseMediaType).readFrom(
+						responseType, responseType, NO_ANNOTATIONS, responseMediaType, responseHeaders(connection), in);
+				keepOpen = entity instanceof Closeable;
+				return entity;
+			} finally {
+				if(!keepOpen) {
+					in.close();
+				}
+			}
+		} catch(IOException e) {
+			connection.disconnect();
+			throw new ProcessingException(e);
+		}
+	}
+
+	/**
+	 * Without compression the entity is streamed with chunked transfer encoding. With compression, an entity up to the
+	 * threshold is buffered and sent with its length, and a larger one is compressed and streamed with chunked transfer encoding.
+	 */
+	private OutputStream entityStream(final HttpURLConnection connection) throws IOException {
+		if(compressionThreshold == JaxRsTransport.NO_COMPRESSION) {
+			connection.setChunkedStreamingMode(0);
+			return this.counted(connection.getOutputStream());
+		}
+		return new CompressingOutputStream(compressionThreshold, new CompressingOutputStream.Target() {
+			@Override
+			public OutputStream open(boolean compressed) throws IOException {
+				if(compressed) {
+					connection.setRequestProperty(HttpHeaders.CONTENT_ENCODING, CompressingOutputStream.GZIP);
+					connection.setChunkedStreamingMode(0);
+				}
+				return counted(connection.getOutputStream());
+			}
+		});
+	}
+
+	private javax.ws.rs.core.Response errorResponse(HttpURLConnection connection, int status) throws IOException {
+		javax.ws.rs.core.Response.ResponseBuilder builder = javax.ws.rs.core.Response.status(status);
+		InputStream error = connection.getErrorStream();
+		if(error != null) {
+			error = this.counted(error);
+		}
+		if(error != null && GzipInterceptor.isGzip(connection.getContentEncoding())) {
+			error = new GZIPInputStream(error);
+		}
+		if(error != null) {
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			try {
+				for(int read = error.read(buffer); read != -1; read = error.read(buffer)) {
+					body.write(buffer, 0, read);
+				}
+			} finally {
+				error.close();
+			}
+			builder.entity(body.toByteArray()).type(connection.getContentType());
+		}
+		return builder.build();
+	}
+
+	private OutputStream counted(OutputStream out) {
+		return listener == null ? out : new ByteCountingInterceptor.CountingOutputStream(out, listener);
+	}
+
+	private InputStream counted(InputStream in) {
+		return listener == null ? in : new ByteCountingInterceptor.CountingInputStream(in, listener);
+	}
+
+	@SuppressWarnings("unchecked")
+	private MessageBodyWriter<Request> writer() {
+		for(Object provider : providers) {
+			if(provider instanceof MessageBodyWriter &&
+					((MessageBodyWriter<?>) provider).isWriteable(Request.class, Request.class, NO_ANNOTATIONS, mediaType)) {
+				return (MessageBodyWriter<Request>) provider;
+			}
+		}
+		throw new IllegalStateException("Mediatype "+mediaType+" is not supported.");
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> MessageBodyReader<T> reader(Class<T> type, MediaType responseMediaType) {
+		for(Object provider : providers) {
+			if(provider instanceof MessageBodyReader &&
+					((MessageBodyReader<?>) provider).isReadable(type, type, NO_ANNOTATIONS, responseMediaType)) {
+				return (MessageBodyReader<T>) provider;
+			}
+		}
+		throw new ProcessingException("No reader for " + type.getName() + " and media type " + responseMediaType + ".");
+	}
+
+	private static MultivaluedMap<String, String> responseHeaders(HttpURLConnection connection) {
+		MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+		for(Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+			if(header.getKey() != null) {
+				headers.put(header.getKey(), header.getValue());
+			}
+		}
+		return headers;
+	}
+
+	/**
+	 * Reads the rest of the response when closed so the JDK can reuse the connection,
+	 * also when a reader closes the stream before the end of the entity.
+	 */
+	private static final class DrainingInputStream extends FilterInputStream {
+		private boolean closed;
+
+		private DrainingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public void close() throws IOException {
+			if(closed) {
+				return;
+			}
+			closed = true;
+			try {
+				byte[] buffer = new byte[1024];
+				while(in.read(buffer) != -1) {
+					// discard
+				}
+			} finally {
+				in.close();
+			}
+		}
+	}
+
+	private final class AsyncExchange<T> extends SettableFuture<T> implements Runnable {
+		private final Request request;
+		private final Class<T> responseType;
+		/** The {@link System#nanoTime()} at which the send times out, or 0 to use the timeouts of the factory */
+		private final long deadline;
+		private volatile HttpURLConnection connection;
+		private volatile Future<?> timer;
+
+		private AsyncExchange(Request request, Class<T> responseType, long deadline, InvocationCallback<T> callback) {
+			super(callback);
+			this.request = request;
+			this.responseType = responseType;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public void run() {
+			if(this.isDone()) {
+				return;
+			}
+			try {
+				if(deadline == 0) {
+					this.connection = open(readTimeoutMillis);
+				} else {
+					long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+					if(remaining <= 0) {
+						this.timeout();
+						return;
+					}
+					int timeout = (int) Math.min(Integer.MAX_VALUE, remaining);
+					this.connection = open(connectTimeoutMillis == 0 ? timeout : Math.min(connectTimeoutMillis, timeout), timeout);
+				}
+				T response = exchange(connection, request, responseType);
+				this.cancelTimer();
+				this.complete(response);
+			} catch(RuntimeException e) {
+				this.cancelTimer();
+				this.fail(e);
+			}
+		}
+
+		private void setTimer(Future<?> timer) {
+			this.timer = timer;
+			if(this.isDone()) {
+				timer.cancel(false);
+			}
+		}
+
+		private void timeout() {
+			if(this.fail(new ProcessingException(new SocketTimeoutException("Timed out before a response was received.")))) {
+				this.disconnect();
+			}
+		}
+
+		private void cancelTimer() {
+			Future<?> current = this.timer;
+			if(current != null) {
+				current.cancel(false);
+			}
+		}
+
+		private void disconnect() {
+			HttpURLConnection current = this.connection;
+			if(current != null) {
+				current.disconnect();
+			}
+		}
+
+		@Override
+		protected void onCancel(boolean mayInterruptIfRunning) {
+			super.onCancel(mayInterruptIfRunning);
+			this.cancelTimer();
+			this.disconnect();
+		}
+	}
+
+	/**
+	 * @return a pool of at most {@code http.maxConnections} threads, which stop when idle
+	 */
+	private static ExecutorService newExecutor() {
+		int threads = Integer.getInteger("http.maxConnections", DEFAULT_MAX_CONNECTIONS);
+		if(threads < 1) {
+			threads = DEFAULT_MAX_CONNECTIONS;
+		}
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory("smsgw-http-"));
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	private static final class DaemonThreadFactory implements ThreadFactory {
+		private final String prefix;
+		private final AtomicInteger count = new AtomicInteger();
+
+		private DaemonThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package com.intele.chimera.client.impl;
+
+import java.util.Collections;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+
+import com.intele.chimera.client.GatewayListener;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>{@link GatewayTransport} using a JAX-RS 2.0 {@link Client}.
+ * <p>The {@link RequestXmlWriter}, {@link StreamingResponseReader}, {@link RequestJsonWriter}, {@link ResponseJsonReader},
+ * {@link JaxbProvider} and {@link JaxbContextResolver} are registered on the target, so XML requests are written without
+ * JAXB, responses can be streamed, JSON does not depend on the providers of the container, and XML responses are read
+ * with the shared JAXB contexts. With a compression threshold a {@link GzipInterceptor} is registered as well,
+ * and with a listener a {@link ByteCountingInterceptor}.
+ * The configuration of the client itself is left untouched.
+ * <p>Closing the transport closes the client.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class JaxRsTransport implements GatewayTransport {
+
+	/**
+	 * Per-request read timeout property in milliseconds. Honoured by Jersey, ignored by JAX-RS implementations
+	 * that do not support it.
+	 */
+	public static final String READ_TIMEOUT_PROPERTY = "jersey.config.client.readTimeout";
+
+	/**
+	 * Compression threshold disabling compression.
+	 */
+	public static final int NO_COMPRESSION = -1;
+
+	/**
+	 * Creates transports sharing one {@link Client}.
+	 */
+	public static class Factory implements GatewayTransport.Factory {
+		private final Client client;
+		private int compressionThreshold = NO_COMPRESSION;
+		private GatewayListener listener;
+
+		/**
+		 * @param client the client shared by the created transports
+		 */
+		public Factory(Client client) {
+			if(client == null) {
+				throw new IllegalArgumentException("Client cannot be null.");
+			}
+			this.client = client;
+		}
+
+		/**
+		 * <p>Gzip-compress request entities larger than the threshold, and accept gzip-compressed responses.
+		 * @param thresholdBytes the largest request entity in bytes that is sent uncompressed
+		 * @return the updated factory
+		 */
+		public Factory withRequestCompression(int thresholdBytes) {
+			if(thresholdBytes < 0) {
+				throw new IllegalArgumentException("Compression threshold cannot be negative.");
+			}
+			this.compressionThreshold = thresholdBytes;
+			return this;
+		}
+
+		/**
+		 * <p>Report the entity bytes sent and received to the listener. Exceptions thrown by the listener are ignored.
+		 * @param listener
+		 * @return the updated factory
+		 */
+		public Factory withListener(GatewayListener listener) {
+			if(listener == null) {
+				throw new IllegalArgumentException("Listener cannot be null.");
+			}
+			this.listener = GatewayListeners.of(Collections.singletonList(listener));
+			return this;
+		}
+
+		@Override
+		public GatewayTransport create(String target, MediaType mediaType) {
+			return new JaxRsTransport(client, target, mediaType, compressionThreshold, listener);
+		}
+	}
+
+	private final Client client;
+	private final String target;
+	private final MediaType mediaType;
+	/** Resolved once and fully configured in the constructor, then only read. */
+	private final WebTarget webTarget;
+	/** The entity media type matching {@link #mediaType}, or {@code null} if it is not supported. */
+	private final MediaType entityMediaType;
+	private final boolean compression;
+
+	public JaxRsTransport(Client client, String target, MediaType mediaType) {
+		this(client, target, mediaType, NO_COMPRESSION);
+	}
+
+	/**
+	 * @param client
+	 * @param target
+	 * @param mediaType
+	 * @param compressionThreshold the largest request entity in bytes that is sent uncompressed,
+	 * 		or {@link #NO_COMPRESSION} to neither compress requests nor accept compressed responses
+	 */
+	public JaxRsTransport(Client client, String target, MediaType mediaType, int compressionThreshold) {
+		this(client, target, mediaType, compressionThreshold, null);
+	}
+
+	/**
+	 * @param client
+	 * @param target
+	 * @param mediaType
+	 * @param compressionThreshold the largest request entity in bytes that is sent uncompressed,
+	 * 		or {@link #NO_COMPRESSION} to neither compress requests nor accept compressed responses
+	 * @param listener receives the entity bytes sent and received; may be {@code null}
+	 */
+	public JaxRsTransport(Client client, String target, MediaType mediaType, int compressionThreshold, GatewayListener listener) {
+		this.client = client;
+		this.target = target;
+		this.mediaType = mediaType;
+		this.webTarget = client.target(target);
+		this.webTarget.register(new RequestXmlWriter());
+		this.webTarget.register(new StreamingResponseReader());
+		this.webTarget.register(new RequestJsonWriter());
+		this.webTarget.register(new ResponseJsonReader());
+		this.webTarget.register(new JaxbProvider());
+		this.webTarget.register(new JaxbContextResolver());
+		this.compression = compressionThreshold != NO_COMPRESSION;
+		if(compression) {
+			this.webTarget.register(new GzipInterceptor(compressionThreshold));
+		}
+		if(listener != null) {
+			this.webTarget.register(new ByteCountingInterceptor(listener), ByteCountingInterceptor.PRIORITY);
+		}
+		this.entityMediaType = entityMediaType(mediaType);
+	}
+
+	@Override
+	public <T> T send(Request request, Class<T> responseType) {
+		Invocation buildPost = this.request().buildPost(this.entity(request));
+		return buildPost.invoke(responseType);
+	}
+
+	@Override
+	public <T> Future<T> sendAsync(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback) {
+		if(timeout < 0) {
+			throw new IllegalArgumentException("Timeout cannot be negative.");
+		}
+		Entity<Request> entity = this.entity(request);
+		Invocation.Builder builder = this.request();
+		if(timeout > 0) {
+			builder.property(READ_TIMEOUT_PROPERTY, (int) Math.min(Integer.MAX_VALUE, unit.toMillis(timeout)));
+		}
+		SettableFuture<T> future = new SettableFuture<>(callback);
+		future.setCancellationTarget(builder.async().post(entity, new ResponseCallback<>(future, responseType)));
+		return future;
+	}
+
+	@Override
+	public void close() {
+		this.client.close();
+	}
+
+	/**
+	 * @return the target URL of this transport
+	 */
+	public String getTarget() {
+		return target;
+	}
+
+	/**
+	 * Invocation builders are mutable and therefore created per call from the shared target.
+	 */
+	private Invocation.Builder request() {
+		Invocation.Builder builder = webTarget.request().accept(mediaType);
+		return compression ? builder.header(HttpHeaders.ACCEPT_ENCODING, CompressingOutputStream.GZIP) : builder;
+	}
+
+	private Entity<Request> entity(Request request) {
+		if(entityMediaType == null) {
+			throw new IllegalStateException("Mediatype "+mediaType+" is not supported.");
+		}
+		return Entity.entity(request, entityMediaType);
+	}
+
+	private static MediaType entityMediaType(MediaType mediaType) {
+		if(MediaType.APPLICATION_XML_TYPE.equals(mediaType)) {
+			return MediaType.APPLICATION_XML_TYPE;
+		} else if(MediaType.APPLICATION_JSON_TYPE.equals(mediaType)) {
+			return MediaType.APPLICATION_JSON_TYPE;
+		}
+		return null;
+	}
+
+	/**
+	 * Receives the raw JAX-RS response so the callback type is always resolvable by the JAX-RS implementation,
+	 * and reads the entity as the requested type itself.
+	 */
+	private static final class ResponseCallback<T> implements InvocationCallback<javax.ws.rs.core.Response> {
+		private final SettableFuture<T> future;
+		private final Class<T> responseType;
+
+		private ResponseCallback(SettableFuture<T> future, Class<T> responseType) {
+			this.future = future;
+			this.responseType = responseType;
+		}
+
+		@Override
+		public void completed(javax.ws.rs.core.Response response) {
+			try {
+				if(!WebApplicationExceptions.isSuccessful(response.getStatus())) {
+					response.bufferEntity();
+					future.fail(WebApplicationExceptions.of(response));
+					return;
+				}
+				future.complete(response.readEntity(responseType));
+			} catch(RuntimeException e) {
+				future.fail(e);
+			}
+		}
+
+		@Override
+		public void failed(Throwable throwable) {
+			future.fail(throwable);
+		}
+	}
+}
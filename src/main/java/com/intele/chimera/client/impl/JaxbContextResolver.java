@@ -0,0 +1,29 @@
+package com.intele.chimera.client.impl;
+
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Provider;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+/**
+ * <p>Supplies the shared {@link JaxbContexts} to JAX-RS providers, so providers of the JAX-RS implementation
+ * do not create their own contexts for the gateway schema classes.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+@Provider
+public class JaxbContextResolver implements ContextResolver<JAXBContext> {
+
+	@Override
+	public JAXBContext getContext(Class<?> type) {
+		if(!JaxbContexts.isGatewayType(type)) {
+			return null;
+		}
+		try {
+			return JaxbContexts.pool(type).getContext();
+		} catch(JAXBException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.intele.chimera.client.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+/**
+ * <p>Shared {@link JAXBContext}s, one per generated schema package (request, response and fault),
+ * each with a {@link JaxbPool} of marshallers and unmarshallers.
+ * <p>Creating a context is expensive, so the contexts are created once per class loader: on first use, or up front
+ * with {@link #initialize()}, e.g. by {@link com.intele.chimera.client.GatewayClientBuilder#withEagerJaxbInitialization(boolean)}
+ * to keep the cost away from the first message sent.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public final class JaxbContexts {
+
+	private static final String REQUEST_PACKAGE = com.intele.chimera.gw.xsd.smsgateway.request._2013._02.ObjectFactory.class.getPackage().getName();
+	private static final String RESPONSE_PACKAGE = com.intele.chimera.gw.xsd.smsgateway.response._2013._02.ObjectFactory.class.getPackage().getName();
+	private static final String FAULT_PACKAGE = com.intele.chimera.gw.xsd.smsgateway.fault._2013._02.ObjectFactory.class.getPackage().getName();
+
+	private static final ConcurrentMap<Class<?>, JaxbPool> OTHER_POOLS = new ConcurrentHashMap<>();
+
+	/**
+	 * Lazily initialized holder of the gateway schema contexts.
+	 */
+	private static final class Gateway {
+		private static final JaxbPool REQUEST = create(com.intele.chimera.gw.xsd.smsgateway.request._2013._02.ObjectFactory.class);
+		private static final JaxbPool RESPONSE = create(com.intele.chimera.gw.xsd.smsgateway.response._2013._02.ObjectFactory.class);
+		private static final JaxbPool FAULT = create(com.intele.chimera.gw.xsd.smsgateway.fault._2013._02.ObjectFactory.class);
+
+		private static JaxbPool create(Class<?> objectFactory) {
+			try {
+				return new JaxbPool(JAXBContext.newInstance(objectFactory), JaxbPool.DEFAULT_MAX_IDLE);
+			} catch(JAXBException e) {
+				throw new IllegalStateException("Unable to create JAXB context for " + objectFactory.getPackage().getName() + ".", e);
+			}
+		}
+	}
+
+	private JaxbContexts() {
+	}
+
+	/**
+	 * Creates the contexts of the gateway schema packages and one pooled marshaller and unmarshaller for each.
+	 */
+	public static void initialize() {
+		try {
+			Gateway.REQUEST.prewarm();
+			Gateway.RESPONSE.prewarm();
+			Gateway.FAULT.prewarm();
+		} catch(JAXBException e) {
+			throw new IllegalStateException("Unable to initialize JAXB.", e);
+		}
+	}
+
+	/**
+	 * @param type a gateway schema class
+	 * @return true if the type belongs to one of the gateway schema packages
+	 */
+	public static boolean isGatewayType(Class<?> type) {
+		Package p = type.getPackage();
+		if(p == null) {
+			return false;
+		}
+		String name = p.getName();
+		return name.equals(REQUEST_PACKAGE) || name.equals(RESPONSE_PACKAGE) || name.equals(FAULT_PACKAGE);
+	}
+
+	/**
+	 * @param type
+	 * @return the shared pool for the package of a gateway schema type, or a pool of a context for the type alone
+	 * @throws JAXBException if a context for the type cannot be created
+	 */
+	public static JaxbPool pool(Class<?> type) throws JAXBException {
+		Package p = type.getPackage();
+		String name = p == null ? "" : p.getName();
+		if(name.equals(REQUEST_PACKAGE)) {
+			return Gateway.REQUEST;
+		} else if(name.equals(RESPONSE_PACKAGE)) {
+			return Gateway.RESPONSE;
+		} else if(name.equals(FAULT_PACKAGE)) {
+			return Gateway.FAULT;
+		}
+		JaxbPool pool = OTHER_POOLS.get(type);
+		if(pool == null) {
+			pool = new JaxbPool(JAXBContext.newInstance(type), JaxbPool.DEFAULT_MAX_IDLE);
+			JaxbPool existing = OTHER_POOLS.putIfAbsent(type, pool);
+			if(existing != null) {
+				pool = existing;
+			}
+		}
+		return pool;
+	}
+}
@@ -0,0 +1,86 @@
+package com.intele.chimera.client.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * <p>A {@link JAXBContext} with bounded pools of idle {@link Marshaller} and {@link Unmarshaller} instances.
+ * <p>Marshallers and unmarshallers are not thread-safe; each one is used by a single thread between
+ * acquire and release. When a pool is empty a new instance is created, and instances released
+ * to a full pool are dropped.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public final class JaxbPool {
+
+	public static final int DEFAULT_MAX_IDLE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+	private final JAXBContext context;
+	private final int maxIdle;
+	private final Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger idleMarshallers = new AtomicInteger();
+	private final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger idleUnmarshallers = new AtomicInteger();
+
+	JaxbPool(JAXBContext context, int maxIdle) {
+		this.context = context;
+		this.maxIdle = maxIdle;
+	}
+
+	public JAXBContext getContext() {
+		return context;
+	}
+
+	public Marshaller acquireMarshaller() throws JAXBException {
+		Marshaller marshaller = marshallers.poll();
+		if(marshaller == null) {
+			return context.createMarshaller();
+		}
+		idleMarshallers.decrementAndGet();
+		return marshaller;
+	}
+
+	public void release(Marshaller marshaller) {
+		if(idleMarshallers.incrementAndGet() <= maxIdle) {
+			marshallers.offer(marshaller);
+		} else {
+			idleMarshallers.decrementAndGet();
+		}
+	}
+
+	public Unmarshaller acquireUnmarshaller() throws JAXBException {
+		Unmarshaller unmarshaller = unmarshallers.poll();
+		if(unmarshaller == null) {
+			return context.createUnmarshaller();
+		}
+		idleUnmarshallers.decrementAndGet();
+		return unmarshaller;
+	}
+
+	public void release(Unmarshaller unmarshaller) {
+		if(idleUnmarshallers.incrementAndGet() <= maxIdle) {
+			unmarshallers.offer(unmarshaller);
+		} else {
+			idleUnmarshallers.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Creates one idle marshaller and unmarshaller if the pools are empty.
+	 */
+	void prewarm() throws JAXBException {
+		if(idleMarshallers.get() == 0) {
+			this.release(context.createMarshaller());
+		}
+		if(idleUnmarshallers.get() == 0) {
+			this.release(context.createUnmarshaller());
+		}
+	}
+}
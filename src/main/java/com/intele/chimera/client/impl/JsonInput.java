@@ -0,0 +1,456 @@
+package com.intele.chimera.client.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>Minimal pull parser for UTF-8 JSON. {@link #next()} returns one token at a time; member names and
+ * strings are decoded into a reusable character buffer, so names can be matched with {@link #nameIs(char[])}
+ * and numbers read with {@link #intValue()} without allocating.
+ * <p>Not thread-safe; one instance is used per entity.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+final class JsonInput {
+
+	static final int BEGIN_OBJECT = 1;
+	static final int END_OBJECT = 2;
+	static final int BEGIN_ARRAY = 3;
+	static final int END_ARRAY = 4;
+	static final int NAME = 5;
+	static final int STRING = 6;
+	static final int NUMBER = 7;
+	static final int TRUE = 8;
+	static final int FALSE = 9;
+	static final int NULL = 10;
+	static final int END_DOCUMENT = 11;
+
+	private static final int EMPTY_DOCUMENT = 0;
+	private static final int NONEMPTY_DOCUMENT = 1;
+	private static final int EMPTY_OBJECT = 2;
+	private static final int NONEMPTY_OBJECT = 3;
+	private static final int DANGLING_NAME = 4;
+	private static final int EMPTY_ARRAY = 5;
+	private static final int NONEMPTY_ARRAY = 6;
+
+	private final InputStream in;
+	private final byte[] buffer;
+	private int position;
+	private int limit;
+	private long offset;
+
+	private int[] scopes = new int[16];
+	private int depth = 1;
+
+	private char[] text = new char[64];
+	private int textLength;
+	private boolean fractional;
+
+	JsonInput(InputStream in) {
+		this(in, 8192);
+	}
+
+	JsonInput(InputStream in, int bufferSize) {
+		this.in = in;
+		this.buffer = new byte[bufferSize];
+		this.scopes[0] = EMPTY_DOCUMENT;
+	}
+
+	static char[] chars(String value) {
+		return value.toCharArray();
+	}
+
+	/**
+	 * @return the next token
+	 * @throws IOException if the stream cannot be read or is not well-formed JSON
+	 */
+	int next() throws IOException {
+		int scope = scopes[depth - 1];
+		int c;
+		switch(scope) {
+		case EMPTY_DOCUMENT:
+			scopes[depth - 1] = NONEMPTY_DOCUMENT;
+			return this.value(this.nonWhitespace());
+		case NONEMPTY_DOCUMENT:
+			c = this.nonWhitespaceOrEnd();
+			if(c != -1) {
+				throw this.syntaxError("Unexpected data after the document");
+			}
+			return END_DOCUMENT;
+		case EMPTY_ARRAY:
+		case NONEMPTY_ARRAY:
+			c = this.nonWhitespace();
+			if(c == ']') {
+				depth--;
+				return END_ARRAY;
+			}
+			if(scope == NONEMPTY_ARRAY) {
+				if(c != ',') {
+					throw this.syntaxError("Expected ',' or ']'");
+				}
+				c = this.nonWhitespace();
+			}
+			scopes[depth - 1] = NONEMPTY_ARRAY;
+			return this.value(c);
+		case EMPTY_OBJECT:
+		case NONEMPTY_OBJECT:
+			c = this.nonWhitespace();
+			if(c == '}') {
+				depth--;
+				return END_OBJECT;
+			}
+			if(scope == NONEMPTY_OBJECT) {
+				if(c != ',') {
+					throw this.syntaxError("Expected ',' or '}'");
+				}
+				c = this.nonWhitespace();
+			}
+			if(c != '"') {
+				throw this.syntaxError("Expected a member name");
+			}
+			this.readString();
+			scopes[depth - 1] = DANGLING_NAME;
+			return NAME;
+		case DANGLING_NAME:
+			if(this.nonWhitespace() != ':') {
+				throw this.syntaxError("Expected ':'");
+			}
+			scopes[depth - 1] = NONEMPTY_OBJECT;
+			return this.value(this.nonWhitespace());
+		default:
+			throw new IllegalStateException();
+		}
+	}
+
+	/**
+	 * @return whether the last name or string token equals the given characters
+	 */
+	boolean nameIs(char[] name) {
+		if(name.length != textLength) {
+			return false;
+		}
+		for(int i = 0; i < textLength; i++) {
+			if(text[i] != name[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the text of the last name, string or number token
+	 */
+	String text() {
+		return new String(text, 0, textLength);
+	}
+
+	/**
+	 * @return the value of the last number token, or of a string token holding a number
+	 */
+	int intValue() throws IOException {
+		if(fractional) {
+			double value = Double.parseDouble(this.text());
+			if(value != (int) value) {
+				throw this.syntaxError("Expected an integer");
+			}
+			return (int) value;
+		}
+		int i = 0;
+		boolean negative = textLength > 0 && text[0] == '-';
+		if(negative) {
+			i++;
+		}
+		if(i == textLength) {
+			throw this.syntaxError("Expected an integer");
+		}
+		long value = 0;
+		for(; i < textLength; i++) {
+			char c = text[i];
+			if(c < '0' || c > '9') {
+				throw this.syntaxError("Expected an integer");
+			}
+			value = value * 10 + (c - '0');
+			if(value > (long) Integer.MAX_VALUE + 1) {
+				throw this.syntaxError("Integer out of range");
+			}
+		}
+		value = negative ? -value : value;
+		if(value > Integer.MAX_VALUE) {
+			throw this.syntaxError("Integer out of range");
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Reads a string value; numbers and booleans are returned as their text.
+	 *
+	 * @return the value, or {@code null} for a JSON null
+	 */
+	String nextString() throws IOException {
+		int token = this.next();
+		switch(token) {
+		case STRING:
+		case NUMBER:
+			return this.text();
+		case TRUE:
+			return "true";
+		case FALSE:
+			return "false";
+		case NULL:
+			return null;
+		default:
+			throw this.syntaxError("Expected a string");
+		}
+	}
+
+	/**
+	 * Reads an integer value, also accepting a string holding an integer.
+	 */
+	int nextInt() throws IOException {
+		int token = this.next();
+		if(token == STRING) {
+			fractional = false;
+			for(int i = 0; i < textLength; i++) {
+				char c = text[i];
+				if(c == '.' || c == 'e' || c == 'E') {
+					fractional = true;
+				}
+			}
+		} else if(token != NUMBER) {
+			throw this.syntaxError("Expected a number");
+		}
+		return this.intValue();
+	}
+
+	/**
+	 * Skips the value following a name token, including nested objects and arrays.
+	 */
+	void skipValue() throws IOException {
+		int nesting = 0;
+		do {
+			switch(this.next()) {
+			case BEGIN_OBJECT:
+			case BEGIN_ARRAY:
+				nesting++;
+				break;
+			case END_OBJECT:
+			case END_ARRAY:
+				nesting--;
+				break;
+			case END_DOCUMENT:
+				throw this.syntaxError("Unexpected end of document");
+			default:
+				break;
+			}
+		} while(nesting > 0);
+	}
+
+	/**
+	 * @throws IOException if the next token is not the expected one
+	 */
+	void expect(int expected) throws IOException {
+		if(this.next() != expected) {
+			throw this.syntaxError("Unexpected token");
+		}
+	}
+
+	IOException syntaxError(String message) {
+		return new IOException(message + " at offset " + (offset + position) + ".");
+	}
+
+	private int value(int c) throws IOException {
+		switch(c) {
+		case '{':
+			this.push(EMPTY_OBJECT);
+			return BEGIN_OBJECT;
+		case '[':
+			this.push(EMPTY_ARRAY);
+			return BEGIN_ARRAY;
+		case '"':
+			this.readString();
+			return STRING;
+		case 't':
+			this.literal("rue");
+			return TRUE;
+		case 'f':
+			this.literal("alse");
+			return FALSE;
+		case 'n':
+			this.literal("ull");
+			return NULL;
+		default:
+			if(c == '-' || (c >= '0' && c <= '9')) {
+				this.readNumber(c);
+				return NUMBER;
+			}
+			throw this.syntaxError("Unexpected character '" + (char) c + "'");
+		}
+	}
+
+	private void push(int scope) {
+		if(depth == scopes.length) {
+			int[] grown = new int[depth * 2];
+			System.arraycopy(scopes, 0, grown, 0, depth);
+			scopes = grown;
+		}
+		scopes[depth++] = scope;
+	}
+
+	private void literal(String rest) throws IOException {
+		for(int i = 0; i < rest.length(); i++) {
+			if(this.read() != rest.charAt(i)) {
+				throw this.syntaxError("Invalid literal");
+			}
+		}
+	}
+
+	private void readNumber(int first) throws IOException {
+		textLength = 0;
+		fractional = false;
+		this.append((char) first);
+		while(true) {
+			int c = this.peek();
+			if((c >= '0' && c <= '9') || c == '-' || c == '+') {
+				this.append((char) c);
+			} else if(c == '.' || c == 'e' || c == 'E') {
+				fractional = true;
+				this.append((char) c);
+			} else {
+				return;
+			}
+			position++;
+		}
+	}
+
+	private void readString() throws IOException {
+		textLength = 0;
+		while(true) {
+			int b = this.read();
+			if(b == '"') {
+				return;
+			} else if(b == '\\') {
+				this.readEscape();
+			} else if(b < 0) {
+				throw this.syntaxError("Unterminated string");
+			} else if(b < 0x80) {
+				this.append((char) b);
+			} else if((b & 0xE0) == 0xC0) {
+				this.append((char) (((b & 0x1F) << 6) | this.continuation()));
+			} else if((b & 0xF0) == 0xE0) {
+				int high = ((b & 0x0F) << 12) | (this.continuation() << 6);
+				this.append((char) (high | this.continuation()));
+			} else if((b & 0xF8) == 0xF0) {
+				int codePoint = ((b & 0x07) << 18) | (this.continuation() << 12);
+				codePoint |= this.continuation() << 6;
+				codePoint |= this.continuation();
+				this.append(Character.highSurrogate(codePoint));
+				this.append(Character.lowSurrogate(codePoint));
+			} else {
+				throw this.syntaxError("Invalid UTF-8");
+			}
+		}
+	}
+
+	private int continuation() throws IOException {
+		int b = this.read();
+		if((b & 0xC0) != 0x80) {
+			throw this.syntaxError("Invalid UTF-8");
+		}
+		return b & 0x3F;
+	}
+
+	private void readEscape() throws IOException {
+		int c = this.read();
+		switch(c) {
+		case '"':
+		case '\\':
+		case '/':
+			this.append((char) c);
+			break;
+		case 'n':
+			this.append('\n');
+			break;
+		case 'r':
+			this.append('\r');
+			break;
+		case 't':
+			this.append('\t');
+			break;
+		case 'b':
+			this.append('\b');
+			break;
+		case 'f':
+			this.append('\f');
+			break;
+		case 'u':
+			int value = 0;
+			for(int i = 0; i < 4; i++) {
+				int digit = Character.digit(this.read(), 16);
+				if(digit < 0) {
+					throw this.syntaxError("Invalid unicode escape");
+				}
+				value = (value << 4) | digit;
+			}
+			this.append((char) value);
+			break;
+		default:
+			throw this.syntaxError("Invalid escape");
+		}
+	}
+
+	private void append(char c) {
+		if(textLength == text.length) {
+			char[] grown = new char[textLength * 2];
+			System.arraycopy(text, 0, grown, 0, textLength);
+			text = grown;
+		}
+		text[textLength++] = c;
+	}
+
+	private int nonWhitespace() throws IOException {
+		int c = this.nonWhitespaceOrEnd();
+		if(c == -1) {
+			throw this.syntaxError("Unexpected end of document");
+		}
+		return c;
+	}
+
+	private int nonWhitespaceOrEnd() throws IOException {
+		while(true) {
+			int c = this.read();
+			if(c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+				return c;
+			}
+		}
+	}
+
+	private int peek() throws IOException {
+		if(position == limit && !this.fill()) {
+			return -1;
+		}
+		return buffer[position] & 0xFF;
+	}
+
+	private int read() throws IOException {
+		if(position == limit && !this.fill()) {
+			return -1;
+		}
+		return buffer[position++] & 0xFF;
+	}
+
+	private boolean fill() throws IOException {
+		offset += limit;
+		position = 0;
+		limit = 0;
+		int read;
+		while((read = in.read(buffer)) == 0) {
+			// keep reading until data or end of stream
+		}
+		if(read < 0) {
+			return false;
+		}
+		limit = read;
+		return true;
+	}
+}
@@ -0,0 +1,199 @@
+package com.intele.chimera.client.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
+/**
+ * <p>Minimal buffered UTF-8 JSON generator. Member names are passed as pre-encoded {@code "name":} bytes
+ * (see {@link #name(String)}), separators are inserted automatically and nothing is allocated per value.
+ * <p>Not thread-safe; one instance is used per entity.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+final class JsonOutput extends Utf8Output {
+
+	private static final byte[] HEX = ascii("0123456789abcdef");
+	private static final byte[] TRUE = ascii("true");
+	private static final byte[] FALSE = ascii("false");
+
+	private boolean needsComma;
+
+	JsonOutput(OutputStream out) {
+		this(out, 8192);
+	}
+
+	JsonOutput(OutputStream out, int bufferSize) {
+		super(out, bufferSize);
+	}
+
+	/**
+	 * @param name an ASCII member name without characters that need escaping
+	 * @return the member name encoded as {@code "name":}
+	 */
+	static byte[] name(String name) {
+		return ascii("\"" + name + "\":");
+	}
+
+	void beginObject() throws IOException {
+		this.separate();
+		this.write((byte) '{');
+		needsComma = false;
+	}
+
+	void endObject() throws IOException {
+		this.write((byte) '}');
+		needsComma = true;
+	}
+
+	void beginArray() throws IOException {
+		this.separate();
+		this.write((byte) '[');
+		needsComma = false;
+	}
+
+	void endArray() throws IOException {
+		this.write((byte) ']');
+		needsComma = true;
+	}
+
+	/**
+	 * Writes a member name; the next call must write its value.
+	 *
+	 * @param name the name as returned by {@link #name(String)}
+	 */
+	void name(byte[] name) throws IOException {
+		this.separate();
+		this.write(name);
+		needsComma = false;
+	}
+
+	/**
+	 * Writes a complete value already encoded as JSON, e.g. a cached object.
+	 */
+	void raw(byte[] value) throws IOException {
+		this.separate();
+		this.write(value);
+		needsComma = true;
+	}
+
+	void field(byte[] name, String value) throws IOException {
+		if(value != null) {
+			this.name(name);
+			this.value(value);
+		}
+	}
+
+	void field(byte[] name, Integer value) throws IOException {
+		if(value != null) {
+			this.field(name, value.intValue());
+		}
+	}
+
+	void field(byte[] name, int value) throws IOException {
+		this.name(name);
+		this.value(value);
+	}
+
+	void field(byte[] name, Boolean value) throws IOException {
+		if(value != null) {
+			this.name(name);
+			this.separate();
+			this.write(value.booleanValue() ? TRUE : FALSE);
+			needsComma = true;
+		}
+	}
+
+	/**
+	 * Writes the date part of the calendar as an {@code xsd:date} string.
+	 */
+	void date(byte[] name, XMLGregorianCalendar value) throws IOException {
+		if(value != null) {
+			this.name(name);
+			this.write((byte) '"');
+			this.writeDate(value);
+			this.write((byte) '"');
+			needsComma = true;
+		}
+	}
+
+	/**
+	 * Writes the time part of the calendar as an {@code xsd:time} string.
+	 */
+	void time(byte[] name, XMLGregorianCalendar value) throws IOException {
+		if(value != null) {
+			this.name(name);
+			this.write((byte) '"');
+			this.writeTime(value);
+			this.write((byte) '"');
+			needsComma = true;
+		}
+	}
+
+	void value(int value) throws IOException {
+		this.separate();
+		this.number(value, 1);
+		needsComma = true;
+	}
+
+	void value(String value) throws IOException {
+		this.separate();
+		this.write((byte) '"');
+		int length = value.length();
+		for(int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if(c < 0x80) {
+				if(c >= 0x20 && c != '"' && c != '\\') {
+					this.write((byte) c);
+				} else {
+					this.escape(c);
+				}
+			} else {
+				i = this.writeNonAscii(value, i);
+			}
+		}
+		this.write((byte) '"');
+		needsComma = true;
+	}
+
+	private void separate() throws IOException {
+		if(needsComma) {
+			this.write((byte) ',');
+			needsComma = false;
+		}
+	}
+
+	private void escape(char c) throws IOException {
+		this.ensure(6);
+		buffer[position++] = '\\';
+		switch(c) {
+		case '"':
+		case '\\':
+			buffer[position++] = (byte) c;
+			break;
+		case '\n':
+			buffer[position++] = 'n';
+			break;
+		case '\r':
+			buffer[position++] = 'r';
+			break;
+		case '\t':
+			buffer[position++] = 't';
+			break;
+		case '\b':
+			buffer[position++] = 'b';
+			break;
+		case '\f':
+			buffer[position++] = 'f';
+			break;
+		default:
+			buffer[position++] = 'u';
+			buffer[position++] = '0';
+			buffer[position++] = '0';
+			buffer[position++] = HEX[c >> 4];
+			buffer[position++] = HEX[c & 0xF];
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.intele.chimera.client.impl;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.InvocationCallback;
+
+import com.intele.chimera.client.GatewayListener;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>{@link GatewayTransport} decorator that reports every send and its outcome to a {@link GatewayListener}.
+ * <p>As the outermost decorator, a send is reported once with the time until its final response or failure,
+ * including the time spent waiting for rate limiter permits and retries.
+ * <p>Closing the transport closes the decorated transport.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see GatewayListeners
+ */
+public class ListeningTransport implements GatewayTransport {
+
+	private final GatewayTransport transport;
+	private final GatewayListener listener;
+
+	/**
+	 * @param transport the decorated transport
+	 * @param listener a listener that does not throw, e.g. from {@link GatewayListeners#of(java.util.List)}
+	 */
+	public ListeningTransport(GatewayTransport transport, GatewayListener listener) {
+		if(listener == null) {
+			throw new IllegalArgumentException("Listener cannot be null.");
+		}
+		this.transport = transport;
+		this.listener = listener;
+	}
+
+	@Override
+	public <T> T send(Request request, Class<T> responseType) {
+		listener.onSend(request);
+		long start = System.nanoTime();
+		T response;
+		try {
+			response = transport.send(request, responseType);
+		} catch(RuntimeException | Error e) {
+			listener.onFailure(request, e, System.nanoTime() - start);
+			throw e;
+		}
+		listener.onResponse(request, response, System.nanoTime() - start);
+		return response;
+	}
+
+	@Override
+	public <T> Future<T> sendAsync(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback) {
+		listener.onSend(request);
+		ListeningCallback<T> listening = new ListeningCallback<>(request, callback, System.nanoTime());
+		try {
+			return transport.sendAsync(request, responseType, timeout, unit, listening);
+		} catch(RuntimeException | Error e) {
+			listener.onFailure(request, e, System.nanoTime() - listening.start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void close() {
+		transport.close();
+	}
+
+	/**
+	 * @return the decorated transport
+	 */
+	public GatewayTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * Reports the outcome before passing it on to the callback of the caller, if any.
+	 */
+	private final class ListeningCallback<T> implements InvocationCallback<T> {
+		private final Request request;
+		private final InvocationCallback<T> callback;
+		private final long start;
+
+		private ListeningCallback(Request request, InvocationCallback<T> callback, long start) {
+			this.request = request;
+			this.callback = callback;
+			this.start = start;
+		}
+
+		@Override
+		public void completed(T response) {
+			listener.onResponse(request, response, System.nanoTime() - start);
+			if(callback != null) {
+				callback.completed(response);
+			}
+		}
+
+		@Override
+		public void failed(Throwable throwable) {
+			listener.onFailure(request, throwable, System.nanoTime() - start);
+			if(callback != null) {
+				callback.failed(throwable);
+			}
+		}
+	}
+}
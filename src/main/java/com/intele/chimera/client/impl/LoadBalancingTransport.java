@@ -0,0 +1,329 @@
+package com.intele.chimera.client.impl;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.Response;
+
+import com.intele.chimera.client.RateLimitExceededException;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>{@link GatewayTransport} that balances requests over the transports of several gateway endpoints.
+ * <p>Each request goes to the endpoint with the fewest outstanding requests, so a slow endpoint, whose requests
+ * pile up, receives fewer new ones. Endpoints that failed their last request are chosen only when no other endpoint
+ * is available, which moves the retries of a {@link RetryingTransport} to another endpoint.
+ * <p>Endpoints are health checked passively: an endpoint whose consecutive failures, connection failures or server
+ * errors (5xx), reach the ejection threshold is ejected for the ejection duration. When every endpoint is ejected,
+ * the one ejected longest ago is used. A request that the gateway certainly did not process, because the connection
+ * could not be established or the gateway was unavailable (503), fails over to the next endpoint at once.
+ * When every endpoint has failed, the last failure is thrown with the earlier ones suppressed.
+ * <p>Closing the transport closes the transports of all endpoints.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class LoadBalancingTransport implements GatewayTransport {
+
+	public static final int DEFAULT_EJECTION_FAILURES = 3;
+	public static final long DEFAULT_EJECTION_DURATION_MILLIS = 30000;
+
+	private final Endpoint[] endpoints;
+	private final int ejectionFailures;
+	private final long ejectionDurationNanos;
+	private final AtomicInteger rotation = new AtomicInteger();
+
+	/**
+	 * @param transports the transports of the endpoints
+	 * @param ejectionFailures the consecutive failures after which an endpoint is ejected
+	 * @param ejectionDuration the time an endpoint stays ejected
+	 * @param unit the time unit of the ejection duration
+	 */
+	public LoadBalancingTransport(List<? extends GatewayTransport> transports, int ejectionFailures, long ejectionDuration, TimeUnit unit) {
+		if(transports == null || transports.isEmpty()) {
+			throw new IllegalArgumentException("Transports cannot be empty.");
+		}
+		if(ejectionFailures < 1) {
+			throw new IllegalArgumentException("Ejection failures must be at least 1.");
+		}
+		if(ejectionDuration < 0) {
+			throw new IllegalArgumentException("Ejection duration cannot be negative.");
+		}
+		this.endpoints = new Endpoint[transports.size()];
+		for(int i = 0; i < endpoints.length; i++) {
+			endpoints[i] = new Endpoint(transports.get(i));
+		}
+		this.ejectionFailures = ejectionFailures;
+		this.ejectionDurationNanos = unit.toNanos(ejectionDuration);
+	}
+
+	@Override
+	public <T> T send(Request request, Class<T> responseType) {
+		boolean[] tried = new boolean[endpoints.length];
+		List<RuntimeException> failures = null;
+		for(;;) {
+			Endpoint endpoint = this.choose(tried);
+			endpoint.outstanding.incrementAndGet();
+			try {
+				T response = endpoint.transport.send(request, responseType);
+				endpoint.onSuccess();
+				return response;
+			} catch(RuntimeException e) {
+				endpoint.onFailure(e);
+				if(!isFailover(e) || allTried(tried)) {
+					throw suppress(e, failures);
+				}
+				if(failures == null) {
+					failures = new ArrayList<>(endpoints.length - 1);
+				}
+				failures.add(e);
+			} finally {
+				endpoint.outstanding.decrementAndGet();
+			}
+		}
+	}
+
+	@Override
+	public <T> Future<T> sendAsync(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback) {
+		AsyncExchange<T> exchange = new AsyncExchange<>(request, responseType, timeout, unit, callback);
+		exchange.attempt();
+		return exchange;
+	}
+
+	@Override
+	public void close() {
+		RuntimeException failure = null;
+		for(Endpoint endpoint : endpoints) {
+			try {
+				endpoint.transport.close();
+			} catch(RuntimeException e) {
+				if(failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+			}
+		}
+		if(failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * @return the transports of the endpoints
+	 */
+	public List<GatewayTransport> getTransports() {
+		List<GatewayTransport> transports = new ArrayList<>(endpoints.length);
+		for(Endpoint endpoint : endpoints) {
+			transports.add(endpoint.transport);
+		}
+		return Collections.unmodifiableList(transports);
+	}
+
+	/**
+	 * Chooses the untried endpoint that is not ejected, then did not fail its last request, then has the fewest
+	 * outstanding requests. Ties go to the endpoints in turn. Marks the chosen endpoint as tried.
+	 */
+	private Endpoint choose(boolean[] tried) {
+		long now = System.nanoTime();
+		int start = (rotation.getAndIncrement() & Integer.MAX_VALUE) % endpoints.length;
+		int best = -1;
+		for(int n = 0; n < endpoints.length; n++) {
+			int i = (start + n) % endpoints.length;
+			if(!tried[i] && (best < 0 || endpoints[i].isBetterThan(endpoints[best], now))) {
+				best = i;
+			}
+		}
+		tried[best] = true;
+		return endpoints[best];
+	}
+
+	private static boolean allTried(boolean[] tried) {
+		for(boolean t : tried) {
+			if(!t) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return whether the gateway certainly did not process the request
+	 */
+	private static boolean isFailover(Throwable failure) {
+		if(failure instanceof WebApplicationException) {
+			Response response = ((WebApplicationException) failure).getResponse();
+			return response != null && response.getStatus() == 503;
+		}
+		if(failure instanceof ProcessingException) {
+			for(Throwable cause = failure.getCause(); cause != null; cause = cause.getCause()) {
+				if(cause instanceof ConnectException || cause instanceof UnknownHostException || cause instanceof NoRouteToHostException) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether the failure says the endpoint is unhealthy
+	 */
+	private static boolean isUnhealthy(Throwable failure) {
+		if(failure instanceof WebApplicationException) {
+			Response response = ((WebApplicationException) failure).getResponse();
+			return response != null && response.getStatus() >= 500;
+		}
+		return failure instanceof ProcessingException && !(failure instanceof RateLimitExceededException);
+	}
+
+	private static RuntimeException suppress(RuntimeException failure, List<RuntimeException> failures) {
+		if(failures != null) {
+			for(RuntimeException earlier : failures) {
+				if(earlier != failure) {
+					failure.addSuppressed(earlier);
+				}
+			}
+		}
+		return failure;
+	}
+
+	private final class Endpoint {
+		private final GatewayTransport transport;
+		private final AtomicInteger outstanding = new AtomicInteger();
+		private final AtomicInteger consecutiveFailures = new AtomicInteger();
+		private volatile boolean ejected;
+		private volatile long ejectedAt;
+
+		private Endpoint(GatewayTransport transport) {
+			this.transport = transport;
+		}
+
+		private boolean isEjected(long now) {
+			return ejected && now - ejectedAt < ejectionDurationNanos;
+		}
+
+		/**
+		 * Of two ejected endpoints, the one ejected longest ago is better.
+		 */
+		private boolean isBetterThan(Endpoint other, long now) {
+			boolean isEjected = this.isEjected(now);
+			if(isEjected != other.isEjected(now)) {
+				return !isEjected;
+			}
+			if(isEjected) {
+				return ejectedAt - other.ejectedAt < 0;
+			}
+			boolean failed = consecutiveFailures.get() > 0;
+			if(failed != other.consecutiveFailures.get() > 0) {
+				return !failed;
+			}
+			return outstanding.get() < other.outstanding.get();
+		}
+
+		private void onSuccess() {
+			consecutiveFailures.set(0);
+			ejected = false;
+		}
+
+		private void onFailure(Throwable failure) {
+			if(!isUnhealthy(failure)) {
+				return;
+			}
+			if(consecutiveFailures.incrementAndGet() >= ejectionFailures) {
+				// an endpoint back from ejection is ejected again by its next failure
+				ejectedAt = System.nanoTime();
+				ejected = true;
+			}
+		}
+	}
+
+	/**
+	 * Sends to the chosen endpoint, and fails over to the next one when the gateway did not process the request.
+	 */
+	private final class AsyncExchange<T> extends SettableFuture<T> {
+		private final Request request;
+		private final Class<T> responseType;
+		private final long timeout;
+		private final TimeUnit unit;
+		private final boolean[] tried = new boolean[endpoints.length];
+		private final List<RuntimeException> failures = new ArrayList<>();
+		private volatile int attempts;
+		private volatile Future<?> current;
+
+		private AsyncExchange(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback) {
+			super(callback);
+			this.request = request;
+			this.responseType = responseType;
+			this.timeout = timeout;
+			this.unit = unit;
+		}
+
+		private void attempt() {
+			if(this.isDone()) {
+				return;
+			}
+			final int attempt = ++attempts;
+			final Endpoint endpoint = choose(tried);
+			endpoint.outstanding.incrementAndGet();
+			InvocationCallback<T> callback = new InvocationCallback<T>() {
+				@Override
+				public void completed(T response) {
+					endpoint.outstanding.decrementAndGet();
+					endpoint.onSuccess();
+					AsyncExchange.this.complete(response);
+				}
+
+				@Override
+				public void failed(Throwable throwable) {
+					endpoint.outstanding.decrementAndGet();
+					endpoint.onFailure(throwable);
+					AsyncExchange.this.failed(throwable);
+				}
+			};
+			try {
+				Future<?> sent = endpoint.transport.sendAsync(request, responseType, timeout, unit, callback);
+				// a transport failing synchronously has already failed over, and the next attempt is the one to cancel
+				if(attempts == attempt) {
+					this.current = sent;
+				}
+				if(this.isCancelled()) {
+					current.cancel(true);
+				}
+			} catch(RuntimeException e) {
+				callback.failed(e);
+			}
+		}
+
+		private void failed(Throwable throwable) {
+			if(this.isDone()) {
+				return;
+			}
+			if(!(throwable instanceof RuntimeException)) {
+				this.fail(throwable);
+			} else if(!isFailover(throwable) || allTried(tried)) {
+				this.fail(suppress((RuntimeException) throwable, failures));
+			} else {
+				failures.add((RuntimeException) throwable);
+				this.attempt();
+			}
+		}
+
+		@Override
+		protected void onCancel(boolean mayInterruptIfRunning) {
+			Future<?> attempt = current;
+			if(attempt != null) {
+				attempt.cancel(mayInterruptIfRunning);
+			}
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package com.intele.chimera.client.impl;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.InvocationCallback;
+
+import com.intele.chimera.client.Outbox;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>{@link GatewayTransport} decorator that appends the messages of a request to the {@link Outbox} and waits until
+ * they are synced before passing the request on, and acknowledges them when the send completes.
+ * <p>A send completes with the response, with the message statuses of every message, or with a failure that is
+ * reported to the caller. Only messages whose send was interrupted by the end of the process remain pending.
+ * {@link #sendAsync(Request, Class, long, TimeUnit, InvocationCallback)} sends from the sync thread of the outbox
+ * instead of waiting on the calling thread.
+ * <p>Closing the transport closes the decorated transport, not the shared outbox.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class OutboxTransport implements GatewayTransport {
+
+	private final GatewayTransport transport;
+	private final Outbox outbox;
+
+	/**
+	 * @param transport the decorated transport
+	 * @param outbox
+	 */
+	public OutboxTransport(GatewayTransport transport, Outbox outbox) {
+		if(outbox == null) {
+			throw new IllegalArgumentException("Outbox cannot be null.");
+		}
+		this.transport = transport;
+		this.outbox = outbox;
+	}
+
+	@Override
+	public <T> T send(Request request, Class<T> responseType) {
+		long[] ids = this.append(request);
+		try {
+			if(ids.length > 0) {
+				outbox.awaitSync(ids[ids.length - 1]);
+			}
+			return transport.send(request, responseType);
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProcessingException(e);
+		} finally {
+			this.acknowledge(ids);
+		}
+	}
+
+	@Override
+	public <T> Future<T> sendAsync(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback) {
+		AsyncExchange<T> exchange = new AsyncExchange<>(request, responseType, timeout, unit, callback, this.append(request));
+		if(exchange.ids.length == 0) {
+			exchange.run();
+		} else {
+			outbox.whenSynced(exchange.ids[exchange.ids.length - 1], exchange);
+		}
+		return exchange;
+	}
+
+	@Override
+	public void close() {
+		transport.close();
+	}
+
+	/**
+	 * @return the decorated transport
+	 */
+	public GatewayTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * Appends every message of the request, or none: when an append fails, the messages appended before it are
+	 * acknowledged, since they are not sent.
+	 */
+	private long[] append(Request request) {
+		List<Message> messages = request.getMessage();
+		long[] ids = new long[messages.size()];
+		for(int i = 0; i < ids.length; i++) {
+			try {
+				ids[i] = outbox.append(request.getServiceId(), messages.get(i));
+			} catch(RuntimeException e) {
+				for(int j = 0; j < i; j++) {
+					try {
+						outbox.acknowledge(ids[j]);
+					} catch(RuntimeException suppressed) {
+						e.addSuppressed(suppressed);
+					}
+				}
+				throw e;
+			}
+		}
+		return ids;
+	}
+
+	private void acknowledge(long[] ids) {
+		for(long id : ids) {
+			outbox.acknowledge(id);
+		}
+	}
+
+	/**
+	 * Sends the request once its messages are synced, and acknowledges them once when the send completes or is cancelled.
+	 */
+	private final class AsyncExchange<T> extends SettableFuture<T> implements InvocationCallback<T>, Runnable {
+		private final Request request;
+		private final Class<T> responseType;
+		private final long timeout;
+		private final TimeUnit unit;
+		private final long[] ids;
+		private final AtomicBoolean acknowledged = new AtomicBoolean();
+		private volatile Future<?> sending;
+
+		private AsyncExchange(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback, long[] ids) {
+			super(callback);
+			this.request = request;
+			this.responseType = responseType;
+			this.timeout = timeout;
+			this.unit = unit;
+			this.ids = ids;
+		}
+
+		@Override
+		public void run() {
+			if(this.isDone()) {
+				this.acknowledge();
+				return;
+			}
+			try {
+				this.sending = transport.sendAsync(request, responseType, timeout, unit, this);
+				if(this.isCancelled()) {
+					sending.cancel(true);
+				}
+			} catch(RuntimeException e) {
+				this.failed(e);
+			}
+		}
+
+		@Override
+		public void completed(T response) {
+			this.acknowledge();
+			this.complete(response);
+		}
+
+		@Override
+		public void failed(Throwable throwable) {
+			this.acknowledge();
+			this.fail(throwable);
+		}
+
+		@Override
+		protected void onCancel(boolean mayInterruptIfRunning) {
+			Future<?> current = sending;
+			if(current != null) {
+				current.cancel(mayInterruptIfRunning);
+			}
+		}
+
+		private void acknowledge() {
+			if(acknowledged.compareAndSet(false, true)) {
+				OutboxTransport.this.acknowledge(ids);
+			}
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.intele.chimera.client.impl;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.InvocationCallback;
+
+import com.intele.chimera.client.RateLimitExceededException;
+import com.intele.chimera.client.RateLimiter;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>{@link GatewayTransport} decorator that takes one {@link RateLimiter} permit per message of a request,
+ * from the bucket of its service, before passing the request on.
+ * <p>{@link #send(Request, Class)} blocks until the permits are due; {@link #sendAsync(Request, Class, long, TimeUnit, InvocationCallback)}
+ * waits on the scheduler of the rate limiter instead of the calling thread. Requests whose permits are not due within
+ * the maximum wait fail with a {@link RateLimitExceededException} without waiting.
+ * <p>Closing the transport closes the decorated transport, not the shared rate limiter.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class RateLimitingTransport implements GatewayTransport {
+
+	/**
+	 * Maximum wait without a limit.
+	 */
+	public static final long NO_MAX_WAIT = Long.MAX_VALUE;
+
+	private final GatewayTransport transport;
+	private final RateLimiter rateLimiter;
+	private final long maxWaitNanos;
+
+	/**
+	 * @param transport the decorated transport
+	 * @param rateLimiter
+	 * @param maxWait the longest a request may wait for permits, or {@link #NO_MAX_WAIT}
+	 * @param unit the time unit of the maximum wait
+	 */
+	public RateLimitingTransport(GatewayTransport transport, RateLimiter rateLimiter, long maxWait, TimeUnit unit) {
+		if(rateLimiter == null) {
+			throw new IllegalArgumentException("Rate limiter cannot be null.");
+		}
+		if(maxWait < 0) {
+			throw new IllegalArgumentException("Max wait cannot be negative.");
+		}
+		this.transport = transport;
+		this.rateLimiter = rateLimiter;
+		this.maxWaitNanos = maxWait == NO_MAX_WAIT ? NO_MAX_WAIT : unit.toNanos(maxWait);
+	}
+
+	@Override
+	public <T> T send(Request request, Class<T> responseType) {
+		int messages = request.getMessage().size();
+		try {
+			if(!rateLimiter.tryAcquire(request.getServiceId(), messages, maxWaitNanos, TimeUnit.NANOSECONDS)) {
+				throw new RateLimitExceededException(request.getServiceId(), messages);
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProcessingException(e);
+		}
+		return transport.send(request, responseType);
+	}
+
+	@Override
+	public <T> Future<T> sendAsync(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback) {
+		AsyncExchange<T> exchange = new AsyncExchange<>(request, responseType, timeout, unit, callback);
+		exchange.setAcquisition(rateLimiter.tryAcquireAsync(request.getServiceId(), request.getMessage().size(),
+				maxWaitNanos, TimeUnit.NANOSECONDS, exchange));
+		return exchange;
+	}
+
+	@Override
+	public void close() {
+		transport.close();
+	}
+
+	/**
+	 * @return the decorated transport
+	 */
+	public GatewayTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * Sends the request once the permits are acquired. Cancellation aborts the wait for permits or the send.
+	 */
+	private final class AsyncExchange<T> extends SettableFuture<T> implements InvocationCallback<Boolean> {
+		private final Request request;
+		private final Class<T> responseType;
+		private final long timeout;
+		private final TimeUnit unit;
+		private volatile Future<?> acquisition;
+		private volatile Future<?> sending;
+
+		private AsyncExchange(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback) {
+			super(callback);
+			this.request = request;
+			this.responseType = responseType;
+			this.timeout = timeout;
+			this.unit = unit;
+		}
+
+		private void setAcquisition(Future<?> acquisition) {
+			this.acquisition = acquisition;
+			if(this.isCancelled()) {
+				acquisition.cancel(false);
+			}
+		}
+
+		@Override
+		public void completed(Boolean acquired) {
+			if(!acquired) {
+				this.fail(new RateLimitExceededException(request.getServiceId(), request.getMessage().size()));
+				return;
+			}
+			if(this.isDone()) {
+				return;
+			}
+			try {
+				this.sending = transport.sendAsync(request, responseType, timeout, unit, new InvocationCallback<T>() {
+					@Override
+					public void completed(T response) {
+						AsyncExchange.this.complete(response);
+					}
+
+					@Override
+					public void failed(Throwable throwable) {
+						AsyncExchange.this.fail(throwable);
+					}
+				});
+				if(this.isCancelled()) {
+					sending.cancel(true);
+				}
+			} catch(RuntimeException e) {
+				this.fail(e);
+			}
+		}
+
+		@Override
+		public void failed(Throwable throwable) {
+			this.fail(throwable);
+		}
+
+		@Override
+		protected void onCancel(boolean mayInterruptIfRunning) {
+			Future<?> current = acquisition;
+			if(current != null) {
+				current.cancel(false);
+			}
+			current = sending;
+			if(current != null) {
+				current.cancel(mayInterruptIfRunning);
+			}
+		}
+	}
+}
@@ -0,0 +1,196 @@
+package com.intele.chimera.client.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import com.intele.chimera.client.request.SettingsInterner.SharedSettings;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.OriginatorSettings;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Parameter;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.SendWindow;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Settings;
+
+/**
+ * <p>Writes a {@link Request} as JSON straight to the entity stream, without reflection or an intermediate object model.
+ * <p>The document mirrors the XML schema the way JAXB-based JSON providers map it: no root wrapper, members named after
+ * the elements and in schema order, repeated elements as arrays, numbers and booleans unquoted, and dates and times as
+ * their {@code xsd:date} and {@code xsd:time} strings. Unset optional members are left out, so the output for a given
+ * request is always the same.
+ * <p>The settings of a message are written from the bytes cached on a {@link SharedSettings} instance, after the first
+ * message with the instance.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class RequestJsonWriter implements MessageBodyWriter<Request> {
+
+	private static final byte[] SERVICE_ID = JsonOutput.name("serviceId");
+	private static final byte[] USERNAME = JsonOutput.name("username");
+	private static final byte[] PASSWORD = JsonOutput.name("password");
+	private static final byte[] BATCH_REFERENCE = JsonOutput.name("batchReference");
+	private static final byte[] MESSAGE = JsonOutput.name("message");
+	private static final byte[] RECIPIENT = JsonOutput.name("recipient");
+	private static final byte[] CONTENT = JsonOutput.name("content");
+	private static final byte[] PRICE = JsonOutput.name("price");
+	private static final byte[] CLIENT_REFERENCE = JsonOutput.name("clientReference");
+	private static final byte[] SETTINGS = JsonOutput.name("settings");
+	private static final byte[] ORIGINATOR_SETTINGS = JsonOutput.name("originatorSettings");
+	private static final byte[] ORIGINATOR = JsonOutput.name("originator");
+	private static final byte[] ORIGINATOR_TYPE = JsonOutput.name("originatorType");
+	private static final byte[] PRIORITY = JsonOutput.name("priority");
+	private static final byte[] VALIDITY = JsonOutput.name("validity");
+	private static final byte[] DIFFERENTIATOR = JsonOutput.name("differentiator");
+	private static final byte[] AGE = JsonOutput.name("age");
+	private static final byte[] GAS_SETTINGS = JsonOutput.name("gasSettings");
+	private static final byte[] SERVICE_CODE = JsonOutput.name("serviceCode");
+	private static final byte[] DESCRIPTION = JsonOutput.name("description");
+	private static final byte[] NEW_SESSION = JsonOutput.name("newSession");
+	private static final byte[] SESSION_ID = JsonOutput.name("sessionId");
+	private static final byte[] INVOICE_NODE = JsonOutput.name("invoiceNode");
+	private static final byte[] SEND_WINDOW = JsonOutput.name("sendWindow");
+	private static final byte[] START_DATE = JsonOutput.name("startDate");
+	private static final byte[] STOP_DATE = JsonOutput.name("stopDate");
+	private static final byte[] START_TIME = JsonOutput.name("startTime");
+	private static final byte[] STOP_TIME = JsonOutput.name("stopTime");
+	private static final byte[] AUTO_DETECT_ENCODING = JsonOutput.name("autoDetectEncoding");
+	private static final byte[] SAFE_REMOVE_NON_GSM_CHARACTERS = JsonOutput.name("safeRemoveNonGsmCharacters");
+	private static final byte[] PARAMETER = JsonOutput.name("parameter");
+	private static final byte[] KEY = JsonOutput.name("key");
+	private static final byte[] VALUE = JsonOutput.name("value");
+
+	@Override
+	public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return Request.class.isAssignableFrom(type) && mediaType != null && MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType);
+	}
+
+	@Override
+	public long getSize(Request t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return -1;
+	}
+
+	@Override
+	public void writeTo(Request t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+			MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
+		this.write(t, entityStream);
+	}
+
+	/**
+	 * Writes the request as JSON to the stream. The stream is flushed but not closed.
+	 *
+	 * @param request
+	 * @param out
+	 * @throws IOException
+	 */
+	public void write(Request request, OutputStream out) throws IOException {
+		JsonOutput json = new JsonOutput(out);
+		json.beginObject();
+		json.field(SERVICE_ID, request.getServiceId());
+		json.field(USERNAME, request.getUsername());
+		json.field(PASSWORD, request.getPassword());
+		json.field(BATCH_REFERENCE, request.getBatchReference());
+		json.name(MESSAGE);
+		json.beginArray();
+		for(Message message : request.getMessage()) {
+			this.writeMessage(json, message);
+		}
+		json.endArray();
+		json.endObject();
+		json.flush();
+	}
+
+	private void writeMessage(JsonOutput json, Message message) throws IOException {
+		json.beginObject();
+		json.field(RECIPIENT, message.getRecipient());
+		json.field(CONTENT, message.getContent());
+		json.field(PRICE, message.getPrice());
+		json.field(CLIENT_REFERENCE, message.getClientReference());
+		if(message.getSettings() instanceof SharedSettings) {
+			json.name(SETTINGS);
+			json.raw(this.settingsBytes((SharedSettings) message.getSettings()));
+		} else if(message.getSettings() != null) {
+			json.name(SETTINGS);
+			this.writeSettings(json, message.getSettings());
+		}
+		json.endObject();
+	}
+
+	private byte[] settingsBytes(SharedSettings settings) throws IOException {
+		byte[] bytes = settings.getCachedBytes(RequestJsonWriter.class);
+		if(bytes == null) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+			JsonOutput json = new JsonOutput(out, 256);
+			this.writeSettings(json, settings);
+			json.flush();
+			bytes = out.toByteArray();
+			settings.putCachedBytes(RequestJsonWriter.class, bytes);
+		}
+		return bytes;
+	}
+
+	private void writeSettings(JsonOutput json, Settings settings) throws IOException {
+		json.beginObject();
+		OriginatorSettings originatorSettings = settings.getOriginatorSettings();
+		if(originatorSettings != null) {
+			json.name(ORIGINATOR_SETTINGS);
+			json.beginObject();
+			json.field(ORIGINATOR, originatorSettings.getOriginator());
+			if(originatorSettings.getOriginatorType() != null) {
+				json.field(ORIGINATOR_TYPE, originatorSettings.getOriginatorType().value());
+			}
+			json.endObject();
+		}
+		json.field(PRIORITY, settings.getPriority());
+		json.field(VALIDITY, settings.getValidity());
+		json.field(DIFFERENTIATOR, settings.getDifferentiator());
+		json.field(AGE, settings.getAge());
+		GasSettings gasSettings = settings.getGasSettings();
+		if(gasSettings != null) {
+			json.name(GAS_SETTINGS);
+			json.beginObject();
+			json.field(SERVICE_CODE, gasSettings.getServiceCode());
+			json.field(DESCRIPTION, gasSettings.getDescription());
+			json.endObject();
+		}
+		json.field(NEW_SESSION, settings.isNewSession());
+		json.field(SESSION_ID, settings.getSessionId());
+		json.field(INVOICE_NODE, settings.getInvoiceNode());
+		SendWindow sendWindow = settings.getSendWindow();
+		if(sendWindow != null) {
+			json.name(SEND_WINDOW);
+			json.beginObject();
+			json.date(START_DATE, sendWindow.getStartDate());
+			json.date(STOP_DATE, sendWindow.getStopDate());
+			json.time(START_TIME, sendWindow.getStartTime());
+			json.time(STOP_TIME, sendWindow.getStopTime());
+			json.endObject();
+		}
+		json.field(AUTO_DETECT_ENCODING, settings.isAutoDetectEncoding());
+		json.field(SAFE_REMOVE_NON_GSM_CHARACTERS, settings.isSafeRemoveNonGsmCharacters());
+		if(!settings.getParameter().isEmpty()) {
+			json.name(PARAMETER);
+			json.beginArray();
+			for(Parameter parameter : settings.getParameter()) {
+				json.beginObject();
+				json.field(KEY, parameter.getKey());
+				json.field(VALUE, parameter.getValue());
+				json.endObject();
+			}
+			json.endArray();
+		}
+		json.endObject();
+	}
+}
@@ -0,0 +1,202 @@
+package com.intele.chimera.client.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import com.intele.chimera.client.request.SettingsInterner.SharedSettings;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.OriginatorSettings;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Parameter;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.SendWindow;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Settings;
+
+/**
+ * <p>Writes a {@link Request} as an SMSGatewayRequest-2013-02 XML document straight to the entity stream,
+ * without JAXB reflection or an intermediate object model.
+ * <p>The output is byte for byte the same as the JAXB reference implementation produces for the generated classes:
+ * the same declaration, prefix, element order and escaping, with unset optional elements left out.
+ * <p>The settings of a message are written from the bytes cached on a {@link SharedSettings} instance, after the first
+ * message with the instance.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+@Provider
+@Produces({MediaType.APPLICATION_XML, MediaType.TEXT_XML})
+public class RequestXmlWriter implements MessageBodyWriter<Request> {
+
+	public static final String NAMESPACE = "http://chimera.intele.com/gw/xsd/SMSGateway/Request/2013/02";
+
+	private static final byte[] REQUEST = XmlOutput.ascii("ns2:request");
+	private static final byte[] NAMESPACE_DECLARATION = XmlOutput.ascii("xmlns:ns2=\"" + NAMESPACE + "\"");
+	private static final byte[] SERVICE_ID = XmlOutput.ascii("serviceId");
+	private static final byte[] USERNAME = XmlOutput.ascii("username");
+	private static final byte[] PASSWORD = XmlOutput.ascii("password");
+	private static final byte[] BATCH_REFERENCE = XmlOutput.ascii("batchReference");
+	private static final byte[] MESSAGE = XmlOutput.ascii("message");
+	private static final byte[] RECIPIENT = XmlOutput.ascii("recipient");
+	private static final byte[] CONTENT = XmlOutput.ascii("content");
+	private static final byte[] PRICE = XmlOutput.ascii("price");
+	private static final byte[] CLIENT_REFERENCE = XmlOutput.ascii("clientReference");
+	private static final byte[] SETTINGS = XmlOutput.ascii("settings");
+	private static final byte[] ORIGINATOR_SETTINGS = XmlOutput.ascii("originatorSettings");
+	private static final byte[] ORIGINATOR = XmlOutput.ascii("originator");
+	private static final byte[] ORIGINATOR_TYPE = XmlOutput.ascii("originatorType");
+	private static final byte[] PRIORITY = XmlOutput.ascii("priority");
+	private static final byte[] VALIDITY = XmlOutput.ascii("validity");
+	private static final byte[] DIFFERENTIATOR = XmlOutput.ascii("differentiator");
+	private static final byte[] AGE = XmlOutput.ascii("age");
+	private static final byte[] GAS_SETTINGS = XmlOutput.ascii("gasSettings");
+	private static final byte[] SERVICE_CODE = XmlOutput.ascii("serviceCode");
+	private static final byte[] DESCRIPTION = XmlOutput.ascii("description");
+	private static final byte[] NEW_SESSION = XmlOutput.ascii("newSession");
+	private static final byte[] SESSION_ID = XmlOutput.ascii("sessionId");
+	private static final byte[] INVOICE_NODE = XmlOutput.ascii("invoiceNode");
+	private static final byte[] SEND_WINDOW = XmlOutput.ascii("sendWindow");
+	private static final byte[] START_DATE = XmlOutput.ascii("startDate");
+	private static final byte[] STOP_DATE = XmlOutput.ascii("stopDate");
+	private static final byte[] START_TIME = XmlOutput.ascii("startTime");
+	private static final byte[] STOP_TIME = XmlOutput.ascii("stopTime");
+	private static final byte[] AUTO_DETECT_ENCODING = XmlOutput.ascii("autoDetectEncoding");
+	private static final byte[] SAFE_REMOVE_NON_GSM_CHARACTERS = XmlOutput.ascii("safeRemoveNonGsmCharacters");
+	private static final byte[] PARAMETER = XmlOutput.ascii("parameter");
+	private static final byte[] KEY = XmlOutput.ascii("key");
+	private static final byte[] VALUE = XmlOutput.ascii("value");
+
+	@Override
+	public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return Request.class.isAssignableFrom(type) && (mediaType == null ||
+				MediaType.APPLICATION_XML_TYPE.isCompatible(mediaType) ||
+				MediaType.TEXT_XML_TYPE.isCompatible(mediaType));
+	}
+
+	@Override
+	public long getSize(Request t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return -1;
+	}
+
+	@Override
+	public void writeTo(Request t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+			MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
+		this.write(t, entityStream);
+	}
+
+	/**
+	 * Writes the request as XML to the stream. The stream is flushed but not closed.
+	 *
+	 * @param request
+	 * @param out
+	 * @throws IOException
+	 */
+	public void write(Request request, OutputStream out) throws IOException {
+		this.write(request, out, 8192);
+	}
+
+	/**
+	 * Writes the request as XML to the stream through a buffer of the given size, e.g. a small one for a request
+	 * of a single message. The stream is flushed but not closed.
+	 *
+	 * @param request
+	 * @param out
+	 * @param bufferSize the size of the write buffer in bytes
+	 * @throws IOException
+	 */
+	public void write(Request request, OutputStream out, int bufferSize) throws IOException {
+		XmlOutput xml = new XmlOutput(out, bufferSize);
+		xml.raw(XmlOutput.DECLARATION);
+		xml.startRoot(REQUEST, NAMESPACE_DECLARATION);
+		xml.element(SERVICE_ID, request.getServiceId());
+		xml.element(USERNAME, request.getUsername());
+		xml.element(PASSWORD, request.getPassword());
+		xml.element(BATCH_REFERENCE, request.getBatchReference());
+		for(Message message : request.getMessage()) {
+			this.writeMessage(xml, message);
+		}
+		xml.end(REQUEST);
+		xml.flush();
+	}
+
+	private void writeMessage(XmlOutput xml, Message message) throws IOException {
+		xml.start(MESSAGE);
+		xml.element(RECIPIENT, message.getRecipient());
+		xml.element(CONTENT, message.getContent());
+		xml.element(PRICE, message.getPrice());
+		xml.element(CLIENT_REFERENCE, message.getClientReference());
+		if(message.getSettings() instanceof SharedSettings) {
+			xml.raw(this.settingsBytes((SharedSettings) message.getSettings()));
+		} else if(message.getSettings() != null) {
+			this.writeSettings(xml, message.getSettings());
+		}
+		xml.end(MESSAGE);
+	}
+
+	private byte[] settingsBytes(SharedSettings settings) throws IOException {
+		byte[] bytes = settings.getCachedBytes(RequestXmlWriter.class);
+		if(bytes == null) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+			XmlOutput xml = new XmlOutput(out, 256);
+			this.writeSettings(xml, settings);
+			xml.flush();
+			bytes = out.toByteArray();
+			settings.putCachedBytes(RequestXmlWriter.class, bytes);
+		}
+		return bytes;
+	}
+
+	private void writeSettings(XmlOutput xml, Settings settings) throws IOException {
+		xml.start(SETTINGS);
+		OriginatorSettings originatorSettings = settings.getOriginatorSettings();
+		if(originatorSettings != null) {
+			xml.start(ORIGINATOR_SETTINGS);
+			xml.element(ORIGINATOR, originatorSettings.getOriginator());
+			if(originatorSettings.getOriginatorType() != null) {
+				xml.element(ORIGINATOR_TYPE, originatorSettings.getOriginatorType().value());
+			}
+			xml.end(ORIGINATOR_SETTINGS);
+		}
+		xml.element(PRIORITY, settings.getPriority());
+		xml.element(VALIDITY, settings.getValidity());
+		xml.element(DIFFERENTIATOR, settings.getDifferentiator());
+		xml.element(AGE, settings.getAge());
+		GasSettings gasSettings = settings.getGasSettings();
+		if(gasSettings != null) {
+			xml.start(GAS_SETTINGS);
+			xml.element(SERVICE_CODE, gasSettings.getServiceCode());
+			xml.element(DESCRIPTION, gasSettings.getDescription());
+			xml.end(GAS_SETTINGS);
+		}
+		xml.element(NEW_SESSION, settings.isNewSession());
+		xml.element(SESSION_ID, settings.getSessionId());
+		xml.element(INVOICE_NODE, settings.getInvoiceNode());
+		SendWindow sendWindow = settings.getSendWindow();
+		if(sendWindow != null) {
+			xml.start(SEND_WINDOW);
+			xml.date(START_DATE, sendWindow.getStartDate());
+			xml.date(STOP_DATE, sendWindow.getStopDate());
+			xml.time(START_TIME, sendWindow.getStartTime());
+			xml.time(STOP_TIME, sendWindow.getStopTime());
+			xml.end(SEND_WINDOW);
+		}
+		xml.element(AUTO_DETECT_ENCODING, settings.isAutoDetectEncoding());
+		xml.element(SAFE_REMOVE_NON_GSM_CHARACTERS, settings.isSafeRemoveNonGsmCharacters());
+		for(Parameter parameter : settings.getParameter()) {
+			xml.start(PARAMETER);
+			xml.element(KEY, parameter.getKey());
+			xml.element(VALUE, parameter.getValue());
+			xml.end(PARAMETER);
+		}
+		xml.end(SETTINGS);
+	}
+}
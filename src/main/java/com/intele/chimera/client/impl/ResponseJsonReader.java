@@ -0,0 +1,134 @@
+package com.intele.chimera.client.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.Provider;
+
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+/**
+ * <p>Reads a JSON response entity as a {@link Response} with a token-level parser, without reflection.
+ * <p>Accepts the mapping written by {@link RequestJsonWriter} and by JAXB-based JSON providers: members named after the
+ * elements in any order, with or without a {@code "response"} root wrapper, {@code messageStatus} as an array or a single
+ * object, and numbers quoted or not. Unknown members are skipped.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+@Provider
+@Consumes(MediaType.APPLICATION_JSON)
+public class ResponseJsonReader implements MessageBodyReader<Response> {
+
+	private static final char[] RESPONSE = JsonInput.chars("response");
+	private static final char[] BATCH_REFERENCE = JsonInput.chars("batchReference");
+	private static final char[] MESSAGE_STATUS = JsonInput.chars("messageStatus");
+	private static final char[] STATUS_CODE = JsonInput.chars("statusCode");
+	private static final char[] STATUS_MESSAGE = JsonInput.chars("statusMessage");
+	private static final char[] CLIENT_REFERENCE = JsonInput.chars("clientReference");
+	private static final char[] RECIPIENT = JsonInput.chars("recipient");
+	private static final char[] MESSAGE_ID = JsonInput.chars("messageId");
+	private static final char[] SESSION_ID = JsonInput.chars("sessionId");
+	private static final char[] SEQUENCE_INDEX = JsonInput.chars("sequenceIndex");
+
+	@Override
+	public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return type == Response.class && mediaType != null && MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType);
+	}
+
+	@Override
+	public Response readFrom(Class<Response> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+			MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException, WebApplicationException {
+		return this.read(entityStream);
+	}
+
+	/**
+	 * Reads a response document from the stream. The stream is not closed.
+	 *
+	 * @param in
+	 * @return the response
+	 * @throws IOException if the stream cannot be read or does not hold a JSON object
+	 */
+	public Response read(InputStream in) throws IOException {
+		JsonInput json = new JsonInput(in);
+		json.expect(JsonInput.BEGIN_OBJECT);
+		Response response = new Response();
+		this.readResponse(json, response);
+		json.expect(JsonInput.END_DOCUMENT);
+		return response;
+	}
+
+	private void readResponse(JsonInput json, Response response) throws IOException {
+		int token;
+		while((token = json.next()) == JsonInput.NAME) {
+			if(json.nameIs(BATCH_REFERENCE)) {
+				response.setBatchReference(json.nextString());
+			} else if(json.nameIs(MESSAGE_STATUS)) {
+				this.readMessageStatuses(json, response.getMessageStatus());
+			} else if(json.nameIs(RESPONSE)) {
+				if(json.next() != JsonInput.BEGIN_OBJECT) {
+					throw json.syntaxError("Expected a response object");
+				}
+				this.readResponse(json, response);
+			} else {
+				json.skipValue();
+			}
+		}
+		if(token != JsonInput.END_OBJECT) {
+			throw json.syntaxError("Expected a member name");
+		}
+	}
+
+	private void readMessageStatuses(JsonInput json, List<MessageStatus> messageStatuses) throws IOException {
+		int token = json.next();
+		if(token == JsonInput.BEGIN_OBJECT) {
+			messageStatuses.add(this.readMessageStatus(json));
+		} else if(token == JsonInput.BEGIN_ARRAY) {
+			while((token = json.next()) == JsonInput.BEGIN_OBJECT) {
+				messageStatuses.add(this.readMessageStatus(json));
+			}
+			if(token != JsonInput.END_ARRAY) {
+				throw json.syntaxError("Expected a message status object");
+			}
+		} else if(token != JsonInput.NULL) {
+			throw json.syntaxError("Expected message statuses");
+		}
+	}
+
+	private MessageStatus readMessageStatus(JsonInput json) throws IOException {
+		MessageStatus messageStatus = new MessageStatus();
+		int token;
+		while((token = json.next()) == JsonInput.NAME) {
+			if(json.nameIs(STATUS_CODE)) {
+				messageStatus.setStatusCode(json.nextInt());
+			} else if(json.nameIs(STATUS_MESSAGE)) {
+				messageStatus.setStatusMessage(json.nextString());
+			} else if(json.nameIs(CLIENT_REFERENCE)) {
+				messageStatus.setClientReference(json.nextString());
+			} else if(json.nameIs(RECIPIENT)) {
+				messageStatus.setRecipient(json.nextString());
+			} else if(json.nameIs(MESSAGE_ID)) {
+				messageStatus.setMessageId(json.nextString());
+			} else if(json.nameIs(SESSION_ID)) {
+				messageStatus.setSessionId(json.nextString());
+			} else if(json.nameIs(SEQUENCE_INDEX)) {
+				messageStatus.setSequenceIndex(json.nextInt());
+			} else {
+				json.skipValue();
+			}
+		}
+		if(token != JsonInput.END_OBJECT) {
+			throw json.syntaxError("Expected a member name");
+		}
+		return messageStatus;
+	}
+}
@@ -0,0 +1,323 @@
+package com.intele.chimera.client.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import com.intele.chimera.client.RetryPolicy;
+import com.intele.chimera.client.RetryPolicy.Classification;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * <p>{@link GatewayTransport} decorator that sends a request again when the {@link RetryPolicy} allows it.
+ * <p>{@link #send(Request, Class)} sleeps on the calling thread between attempts; {@link #sendAsync(Request, Class, long, TimeUnit, InvocationCallback)}
+ * schedules the next attempt instead, and cancellation aborts the current attempt or the pending retry.
+ * When the request is not retried, the last failure is thrown with the failures of earlier attempts suppressed.
+ * <p>The retry budget is kept per transport. Closing the transport closes the decorated transport, and the
+ * scheduler unless it was given by the policy.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class RetryingTransport implements GatewayTransport {
+
+	private static final long MIN_ATTEMPT_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	/**
+	 * Budget is counted in thousandths of a retry, so that fractional ratios add up.
+	 */
+	private static final long RETRY_COST = 1000;
+
+	private final GatewayTransport transport;
+	private final RetryPolicy policy;
+	private final ScheduledExecutorService scheduler;
+	private final boolean ownScheduler;
+	private final long deposit;
+	private final long maxBalance;
+	private final AtomicLong balance;
+
+	/**
+	 * @param transport the decorated transport
+	 * @param policy
+	 */
+	public RetryingTransport(GatewayTransport transport, RetryPolicy policy) {
+		if(policy == null) {
+			throw new IllegalArgumentException("Retry policy cannot be null.");
+		}
+		this.transport = transport;
+		this.policy = policy;
+		this.ownScheduler = policy.getScheduler() == null;
+		this.scheduler = ownScheduler ? Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "smsgw-retry");
+				thread.setDaemon(true);
+				return thread;
+			}
+		}) : policy.getScheduler();
+		this.deposit = Math.round(policy.getRetryRatio() * RETRY_COST);
+		this.maxBalance = Math.max(policy.getMinRetries() * RETRY_COST, RETRY_COST);
+		this.balance = new AtomicLong(policy.getMinRetries() * RETRY_COST);
+	}
+
+	@Override
+	public <T> T send(Request request, Class<T> responseType) {
+		long start = System.nanoTime();
+		boolean identified = identified(request);
+		this.deposit();
+		List<RuntimeException> failures = null;
+		for(int attempt = 1;; attempt++) {
+			try {
+				return transport.send(request, responseType);
+			} catch(RuntimeException e) {
+				long delay = this.retryDelay(e, attempt, identified, start);
+				if(delay < 0) {
+					throw suppress(e, failures);
+				}
+				if(failures == null) {
+					failures = new ArrayList<>(policy.getMaxAttempts() - 1);
+				}
+				failures.add(e);
+				try {
+					TimeUnit.NANOSECONDS.sleep(delay);
+				} catch(InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					throw suppress(new ProcessingException(interrupted), failures);
+				}
+			}
+		}
+	}
+
+	@Override
+	public <T> Future<T> sendAsync(Request request, Class<T> responseType, long timeout, TimeUnit unit, InvocationCallback<T> callback) {
+		AsyncExchange<T> exchange = new AsyncExchange<>(request, responseType, timeout <= 0 ? 0 : unit.toNanos(timeout), callback);
+		exchange.run();
+		return exchange;
+	}
+
+	@Override
+	public void close() {
+		try {
+			transport.close();
+		} finally {
+			if(ownScheduler) {
+				scheduler.shutdownNow();
+			}
+		}
+	}
+
+	/**
+	 * @return the decorated transport
+	 */
+	public GatewayTransport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * @return the retry policy
+	 */
+	public RetryPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * @return the time to wait before the next attempt in nanoseconds, or -1 if the request is not retried
+	 */
+	long retryDelay(Throwable failure, int attempt, boolean identified, long start) {
+		if(attempt >= policy.getMaxAttempts()) {
+			return -1;
+		}
+		Classification classification = policy.classify(failure);
+		if(classification == Classification.NOT_RETRYABLE ||
+				(classification == Classification.RETRYABLE_IF_IDENTIFIED && !(policy.isAmbiguousRetries() && identified))) {
+			return -1;
+		}
+		long delay = Math.max(this.backoff(attempt), retryAfter(failure));
+		long deadline = policy.getDeadline(TimeUnit.NANOSECONDS);
+		if(deadline != RetryPolicy.NO_DEADLINE && System.nanoTime() - start + delay >= deadline) {
+			return -1;
+		}
+		return this.withdraw() ? delay : -1;
+	}
+
+	/**
+	 * Full jitter: a random time up to the exponential backoff of the attempt.
+	 */
+	private long backoff(int attempt) {
+		long max = policy.getMaxBackoff(TimeUnit.NANOSECONDS);
+		long backoff = policy.getInitialBackoff(TimeUnit.NANOSECONDS);
+		for(int i = 1; i < attempt && backoff < max; i++) {
+			backoff <<= 1;
+		}
+		backoff = Math.min(backoff, max);
+		return backoff <= 0 ? 0 : ThreadLocalRandom.current().nextLong(backoff + 1);
+	}
+
+	private void deposit() {
+		long current;
+		do {
+			current = balance.get();
+			if(current >= maxBalance) {
+				return;
+			}
+		} while(!balance.compareAndSet(current, Math.min(current + deposit, maxBalance)));
+	}
+
+	private boolean withdraw() {
+		long current;
+		do {
+			current = balance.get();
+			if(current < RETRY_COST) {
+				return false;
+			}
+		} while(!balance.compareAndSet(current, current - RETRY_COST));
+		return true;
+	}
+
+	/**
+	 * @return the Retry-After of a 429 or 503 response in nanoseconds, or 0
+	 */
+	private static long retryAfter(Throwable failure) {
+		if(!(failure instanceof WebApplicationException)) {
+			return 0;
+		}
+		Response response = ((WebApplicationException) failure).getResponse();
+		String retryAfter = response == null ? null : response.getHeaderString(HttpHeaders.RETRY_AFTER);
+		if(retryAfter == null) {
+			return 0;
+		}
+		try {
+			return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(retryAfter.trim())));
+		} catch(NumberFormatException e) {
+			// HTTP-date form is not used by the gateway
+			return 0;
+		}
+	}
+
+	/**
+	 * @return whether every message has a client reference, to reconcile the statuses of a request that may have been
+	 * delivered twice
+	 */
+	private static boolean identified(Request request) {
+		for(Message message : request.getMessage()) {
+			if(message.getClientReference() == null || message.getClientReference().isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static RuntimeException suppress(RuntimeException failure, List<RuntimeException> failures) {
+		if(failures != null) {
+			for(RuntimeException earlier : failures) {
+				if(earlier != failure) {
+					failure.addSuppressed(earlier);
+				}
+			}
+		}
+		return failure;
+	}
+
+	/**
+	 * Sends an attempt, and schedules the next one when it fails and may be retried.
+	 */
+	private final class AsyncExchange<T> extends SettableFuture<T> implements InvocationCallback<T>, Runnable {
+		private final Request request;
+		private final Class<T> responseType;
+		private final long timeoutNanos;
+		private final long start = System.nanoTime();
+		private final boolean identified;
+		private final List<RuntimeException> failures = new ArrayList<>();
+		private int attempt;
+		private volatile Future<?> current;
+
+		private AsyncExchange(Request request, Class<T> responseType, long timeoutNanos, InvocationCallback<T> callback) {
+			super(callback);
+			this.request = request;
+			this.responseType = responseType;
+			this.timeoutNanos = timeoutNanos;
+			this.identified = identified(request);
+			RetryingTransport.this.deposit();
+		}
+
+		/**
+		 * Sends the next attempt, with a timeout that ends at the deadline.
+		 */
+		@Override
+		public void run() {
+			if(this.isDone()) {
+				return;
+			}
+			attempt++;
+			long timeout = timeoutNanos;
+			long deadline = policy.getDeadline(TimeUnit.NANOSECONDS);
+			if(deadline != RetryPolicy.NO_DEADLINE) {
+				long remaining = Math.max(deadline - (System.nanoTime() - start), MIN_ATTEMPT_TIMEOUT_NANOS);
+				timeout = timeout == 0 ? remaining : Math.min(timeout, remaining);
+			}
+			try {
+				Future<?> scheduled = current;
+				Future<?> sent = transport.sendAsync(request, responseType, timeout, TimeUnit.NANOSECONDS, this);
+				// a transport failing synchronously has already scheduled the next attempt, which is the one to cancel
+				if(current == scheduled) {
+					this.current = sent;
+				}
+				if(this.isCancelled()) {
+					current.cancel(true);
+				}
+			} catch(RuntimeException e) {
+				this.failed(e);
+			}
+		}
+
+		@Override
+		public void completed(T response) {
+			this.complete(response);
+		}
+
+		@Override
+		public void failed(Throwable throwable) {
+			if(this.isDone()) {
+				return;
+			}
+			long delay = retryDelay(throwable, attempt, identified, start);
+			if(delay < 0 || !(throwable instanceof RuntimeException)) {
+				if(throwable instanceof RuntimeException) {
+					suppress((RuntimeException) throwable, failures);
+				}
+				this.fail(throwable);
+				return;
+			}
+			failures.add((RuntimeException) throwable);
+			try {
+				this.current = scheduler.schedule(this, delay, TimeUnit.NANOSECONDS);
+				if(this.isCancelled()) {
+					current.cancel(false);
+				}
+			} catch(RuntimeException e) {
+				failures.remove(failures.size() - 1);
+				this.fail(suppress((RuntimeException) throwable, failures));
+			}
+		}
+
+		@Override
+		protected void onCancel(boolean mayInterruptIfRunning) {
+			Future<?> attempt = current;
+			if(attempt != null) {
+				attempt.cancel(mayInterruptIfRunning);
+			}
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package com.intele.chimera.client.impl;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.client.InvocationCallback;
+
+/**
+ * <p>A {@link Future} that is completed explicitly by the code producing the value.
+ * <p>The first call to {@link #complete(Object)}, {@link #fail(Throwable)} or {@link #cancel(boolean)}
+ * wins; later calls are ignored. An optional {@link InvocationCallback} is notified from the completing thread.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ *
+ * @param <V> the result type
+ */
+public class SettableFuture<V> implements Future<V> {
+
+	private final InvocationCallback<V> callback;
+	private final AtomicBoolean completed = new AtomicBoolean();
+	private final CountDownLatch done = new CountDownLatch(1);
+	private V value;
+	private Throwable failure;
+	private boolean cancelled;
+	private volatile Future<?> cancellationTarget;
+
+	public SettableFuture() {
+		this(null);
+	}
+
+	/**
+	 * @param callback notified on completion; may be {@code null}
+	 */
+	public SettableFuture(InvocationCallback<V> callback) {
+		this.callback = callback;
+	}
+
+	/**
+	 * @param value the result
+	 * @return true if this call completed the future
+	 */
+	public boolean complete(V value) {
+		if(!completed.compareAndSet(false, true)) {
+			return false;
+		}
+		this.value = value;
+		done.countDown();
+		if(callback != null) {
+			callback.completed(value);
+		}
+		return true;
+	}
+
+	/**
+	 * @param failure the cause of the failure
+	 * @return true if this call completed the future
+	 */
+	public boolean fail(Throwable failure) {
+		if(!completed.compareAndSet(false, true)) {
+			return false;
+		}
+		this.failure = failure;
+		done.countDown();
+		if(callback != null) {
+			callback.failed(failure);
+		}
+		return true;
+	}
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		if(!completed.compareAndSet(false, true)) {
+			return false;
+		}
+		this.cancelled = true;
+		done.countDown();
+		this.onCancel(mayInterruptIfRunning);
+		if(callback != null) {
+			callback.failed(new CancellationException());
+		}
+		return true;
+	}
+
+	/**
+	 * Propagates cancellation of this future to the future of the underlying work.
+	 * If this future is already cancelled, the target is cancelled immediately.
+	 *
+	 * @param cancellationTarget
+	 */
+	public void setCancellationTarget(Future<?> cancellationTarget) {
+		this.cancellationTarget = cancellationTarget;
+		if(this.isCancelled()) {
+			cancellationTarget.cancel(true);
+		}
+	}
+
+	/**
+	 * Invoked once when the future is cancelled. Subclasses may override it to abort the underlying work;
+	 * the default implementation cancels the {@link #setCancellationTarget(Future) cancellation target}.
+	 *
+	 * @param mayInterruptIfRunning
+	 */
+	protected void onCancel(boolean mayInterruptIfRunning) {
+		Future<?> target = this.cancellationTarget;
+		if(target != null) {
+			target.cancel(mayInterruptIfRunning);
+		}
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return done.getCount() == 0 && cancelled;
+	}
+
+	@Override
+	public boolean isDone() {
+		return done.getCount() == 0;
+	}
+
+	@Override
+	public V get() throws InterruptedException, ExecutionException {
+		done.await();
+		return this.result();
+	}
+
+	@Override
+	public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		if(!done.await(timeout, unit)) {
+			throw new TimeoutException();
+		}
+		return this.result();
+	}
+
+	private V result() throws ExecutionException {
+		if(cancelled) {
+			throw new CancellationException();
+		}
+		if(failure != null) {
+			throw new ExecutionException(failure);
+		}
+		return value;
+	}
+}
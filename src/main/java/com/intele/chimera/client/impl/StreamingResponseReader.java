@@ -0,0 +1,40 @@
+package com.intele.chimera.client.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.Provider;
+
+import com.intele.chimera.client.response.StreamingResponse;
+
+/**
+ * <p>Reads an XML response entity as a {@link StreamingResponse}.
+ * <p>The entity stream is left open and is closed by {@link StreamingResponse#close()}.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+@Provider
+@Consumes({MediaType.APPLICATION_XML, MediaType.TEXT_XML})
+public class StreamingResponseReader implements MessageBodyReader<StreamingResponse> {
+
+	@Override
+	public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return type == StreamingResponse.class && (mediaType == null ||
+				MediaType.APPLICATION_XML_TYPE.isCompatible(mediaType) ||
+				MediaType.TEXT_XML_TYPE.isCompatible(mediaType));
+	}
+
+	@Override
+	public StreamingResponse readFrom(Class<StreamingResponse> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+			MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException, WebApplicationException {
+		return new StreamingResponse(entityStream);
+	}
+}
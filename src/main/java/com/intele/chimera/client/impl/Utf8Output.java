@@ -0,0 +1,188 @@
+package com.intele.chimera.client.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+/**
+ * <p>Buffered UTF-8 byte output shared by {@link XmlOutput} and {@link JsonOutput}: the write buffer, UTF-8 encoding,
+ * decimal numbers and the {@code xsd:date} and {@code xsd:time} forms of calendars, which both formats write the same.
+ * <p>Not thread-safe; one instance is used per entity.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+abstract class Utf8Output {
+
+	private static final byte[] MIN_INT = ascii(String.valueOf(Integer.MIN_VALUE));
+
+	private final OutputStream out;
+	final byte[] buffer;
+	int position;
+
+	Utf8Output(OutputStream out, int bufferSize) {
+		this.out = out;
+		this.buffer = new byte[bufferSize];
+	}
+
+	static byte[] ascii(String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	void flush() throws IOException {
+		if(position > 0) {
+			out.write(buffer, 0, position);
+			position = 0;
+		}
+		out.flush();
+	}
+
+	/**
+	 * Writes the character at the index, which is not ASCII, as UTF-8. An unpaired surrogate is written as {@code ?}.
+	 *
+	 * @return the index of the last character written, the next one for a surrogate pair
+	 */
+	final int writeNonAscii(String value, int index) throws IOException {
+		char c = value.charAt(index);
+		if(c < 0x800) {
+			this.ensure(2);
+			buffer[position++] = (byte) (0xC0 | (c >> 6));
+			buffer[position++] = (byte) (0x80 | (c & 0x3F));
+		} else if(Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+			int codePoint = Character.toCodePoint(c, value.charAt(++index));
+			this.ensure(4);
+			buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+			buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+			buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+			buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+		} else if(Character.isSurrogate(c)) {
+			this.write((byte) '?');
+		} else {
+			this.ensure(3);
+			buffer[position++] = (byte) (0xE0 | (c >> 12));
+			buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+			buffer[position++] = (byte) (0x80 | (c & 0x3F));
+		}
+		return index;
+	}
+
+	/**
+	 * Writes the date part of the calendar in the {@code xsd:date} lexical form.
+	 */
+	final void writeDate(XMLGregorianCalendar value) throws IOException {
+		int year = value.getYear();
+		if(year == DatatypeConstants.FIELD_UNDEFINED) {
+			this.write(ascii(value.getEonAndYear() == null ? "" : value.getEonAndYear().toString()));
+		} else {
+			this.number(year, 4);
+		}
+		this.write((byte) '-');
+		this.number(value.getMonth(), 2);
+		this.write((byte) '-');
+		this.number(value.getDay(), 2);
+		this.timezone(value);
+	}
+
+	/**
+	 * Writes the time part of the calendar in the {@code xsd:time} lexical form.
+	 */
+	final void writeTime(XMLGregorianCalendar value) throws IOException {
+		this.number(value.getHour(), 2);
+		this.write((byte) ':');
+		this.number(value.getMinute(), 2);
+		this.write((byte) ':');
+		this.number(value.getSecond(), 2);
+		BigDecimal fractionalSecond = value.getFractionalSecond();
+		if(fractionalSecond != null) {
+			String fraction = fractionalSecond.toPlainString();
+			int point = fraction.indexOf('.');
+			if(point >= 0) {
+				this.write(ascii(fraction.substring(point)));
+			}
+		}
+		this.timezone(value);
+	}
+
+	/**
+	 * Writes a decimal number, zero padded to the given width.
+	 */
+	final void number(int value, int width) throws IOException {
+		if(value == Integer.MIN_VALUE) {
+			this.write(MIN_INT);
+			return;
+		}
+		if(value < 0) {
+			this.write((byte) '-');
+			value = -value;
+		}
+		int digits = 1;
+		for(int v = value / 10; v > 0; v /= 10) {
+			digits++;
+		}
+		int length = Math.max(digits, width);
+		this.ensure(length);
+		int end = position + length;
+		for(int i = end - 1; i >= position; i--) {
+			buffer[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		position = end;
+	}
+
+	final void write(byte b) throws IOException {
+		if(position == buffer.length) {
+			this.drain();
+		}
+		buffer[position++] = b;
+	}
+
+	final void write(byte[] bytes) throws IOException {
+		if(bytes.length > buffer.length - position) {
+			this.drain();
+			if(bytes.length > buffer.length) {
+				out.write(bytes);
+				return;
+			}
+		}
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
+	}
+
+	/**
+	 * Makes room for the given number of bytes in the buffer.
+	 */
+	final void ensure(int length) throws IOException {
+		if(buffer.length - position < length) {
+			this.drain();
+		}
+	}
+
+	private void timezone(XMLGregorianCalendar value) throws IOException {
+		int offset = value.getTimezone();
+		if(offset == DatatypeConstants.FIELD_UNDEFINED) {
+			return;
+		}
+		if(offset == 0) {
+			this.write((byte) 'Z');
+			return;
+		}
+		if(offset > 0) {
+			this.write((byte) '+');
+		} else {
+			this.write((byte) '-');
+			offset = -offset;
+		}
+		this.number(offset / 60, 2);
+		this.write((byte) ':');
+		this.number(offset % 60, 2);
+	}
+
+	private void drain() throws IOException {
+		out.write(buffer, 0, position);
+		position = 0;
+	}
+}
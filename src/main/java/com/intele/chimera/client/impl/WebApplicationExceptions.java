@@ -0,0 +1,66 @@
+package com.intele.chimera.client.impl;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.InternalServerErrorException;
+import javax.ws.rs.NotAcceptableException;
+import javax.ws.rs.NotAllowedException;
+import javax.ws.rs.NotAuthorizedException;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.NotSupportedException;
+import javax.ws.rs.RedirectionException;
+import javax.ws.rs.ServerErrorException;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+/**
+ * Maps unsuccessful HTTP responses to the exceptions a synchronous JAX-RS invocation would throw.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+final class WebApplicationExceptions {
+
+	private WebApplicationExceptions() {
+	}
+
+	static boolean isSuccessful(int status) {
+		return status >= 200 && status < 300;
+	}
+
+	static WebApplicationException of(Response response) {
+		switch(response.getStatus()) {
+		case 400:
+			return new BadRequestException(response);
+		case 401:
+			return new NotAuthorizedException(response);
+		case 403:
+			return new ForbiddenException(response);
+		case 404:
+			return new NotFoundException(response);
+		case 405:
+			return new NotAllowedException(response);
+		case 406:
+			return new NotAcceptableException(response);
+		case 415:
+			return new NotSupportedException(response);
+		case 500:
+			return new InternalServerErrorException(response);
+		case 503:
+			return new ServiceUnavailableException(response);
+		default:
+			break;
+		}
+		int family = response.getStatus() / 100;
+		if(family == 3) {
+			return new RedirectionException(response);
+		} else if(family == 4) {
+			return new ClientErrorException(response);
+		} else if(family == 5) {
+			return new ServerErrorException(response);
+		}
+		return new WebApplicationException(response);
+	}
+}
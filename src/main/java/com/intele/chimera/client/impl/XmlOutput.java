@@ -0,0 +1,169 @@
+package com.intele.chimera.client.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
+/**
+ * <p>Minimal buffered UTF-8 XML writer producing the same bytes as the JAXB reference implementation
+ * for elements without attributes: empty elements are written as {@code <name/>}, and text escapes
+ * {@code &}, {@code <}, {@code >} and carriage return.
+ * <p>Not thread-safe; one instance is used per entity.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+final class XmlOutput extends Utf8Output {
+
+	static final byte[] DECLARATION = ascii("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+
+	private static final byte[] AMP = ascii("&amp;");
+	private static final byte[] LT = ascii("&lt;");
+	private static final byte[] GT = ascii("&gt;");
+	private static final byte[] CR = ascii("&#xD;");
+	private static final byte[] TRUE = ascii("true");
+	private static final byte[] FALSE = ascii("false");
+
+	private boolean startTagOpen;
+
+	XmlOutput(OutputStream out) {
+		this(out, 8192);
+	}
+
+	XmlOutput(OutputStream out, int bufferSize) {
+		super(out, bufferSize);
+	}
+
+	/**
+	 * Writes the start tag of an element, leaving it open for a possible empty element.
+	 *
+	 * @param name the qualified element name
+	 */
+	void start(byte[] name) throws IOException {
+		this.closeStartTag();
+		this.write((byte) '<');
+		this.write(name);
+		this.startTagOpen = true;
+	}
+
+	/**
+	 * Writes the start tag of the root element with a prefixed namespace declaration.
+	 */
+	void startRoot(byte[] name, byte[] namespaceDeclaration) throws IOException {
+		this.start(name);
+		this.write((byte) ' ');
+		this.write(namespaceDeclaration);
+	}
+
+	void end(byte[] name) throws IOException {
+		if(startTagOpen) {
+			this.write((byte) '/');
+			this.write((byte) '>');
+			startTagOpen = false;
+			return;
+		}
+		this.write((byte) '<');
+		this.write((byte) '/');
+		this.write(name);
+		this.write((byte) '>');
+	}
+
+	void element(byte[] name, String value) throws IOException {
+		if(value != null) {
+			this.start(name);
+			this.closeStartTag();
+			this.text(value);
+			this.end(name);
+		}
+	}
+
+	void element(byte[] name, Integer value) throws IOException {
+		if(value != null) {
+			this.element(name, value.intValue());
+		}
+	}
+
+	void element(byte[] name, int value) throws IOException {
+		this.start(name);
+		this.closeStartTag();
+		this.number(value, 1);
+		this.end(name);
+	}
+
+	void element(byte[] name, Boolean value) throws IOException {
+		if(value != null) {
+			this.start(name);
+			this.closeStartTag();
+			this.write(value.booleanValue() ? TRUE : FALSE);
+			this.end(name);
+		}
+	}
+
+	/**
+	 * Writes the date part of the calendar as {@code xsd:date}.
+	 */
+	void date(byte[] name, XMLGregorianCalendar value) throws IOException {
+		if(value != null) {
+			this.start(name);
+			this.closeStartTag();
+			this.writeDate(value);
+			this.end(name);
+		}
+	}
+
+	/**
+	 * Writes the time part of the calendar as {@code xsd:time}.
+	 */
+	void time(byte[] name, XMLGregorianCalendar value) throws IOException {
+		if(value != null) {
+			this.start(name);
+			this.closeStartTag();
+			this.writeTime(value);
+			this.end(name);
+		}
+	}
+
+	/**
+	 * Writes bytes that are already valid, escaped XML.
+	 */
+	void raw(byte[] bytes) throws IOException {
+		this.closeStartTag();
+		this.write(bytes);
+	}
+
+	void text(String value) throws IOException {
+		this.closeStartTag();
+		int length = value.length();
+		for(int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if(c < 0x80) {
+				switch(c) {
+				case '&':
+					this.write(AMP);
+					break;
+				case '<':
+					this.write(LT);
+					break;
+				case '>':
+					this.write(GT);
+					break;
+				case '\r':
+					this.write(CR);
+					break;
+				default:
+					this.write((byte) c);
+				}
+			} else {
+				i = this.writeNonAscii(value, i);
+			}
+		}
+	}
+
+	private void closeStartTag() throws IOException {
+		if(startTagOpen) {
+			this.write((byte) '>');
+			startTagOpen = false;
+		}
+	}
+}
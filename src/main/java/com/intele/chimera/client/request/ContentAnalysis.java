@@ -0,0 +1,204 @@
+package com.intele.chimera.client.request;
+
+/**
+ * <p>The encoding, length and number of segments of a message content, as the SMS Gateway will send it.
+ * <p>Content made of characters of the GSM 03.38 basic character set and its extension table is sent in the 7-bit default
+ * alphabet, where the characters of the extension table take two septets. Any other character makes the whole content
+ * go in UCS-2, two octets per UTF-16 code unit. A single message holds 160 septets or 140 octets; longer content is
+ * concatenated in segments of 153 septets or 67 UCS-2 characters, without splitting an escaped character or a surrogate
+ * pair over two segments.
+ * <p>The analysis is a single pass over the content with table lookups. {@link #segments(CharSequence)} and
+ * {@link #isGsm(CharSequence)} do not allocate; {@link #of(CharSequence)} allocates the analysis only, and the
+ * non-GSM characters when there are any.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * ContentAnalysis analysis = ContentAnalysis.of("Pris: 100 €");
+ * analysis.getEncoding();	// GSM_7
+ * analysis.getLength();	// 12 septets
+ * analysis.getSegments();	// 1
+ * }
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see Sms#analyzeContent()
+ */
+public final class ContentAnalysis {
+
+	/** The single message and the concatenated segment capacity in septets, in the 7-bit default alphabet */
+	public static final int GSM_SINGLE_SEPTETS = 160, GSM_SEGMENT_SEPTETS = 153;
+	/** The single message and the concatenated segment capacity in UTF-16 code units, in UCS-2 */
+	public static final int UCS2_SINGLE_CHARACTERS = 70, UCS2_SEGMENT_CHARACTERS = 67;
+
+	/**
+	 * The character encoding of a message.
+	 */
+	public enum Encoding {
+		/** The GSM 03.38 7-bit default alphabet, with the extension table */
+		GSM_7,
+		/** UCS-2, for content with characters outside the default alphabet */
+		UCS_2
+	}
+
+	/** Septets per character below {@link #TABLE_SIZE}: 0 for non-GSM characters, 1 for the basic set, 2 for the extension table */
+	private static final byte[] SEPTETS;
+	private static final int TABLE_SIZE = 0x400;
+	/** The only extension table character outside the table */
+	private static final char EURO = '€';
+	private static final long NON_GSM = 1L << 62;
+
+	static {
+		SEPTETS = new byte[TABLE_SIZE];
+		String basic = "@£$¥èéùìòÇ\nØø\rÅåΔ_ΦΓΛΩΠΨΣΘΞÆæßÉ !\"#¤%&'()*+,-./0123456789:;<=>?" +
+				"¡ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÑÜ§¿abcdefghijklmnopqrstuvwxyzäöñüà";
+		for(int i = 0; i < basic.length(); i++) {
+			SEPTETS[basic.charAt(i)] = 1;
+		}
+		String extension = "\f^{}\\[~]|";
+		for(int i = 0; i < extension.length(); i++) {
+			SEPTETS[extension.charAt(i)] = 2;
+		}
+	}
+
+	private final Encoding encoding;
+	private final int length;
+	private final int segments;
+	private final String nonGsmCharacters;
+
+	private ContentAnalysis(long scan, CharSequence content) {
+		this.encoding = (scan & NON_GSM) == 0 ? Encoding.GSM_7 : Encoding.UCS_2;
+		this.length = (int) scan;
+		this.segments = (int) ((scan & ~NON_GSM) >>> 32);
+		this.nonGsmCharacters = encoding == Encoding.GSM_7 ? "" : nonGsmCharacters(content);
+	}
+
+	/**
+	 * @param content the message content, or null for no content
+	 * @return the analysis of the content
+	 */
+	public static ContentAnalysis of(CharSequence content) {
+		return new ContentAnalysis(scan(content), content);
+	}
+
+	/**
+	 * @param content the message content, or null for no content
+	 * @return the number of segments the content is sent in, at least 1
+	 */
+	public static int segments(CharSequence content) {
+		return (int) ((scan(content) & ~NON_GSM) >>> 32);
+	}
+
+	/**
+	 * @param content the message content, or null for no content
+	 * @return true if the content can be sent in the 7-bit default alphabet
+	 */
+	public static boolean isGsm(CharSequence content) {
+		if(content != null) {
+			for(int i = 0, n = content.length(); i < n; i++) {
+				if(septets(content.charAt(i)) == 0) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param c a character
+	 * @return true if the character is in the GSM 03.38 basic character set or its extension table
+	 */
+	public static boolean isGsm(char c) {
+		return septets(c) != 0;
+	}
+
+	/**
+	 * @return the encoding the content is sent in
+	 */
+	public Encoding getEncoding() {
+		return encoding;
+	}
+
+	/**
+	 * @return the length of the content in septets for {@link Encoding#GSM_7}, or in octets for {@link Encoding#UCS_2}
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * @return the number of segments the content is sent in, at least 1
+	 */
+	public int getSegments() {
+		return segments;
+	}
+
+	/**
+	 * @return the distinct characters outside the GSM 03.38 character sets, in order of appearance, or an empty string
+	 */
+	public String getNonGsmCharacters() {
+		return nonGsmCharacters;
+	}
+
+	@Override
+	public String toString() {
+		return encoding + ", " + length + (encoding == Encoding.GSM_7 ? " septets, " : " octets, ") + segments + " segment(s)";
+	}
+
+	private static int septets(char c) {
+		return c < TABLE_SIZE ? SEPTETS[c] : c == EURO ? 2 : 0;
+	}
+
+	/**
+	 * Counts the content in both encodings at once, so that a late non-GSM character does not need a second pass.
+	 * @return the length in the low 32 bits, the segments in bits 32 to 61 and {@link #NON_GSM} if the content is UCS-2
+	 */
+	private static long scan(CharSequence content) {
+		int n = content == null ? 0 : content.length();
+		int septets = 0, gsmSegments = 1, gsmUsed = 0;
+		int ucsSegments = 1, ucsUsed = 0;
+		boolean gsm = true;
+		for(int i = 0; i < n; i++) {
+			char c = content.charAt(i);
+			int width = septets(c);
+			if(width == 0) {
+				gsm = false;
+			} else if(gsm) {
+				if(gsmUsed + width > GSM_SEGMENT_SEPTETS) {
+					gsmSegments++;
+					gsmUsed = 0;
+				}
+				gsmUsed += width;
+				septets += width;
+			}
+			int units = Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(content.charAt(i + 1)) ? 2 : 1;
+			if(ucsUsed + units > UCS2_SEGMENT_CHARACTERS) {
+				ucsSegments++;
+				ucsUsed = 0;
+			}
+			ucsUsed += units;
+			i += units - 1;
+		}
+		if(gsm) {
+			return (long) (septets <= GSM_SINGLE_SEPTETS ? 1 : gsmSegments) << 32 | septets;
+		}
+		return NON_GSM | (long) (n <= UCS2_SINGLE_CHARACTERS ? 1 : ucsSegments) << 32 | n * 2;
+	}
+
+	private static String nonGsmCharacters(CharSequence content) {
+		StringBuilder nonGsm = new StringBuilder();
+		for(int i = 0, n = content.length(); i < n; i++) {
+			char c = content.charAt(i);
+			if(septets(c) != 0) {
+				continue;
+			}
+			int end = Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(content.charAt(i + 1)) ? i + 2 : i + 1;
+			CharSequence character = content.subSequence(i, end);
+			if(nonGsm.indexOf(character.toString()) < 0) {
+				nonGsm.append(character);
+			}
+			i = end - 1;
+		}
+		return nonGsm.toString();
+	}
+}
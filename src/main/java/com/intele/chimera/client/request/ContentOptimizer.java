@@ -0,0 +1,186 @@
+package com.intele.chimera.client.request;
+
+/**
+ * <p>Transliterates message content to the GSM 03.38 character sets before sending, so that a curly quote, a dash or an
+ * accented letter does not make the whole message go in UCS-2, in two to three times as many segments.
+ * <p>Content that is already GSM is returned as is, without allocating. Otherwise the characters are replaced from a
+ * transliteration table in a single pass, and the transliterated content is used when it takes no more segments than
+ * the original. The {@link Fidelity} decides what happens to characters without a transliteration.
+ * <p>{@link #DEFAULT} transliterates typographic punctuation, spaces, Latin letters with diacritics and the Greek
+ * capitals that look like Latin ones. Add or override transliterations with the builder:
+ * <pre>
+ * {@code
+ * ContentOptimizer optimizer = new ContentOptimizer.
+ * 	Builder().
+ * 	withTransliteration('✓', "OK").
+ * 	withFidelity(Fidelity.LOSSY).
+ * 	build();
+ * Sms sms = new Sms.Builder("+4741000000", "“Done” ✓").withContentOptimizer(optimizer).build();	// "Done" OK
+ * }
+ * </pre>
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see Sms.Builder#withContentOptimizer(ContentOptimizer)
+ * @see ContentAnalysis
+ */
+public final class ContentOptimizer {
+
+	/**
+	 * What to do with characters without a transliteration.
+	 */
+	public enum Fidelity {
+		/** Keep the content as is when a character has no transliteration; it is sent in UCS-2 */
+		STRICT,
+		/** Replace characters without a transliteration by the replacement, {@code ?} by default */
+		LOSSY
+	}
+
+	private static final String[][] DEFAULT_TRANSLITERATIONS = {
+			{"‘’‚‛′´`", "'"}, {"“”„‟″«»", "\""}, {"‹›", "'"}, {"‐‑‒–—―−", "-"}, {"…", "..."}, {"•", "*"}, {"·", "."},
+			{"\t\u00A0\u2002\u2003\u2004\u2005\u2006\u2007\u2008\u2009\u200A\u202F\u205F\u3000", " "},
+			{"\u00AD\u200B\u200C\u200D\u2060\uFEFF", ""}, {"™", "TM"}, {"©", "(C)"}, {"®", "(R)"},
+			{"áâãāăą", "a"}, {"ÀÁÂÃĀĂĄ", "A"}, {"çćĉċč", "Ç"}, {"ĆĈĊČ", "C"}, {"ďđð", "d"}, {"ĎĐÐ", "D"},
+			{"êëēĕėęě", "e"}, {"ÈÊËĒĔĖĘĚ", "E"}, {"ĝğġģ", "g"}, {"ĜĞĠĢ", "G"}, {"íîïĩīĭįı", "i"}, {"ÍÎÏĨĪĬĮİ", "I"},
+			{"ķ", "k"}, {"Ķ", "K"}, {"ĺļľŀł", "l"}, {"ĹĻĽĿŁ", "L"}, {"ńņňŉ", "n"}, {"ŃŅŇ", "N"},
+			{"óôõōŏő", "o"}, {"ÓÔÕŌŎŐ", "O"}, {"ŕŗř", "r"}, {"ŔŖŘ", "R"}, {"śŝşš", "s"}, {"ŚŜŞŠ", "S"},
+			{"ţťŧ", "t"}, {"ŢŤŦ", "T"}, {"úûũūŭůűų", "u"}, {"ÚÛŨŪŬŮŰŲ", "U"}, {"ŵ", "w"}, {"Ŵ", "W"},
+			{"ýÿŷ", "y"}, {"ÝŶŸ", "Y"}, {"źżž", "z"}, {"ŹŻŽ", "Z"}, {"œ", "oe"}, {"Œ", "OE"}, {"þ", "th"}, {"Þ", "Th"},
+			{"Α", "A"}, {"Β", "B"}, {"Ε", "E"}, {"Ζ", "Z"}, {"Η", "H"}, {"Ι", "I"}, {"Κ", "K"}, {"Μ", "M"},
+			{"Ν", "N"}, {"Ο", "O"}, {"Ρ", "P"}, {"Τ", "T"}, {"Υ", "Y"}, {"Χ", "X"}
+	};
+
+	/** The default transliterations, {@link Fidelity#STRICT} */
+	public static final ContentOptimizer DEFAULT = new Builder().build();
+
+	/** Transliterations in pages of 256 characters, indexed by the high and the low byte of the character; null for characters without one */
+	private final String[][] transliterations;
+	private final Fidelity fidelity;
+	private final String replacement;
+
+	public static class Builder {
+		private final String[][] transliterations = new String[256][];
+		private Fidelity fidelity = Fidelity.STRICT;
+		private String replacement = "?";
+
+		/**
+		 * Start from the default transliterations.
+		 */
+		public Builder() {
+			for(String[] transliteration : DEFAULT_TRANSLITERATIONS) {
+				for(int i = 0; i < transliteration[0].length(); i++) {
+					withTransliteration(transliteration[0].charAt(i), transliteration[1]);
+				}
+			}
+		}
+		/**
+		 * Add or override the transliteration of a character.
+		 * @param c the character to replace
+		 * @param transliteration the GSM characters to replace it with, possibly empty to remove it
+		 * @return the updated builder
+		 */
+		public Builder withTransliteration(char c, String transliteration) {
+			requireGsm(transliteration);
+			if(transliterations[c >>> 8] == null) {
+				transliterations[c >>> 8] = new String[256];
+			}
+			transliterations[c >>> 8][c & 0xFF] = transliteration;
+			return this;
+		}
+		/**
+		 * @param fidelity what to do with characters without a transliteration. Default value is {@link Fidelity#STRICT}.
+		 * @return the updated builder
+		 */
+		public Builder withFidelity(Fidelity fidelity) {
+			if(fidelity == null) {
+				throw new IllegalArgumentException("Fidelity cannot be null.");
+			}
+			this.fidelity = fidelity;
+			return this;
+		}
+		/**
+		 * @param replacement the GSM characters to replace characters without a transliteration with, for
+		 * {@link Fidelity#LOSSY}. Default value is {@code ?}.
+		 * @return the updated builder
+		 */
+		public Builder withReplacement(String replacement) {
+			requireGsm(replacement);
+			this.replacement = replacement;
+			return this;
+		}
+		/**
+		 * @return the newly created optimizer
+		 */
+		public ContentOptimizer build() {
+			return new ContentOptimizer(this);
+		}
+
+		private static void requireGsm(String value) {
+			if(value == null || !ContentAnalysis.isGsm(value)) {
+				throw new IllegalArgumentException("Not GSM characters: " + value);
+			}
+		}
+	}
+
+	private ContentOptimizer(Builder builder) {
+		this.transliterations = new String[256][];
+		for(int i = 0; i < transliterations.length; i++) {
+			if(builder.transliterations[i] != null) {
+				transliterations[i] = builder.transliterations[i].clone();
+			}
+		}
+		this.fidelity = builder.fidelity;
+		this.replacement = builder.replacement;
+	}
+
+	/**
+	 * @param content the message content, or null for no content
+	 * @return the transliterated content if it takes no more segments than the content, otherwise the content
+	 */
+	public String optimize(String content) {
+		if(content == null || ContentAnalysis.isGsm(content)) {
+			return content;
+		}
+		String transliterated = transliterate(content);
+		if(transliterated == null || ContentAnalysis.segments(transliterated) > ContentAnalysis.segments(content)) {
+			return content;
+		}
+		return transliterated;
+	}
+
+	/**
+	 * @return the fidelity
+	 */
+	public Fidelity getFidelity() {
+		return fidelity;
+	}
+
+	/**
+	 * @return the transliterated content, or null if a character has no transliteration and the fidelity is strict
+	 */
+	private String transliterate(String content) {
+		int n = content.length();
+		StringBuilder transliterated = new StringBuilder(n + 16);
+		for(int i = 0; i < n; i++) {
+			char c = content.charAt(i);
+			if(ContentAnalysis.isGsm(c)) {
+				transliterated.append(c);
+				continue;
+			}
+			String[] page = transliterations[c >>> 8];
+			String transliteration = page == null ? null : page[c & 0xFF];
+			if(transliteration != null) {
+				transliterated.append(transliteration);
+			} else if(fidelity == Fidelity.LOSSY) {
+				transliterated.append(replacement);
+				if(Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(content.charAt(i + 1))) {
+					i++;
+				}
+			} else {
+				return null;
+			}
+		}
+		return transliterated.toString();
+	}
+}
@@ -1,7 +1,12 @@
 package com.intele.chimera.client.request;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.intele.chimera.client.GatewayClient;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
 import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Settings;
 
 /**
  * <p>Convenience class using the builder pattern to create a new {@link Request} object.
@@ -16,9 +21,10 @@ import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
  * </pre>
  *
  * @author  gre
- * @version 1.0		Aug 6, 2015
+ * @version 1.1		Oct 18, 2026
  * @see GatewayClient#send(GatewayRequest)
  * @see Sms
+ * @see Campaign
  */
 public class GatewayRequest {
 
@@ -57,6 +63,118 @@ public class GatewayRequest {
 		}
 	}
 
+	/**
+	 * <p>The messages of a campaign as columns: one array per field, with an element per recipient, and one content or
+	 * price for every recipient instead of an array when they are the same. Every message shares one immutable copy of
+	 * the settings of the prototype.
+	 * <p>{@link GatewayRequest#addMessages(Campaign)} adds a message per recipient straight from the arrays, without an
+	 * {@link Sms.Builder} or an {@link Sms} per message. Example:
+	 * <pre>
+	 * {@code
+	 * request.addMessages(new GatewayRequest.Campaign(recipients).
+	 * 	withContent("Spring sale today!").
+	 * 	withClientReferences(clientReferences).
+	 * 	withPrototype(new Sms.Builder(null, null).withOriginatorSettings(OriginatorTypeEnum.ALPHANUMERIC, "Shop").build())
+	 * 	);
+	 * }
+	 * </pre>
+	 * <p>The arrays are not copied, and must not be modified until the messages are added.
+	 */
+	public static class Campaign {
+		private final String[] recipients;
+		private String content;
+		private String[] contents;
+		private String[] clientReferences;
+		private Integer price;
+		private int[] prices;
+		private Settings settings;
+
+		/**
+		 * @param recipients the recipients, in E.164 format, e.g. +4792000001
+		 */
+		public Campaign(String[] recipients) {
+			if(recipients == null) {
+				throw new IllegalArgumentException("Recipients cannot be null.");
+			}
+			this.recipients = recipients;
+		}
+		/**
+		 * @param content the content of every message
+		 * @return the updated campaign
+		 */
+		public Campaign withContent(String content) {
+			this.content = content;
+			this.contents = null;
+			return this;
+		}
+		/**
+		 * @param contents the content of each message
+		 * @return the updated campaign
+		 */
+		public Campaign withContents(String[] contents) {
+			this.contents = requireColumn(contents, "Contents");
+			this.content = null;
+			return this;
+		}
+		/**
+		 * @param clientReferences the client reference of each message; elements may be {@code null}
+		 * @return the updated campaign
+		 */
+		public Campaign withClientReferences(String[] clientReferences) {
+			this.clientReferences = requireColumn(clientReferences, "Client references");
+			return this;
+		}
+		/**
+		 * @param price the cost for the recipient of every message, in the lowest monetary unit, e.g. 200 (2,- NOK)
+		 * @return the updated campaign
+		 */
+		public Campaign withPrice(Integer price) {
+			this.price = price;
+			this.prices = null;
+			return this;
+		}
+		/**
+		 * @param prices the cost for the recipient of each message, in the lowest monetary unit
+		 * @return the updated campaign
+		 */
+		public Campaign withPrices(int[] prices) {
+			if(prices == null || prices.length != recipients.length) {
+				throw new IllegalArgumentException("Prices must have one element per recipient.");
+			}
+			this.prices = prices;
+			this.price = null;
+			return this;
+		}
+		/**
+		 * Share the settings of a message with the messages of the campaign, and its price unless prices are given.
+		 * The settings are copied when the prototype is set; its recipient, content and client reference are ignored.
+		 * @param prototype the prototype message
+		 * @return the updated campaign
+		 */
+		public Campaign withPrototype(Sms prototype) {
+			Message message = prototype.getMessage();
+			this.settings = SettingsInterner.freeze(message.getSettings());
+			if(prices == null && price == null) {
+				this.price = message.getPrice();
+			}
+			return this;
+		}
+
+		/**
+		 * @return the number of messages of the campaign
+		 */
+		public int size() {
+			return recipients.length;
+		}
+
+		private String[] requireColumn(String[] column, String name) {
+			if(column == null || column.length != recipients.length) {
+				throw new IllegalArgumentException(name + " must have one element per recipient.");
+			}
+			return column;
+		}
+	}
+
 	private GatewayRequest(Builder builder) {
 		this.request = new Request();
 		this.request.setServiceId(builder.serviceId);
@@ -71,6 +189,29 @@ public class GatewayRequest {
 	public void addMessage(Sms sms) {
 		this.request.getMessage().add(sms.getMessage());
 	}
+	/**
+	 * Adds a message per recipient of a campaign to this request, sharing one settings object.
+	 * @param campaign
+	 * @throws IllegalStateException if the campaign has no content
+	 */
+	public void addMessages(Campaign campaign) {
+		if(campaign.content == null && campaign.contents == null) {
+			throw new IllegalStateException("Campaign content cannot be null.");
+		}
+		List<Message> messages = this.request.getMessage();
+		if(messages instanceof ArrayList) {
+			((ArrayList<Message>) messages).ensureCapacity(messages.size() + campaign.size());
+		}
+		for(int i = 0; i < campaign.recipients.length; i++) {
+			Message message = new Message();
+			message.setRecipient(campaign.recipients[i]);
+			message.setContent(campaign.contents == null ? campaign.content : campaign.contents[i]);
+			message.setClientReference(campaign.clientReferences == null ? null : campaign.clientReferences[i]);
+			message.setPrice(campaign.prices == null ? campaign.price : Integer.valueOf(campaign.prices[i]));
+			message.setSettings(campaign.settings);
+			messages.add(message);
+		}
+	}
 	/**
 	 * @return the wrapped request
 	 */
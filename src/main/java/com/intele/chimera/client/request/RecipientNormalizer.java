@@ -0,0 +1,356 @@
+package com.intele.chimera.client.request;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Normalizes recipients to the ITU-T E.164 form the SMS Gateway expects, a + followed by the country code and the
+ * national number, and rejects the recipients it cannot, before they are sent.
+ * <p>Spaces, dashes, dots, slashes and parentheses are ignored. Numbers starting with + or 00 are international; other
+ * numbers are national numbers of the default country, without a leading trunk prefix 0. The country code must be
+ * assigned, and the national number must have the length configured for the country, or 4 digits or more, and
+ * 15 digits at most with the country code.
+ * <p>The parser makes a single pass over the characters without regular expressions, into a small array of the digits,
+ * and then builds the normalized recipient. A bounded LRU cache of recent results can be enabled for recipient lists
+ * with many repeated numbers.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * RecipientNormalizer normalizer = new RecipientNormalizer.
+ * 	Builder().
+ * 	withDefaultCountryCode(47).
+ * 	withNationalNumberLength(47, 8, 8).
+ * 	build();
+ * normalizer.normalize("417 00 000");	// +4741700000
+ * normalizer.normalize("0047 (417) 00-000");	// +4741700000
+ * normalizer.normalize("+47 417");	// null
+ * }
+ * </pre>
+ * <p>Instances are thread-safe.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see Sms.Builder#withRecipientNormalizer(RecipientNormalizer)
+ */
+public final class RecipientNormalizer {
+
+	/** The maximum number of digits of an E.164 number, with the country code */
+	public static final int MAX_DIGITS = 15;
+	/** The minimum number of digits of a national number, unless configured for the country */
+	public static final int MIN_NATIONAL_DIGITS = 4;
+
+	/** The assigned 1, 2 and 3-digit country codes, indexed by their value; no 3-digit code starts with a shorter one */
+	private static final boolean[] ASSIGNED = new boolean[1000];
+	/** The cache value of recipients that cannot be normalized */
+	private static final String INVALID = "";
+
+	static {
+		int[] assigned = {
+				1, 7,
+				20, 27, 30, 31, 32, 33, 34, 36, 39, 40, 41, 43, 44, 45, 46, 47, 48, 49, 51, 52, 53, 54, 55, 56, 57, 58,
+				60, 61, 62, 63, 64, 65, 66, 81, 82, 84, 86, 90, 91, 92, 93, 94, 95, 98,
+				211, 212, 213, 216, 218, 290, 291, 297, 298, 299, 385, 386, 387, 389, 420, 421, 423, 670,
+				680, 681, 682, 683, 685, 686, 687, 688, 689, 690, 691, 692, 800, 808, 850, 852, 853, 855, 856, 870, 878,
+				880, 881, 882, 883, 886, 888, 979, 992, 993, 994, 995, 996, 998
+		};
+		for(int code : assigned) {
+			ASSIGNED[code] = true;
+		}
+		int[][] ranges = {{220, 258}, {260, 269}, {350, 359}, {370, 383}, {500, 509}, {590, 599}, {672, 679}, {960, 968}, {970, 977}};
+		for(int[] range : ranges) {
+			for(int code = range[0]; code <= range[1]; code++) {
+				ASSIGNED[code] = true;
+			}
+		}
+	}
+
+	private final int defaultCountryCode;
+	/** The minimum and maximum national number length per country code, or 0 for the defaults */
+	private final byte[] minLength, maxLength;
+	private final Map<String, String> cache;
+
+	public static class Builder {
+		private int defaultCountryCode;
+		private final byte[] minLength = new byte[ASSIGNED.length], maxLength = new byte[ASSIGNED.length];
+		private int cacheSize;
+
+		/**
+		 * @param countryCode the country code of national numbers, e.g. 47. Without one, only international numbers are
+		 * valid.
+		 * @return the updated builder
+		 */
+		public Builder withDefaultCountryCode(int countryCode) {
+			requireAssigned(countryCode);
+			this.defaultCountryCode = countryCode;
+			return this;
+		}
+		/**
+		 * Set the length of the national numbers, without the country code, of a country.
+		 * @param countryCode the country code, e.g. 47
+		 * @param minLength the minimum number of digits, e.g. 8
+		 * @param maxLength the maximum number of digits, e.g. 8
+		 * @return the updated builder
+		 */
+		public Builder withNationalNumberLength(int countryCode, int minLength, int maxLength) {
+			requireAssigned(countryCode);
+			int digits = countryCodeLength(countryCode);
+			if(minLength < 1 || minLength > maxLength || digits + maxLength > MAX_DIGITS) {
+				throw new IllegalArgumentException("Invalid national number length " + minLength + " to " + maxLength + " for +" + countryCode + ".");
+			}
+			this.minLength[countryCode] = (byte) minLength;
+			this.maxLength[countryCode] = (byte) maxLength;
+			return this;
+		}
+		/**
+		 * @param cacheSize the number of recent recipients to cache the normalization of. Default value is 0, no cache.
+		 * @return the updated builder
+		 */
+		public Builder withCacheSize(int cacheSize) {
+			if(cacheSize < 0) {
+				throw new IllegalArgumentException("Cache size cannot be negative.");
+			}
+			this.cacheSize = cacheSize;
+			return this;
+		}
+		/**
+		 * @return the newly created normalizer
+		 */
+		public RecipientNormalizer build() {
+			return new RecipientNormalizer(this);
+		}
+
+		private static void requireAssigned(int countryCode) {
+			if(countryCode <= 0 || countryCode >= ASSIGNED.length || !ASSIGNED[countryCode]) {
+				throw new IllegalArgumentException("Country code " + countryCode + " is not assigned.");
+			}
+		}
+
+		private static int countryCodeLength(int countryCode) {
+			return countryCode < 10 ? 1 : countryCode < 100 ? 2 : 3;
+		}
+	}
+
+	/**
+	 * The distinct normalized recipients of a batch, and the recipients that could not be normalized.
+	 */
+	public static final class Batch {
+		private final List<String> recipients;
+		private final List<CharSequence> invalid;
+		private final int duplicates;
+
+		private Batch(List<String> recipients, List<CharSequence> invalid, int duplicates) {
+			this.recipients = Collections.unmodifiableList(recipients);
+			this.invalid = Collections.unmodifiableList(invalid);
+			this.duplicates = duplicates;
+		}
+
+		/**
+		 * @return the distinct normalized recipients, in order of first appearance
+		 */
+		public List<String> getRecipients() {
+			return recipients;
+		}
+
+		/**
+		 * @return the recipients that could not be normalized, as given
+		 */
+		public List<CharSequence> getInvalid() {
+			return invalid;
+		}
+
+		/**
+		 * @return the number of recipients left out as duplicates of an earlier one
+		 */
+		public int getDuplicates() {
+			return duplicates;
+		}
+	}
+
+	private RecipientNormalizer(Builder builder) {
+		this.defaultCountryCode = builder.defaultCountryCode;
+		this.minLength = builder.minLength.clone();
+		this.maxLength = builder.maxLength.clone();
+		final int cacheSize = builder.cacheSize;
+		this.cache = cacheSize == 0 ? null : new LinkedHashMap<String, String>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * @param recipient the recipient as entered, or null
+	 * @return the normalized recipient, e.g. +4741700000, or null if it cannot be normalized
+	 */
+	public String normalize(CharSequence recipient) {
+		if(recipient == null) {
+			return null;
+		}
+		if(cache == null || !(recipient instanceof String)) {
+			return parse(recipient);
+		}
+		String normalized;
+		synchronized(cache) {
+			normalized = cache.get(recipient);
+		}
+		if(normalized == null) {
+			normalized = parse(recipient);
+			synchronized(cache) {
+				cache.put((String) recipient, normalized == null ? INVALID : normalized);
+			}
+		}
+		return normalized == INVALID ? null : normalized;
+	}
+
+	/**
+	 * @param chars the characters of a recipient, e.g. a field of a line being imported
+	 * @param offset the offset of the recipient
+	 * @param length the length of the recipient
+	 * @return the normalized recipient, e.g. +4741700000, or null if it cannot be normalized
+	 */
+	public String normalize(char[] chars, int offset, int length) {
+		return parse(CharBuffer.wrap(chars, offset, length));
+	}
+
+	/**
+	 * @param recipient the recipient as entered, or null
+	 * @return true if the recipient can be normalized
+	 */
+	public boolean isValid(CharSequence recipient) {
+		return normalize(recipient) != null;
+	}
+
+	/**
+	 * Normalize the recipients of a batch and leave out the duplicates.
+	 * @param recipients the recipients as entered
+	 * @return the distinct normalized recipients and the invalid ones
+	 */
+	public Batch normalizeAll(Iterable<? extends CharSequence> recipients) {
+		List<String> normalized = new ArrayList<>();
+		List<CharSequence> invalid = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		int duplicates = 0;
+		for(CharSequence recipient : recipients) {
+			String value = normalize(recipient);
+			if(value == null) {
+				invalid.add(recipient);
+			} else if(seen.add(value)) {
+				normalized.add(value);
+			} else {
+				duplicates++;
+			}
+		}
+		return new Batch(normalized, invalid, duplicates);
+	}
+
+	private String parse(CharSequence recipient) {
+		// room for 00 and the longest number, to tell too long numbers from valid ones
+		char[] digits = new char[MAX_DIGITS + 3];
+		int count = 0;
+		boolean plus = false;
+		for(int i = 0, n = recipient.length(); i < n; i++) {
+			char c = recipient.charAt(i);
+			if(c >= '0' && c <= '9') {
+				if(count == digits.length) {
+					return null;
+				}
+				digits[count++] = c;
+			} else if(c == '+') {
+				if(plus || count > 0) {
+					return null;
+				}
+				plus = true;
+			} else if(!isSeparator(c)) {
+				return null;
+			}
+		}
+		int start = 0;
+		int countryCode = 0;
+		if(!plus && count > 2 && digits[0] == '0' && digits[1] == '0') {
+			start = 2;
+		} else if(!plus) {
+			if(defaultCountryCode == 0) {
+				return null;
+			}
+			countryCode = defaultCountryCode;
+			if(count > 0 && digits[0] == '0') {
+				start = 1;
+			}
+		}
+		if(start == count || digits[start] == '0') {
+			return null;
+		}
+		int countryCodeLength;
+		if(countryCode != 0) {
+			countryCodeLength = 0;
+		} else {
+			countryCodeLength = countryCodeLength(digits, start, count);
+			if(countryCodeLength == 0) {
+				return null;
+			}
+			countryCode = value(digits, start, countryCodeLength);
+		}
+		int nationalLength = count - start - countryCodeLength;
+		int min = minLength[countryCode] == 0 ? MIN_NATIONAL_DIGITS : minLength[countryCode];
+		int max = maxLength[countryCode] == 0 ? MAX_DIGITS : maxLength[countryCode];
+		int totalLength = Builder.countryCodeLength(countryCode) + nationalLength;
+		if(nationalLength < min || nationalLength > max || totalLength > MAX_DIGITS) {
+			return null;
+		}
+		char[] normalized = new char[totalLength + 1];
+		normalized[0] = '+';
+		int position = 1;
+		if(countryCodeLength == 0) {
+			for(int divisor = countryCode < 10 ? 1 : countryCode < 100 ? 10 : 100; divisor > 0; divisor /= 10) {
+				normalized[position++] = (char) ('0' + countryCode / divisor % 10);
+			}
+		}
+		System.arraycopy(digits, start, normalized, position, count - start);
+		return new String(normalized);
+	}
+
+	/**
+	 * @return the length of the country code at the start of the digits, or 0 if it is not assigned
+	 */
+	private static int countryCodeLength(char[] digits, int start, int count) {
+		for(int length = 1; length <= 3 && start + length <= count; length++) {
+			if(ASSIGNED[value(digits, start, length)]) {
+				return length;
+			}
+		}
+		return 0;
+	}
+
+	private static int value(char[] digits, int start, int length) {
+		int value = 0;
+		for(int i = start; i < start + length; i++) {
+			value = value * 10 + digits[i] - '0';
+		}
+		return value;
+	}
+
+	private static boolean isSeparator(char c) {
+		switch(c) {
+			case ' ':
+			case '\t':
+			case '\u00A0':
+			case '-':
+			case '.':
+			case '/':
+			case '(':
+			case ')':
+				return true;
+			default:
+				return false;
+		}
+	}
+}
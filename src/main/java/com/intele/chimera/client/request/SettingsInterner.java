@@ -0,0 +1,422 @@
+package com.intele.chimera.client.request;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.OriginatorSettings;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.OriginatorTypeEnum;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Parameter;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.SendWindow;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Settings;
+
+/**
+ * <p>Canonicalizes equal {@link Settings}, {@link OriginatorSettings} and GAS settings to one shared, immutable instance,
+ * so that the messages of a batch with the same settings hold one settings object instead of one each.
+ * <p>The shared instances are the generated classes with setters that throw {@link UnsupportedOperationException}, and
+ * marshal like the originals. The request writers recognize {@link SharedSettings} and write their bytes from a cache,
+ * instead of serializing the same settings for every message.
+ * <p>The most recently used instances are kept, up to the maximum size per type. Example:
+ * <pre>
+ * {@code
+ * SettingsInterner interner = new SettingsInterner.Builder().withMaxSize(256).build();
+ * Sms sms = new Sms.
+ * 	Builder("+4741000000", "Test message").
+ * 	withOriginatorSettings(OriginatorTypeEnum.ALPHANUMERIC, "Intelecom").
+ * 	withPriority(2).
+ * 	withSettingsInterner(interner).
+ * 	build();
+ * }
+ * </pre>
+ * <p>Instances are thread-safe.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see Sms.Builder#withSettingsInterner(SettingsInterner)
+ */
+public final class SettingsInterner {
+
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	private final Lru<Settings> settings;
+	private final Lru<OriginatorSettings> originatorSettings;
+	private final Lru<com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings> gasSettings;
+
+	public static class Builder {
+		private int maxSize = DEFAULT_MAX_SIZE;
+
+		/**
+		 * @param maxSize the maximum number of shared instances kept per type. Default {@value SettingsInterner#DEFAULT_MAX_SIZE}
+		 * @return the updated builder
+		 */
+		public Builder withMaxSize(int maxSize) {
+			if(maxSize < 1) {
+				throw new IllegalArgumentException("Max size must be at least 1.");
+			}
+			this.maxSize = maxSize;
+			return this;
+		}
+		/**
+		 * @return the newly created interner
+		 */
+		public SettingsInterner build() {
+			return new SettingsInterner(this);
+		}
+	}
+
+	private SettingsInterner(Builder builder) {
+		this.settings = new Lru<>(builder.maxSize);
+		this.originatorSettings = new Lru<>(builder.maxSize);
+		this.gasSettings = new Lru<>(builder.maxSize);
+	}
+
+	/**
+	 * @param value settings, or null
+	 * @return the shared instance equal to the settings
+	 */
+	public Settings intern(Settings value) {
+		if(value == null || value instanceof SharedSettings) {
+			return value;
+		}
+		List<Object> key = Arrays.<Object> asList(key(value.getOriginatorSettings()), value.getPriority(), value.getValidity(),
+				value.getDifferentiator(), value.getAge(), key(value.getGasSettings()), value.isNewSession(), value.getSessionId(),
+				value.getInvoiceNode(), key(value.getSendWindow()), value.isAutoDetectEncoding(), value.isSafeRemoveNonGsmCharacters(),
+				key(value.getParameter()));
+		Settings shared = settings.get(key);
+		if(shared == null) {
+			shared = settings.putIfAbsent(key, new SharedSettings(value, this.intern(value.getOriginatorSettings()),
+					this.intern(value.getGasSettings())));
+		}
+		return shared;
+	}
+
+	/**
+	 * @param value originator settings, or null
+	 * @return the shared instance equal to the originator settings
+	 */
+	public OriginatorSettings intern(OriginatorSettings value) {
+		if(value == null || value instanceof SharedOriginatorSettings) {
+			return value;
+		}
+		List<Object> key = key(value);
+		OriginatorSettings shared = originatorSettings.get(key);
+		if(shared == null) {
+			shared = originatorSettings.putIfAbsent(key, new SharedOriginatorSettings(value.getOriginator(), value.getOriginatorType()));
+		}
+		return shared;
+	}
+
+	/**
+	 * @param value GAS settings, or null
+	 * @return the shared instance equal to the GAS settings
+	 */
+	public com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings intern(com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings value) {
+		if(value == null || value instanceof SharedGasSettings) {
+			return value;
+		}
+		List<Object> key = key(value);
+		com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings shared = gasSettings.get(key);
+		if(shared == null) {
+			shared = gasSettings.putIfAbsent(key, new SharedGasSettings(value.getServiceCode(), value.getDescription()));
+		}
+		return shared;
+	}
+
+	/**
+	 * @param value settings, or null
+	 * @return an immutable copy of the settings that is not interned, or the settings if they are shared already
+	 */
+	static Settings freeze(Settings value) {
+		if(value == null || value instanceof SharedSettings) {
+			return value;
+		}
+		OriginatorSettings originatorSettings = value.getOriginatorSettings();
+		com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings gasSettings = value.getGasSettings();
+		return new SharedSettings(value,
+				originatorSettings == null ? null : new SharedOriginatorSettings(originatorSettings.getOriginator(), originatorSettings.getOriginatorType()),
+				gasSettings == null ? null : new SharedGasSettings(gasSettings.getServiceCode(), gasSettings.getDescription()));
+	}
+
+	/**
+	 * @param value an object
+	 * @return true if the object is a shared instance of an interner
+	 */
+	public static boolean isShared(Object value) {
+		return value instanceof SharedSettings || value instanceof SharedOriginatorSettings || value instanceof SharedGasSettings;
+	}
+
+	private static List<Object> key(OriginatorSettings value) {
+		return value == null ? null : Arrays.<Object> asList(value.getOriginator(), value.getOriginatorType());
+	}
+
+	private static List<Object> key(com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings value) {
+		return value == null ? null : Arrays.<Object> asList(value.getServiceCode(), value.getDescription());
+	}
+
+	private static List<Object> key(SendWindow value) {
+		return value == null ? null : Arrays.<Object> asList(value.getStartDate(), value.getStopDate(), value.getStartTime(), value.getStopTime());
+	}
+
+	private static List<Object> key(List<Parameter> parameters) {
+		List<Object> key = new ArrayList<>(parameters.size() * 2);
+		for(Parameter parameter : parameters) {
+			key.add(parameter.getKey());
+			key.add(parameter.getValue());
+		}
+		return key;
+	}
+
+	/**
+	 * A bounded map of the most recently used shared instances.
+	 */
+	private static final class Lru<V> {
+		private final Map<List<Object>, V> map;
+
+		private Lru(final int maxSize) {
+			this.map = new LinkedHashMap<List<Object>, V>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<List<Object>, V> eldest) {
+					return size() > maxSize;
+				}
+			};
+		}
+
+		private synchronized V get(List<Object> key) {
+			return map.get(key);
+		}
+
+		/**
+		 * @return the instance in the map, which is the given one unless another thread put one first
+		 */
+		private synchronized V putIfAbsent(List<Object> key, V value) {
+			V current = map.get(key);
+			if(current != null) {
+				return current;
+			}
+			map.put(key, value);
+			return value;
+		}
+	}
+
+	/**
+	 * <p>Immutable settings shared by the messages of an interner.
+	 * <p>Serializers may cache the bytes of the settings on the instance, by serializer, to write them again without
+	 * serializing the settings.
+	 */
+	public static final class SharedSettings extends Settings {
+		private final ConcurrentMap<Object, byte[]> cachedBytes = new ConcurrentHashMap<>(4, 0.75f, 1);
+
+		private SharedSettings(Settings value, OriginatorSettings originatorSettings,
+				com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings gasSettings) {
+			this.originatorSettings = originatorSettings;
+			this.priority = value.getPriority();
+			this.validity = value.getValidity();
+			this.differentiator = value.getDifferentiator();
+			this.age = value.getAge();
+			this.gasSettings = gasSettings;
+			this.newSession = value.isNewSession();
+			this.sessionId = value.getSessionId();
+			this.invoiceNode = value.getInvoiceNode();
+			this.sendWindow = value.getSendWindow() == null ? null : new SharedSendWindow(value.getSendWindow());
+			this.autoDetectEncoding = value.isAutoDetectEncoding();
+			this.safeRemoveNonGsmCharacters = value.isSafeRemoveNonGsmCharacters();
+			List<Parameter> parameters = new ArrayList<>(value.getParameter().size());
+			for(Parameter parameter : value.getParameter()) {
+				parameters.add(new SharedParameter(parameter.getKey(), parameter.getValue()));
+			}
+			this.parameter = Collections.unmodifiableList(parameters);
+		}
+
+		/**
+		 * @param serializer the serializer that cached the bytes
+		 * @return the bytes of the settings written by the serializer, or null
+		 */
+		public byte[] getCachedBytes(Object serializer) {
+			return cachedBytes.get(serializer);
+		}
+
+		/**
+		 * @param serializer the serializer that wrote the bytes
+		 * @param bytes the bytes of the settings, which must not be modified afterwards
+		 */
+		public void putCachedBytes(Object serializer, byte[] bytes) {
+			cachedBytes.put(serializer, bytes);
+		}
+
+		@Override
+		public void setOriginatorSettings(OriginatorSettings value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setPriority(Integer value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setValidity(Integer value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setDifferentiator(String value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setAge(Integer value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setGasSettings(com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setNewSession(Boolean value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setSessionId(String value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setInvoiceNode(String value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setSendWindow(SendWindow value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setAutoDetectEncoding(Boolean value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setSafeRemoveNonGsmCharacters(Boolean value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+	}
+
+	private static final class SharedOriginatorSettings extends OriginatorSettings {
+		private SharedOriginatorSettings(String originator, OriginatorTypeEnum originatorType) {
+			this.originator = originator;
+			this.originatorType = originatorType;
+		}
+
+		@Override
+		public void setOriginator(String value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setOriginatorType(OriginatorTypeEnum value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+	}
+
+	private static final class SharedGasSettings extends com.intele.chimera.gw.xsd.smsgateway.request._2013._02.GasSettings {
+		private SharedGasSettings(String serviceCode, String description) {
+			this.serviceCode = serviceCode;
+			this.description = description;
+		}
+
+		@Override
+		public void setServiceCode(String value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setDescription(String value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+	}
+
+	/**
+	 * Holds copies of the calendars, and returns copies, since calendars are mutable.
+	 */
+	private static final class SharedSendWindow extends SendWindow {
+		private SharedSendWindow(SendWindow value) {
+			this.startDate = copy(value.getStartDate());
+			this.stopDate = copy(value.getStopDate());
+			this.startTime = copy(value.getStartTime());
+			this.stopTime = copy(value.getStopTime());
+		}
+
+		@Override
+		public XMLGregorianCalendar getStartDate() {
+			return copy(startDate);
+		}
+
+		@Override
+		public XMLGregorianCalendar getStopDate() {
+			return copy(stopDate);
+		}
+
+		@Override
+		public XMLGregorianCalendar getStartTime() {
+			return copy(startTime);
+		}
+
+		@Override
+		public XMLGregorianCalendar getStopTime() {
+			return copy(stopTime);
+		}
+
+		@Override
+		public void setStartDate(XMLGregorianCalendar value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setStopDate(XMLGregorianCalendar value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setStartTime(XMLGregorianCalendar value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setStopTime(XMLGregorianCalendar value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		private static XMLGregorianCalendar copy(XMLGregorianCalendar value) {
+			return value == null ? null : (XMLGregorianCalendar) value.clone();
+		}
+	}
+
+	private static final class SharedParameter extends Parameter {
+		private SharedParameter(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public void setKey(String value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+
+		@Override
+		public void setValue(String value) {
+			throw new UnsupportedOperationException("Shared settings cannot be modified.");
+		}
+	}
+}
@@ -29,6 +29,7 @@ import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Settings;
  * @see GatewayRequest
  * @see GasSettings
  * @see SendWindow
+ * @see ContentAnalysis
  */
 public class Sms {
 
@@ -51,6 +52,11 @@ public class Sms {
 		private OriginatorSettings originatorSettings;
 		private GasSettings gasSettings;
 		private SendWindow sendWindow;
+		private int maxSegments;
+		private boolean gsmCharactersOnly;
+		private ContentOptimizer contentOptimizer;
+		private RecipientNormalizer recipientNormalizer;
+		private SettingsInterner settingsInterner;
 
 		/**
 		 * Set the recipient and message content.
@@ -216,11 +222,93 @@ public class Sms {
 			this.sendWindow = sendWindow;
 			return this;
 		}
+		/**
+		 * <p>Reject content that would be sent in more than the given number of segments.
+		 * @param maxSegments the maximum number of segments, at least 1
+		 * @return the updated builder
+		 * @see ContentAnalysis
+		 */
+		public Builder withMaxSegments(int maxSegments) {
+			if(maxSegments < 1) {
+				throw new IllegalArgumentException("Max segments must be at least 1.");
+			}
+			this.maxSegments = maxSegments;
+			return this;
+		}
+		/**
+		 * <p>Reject content with characters outside the GSM 03.38 character sets, which would be sent in UCS-2.
+		 * <p>Not checked when non-GSM characters are safely removed by the SMS Gateway.
+		 * @param gsmCharactersOnly Default value is false.
+		 * @return the updated builder
+		 * @see #withSafeRemoveNonGsmCharacters(boolean)
+		 */
+		public Builder withGsmCharactersOnly(boolean gsmCharactersOnly) {
+			this.gsmCharactersOnly = gsmCharactersOnly;
+			return this;
+		}
+		/**
+		 * <p>Transliterate the content to the GSM 03.38 character sets when that takes fewer or as many segments,
+		 * instead of having it sent in UCS-2.
+		 * @param contentOptimizer the optimizer, e.g. {@link ContentOptimizer#DEFAULT}, or null to send the content as is
+		 * @return the updated builder
+		 */
+		public Builder withContentOptimizer(ContentOptimizer contentOptimizer) {
+			this.contentOptimizer = contentOptimizer;
+			return this;
+		}
+		/**
+		 * <p>Normalize the recipient to the E.164 form, and reject it if it cannot be normalized.
+		 * @param recipientNormalizer the normalizer, or null to send the recipient as is
+		 * @return the updated builder
+		 */
+		public Builder withRecipientNormalizer(RecipientNormalizer recipientNormalizer) {
+			this.recipientNormalizer = recipientNormalizer;
+			return this;
+		}
+		/**
+		 * <p>Share one immutable settings instance between the messages with equal settings, written once by the request
+		 * writers instead of once per message.
+		 * @param settingsInterner the interner, or null for settings of the message's own
+		 * @return the updated builder
+		 */
+		public Builder withSettingsInterner(SettingsInterner settingsInterner) {
+			this.settingsInterner = settingsInterner;
+			return this;
+		}
+		/**
+		 * @return the encoding, length and segments of the content set so far, as it will be sent
+		 */
+		public ContentAnalysis analyzeContent() {
+			return ContentAnalysis.of(content());
+		}
 		/**
 		 * @return the newly created Sms
+		 * @throws IllegalArgumentException if the content exceeds the maximum number of segments, or has non-GSM characters
+		 * when only GSM characters are accepted, or if the recipient cannot be normalized
 		 */
 		public Sms build() {
-			return new Sms(this);
+			String recipient = this.recipient;
+			if(recipientNormalizer != null) {
+				recipient = recipientNormalizer.normalize(this.recipient);
+				if(recipient == null) {
+					throw new IllegalArgumentException("Invalid recipient: " + this.recipient);
+				}
+			}
+			String content = content();
+			if(gsmCharactersOnly && !Boolean.TRUE.equals(safeRemoveNonGsmCharacters) && !ContentAnalysis.isGsm(content)) {
+				throw new IllegalArgumentException("Content has non-GSM characters: " + ContentAnalysis.of(content).getNonGsmCharacters());
+			}
+			if(maxSegments > 0) {
+				int segments = ContentAnalysis.segments(content);
+				if(segments > maxSegments) {
+					throw new IllegalArgumentException("Content needs " + segments + " segments, more than " + maxSegments + ".");
+				}
+			}
+			return new Sms(this, recipient, content);
+		}
+
+		private String content() {
+			return contentOptimizer == null ? content : contentOptimizer.optimize(content);
 		}
 		
 		private boolean hasSettings() {
@@ -241,12 +329,19 @@ public class Sms {
 		}
 	}
 
-	private Sms(Builder builder) {
+	/**
+	 * Wraps a message built elsewhere in the package, e.g. by a {@link SmsTemplate}.
+	 */
+	Sms(Message message) {
+		this.message = message;
+	}
+
+	private Sms(Builder builder, String recipient, String content) {
 		this.message = new Message();
 		this.message.setClientReference(builder.clientReference);
-		this.message.setContent(builder.content);
+		this.message.setContent(content);
 		this.message.setPrice(builder.price);
-		this.message.setRecipient(builder.recipient);
+		this.message.setRecipient(recipient);
 		
 		if(builder.hasSettings()) {
 			Settings settings = new Settings();
@@ -270,7 +365,7 @@ public class Sms {
 					settings.getParameter().add(p);
 				}
 			}
-			this.message.setSettings(settings);
+			this.message.setSettings(builder.settingsInterner == null ? settings : builder.settingsInterner.intern(settings));
 		}
 	}
 
@@ -280,4 +375,11 @@ public class Sms {
 	public Message getMessage() {
 		return message;
 	}
+
+	/**
+	 * @return the encoding, length and segments of the message content
+	 */
+	public ContentAnalysis analyzeContent() {
+		return ContentAnalysis.of(message.getContent());
+	}
 }
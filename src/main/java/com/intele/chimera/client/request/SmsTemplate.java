@@ -0,0 +1,276 @@
+package com.intele.chimera.client.request;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.intele.chimera.client.request.ContentAnalysis.Encoding;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Settings;
+
+/**
+ * <p>A message content with placeholders, parsed once and rendered per recipient.
+ * <p>Placeholders are names in braces, e.g. <code>{code}</code>; a doubled brace is a literal brace.
+ * The template records the encoding of its literal text and, when every placeholder has a maximum length, the worst-case
+ * number of segments of a rendered message. Rendering appends the literals and values to a reused per-thread buffer,
+ * and the messages share the price and the settings of the prototype instead of building their own.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * SmsTemplate template = new SmsTemplate.
+ * 	Builder("Your code is {code}").
+ * 	withMaxLength("code", 6).
+ * 	withPrototype(new Sms.Builder(null, null).withPriority(3).withValidity(5).build()).
+ * 	build();
+ * Sms sms = template.render("+4741000000", null, "123456");
+ * }
+ * </pre>
+ * <p>Instances are immutable and thread-safe. The messages of a template share one immutable copy of the {@link Settings}
+ * of the prototype, taken when the template is built.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see Sms
+ * @see ContentAnalysis
+ */
+public final class SmsTemplate {
+
+	/** The maximum segments of a template with placeholders without a maximum length */
+	public static final int UNBOUNDED = -1;
+
+	private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<StringBuilder>() {
+		@Override
+		protected StringBuilder initialValue() {
+			return new StringBuilder(ContentAnalysis.GSM_SINGLE_SEPTETS);
+		}
+	};
+
+	/** The literal text before each placeholder, and after the last one */
+	private final String[] literals;
+	/** The name index of each placeholder */
+	private final int[] placeholders;
+	private final List<String> names;
+	private final int[] maxLengths;
+	private final int literalLength;
+	private final Encoding encoding;
+	private final int maxSegments;
+	private final Integer price;
+	private final Settings settings;
+
+	public static class Builder {
+		private final List<String> literals = new ArrayList<>();
+		private final List<Integer> placeholders = new ArrayList<>();
+		private final List<String> names = new ArrayList<>();
+		private int[] maxLengths = new int[0];
+		private Sms prototype;
+
+		/**
+		 * Parse a template.
+		 * @param template the content with placeholders in braces, e.g. "Your code is {code}"
+		 * @throws IllegalArgumentException if a brace is not closed or escaped, or a placeholder has no name
+		 */
+		public Builder(String template) {
+			if(template == null) {
+				throw new IllegalArgumentException("Template cannot be null.");
+			}
+			StringBuilder literal = new StringBuilder();
+			for(int i = 0, n = template.length(); i < n; i++) {
+				char c = template.charAt(i);
+				if((c == '{' || c == '}') && i + 1 < n && template.charAt(i + 1) == c) {
+					literal.append(c);
+					i++;
+				} else if(c == '{') {
+					int end = template.indexOf('}', i + 1);
+					int nested = template.indexOf('{', i + 1);
+					if(end < 0 || end == i + 1 || (nested >= 0 && nested < end)) {
+						throw new IllegalArgumentException("Invalid placeholder at " + i + " in template: " + template);
+					}
+					String name = template.substring(i + 1, end);
+					int index = names.indexOf(name);
+					if(index < 0) {
+						index = names.size();
+						names.add(name);
+					}
+					literals.add(literal.toString());
+					placeholders.add(index);
+					literal.setLength(0);
+					i = end;
+				} else if(c == '}') {
+					throw new IllegalArgumentException("Unmatched } at " + i + " in template: " + template);
+				} else {
+					literal.append(c);
+				}
+			}
+			literals.add(literal.toString());
+			maxLengths = new int[names.size()];
+			Arrays.fill(maxLengths, UNBOUNDED);
+		}
+		/**
+		 * Set the maximum length of the values of a placeholder, for the worst-case segments. Longer values are rejected.
+		 * @param placeholder the name of the placeholder
+		 * @param maxLength the maximum number of characters
+		 * @return the updated builder
+		 */
+		public Builder withMaxLength(String placeholder, int maxLength) {
+			int index = names.indexOf(placeholder);
+			if(index < 0) {
+				throw new IllegalArgumentException("No placeholder " + placeholder + ".");
+			}
+			if(maxLength < 0) {
+				throw new IllegalArgumentException("Max length cannot be negative.");
+			}
+			maxLengths[index] = maxLength;
+			return this;
+		}
+		/**
+		 * Share the price and the settings of a message with the messages of the template. The settings are copied when
+		 * the template is built; its recipient, content and client reference are ignored.
+		 * @param prototype the prototype message
+		 * @return the updated builder
+		 */
+		public Builder withPrototype(Sms prototype) {
+			this.prototype = prototype;
+			return this;
+		}
+		/**
+		 * @return the newly created template
+		 */
+		public SmsTemplate build() {
+			return new SmsTemplate(this);
+		}
+	}
+
+	private SmsTemplate(Builder builder) {
+		this.literals = builder.literals.toArray(new String[builder.literals.size()]);
+		this.placeholders = new int[builder.placeholders.size()];
+		for(int i = 0; i < placeholders.length; i++) {
+			placeholders[i] = builder.placeholders.get(i);
+		}
+		this.names = Collections.unmodifiableList(new ArrayList<>(builder.names));
+		this.maxLengths = builder.maxLengths.clone();
+		StringBuilder text = new StringBuilder();
+		for(String literal : literals) {
+			text.append(literal);
+		}
+		this.literalLength = text.length();
+		ContentAnalysis analysis = ContentAnalysis.of(text);
+		this.encoding = analysis.getEncoding();
+		this.maxSegments = maxSegments(analysis);
+		Message message = builder.prototype == null ? null : builder.prototype.getMessage();
+		this.price = message == null ? null : message.getPrice();
+		this.settings = message == null ? null : SettingsInterner.freeze(message.getSettings());
+	}
+
+	/**
+	 * @return the placeholder names, in order of first appearance; the order of the values to render
+	 */
+	public List<String> getPlaceholders() {
+		return names;
+	}
+
+	/**
+	 * @return the encoding of the literal text. Values outside the GSM character sets make a message go in UCS-2.
+	 */
+	public Encoding getEncoding() {
+		return encoding;
+	}
+
+	/**
+	 * <p>The worst-case number of segments of a rendered message, with every value at its maximum length, in characters
+	 * of the extension table for a GSM template. Values outside the GSM character sets make a message of a GSM template
+	 * go in UCS-2, and may take more segments.
+	 * @return the worst-case number of segments, or {@link #UNBOUNDED} if a placeholder has no maximum length
+	 */
+	public int getMaxSegments() {
+		return maxSegments;
+	}
+
+	/**
+	 * @param recipient the recipient of the message
+	 * @param clientReference the client reference of the message; may be {@code null}
+	 * @param values the value of each placeholder, in the order of {@link #getPlaceholders()}
+	 * @return the new message
+	 * @throws IllegalArgumentException if a value is missing or longer than the maximum length of its placeholder
+	 */
+	public Sms render(String recipient, String clientReference, CharSequence... values) {
+		if(values.length != names.size()) {
+			throw new IllegalArgumentException("Expected " + names.size() + " values, got " + values.length + ".");
+		}
+		StringBuilder content = buffer();
+		for(int i = 0; i < placeholders.length; i++) {
+			content.append(literals[i]).append(value(placeholders[i], values[placeholders[i]]));
+		}
+		content.append(literals[placeholders.length]);
+		return this.newSms(recipient, clientReference, content.toString());
+	}
+
+	/**
+	 * @param recipient the recipient of the message
+	 * @param clientReference the client reference of the message; may be {@code null}
+	 * @param values the values of the placeholders by name
+	 * @return the new message
+	 * @throws IllegalArgumentException if a value is missing or longer than the maximum length of its placeholder
+	 */
+	public Sms render(String recipient, String clientReference, Map<String, ? extends CharSequence> values) {
+		StringBuilder content = buffer();
+		for(int i = 0; i < placeholders.length; i++) {
+			content.append(literals[i]).append(value(placeholders[i], values.get(names.get(placeholders[i]))));
+		}
+		content.append(literals[placeholders.length]);
+		return this.newSms(recipient, clientReference, content.toString());
+	}
+
+	private Sms newSms(String recipient, String clientReference, String content) {
+		Message message = new Message();
+		message.setRecipient(recipient);
+		message.setContent(content);
+		message.setClientReference(clientReference);
+		message.setPrice(price);
+		message.setSettings(settings);
+		return new Sms(message);
+	}
+
+	private CharSequence value(int placeholder, CharSequence value) {
+		if(value == null) {
+			throw new IllegalArgumentException("No value for placeholder " + names.get(placeholder) + ".");
+		}
+		if(maxLengths[placeholder] != UNBOUNDED && value.length() > maxLengths[placeholder]) {
+			throw new IllegalArgumentException("Value of placeholder " + names.get(placeholder) + " is longer than " +
+					maxLengths[placeholder] + " characters.");
+		}
+		return value;
+	}
+
+	private StringBuilder buffer() {
+		StringBuilder buffer = BUFFER.get();
+		buffer.setLength(0);
+		return buffer;
+	}
+
+	/**
+	 * @return the worst-case segments, counting the septets of the literals and two septets per value character for a GSM
+	 * template, or the code units for a UCS-2 template
+	 */
+	private int maxSegments(ContentAnalysis literals) {
+		int maxValueLength = 0;
+		for(int placeholder : placeholders) {
+			if(maxLengths[placeholder] == UNBOUNDED) {
+				return UNBOUNDED;
+			}
+			maxValueLength += maxLengths[placeholder];
+		}
+		if(literals.getEncoding() == Encoding.UCS_2) {
+			return segments(literalLength + maxValueLength, ContentAnalysis.UCS2_SINGLE_CHARACTERS, ContentAnalysis.UCS2_SEGMENT_CHARACTERS);
+		}
+		return segments(literals.getLength() + 2 * maxValueLength, ContentAnalysis.GSM_SINGLE_SEPTETS, ContentAnalysis.GSM_SEGMENT_SEPTETS);
+	}
+
+	/**
+	 * Counts one unit less per segment, the most an escaped character or a surrogate pair can leave unused at its end.
+	 */
+	private static int segments(int units, int single, int segment) {
+		return units <= single ? 1 : (units + segment - 2) / (segment - 1);
+	}
+}
@@ -0,0 +1,331 @@
+package com.intele.chimera.client.response;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+/**
+ * <p>A compact, read-only view of the message statuses of a response, for looking up the status of each message of a
+ * large batch by client reference or message id.
+ * <p>The statuses are held in parallel arrays, one slot per status in response order: primitive arrays for the sequence
+ * indexes and status codes, and each distinct status message once. Open-addressing hash indexes map client references
+ * and message ids to slots, so a lookup takes constant time instead of a scan of the status list.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * BatchResult result = BatchResult.of(gatewayClient.send(request));
+ * int slot = result.indexOfClientReference("order-42");
+ * if(slot != BatchResult.NOT_FOUND && result.getStatusCode(slot) != 1) {
+ * 	System.out.println(result.getStatusMessage(slot));
+ * }
+ * }
+ * </pre>
+ * <p>Build it from a {@link StreamingResponse} with {@link #of(StreamingResponse)} to avoid unmarshalling the
+ * statuses at all. Instances are immutable and thread-safe.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see StreamingResponse
+ */
+public final class BatchResult {
+
+	/** The slot returned by lookups that do not match any status */
+	public static final int NOT_FOUND = -1;
+
+	private final String batchReference;
+	private final int size;
+	private final int[] sequenceIndexes;
+	private final int[] statusCodes;
+	private final int[] statusMessageIds;
+	private final String[] statusMessages;
+	private final String[] clientReferences;
+	private final String[] recipients;
+	private final String[] messageIds;
+	/** null when no status has a session id */
+	private final String[] sessionIds;
+	/** Slot + 1 per hash table entry, or 0 for an empty entry */
+	private final int[] clientReferenceIndex, messageIdIndex;
+
+	/**
+	 * Collects the message statuses of a response, as a {@link MessageStatusVisitor} or one {@link MessageStatus} at a
+	 * time.
+	 */
+	public static class Builder implements MessageStatusVisitor {
+		private final String batchReference;
+		private int size;
+		private int[] sequenceIndexes;
+		private int[] statusCodes;
+		private int[] statusMessageIds;
+		private final Map<String, Integer> statusMessageIdsByMessage = new HashMap<>();
+		private String[] clientReferences;
+		private String[] recipients;
+		private String[] messageIds;
+		private String[] sessionIds;
+
+		/**
+		 * @param batchReference the batch reference of the response
+		 * @param expectedSize the expected number of statuses
+		 */
+		public Builder(String batchReference, int expectedSize) {
+			int capacity = Math.max(expectedSize, 8);
+			this.batchReference = batchReference;
+			this.sequenceIndexes = new int[capacity];
+			this.statusCodes = new int[capacity];
+			this.statusMessageIds = new int[capacity];
+			this.clientReferences = new String[capacity];
+			this.recipients = new String[capacity];
+			this.messageIds = new String[capacity];
+		}
+
+		@Override
+		public void visit(int sequenceIndex, String clientReference, String recipient, String messageId,
+				int statusCode, String statusMessage, String sessionId) {
+			if(size == sequenceIndexes.length) {
+				this.grow();
+			}
+			sequenceIndexes[size] = sequenceIndex;
+			statusCodes[size] = statusCode;
+			Integer statusMessageId = statusMessageIdsByMessage.get(statusMessage);
+			if(statusMessageId == null) {
+				statusMessageId = statusMessageIdsByMessage.size();
+				statusMessageIdsByMessage.put(statusMessage, statusMessageId);
+			}
+			statusMessageIds[size] = statusMessageId;
+			clientReferences[size] = clientReference;
+			recipients[size] = recipient;
+			messageIds[size] = messageId;
+			if(sessionId != null) {
+				if(sessionIds == null) {
+					sessionIds = new String[sequenceIndexes.length];
+				}
+				sessionIds[size] = sessionId;
+			}
+			size++;
+		}
+
+		/**
+		 * @param messageStatus the next message status
+		 * @return the updated builder
+		 */
+		public Builder add(MessageStatus messageStatus) {
+			this.visit(messageStatus.getSequenceIndex(), messageStatus.getClientReference(), messageStatus.getRecipient(),
+					messageStatus.getMessageId(), messageStatus.getStatusCode(), messageStatus.getStatusMessage(),
+					messageStatus.getSessionId());
+			return this;
+		}
+
+		/**
+		 * @return the newly created result
+		 */
+		public BatchResult build() {
+			return new BatchResult(this);
+		}
+
+		private void grow() {
+			int capacity = sequenceIndexes.length * 2;
+			sequenceIndexes = Arrays.copyOf(sequenceIndexes, capacity);
+			statusCodes = Arrays.copyOf(statusCodes, capacity);
+			statusMessageIds = Arrays.copyOf(statusMessageIds, capacity);
+			clientReferences = Arrays.copyOf(clientReferences, capacity);
+			recipients = Arrays.copyOf(recipients, capacity);
+			messageIds = Arrays.copyOf(messageIds, capacity);
+			if(sessionIds != null) {
+				sessionIds = Arrays.copyOf(sessionIds, capacity);
+			}
+		}
+	}
+
+	private BatchResult(Builder builder) {
+		this.batchReference = builder.batchReference;
+		this.size = builder.size;
+		this.sequenceIndexes = Arrays.copyOf(builder.sequenceIndexes, size);
+		this.statusCodes = Arrays.copyOf(builder.statusCodes, size);
+		this.statusMessageIds = Arrays.copyOf(builder.statusMessageIds, size);
+		this.statusMessages = new String[builder.statusMessageIdsByMessage.size()];
+		for(Map.Entry<String, Integer> entry : builder.statusMessageIdsByMessage.entrySet()) {
+			statusMessages[entry.getValue()] = entry.getKey();
+		}
+		this.clientReferences = Arrays.copyOf(builder.clientReferences, size);
+		this.recipients = Arrays.copyOf(builder.recipients, size);
+		this.messageIds = Arrays.copyOf(builder.messageIds, size);
+		this.sessionIds = builder.sessionIds == null ? null : Arrays.copyOf(builder.sessionIds, size);
+		this.clientReferenceIndex = index(clientReferences);
+		this.messageIdIndex = index(messageIds);
+	}
+
+	/**
+	 * @param response an unmarshalled response
+	 * @return the result of the response
+	 */
+	public static BatchResult of(Response response) {
+		Builder builder = new Builder(response.getBatchReference(), response.getMessageStatus().size());
+		for(MessageStatus messageStatus : response.getMessageStatus()) {
+			builder.add(messageStatus);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Reads the remaining message statuses of a streaming response. The response is not closed.
+	 * @param response a streaming response
+	 * @return the result of the response
+	 */
+	public static BatchResult of(StreamingResponse response) {
+		Builder builder = new Builder(response.getBatchReference(), 0);
+		response.accept(builder);
+		return builder.build();
+	}
+
+	/**
+	 * @return the batch reference of the response
+	 */
+	public String getBatchReference() {
+		return batchReference;
+	}
+
+	/**
+	 * @return the number of message statuses
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param clientReference a client reference
+	 * @return the slot of the first status with the client reference, or {@link #NOT_FOUND}
+	 */
+	public int indexOfClientReference(String clientReference) {
+		return lookup(clientReferenceIndex, clientReferences, clientReference);
+	}
+
+	/**
+	 * @param messageId a gateway message id
+	 * @return the slot of the status with the message id, or {@link #NOT_FOUND}
+	 */
+	public int indexOfMessageId(String messageId) {
+		return lookup(messageIdIndex, messageIds, messageId);
+	}
+
+	/**
+	 * @param slot the slot of a status, from 0 to {@link #size()} - 1
+	 * @return the position of the message in the request
+	 */
+	public int getSequenceIndex(int slot) {
+		return sequenceIndexes[slot];
+	}
+
+	/**
+	 * @param slot the slot of a status
+	 * @return the status code of the message
+	 */
+	public int getStatusCode(int slot) {
+		return statusCodes[slot];
+	}
+
+	/**
+	 * @param slot the slot of a status
+	 * @return the description of the status
+	 */
+	public String getStatusMessage(int slot) {
+		return statusMessages[statusMessageIds[slot]];
+	}
+
+	/**
+	 * @param slot the slot of a status
+	 * @return the client reference of the message
+	 */
+	public String getClientReference(int slot) {
+		return clientReferences[slot];
+	}
+
+	/**
+	 * @param slot the slot of a status
+	 * @return the recipient of the message
+	 */
+	public String getRecipient(int slot) {
+		return recipients[slot];
+	}
+
+	/**
+	 * @param slot the slot of a status
+	 * @return the gateway message id; may be {@code null}
+	 */
+	public String getMessageId(int slot) {
+		return messageIds[slot];
+	}
+
+	/**
+	 * @param slot the slot of a status
+	 * @return the session id; may be {@code null}
+	 */
+	public String getSessionId(int slot) {
+		if(slot < 0 || slot >= size) {
+			throw new ArrayIndexOutOfBoundsException(slot);
+		}
+		return sessionIds == null ? null : sessionIds[slot];
+	}
+
+	/**
+	 * @param slot the slot of a status
+	 * @return a new message status with the values of the slot
+	 */
+	public MessageStatus toMessageStatus(int slot) {
+		MessageStatus messageStatus = new MessageStatus();
+		messageStatus.setSequenceIndex(getSequenceIndex(slot));
+		messageStatus.setStatusCode(getStatusCode(slot));
+		messageStatus.setStatusMessage(getStatusMessage(slot));
+		messageStatus.setClientReference(getClientReference(slot));
+		messageStatus.setRecipient(getRecipient(slot));
+		messageStatus.setMessageId(getMessageId(slot));
+		messageStatus.setSessionId(getSessionId(slot));
+		return messageStatus;
+	}
+
+	/**
+	 * Builds a linear probing table of at most half load. The first slot of a key wins.
+	 */
+	private static int[] index(String[] keys) {
+		int[] table = new int[Integer.highestOneBit(Math.max(keys.length, 2) * 2 - 1) << 1];
+		int mask = table.length - 1;
+		for(int slot = 0; slot < keys.length; slot++) {
+			String key = keys[slot];
+			if(key == null) {
+				continue;
+			}
+			for(int i = hash(key) & mask; ; i = (i + 1) & mask) {
+				if(table[i] == 0) {
+					table[i] = slot + 1;
+					break;
+				}
+				if(key.equals(keys[table[i] - 1])) {
+					break;
+				}
+			}
+		}
+		return table;
+	}
+
+	private static int lookup(int[] table, String[] keys, String key) {
+		if(key == null) {
+			return NOT_FOUND;
+		}
+		int mask = table.length - 1;
+		for(int i = hash(key) & mask; table[i] != 0; i = (i + 1) & mask) {
+			if(key.equals(keys[table[i] - 1])) {
+				return table[i] - 1;
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Spreads the bits of the string hash, which are often similar for references with a common prefix.
+	 */
+	private static int hash(String key) {
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
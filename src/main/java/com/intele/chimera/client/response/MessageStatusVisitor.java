@@ -0,0 +1,23 @@
+package com.intele.chimera.client.response;
+
+/**
+ * <p>Receives the message statuses of a {@link StreamingResponse} one at a time.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ * @see StreamingResponse#accept(MessageStatusVisitor)
+ */
+public interface MessageStatusVisitor {
+
+	/**
+	 * @param sequenceIndex the position of the message in the request
+	 * @param clientReference the client reference of the message
+	 * @param recipient the recipient of the message
+	 * @param messageId the gateway message identifier; may be {@code null}
+	 * @param statusCode the status of the message
+	 * @param statusMessage the description of the status
+	 * @param sessionId the session identifier; may be {@code null}
+	 */
+	public void visit(int sequenceIndex, String clientReference, String recipient, String messageId,
+			int statusCode, String statusMessage, String sessionId);
+}
@@ -0,0 +1,272 @@
+package com.intele.chimera.client.response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.ws.rs.ProcessingException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+
+/**
+ * <p>Reads an SMSGatewayResponse-2013-02 document incrementally while the caller processes the message statuses,
+ * instead of unmarshalling the whole response first. Only the current status is held in memory.
+ * <p>Used as a cursor:
+ * <pre>
+ * {@code
+ * try(StreamingResponse response = gatewayClient.sendStreaming(request)) {
+ * 	while(response.next()) {
+ * 		if(response.getStatusCode() != 1) {
+ * 			retry(response.getClientReference());
+ * 		}
+ * 	}
+ * }
+ * }
+ * </pre>
+ * <p>The response must be closed to release the connection. Not thread-safe.
+ * Parse failures are reported as {@link ProcessingException}.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class StreamingResponse implements Closeable {
+
+	private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+	private final InputStream in;
+	private final XMLStreamReader reader;
+	private String batchReference;
+	private boolean started;
+	private boolean finished;
+
+	private int statusCode;
+	private String statusMessage;
+	private String clientReference;
+	private String recipient;
+	private String messageId;
+	private String sessionId;
+	private int sequenceIndex;
+
+	/**
+	 * Reads the response up to the first message status.
+	 *
+	 * @param in the response document
+	 */
+	public StreamingResponse(InputStream in) {
+		this.in = in;
+		try {
+			this.reader = INPUT_FACTORY.createXMLStreamReader(in);
+			this.readHeader();
+		} catch(XMLStreamException e) {
+			this.closeQuietly();
+			throw new ProcessingException("Unable to read response.", e);
+		}
+	}
+
+	/**
+	 * @return the batch reference of the response
+	 */
+	public String getBatchReference() {
+		return batchReference;
+	}
+
+	/**
+	 * Moves to the next message status.
+	 *
+	 * @return false when there are no more message statuses
+	 */
+	public boolean next() {
+		if(finished) {
+			return false;
+		}
+		try {
+			if(!this.moveToMessageStatus()) {
+				finished = true;
+				return false;
+			}
+			this.readMessageStatus();
+			return true;
+		} catch(XMLStreamException e) {
+			finished = true;
+			throw new ProcessingException("Unable to read message status.", e);
+		}
+	}
+
+	/**
+	 * Passes the remaining message statuses to the visitor.
+	 *
+	 * @param visitor
+	 */
+	public void accept(MessageStatusVisitor visitor) {
+		while(this.next()) {
+			visitor.visit(sequenceIndex, clientReference, recipient, messageId, statusCode, statusMessage, sessionId);
+		}
+	}
+
+	public int getSequenceIndex() {
+		return sequenceIndex;
+	}
+
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	public String getStatusMessage() {
+		return statusMessage;
+	}
+
+	public String getClientReference() {
+		return clientReference;
+	}
+
+	public String getRecipient() {
+		return recipient;
+	}
+
+	public String getMessageId() {
+		return messageId;
+	}
+
+	public String getSessionId() {
+		return sessionId;
+	}
+
+	/**
+	 * @return a copy of the current message status as the generated type
+	 */
+	public MessageStatus toMessageStatus() {
+		MessageStatus messageStatus = new MessageStatus();
+		messageStatus.setSequenceIndex(sequenceIndex);
+		messageStatus.setStatusCode(statusCode);
+		messageStatus.setStatusMessage(statusMessage);
+		messageStatus.setClientReference(clientReference);
+		messageStatus.setRecipient(recipient);
+		messageStatus.setMessageId(messageId);
+		messageStatus.setSessionId(sessionId);
+		return messageStatus;
+	}
+
+	@Override
+	public void close() throws IOException {
+		finished = true;
+		try {
+			reader.close();
+		} catch(XMLStreamException e) {
+			// the stream is closed below
+		} finally {
+			in.close();
+		}
+	}
+
+	private void readHeader() throws XMLStreamException {
+		// root element
+		reader.nextTag();
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if("messageStatus".equals(reader.getLocalName())) {
+				started = true;
+				return;
+			}
+			if("batchReference".equals(reader.getLocalName())) {
+				batchReference = reader.getElementText();
+			} else {
+				skipElement();
+			}
+		}
+		finished = true;
+	}
+
+	/**
+	 * @return true if positioned at the start of a message status
+	 */
+	private boolean moveToMessageStatus() throws XMLStreamException {
+		if(started) {
+			started = false;
+			return true;
+		}
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if("messageStatus".equals(reader.getLocalName())) {
+				return true;
+			}
+			skipElement();
+		}
+		return false;
+	}
+
+	private void readMessageStatus() throws XMLStreamException {
+		statusCode = 0;
+		statusMessage = null;
+		clientReference = null;
+		recipient = null;
+		messageId = null;
+		sessionId = null;
+		sequenceIndex = 0;
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			String name = reader.getLocalName();
+			switch(name) {
+			case "statusCode":
+				statusCode = parseInt(reader.getElementText());
+				break;
+			case "statusMessage":
+				statusMessage = reader.getElementText();
+				break;
+			case "clientReference":
+				clientReference = reader.getElementText();
+				break;
+			case "recipient":
+				recipient = reader.getElementText();
+				break;
+			case "messageId":
+				messageId = reader.getElementText();
+				break;
+			case "sessionId":
+				sessionId = reader.getElementText();
+				break;
+			case "sequenceIndex":
+				sequenceIndex = parseInt(reader.getElementText());
+				break;
+			default:
+				skipElement();
+			}
+		}
+	}
+
+	private void skipElement() throws XMLStreamException {
+		int depth = 1;
+		while(depth > 0) {
+			int event = reader.next();
+			if(event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if(event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	private static int parseInt(String value) throws XMLStreamException {
+		try {
+			return Integer.parseInt(value.trim());
+		} catch(NumberFormatException e) {
+			throw new XMLStreamException("Invalid integer " + value + ".", e);
+		}
+	}
+
+	private void closeQuietly() {
+		try {
+			in.close();
+		} catch(IOException e) {
+			// already failing
+		}
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		return factory;
+	}
+}
@@ -0,0 +1,182 @@
+package com.intele.chimera.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.client.InvocationCallback;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.intele.chimera.client.impl.SettableFuture;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+public class BulkSenderTest {
+
+	private GatewayClient gatewayClient;
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		gatewayClient = mock(GatewayClient.class);
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldSendInChunksWithBoundedConcurrency() {
+		final AtomicInteger inFlight = new AtomicInteger();
+		final AtomicInteger maxInFlight = new AtomicInteger();
+		when(gatewayClient.sendAsync(any(Request.class), any(InvocationCallback.class))).thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				final Request request = (Request) invocation.getArguments()[0];
+				final SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[1]);
+				int current = inFlight.incrementAndGet();
+				maxInFlight.set(Math.max(maxInFlight.get(), current));
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						inFlight.decrementAndGet();
+						future.complete(response(request));
+					}
+				});
+				return future;
+			}
+		});
+		CountingIterator messages = new CountingIterator(1050);
+		BulkSender bulkSender = new BulkSender.Builder(gatewayClient).withChunkSize(100).withConcurrency(3).build();
+
+		List<String> recipients = new ArrayList<>();
+		try(BulkSender.Results results = bulkSender.sendAll(1, "username", "password", messages)) {
+			verify(gatewayClient, never()).sendAsync(any(Request.class), any(InvocationCallback.class));
+			while(results.hasNext()) {
+				BulkSender.Result result = results.next();
+				assertThat(result.getFailure()).isNull();
+				assertThat(result.getMessageStatus().getRecipient()).isEqualTo(result.getMessage().getRecipient());
+				recipients.add(result.getMessage().getRecipient());
+				// the requests in flight and the one being read
+				assertThat(messages.pulled - recipients.size()).isLessThanOrEqualTo(4 * 100);
+			}
+		}
+
+		assertThat(recipients).hasSize(1050).doesNotHaveDuplicates();
+		assertThat(maxInFlight.get()).isLessThanOrEqualTo(3);
+		verify(gatewayClient, times(11)).sendAsync(any(Request.class), any(InvocationCallback.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldReportFailedRequestsPerMessage() {
+		when(gatewayClient.sendAsync(any(Request.class), any(InvocationCallback.class))).thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[1]);
+				future.fail(new ServiceUnavailableException());
+				return future;
+			}
+		});
+
+		int failed = 0;
+		try(BulkSender.Results results = new BulkSender.Builder(gatewayClient).withChunkSize(2).build().
+				sendAll(1, "username", "password", new CountingIterator(5))) {
+			while(results.hasNext()) {
+				BulkSender.Result result = results.next();
+				assertThat(result.getFailure()).isInstanceOf(ServiceUnavailableException.class);
+				assertThat(result.getMessageStatus()).isNull();
+				failed++;
+			}
+		}
+		assertThat(failed).isEqualTo(5);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void closeShouldCancelRequestsInFlight() {
+		final List<SettableFuture<Response>> pending = new ArrayList<>();
+		when(gatewayClient.sendAsync(any(Request.class), any(InvocationCallback.class))).thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[1]);
+				if(pending.isEmpty()) {
+					future.complete(response((Request) invocation.getArguments()[0]));
+				}
+				pending.add(future);
+				return future;
+			}
+		});
+
+		BulkSender.Results results = new BulkSender.Builder(gatewayClient).withChunkSize(1).withConcurrency(2).build().
+				sendAll(1, "username", "password", new CountingIterator(10));
+		assertThat(results.next().getMessageStatus()).isNotNull();
+		results.close();
+
+		assertThat(results.hasNext()).isFalse();
+		assertThat(pending).hasSize(3);
+		assertThat(pending.get(1).isCancelled()).isTrue();
+		assertThat(pending.get(2).isCancelled()).isTrue();
+	}
+
+	private static Response response(Request request) {
+		Response response = new Response();
+		int sequenceIndex = SmsBatcher.FIRST_SEQUENCE_INDEX;
+		for(Message message : request.getMessage()) {
+			MessageStatus messageStatus = new MessageStatus();
+			messageStatus.setRecipient(message.getRecipient());
+			messageStatus.setSequenceIndex(sequenceIndex++);
+			messageStatus.setStatusCode(1);
+			response.getMessageStatus().add(messageStatus);
+		}
+		return response;
+	}
+
+	private static final class CountingIterator implements Iterator<Sms> {
+		private final int size;
+		private volatile int pulled;
+
+		private CountingIterator(int size) {
+			this.size = size;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return pulled < size;
+		}
+
+		@Override
+		public Sms next() {
+			return new Sms.Builder("+47" + (41000000 + pulled++), "content").build();
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package com.intele.chimera.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.intele.chimera.client.CircuitBreaker.State;
+
+public class CircuitBreakerTest {
+
+	private final List<String> transitions = new ArrayList<>();
+	private final CircuitBreaker.Listener listener = new CircuitBreaker.Listener() {
+		@Override
+		public void onStateTransition(CircuitBreaker circuitBreaker, State from, State to) {
+			transitions.add(from + "->" + to);
+		}
+	};
+
+	@Test
+	public void shouldOpenAtFailureRateOverWindow() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker.Builder().
+				withSlidingWindow(4, 4).
+				withFailureRateThreshold(50).
+				withListener(listener).
+				build();
+
+		succeed(circuitBreaker, 3);
+		fail(circuitBreaker, 1);
+		assertThat(circuitBreaker.getFailureRate()).isEqualTo(25f);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+		// the oldest success leaves the window
+		fail(circuitBreaker, 1);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+		assertThat(circuitBreaker.acquirePermission()).isEqualTo(CircuitBreaker.NOT_PERMITTED);
+		assertThat(transitions).containsExactly("CLOSED->OPEN");
+	}
+
+	@Test
+	public void shouldWaitForMinimumCalls() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker.Builder().withSlidingWindow(10, 5).build();
+
+		fail(circuitBreaker, 4);
+		assertThat(circuitBreaker.getFailureRate()).isEqualTo(-1f);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+		fail(circuitBreaker, 1);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	public void shouldOpenAtSlowCallRate() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker.Builder().
+				withSlidingWindow(2, 2).
+				withSlowCallThreshold(100, 1, TimeUnit.SECONDS).
+				build();
+
+		circuitBreaker.onSuccess(permit(circuitBreaker), 2, TimeUnit.SECONDS);
+		circuitBreaker.onSuccess(permit(circuitBreaker), 1500, TimeUnit.MILLISECONDS);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	public void shouldProbeWhenHalfOpenAndClose() throws Exception {
+		CircuitBreaker circuitBreaker = open(2);
+
+		Thread.sleep(60);
+		long first = permit(circuitBreaker);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+		long second = permit(circuitBreaker);
+		assertThat(circuitBreaker.acquirePermission()).isEqualTo(CircuitBreaker.NOT_PERMITTED);
+		circuitBreaker.onIgnored(second);
+		long third = permit(circuitBreaker);
+		circuitBreaker.onSuccess(first, 1, TimeUnit.MILLISECONDS);
+		circuitBreaker.onSuccess(third, 1, TimeUnit.MILLISECONDS);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(circuitBreaker.getFailureRate()).isEqualTo(-1f);
+		assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+	}
+
+	@Test
+	public void shouldOpenAgainWhenProbesFail() throws Exception {
+		CircuitBreaker circuitBreaker = open(2);
+
+		Thread.sleep(60);
+		circuitBreaker.onFailure(permit(circuitBreaker), 1, TimeUnit.MILLISECONDS);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+		assertThat(circuitBreaker.acquirePermission()).isEqualTo(CircuitBreaker.NOT_PERMITTED);
+		assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN");
+	}
+
+	@Test
+	public void shouldDropCallsPermittedBeforeHalfOpen() throws Exception {
+		CircuitBreaker circuitBreaker = new CircuitBreaker.Builder().
+				withSlidingWindow(1, 1).
+				withOpenDuration(50, TimeUnit.MILLISECONDS).
+				withHalfOpenCalls(2).
+				withListener(listener).
+				build();
+		long straggler = permit(circuitBreaker);
+		long ignored = permit(circuitBreaker);
+		fail(circuitBreaker, 1);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+
+		Thread.sleep(60);
+		long probe = permit(circuitBreaker);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+		// calls sent while closed complete during half-open: neither a probe nor a free probe slot
+		circuitBreaker.onSuccess(straggler, 1, TimeUnit.MILLISECONDS);
+		circuitBreaker.onFailure(straggler, 1, TimeUnit.MILLISECONDS);
+		circuitBreaker.onIgnored(ignored);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+		permit(circuitBreaker);
+		assertThat(circuitBreaker.acquirePermission()).isEqualTo(CircuitBreaker.NOT_PERMITTED);
+
+		circuitBreaker.onSuccess(probe, 1, TimeUnit.MILLISECONDS);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+		assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN");
+	}
+
+	@Test
+	public void shouldValidateSettings() {
+		try {
+			new CircuitBreaker.Builder().withFailureRateThreshold(0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new CircuitBreaker.Builder().withSlidingWindow(5, 6);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new CircuitBreaker.Builder().withHalfOpenCalls(0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+
+	private CircuitBreaker open(int halfOpenCalls) {
+		CircuitBreaker circuitBreaker = new CircuitBreaker.Builder().
+				withSlidingWindow(1, 1).
+				withOpenDuration(50, TimeUnit.MILLISECONDS).
+				withHalfOpenCalls(halfOpenCalls).
+				withListener(listener).
+				build();
+		fail(circuitBreaker, 1);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+		assertThat(circuitBreaker.acquirePermission()).isEqualTo(CircuitBreaker.NOT_PERMITTED);
+		return circuitBreaker;
+	}
+
+	private static long permit(CircuitBreaker circuitBreaker) {
+		long permission = circuitBreaker.acquirePermission();
+		assertThat(permission).isNotEqualTo(CircuitBreaker.NOT_PERMITTED);
+		return permission;
+	}
+
+	private static void succeed(CircuitBreaker circuitBreaker, int calls) {
+		for(int i = 0; i < calls; i++) {
+			circuitBreaker.onSuccess(permit(circuitBreaker), 1, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private static void fail(CircuitBreaker circuitBreaker, int calls) {
+		for(int i = 0; i < calls; i++) {
+			circuitBreaker.onFailure(permit(circuitBreaker), 1, TimeUnit.MILLISECONDS);
+		}
+	}
+}
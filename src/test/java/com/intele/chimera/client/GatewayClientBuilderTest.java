@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
@@ -13,7 +14,16 @@ import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.client.ClientProperties;
 import org.junit.Test;
 
+import com.intele.chimera.client.impl.CircuitBreakingTransport;
 import com.intele.chimera.client.impl.GatewayClientImpl;
+import com.intele.chimera.client.impl.GatewayTransport;
+import com.intele.chimera.client.impl.HttpUrlConnectionTransport;
+import com.intele.chimera.client.impl.JaxRsTransport;
+import com.intele.chimera.client.impl.ListeningTransport;
+import com.intele.chimera.client.impl.LoadBalancingTransport;
+import com.intele.chimera.client.impl.OutboxTransport;
+import com.intele.chimera.client.impl.RateLimitingTransport;
+import com.intele.chimera.client.impl.RetryingTransport;
 
 public class GatewayClientBuilderTest {
 
@@ -37,6 +47,142 @@ public class GatewayClientBuilderTest {
 		} catch(IllegalArgumentException expected) { }
 	}
 	
+	@Test
+	public void shouldNotBeAbleToSetTransportWithClientOrConfiguration() {
+		try {
+			new GatewayClientBuilder().withClient(ClientBuilder.newClient()).withTransport(new HttpUrlConnectionTransport.Factory());
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new GatewayClientBuilder().withConfiguration(new ClientConfig()).withTransport(new HttpUrlConnectionTransport.Factory());
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new GatewayClientBuilder().withTransport(new HttpUrlConnectionTransport.Factory()).withClient(ClientBuilder.newClient());
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+
+	@Test
+	public void shouldNotBeAbleToSetTransportWithRequestCompression() {
+		try {
+			new GatewayClientBuilder().withRequestCompression(1024).withTransport(new HttpUrlConnectionTransport.Factory());
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new GatewayClientBuilder().withTransport(new HttpUrlConnectionTransport.Factory()).withRequestCompression(1024);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new GatewayClientBuilder().withRequestCompression(-1);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+
+	@Test
+	public void testBuilderWithTransport() throws Exception {
+		GatewayClient gatewayClient = new GatewayClientBuilder().
+				withTransport(new HttpUrlConnectionTransport.Factory()).
+				build();
+
+		assertThat(((GatewayClientImpl) gatewayClient).getTransport()).isInstanceOf(HttpUrlConnectionTransport.class);
+		gatewayClient.close();
+	}
+
+	@Test
+	public void testBuilderWithRateLimiter() throws Exception {
+		RateLimiter rateLimiter = new RateLimiter.Builder(10).build();
+		GatewayClient gatewayClient = new GatewayClientBuilder().
+				withTransport(new HttpUrlConnectionTransport.Factory()).
+				withRateLimiter(rateLimiter, 0, TimeUnit.SECONDS).
+				build();
+
+		GatewayTransport transport = ((GatewayClientImpl) gatewayClient).getTransport();
+		assertThat(transport).isInstanceOf(RateLimitingTransport.class);
+		assertThat(((RateLimitingTransport) transport).getTransport()).isInstanceOf(HttpUrlConnectionTransport.class);
+		gatewayClient.close();
+		rateLimiter.close();
+	}
+
+	@Test
+	public void testBuilderDecoratesTransportInOrder() throws Exception {
+		RateLimiter rateLimiter = new RateLimiter.Builder(10).build();
+		GatewayClient gatewayClient = new GatewayClientBuilder().
+				withTransport(new HttpUrlConnectionTransport.Factory()).
+				withRateLimiter(rateLimiter).
+				withRetryPolicy(new RetryPolicy.Builder().build()).
+				withCircuitBreaker(new CircuitBreaker.Builder().build()).
+				build();
+
+		GatewayTransport transport = ((GatewayClientImpl) gatewayClient).getTransport();
+		assertThat(transport).isInstanceOf(RetryingTransport.class);
+		transport = ((RetryingTransport) transport).getTransport();
+		assertThat(transport).isInstanceOf(RateLimitingTransport.class);
+		transport = ((RateLimitingTransport) transport).getTransport();
+		assertThat(transport).isInstanceOf(CircuitBreakingTransport.class);
+		assertThat(((CircuitBreakingTransport) transport).getTransport()).isInstanceOf(HttpUrlConnectionTransport.class);
+		gatewayClient.close();
+		rateLimiter.close();
+	}
+
+	@Test
+	public void testBuilderWithTargetServers() throws Exception {
+		GatewayClient gatewayClient = new GatewayClientBuilder().
+				withTransport(new HttpUrlConnectionTransport.Factory()).
+				withTargetServers("https://primary/", "https://secondary").
+				build();
+
+		GatewayTransport transport = ((GatewayClientImpl) gatewayClient).getTransport();
+		assertThat(transport).isInstanceOf(LoadBalancingTransport.class);
+		assertThat(((LoadBalancingTransport) transport).getTransports()).hasSize(2);
+		gatewayClient.close();
+
+		try {
+			new GatewayClientBuilder().withTargetServers();
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+
+	@Test
+	public void testBuilderWithOutboxOutermost() throws Exception {
+		Outbox outbox = new Outbox.Builder(java.nio.file.Files.createTempDirectory("outbox")).build();
+		GatewayClient gatewayClient = new GatewayClientBuilder().
+				withTransport(new HttpUrlConnectionTransport.Factory()).
+				withRetryPolicy(new RetryPolicy.Builder().build()).
+				withOutbox(outbox).
+				build();
+
+		GatewayTransport transport = ((GatewayClientImpl) gatewayClient).getTransport();
+		assertThat(transport).isInstanceOf(OutboxTransport.class);
+		assertThat(((OutboxTransport) transport).getTransport()).isInstanceOf(RetryingTransport.class);
+		gatewayClient.close();
+		outbox.close();
+	}
+
+	@Test
+	public void testBuilderWithListenerOutermost() throws Exception {
+		Outbox outbox = new Outbox.Builder(java.nio.file.Files.createTempDirectory("outbox")).build();
+		GatewayClient gatewayClient = new GatewayClientBuilder().
+				withOutbox(outbox).
+				withListener(new GatewayMetrics()).
+				withListener(new GatewayListener.Adapter()).
+				build();
+
+		GatewayTransport transport = ((GatewayClientImpl) gatewayClient).getTransport();
+		assertThat(transport).isInstanceOf(ListeningTransport.class);
+		assertThat(((ListeningTransport) transport).getTransport()).isInstanceOf(OutboxTransport.class);
+		gatewayClient.close();
+		outbox.close();
+	}
+
+	@Test
+	public void listenerCannotBeNull() {
+		try {
+			new GatewayClientBuilder().withListener(null);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+
 	@Test
 	public void targetServerCannotBeNull() {
 		try {
@@ -67,18 +213,23 @@ public class GatewayClientBuilderTest {
 		
 		assertThat(gatewayClient).isInstanceOf(GatewayClientImpl.class);
 		
-		GatewayClientImpl gwclient = (GatewayClientImpl) gatewayClient;
+		GatewayTransport transport = ((GatewayClientImpl) gatewayClient).getTransport();
+		assertThat(transport).isInstanceOf(JaxRsTransport.class);
 
-		Field f = gwclient.getClass().getDeclaredField("client");
+		Field f = transport.getClass().getDeclaredField("client");
 		f.setAccessible(true);
-		Client client = (Client) f.get(gwclient);
-		f = gwclient.getClass().getDeclaredField("target");
+		Client client = (Client) f.get(transport);
+		f = transport.getClass().getDeclaredField("target");
 		f.setAccessible(true);
-		String target = (String) f.get(gwclient);
-		f = gwclient.getClass().getDeclaredField("mediaType");
+		String target = (String) f.get(transport);
+		f = transport.getClass().getDeclaredField("mediaType");
 		f.setAccessible(true);
-		MediaType mediaType = (MediaType) f.get(gwclient);
+		MediaType mediaType = (MediaType) f.get(transport);
+		f = transport.getClass().getDeclaredField("compression");
+		f.setAccessible(true);
+		boolean compression = (Boolean) f.get(transport);
 		
+		assertThat(compression).isFalse();
 		assertThat(client).isNotNull();
 		assertThat(target).isEqualTo(GatewayClientBuilder.DEFAULT_TARGET_SERVER+GatewayClientBuilder.DEFAULT_TARGET_SERVER_PATH);
 		assertThat(mediaType).isEqualTo(GatewayClientBuilder.DEFAULT_MEDIA_TYPE);
@@ -96,22 +247,29 @@ public class GatewayClientBuilderTest {
 				withConfiguration(configuration).
 				withMediaType(chosenMediaType).
 				withTargetServer(targetServer).
+				withEagerJaxbInitialization(true).
+				withRequestCompression(1024).
 				build();
 		
 		assertThat(gatewayClient).isInstanceOf(GatewayClientImpl.class);
 		
-		GatewayClientImpl gwclient = (GatewayClientImpl) gatewayClient;
+		GatewayTransport transport = ((GatewayClientImpl) gatewayClient).getTransport();
+		assertThat(transport).isInstanceOf(JaxRsTransport.class);
 
-		Field f = gwclient.getClass().getDeclaredField("client");
+		Field f = transport.getClass().getDeclaredField("client");
+		f.setAccessible(true);
+		Client client = (Client) f.get(transport);
+		f = transport.getClass().getDeclaredField("target");
 		f.setAccessible(true);
-		Client client = (Client) f.get(gwclient);
-		f = gwclient.getClass().getDeclaredField("target");
+		String target = (String) f.get(transport);
+		f = transport.getClass().getDeclaredField("mediaType");
 		f.setAccessible(true);
-		String target = (String) f.get(gwclient);
-		f = gwclient.getClass().getDeclaredField("mediaType");
+		MediaType mediaType = (MediaType) f.get(transport);
+		f = transport.getClass().getDeclaredField("compression");
 		f.setAccessible(true);
-		MediaType mediaType = (MediaType) f.get(gwclient);
+		boolean compression = (Boolean) f.get(transport);
 		
+		assertThat(compression).isTrue();
 		assertThat(client).isNotNull();
 		assertThat(client.getConfiguration().getProperty(ClientProperties.PROXY_PASSWORD)).isEqualTo(proxyPassword);
 		assertThat(target).isEqualTo(targetServer+GatewayClientBuilder.DEFAULT_TARGET_SERVER_PATH);
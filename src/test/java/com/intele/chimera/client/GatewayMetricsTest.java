@@ -0,0 +1,122 @@
+package com.intele.chimera.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+
+import org.junit.Test;
+
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+public class GatewayMetricsTest {
+
+	@Test
+	public void shouldRecordLatencyPercentiles() {
+		GatewayMetrics metrics = new GatewayMetrics();
+		Request request = request(1);
+		for(int millis = 1; millis <= 1000; millis++) {
+			metrics.onSend(request);
+			metrics.onResponse(request, new Response(), TimeUnit.MILLISECONDS.toNanos(millis));
+		}
+
+		GatewayMetrics.Snapshot snapshot = metrics.snapshot();
+		assertWithinOnePercent(snapshot.getLatency(50, TimeUnit.MICROSECONDS), 500000);
+		assertWithinOnePercent(snapshot.getLatency(99, TimeUnit.MICROSECONDS), 990000);
+		assertThat(snapshot.getLatency(100, TimeUnit.MILLISECONDS)).isEqualTo(1000);
+		assertThat(snapshot.getMaxLatency(TimeUnit.MILLISECONDS)).isEqualTo(1000);
+		assertThat(snapshot.getMeanLatency(TimeUnit.MILLISECONDS)).isEqualTo(500.5);
+	}
+
+	@Test
+	public void shouldCountRequestsMessagesAndStatusCodes() {
+		GatewayMetrics metrics = new GatewayMetrics();
+		Request small = request(1);
+		Request large = request(3);
+		metrics.onSend(small);
+		metrics.onSend(large);
+		metrics.onSend(large);
+		assertThat(metrics.snapshot().getInFlight()).isEqualTo(3);
+		metrics.onResponse(small, response(1), 1000);
+		metrics.onResponse(large, response(1, 1, 100000), 1000);
+		metrics.onFailure(large, new ProcessingException("failed"), 1000);
+		metrics.onBytesSent(100);
+		metrics.onBytesReceived(40);
+
+		GatewayMetrics.Snapshot snapshot = metrics.snapshot();
+		assertThat(snapshot.getRequests()).isEqualTo(3);
+		assertThat(snapshot.getMessages()).isEqualTo(7);
+		assertThat(snapshot.getFailures()).isEqualTo(1);
+		assertThat(snapshot.getInFlight()).isEqualTo(0);
+		assertThat(snapshot.getBytesSent()).isEqualTo(100);
+		assertThat(snapshot.getBytesReceived()).isEqualTo(40);
+		assertThat(snapshot.getMessagesPerRequest(50)).isEqualTo(3);
+		assertThat(snapshot.getMessagesPerRequest(10)).isEqualTo(1);
+		assertThat(snapshot.getStatusCodeCounts()).containsExactly(
+				org.assertj.core.api.Assertions.entry(1, 3L), org.assertj.core.api.Assertions.entry(100000, 1L));
+	}
+
+	@Test
+	public void shouldReportNothingWithoutSends() {
+		GatewayMetrics.Snapshot snapshot = new GatewayMetrics().snapshot();
+
+		assertThat(snapshot.getLatency(99, TimeUnit.MILLISECONDS)).isEqualTo(0);
+		assertThat(snapshot.getMeanLatency(TimeUnit.MILLISECONDS)).isEqualTo(0);
+		assertThat(snapshot.getStatusCodeCounts()).isEmpty();
+	}
+
+	@Test
+	public void shouldExportPrometheusText() throws Exception {
+		GatewayMetrics metrics = new GatewayMetrics();
+		Request request = request(2);
+		metrics.onSend(request);
+		metrics.onResponse(request, response(1, 5), TimeUnit.MILLISECONDS.toNanos(20));
+		StringBuilder out = new StringBuilder();
+
+		metrics.snapshot().export(out);
+
+		assertThat(out.toString()).
+				contains("# TYPE smsgw_requests_total counter\nsmsgw_requests_total 1\n").
+				contains("smsgw_messages_total 2\n").
+				contains("smsgw_message_statuses_total{status_code=\"5\"} 1\n").
+				contains("smsgw_latency_seconds_count 1\n").
+				contains("smsgw_latency_seconds_sum 0.02\n");
+	}
+
+	@Test
+	public void histogramBucketsShouldHoldTheirValues() {
+		for(long value : new long[] {0, 1, 127, 128, 129, 1000, 65535, 1L << 40, Long.MAX_VALUE}) {
+			int index = GatewayMetrics.Histogram.index(value);
+			long highest = GatewayMetrics.Histogram.highestValue(index);
+			assertThat(highest).isGreaterThanOrEqualTo(value);
+			assertThat(highest - value).isLessThanOrEqualTo(value / 64);
+		}
+	}
+
+	private static void assertWithinOnePercent(long actual, long expected) {
+		assertThat(Math.abs(actual - expected)).isLessThanOrEqualTo(expected / 64);
+	}
+
+	private static Response response(int... statusCodes) {
+		Response response = new Response();
+		for(int statusCode : statusCodes) {
+			MessageStatus messageStatus = new MessageStatus();
+			messageStatus.setStatusCode(statusCode);
+			response.getMessageStatus().add(messageStatus);
+		}
+		return response;
+	}
+
+	private static Request request(int messages) {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(1, "username", "password").build();
+		for(int i = 0; i < messages; i++) {
+			gatewayRequest.addMessage(new Sms.Builder("+4741000000", "content").build());
+		}
+		return gatewayRequest.getRequest();
+	}
+}
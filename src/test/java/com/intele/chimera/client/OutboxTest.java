@@ -0,0 +1,132 @@
+package com.intele.chimera.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+
+public class OutboxTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void shouldReplayUnacknowledgedMessages() throws Exception {
+		Path directory = folder.getRoot().toPath();
+		Outbox outbox = new Outbox.Builder(directory).build();
+		assertThat(outbox.getPending()).isEmpty();
+		long first = outbox.append(1, message("first", "ref-1"));
+		long second = outbox.append(2, message("second <&>", "ref-2"));
+		long third = outbox.append(1, message("third", null));
+		outbox.acknowledge(second);
+		outbox.awaitSync(third);
+		outbox.close();
+
+		outbox = new Outbox.Builder(directory).build();
+		assertThat(outbox.getPending()).hasSize(2);
+		Outbox.Entry entry = outbox.getPending().get(0);
+		assertThat(entry.getId()).isEqualTo(first);
+		assertThat(entry.getServiceId()).isEqualTo(1);
+		assertThat(entry.getMessage().getContent()).isEqualTo("first");
+		assertThat(entry.getMessage().getClientReference()).isEqualTo("ref-1");
+		assertThat(entry.getMessage().getSettings().getPriority()).isEqualTo(2);
+		assertThat(outbox.getPending().get(1).getMessage().getContent()).isEqualTo("third");
+		outbox.acknowledge(first);
+		outbox.acknowledge(first);
+		outbox.close();
+
+		outbox = new Outbox.Builder(directory).build();
+		assertThat(outbox.getPending()).hasSize(1);
+		outbox.acknowledge(outbox.getPending().get(0).getId());
+		outbox.close();
+
+		outbox = new Outbox.Builder(directory).build();
+		assertThat(outbox.getPending()).isEmpty();
+		outbox.close();
+	}
+
+	@Test
+	public void shouldDeleteAcknowledgedSegments() throws Exception {
+		Path directory = folder.getRoot().toPath();
+		Outbox outbox = new Outbox.Builder(directory).withSegmentSize(4096).build();
+		long[] ids = new long[100];
+		for(int i = 0; i < ids.length; i++) {
+			ids[i] = outbox.append(1, message("message " + i, null));
+		}
+		assertThat(directory.toFile().list().length).isGreaterThan(5);
+		for(int i = 0; i < ids.length - 1; i++) {
+			outbox.acknowledge(ids[i]);
+		}
+		assertThat(directory.toFile().list().length).isLessThanOrEqualTo(2);
+		outbox.close();
+
+		outbox = new Outbox.Builder(directory).withSegmentSize(4096).build();
+		assertThat(outbox.getPending()).hasSize(1);
+		assertThat(outbox.getPending().get(0).getMessage().getContent()).isEqualTo("message 99");
+		outbox.close();
+	}
+
+	@Test
+	public void shouldStopReplayAtTornRecord() throws Exception {
+		Path directory = folder.getRoot().toPath();
+		Outbox outbox = new Outbox.Builder(directory).withSegmentSize(4096).build();
+		outbox.append(1, message("kept", null));
+		long torn = outbox.append(1, message("torn", null));
+		outbox.close();
+
+		File segment = directory.toFile().listFiles()[0];
+		try(RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+			// corrupt the last byte of the payload of the second record
+			file.seek((int) torn + 9 + 20);
+			file.write('#');
+		}
+		outbox = new Outbox.Builder(directory).withSegmentSize(4096).build();
+		assertThat(outbox.getPending()).hasSize(1);
+		assertThat(outbox.getPending().get(0).getMessage().getContent()).isEqualTo("kept");
+		outbox.close();
+	}
+
+	@Test
+	public void shouldRunActionsOnceSynced() throws Exception {
+		Outbox outbox = new Outbox.Builder(folder.getRoot().toPath()).withSyncInterval(1, TimeUnit.HOURS).build();
+		final CountDownLatch synced = new CountDownLatch(2);
+		long id = outbox.append(1, message("content", null));
+		Runnable action = new Runnable() {
+			@Override
+			public void run() {
+				synced.countDown();
+			}
+		};
+		outbox.whenSynced(id, action);
+		outbox.awaitSync(id);
+		// already synced, run on the calling thread
+		outbox.whenSynced(id, action);
+		assertThat(synced.await(1, TimeUnit.SECONDS)).isTrue();
+		outbox.close();
+	}
+
+	@Test
+	public void shouldRejectAppendsWhenClosed() throws Exception {
+		Outbox outbox = new Outbox.Builder(folder.getRoot().toPath()).build();
+		outbox.close();
+		try {
+			outbox.append(1, message("content", null));
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch(IllegalStateException expected) { }
+	}
+
+	private static Message message(String content, String clientReference) {
+		return new Sms.Builder("+4741000000", content).withClientReference(clientReference).withPriority(2).build().getMessage();
+	}
+}
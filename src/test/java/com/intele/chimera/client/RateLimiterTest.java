@@ -0,0 +1,123 @@
+package com.intele.chimera.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class RateLimiterTest {
+
+	private RateLimiter rateLimiter;
+
+	@After
+	public void close() {
+		if(rateLimiter != null) {
+			rateLimiter.close();
+		}
+	}
+
+	@Test
+	public void shouldAllowBurstThenRefuse() {
+		rateLimiter = new RateLimiter.Builder(1).withBurst(5).build();
+
+		assertThat(rateLimiter.tryAcquire(100, 3)).isTrue();
+		assertThat(rateLimiter.tryAcquire(100, 2)).isTrue();
+		assertThat(rateLimiter.tryAcquire(100, 1)).isFalse();
+		assertThat(rateLimiter.tryAcquire(100, 0)).isTrue();
+	}
+
+	@Test
+	public void shouldKeepServicesIndependent() {
+		rateLimiter = new RateLimiter.Builder(1).withRate(200, 1000).withBurst(10).build();
+
+		assertThat(rateLimiter.tryAcquire(100, 10)).isTrue();
+		assertThat(rateLimiter.tryAcquire(100, 1)).isFalse();
+		assertThat(rateLimiter.tryAcquire(200, 10)).isTrue();
+		assertThat(rateLimiter.tryAcquire(300, 10)).isTrue();
+		assertThat(rateLimiter.getRate(100)).isEqualTo(1.0);
+		assertThat(rateLimiter.getRate(200)).isEqualTo(1000.0);
+	}
+
+	@Test
+	public void shouldWaitForPermitsWithinTimeout() throws Exception {
+		rateLimiter = new RateLimiter.Builder(100).build();
+		assertThat(rateLimiter.tryAcquire(100, 1)).isTrue();
+
+		long start = System.nanoTime();
+		assertThat(rateLimiter.tryAcquire(100, 10, 1, TimeUnit.SECONDS)).isTrue();
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(90));
+
+		start = System.nanoTime();
+		assertThat(rateLimiter.tryAcquire(100, 100, 10, TimeUnit.MILLISECONDS)).isFalse();
+		assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(10));
+	}
+
+	@Test
+	public void shouldStayAtRateAcrossThreads() throws Exception {
+		final int rate = 500;
+		rateLimiter = new RateLimiter.Builder(rate).build();
+		final AtomicInteger acquired = new AtomicInteger();
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(400);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		final CountDownLatch done = new CountDownLatch(8);
+		long start = System.nanoTime();
+		for(int i = 0; i < 8; i++) {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						while(System.nanoTime() < deadline) {
+							rateLimiter.acquire(100, 2);
+							acquired.addAndGet(2);
+						}
+					} catch(InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						done.countDown();
+					}
+				}
+			});
+		}
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		double seconds = (System.nanoTime() - start) / 1e9;
+		executor.shutdown();
+
+		assertThat(acquired.get()).isLessThanOrEqualTo((int) (rate * seconds) + 2);
+		assertThat(acquired.get()).isGreaterThan((int) (rate * 0.4 * 0.8));
+	}
+
+	@Test
+	public void shouldAcquireAsynchronously() throws Exception {
+		rateLimiter = new RateLimiter.Builder(100).build();
+
+		assertThat(rateLimiter.tryAcquireAsync(100, 1, 1, TimeUnit.SECONDS, null).get(0, TimeUnit.SECONDS)).isTrue();
+		Future<Boolean> waiting = rateLimiter.tryAcquireAsync(100, 5, 1, TimeUnit.SECONDS, null);
+		assertThat(waiting.isDone()).isFalse();
+		assertThat(waiting.get(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(rateLimiter.tryAcquireAsync(100, 1000, 1, TimeUnit.SECONDS, null).get(0, TimeUnit.SECONDS)).isFalse();
+	}
+
+	@Test
+	public void shouldRejectInvalidSettings() {
+		try {
+			new RateLimiter.Builder(0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new RateLimiter.Builder(1).withBurst(0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new RateLimiter.Builder(1).withRate(100, Double.NaN);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+}
@@ -0,0 +1,91 @@
+package com.intele.chimera.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.junit.Test;
+
+import com.intele.chimera.client.RetryPolicy.Classification;
+import com.intele.chimera.client.impl.GatewayFaults;
+import com.intele.chimera.gw.xsd.smsgateway.fault._2013._02.Fault;
+
+public class RetryPolicyTest {
+
+	private final RetryPolicy policy = new RetryPolicy.Builder().
+			withRetryableFaultCodes(1001).
+			withNonRetryableFaultCodes(1002).
+			build();
+
+	@Test
+	public void shouldClassifyConnectionFailures() {
+		assertThat(policy.classify(new ProcessingException(new ConnectException("refused")))).isEqualTo(Classification.RETRYABLE);
+		assertThat(policy.classify(new ProcessingException(new SocketTimeoutException("read timed out")))).isEqualTo(Classification.RETRYABLE_IF_IDENTIFIED);
+		assertThat(policy.classify(new RateLimitExceededException(1, 1))).isEqualTo(Classification.RETRYABLE);
+		assertThat(policy.classify(new ProcessingException("Unable to write request"))).isEqualTo(Classification.NOT_RETRYABLE);
+		assertThat(policy.classify(new IllegalStateException())).isEqualTo(Classification.NOT_RETRYABLE);
+	}
+
+	@Test
+	public void shouldClassifyHttpStatus() {
+		assertThat(policy.classify(new WebApplicationException(503))).isEqualTo(Classification.RETRYABLE);
+		assertThat(policy.classify(new WebApplicationException(429))).isEqualTo(Classification.RETRYABLE);
+		assertThat(policy.classify(new WebApplicationException(502))).isEqualTo(Classification.RETRYABLE_IF_IDENTIFIED);
+		assertThat(policy.classify(new WebApplicationException(401))).isEqualTo(Classification.NOT_RETRYABLE);
+	}
+
+	@Test
+	public void shouldClassifyFaultCodeBeforeHttpStatus() {
+		assertThat(policy.classify(fault(400, MediaType.APPLICATION_XML_TYPE,
+				"<fault><code>1001</code><reason>Try again</reason></fault>"))).isEqualTo(Classification.RETRYABLE);
+		assertThat(policy.classify(fault(503, MediaType.APPLICATION_JSON_TYPE,
+				"{\"fault\":{\"code\":1002,\"reason\":\"Invalid service\"}}"))).isEqualTo(Classification.NOT_RETRYABLE);
+		assertThat(policy.classify(fault(503, MediaType.APPLICATION_XML_TYPE,
+				"<fault><code>1003</code></fault>"))).isEqualTo(Classification.RETRYABLE);
+	}
+
+	@Test
+	public void shouldReadFaultDocuments() {
+		Fault fault = GatewayFaults.of(fault(500, MediaType.APPLICATION_XML_TYPE,
+				"<fault xmlns=\"http://chimera.intele.com/gw/xsd/SMSGateway/Fault/2013/02\"><code xmlns=\"\">7</code><reason xmlns=\"\">Internal</reason></fault>"));
+		assertThat(fault.getCode()).isEqualTo(7);
+		assertThat(fault.getReason()).isEqualTo("Internal");
+
+		fault = GatewayFaults.of(fault(500, MediaType.APPLICATION_JSON_TYPE, "{\"reason\":\"Internal\",\"code\":\"8\",\"extra\":[1]}"));
+		assertThat(fault.getCode()).isEqualTo(8);
+		assertThat(fault.getReason()).isEqualTo("Internal");
+
+		assertThat(GatewayFaults.of(fault(500, MediaType.TEXT_HTML_TYPE, "<html>"))).isNull();
+		assertThat(GatewayFaults.of(new WebApplicationException(500))).isNull();
+		assertThat(GatewayFaults.of(new ProcessingException("failed"))).isNull();
+	}
+
+	@Test
+	public void shouldValidateSettings() {
+		try {
+			new RetryPolicy.Builder().withMaxAttempts(0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new RetryPolicy.Builder().withBackoff(2, 1, TimeUnit.SECONDS);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new RetryPolicy.Builder().withRetryBudget(-1, 0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+
+	private static WebApplicationException fault(int status, MediaType mediaType, String body) {
+		return new WebApplicationException(Response.status(status).type(mediaType).entity(body.getBytes(StandardCharsets.UTF_8)).build());
+	}
+}
@@ -0,0 +1,170 @@
+package com.intele.chimera.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.InvocationCallback;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+public class SmsBatcherTest {
+
+	private GatewayClient gatewayClient;
+
+	@Test
+	public void shouldSendFullBatchAndRouteStatusesBySequenceIndex() throws Exception {
+		SmsBatcher batcher = new SmsBatcher.Builder(gatewayClient).
+				withMaxBatchSize(3).
+				withLinger(1, TimeUnit.HOURS).
+				build();
+
+		Future<MessageStatus> first = batcher.submit(1, "username", "password", new Sms.Builder("+4741000001", "first").build());
+		Future<MessageStatus> second = batcher.submit(1, "username", "password", new Sms.Builder("+4741000002", "second").build());
+		assertThat(first.isDone()).isFalse();
+		Future<MessageStatus> third = batcher.submit(1, "username", "password", new Sms.Builder("+4741000003", "third").build());
+
+		assertThat(first.get(1, TimeUnit.SECONDS).getRecipient()).isEqualTo("+4741000001");
+		assertThat(second.get(1, TimeUnit.SECONDS).getRecipient()).isEqualTo("+4741000002");
+		assertThat(third.get(1, TimeUnit.SECONDS).getRecipient()).isEqualTo("+4741000003");
+		verify(gatewayClient, times(1)).sendAsync(any(Request.class), Matchers.<InvocationCallback<Response>>any());
+		batcher.close();
+	}
+
+	@Test
+	public void shouldSendPartialBatchAfterLinger() throws Exception {
+		SmsBatcher batcher = new SmsBatcher.Builder(gatewayClient).
+				withMaxBatchSize(100).
+				withLinger(10, TimeUnit.MILLISECONDS).
+				build();
+
+		Future<MessageStatus> status = batcher.submit(1, "username", "password", new Sms.Builder("+4741000001", "content").build());
+
+		assertThat(status.get(5, TimeUnit.SECONDS).getSequenceIndex()).isEqualTo(1);
+		batcher.close();
+	}
+
+	@Test
+	public void shouldGroupMessagesByServiceAndCredentials() throws Exception {
+		SmsBatcher batcher = new SmsBatcher.Builder(gatewayClient).
+				withLinger(1, TimeUnit.HOURS).
+				withBatchReferencePolicy(new SmsBatcher.BatchReferencePolicy() {
+					@Override
+					public String batchReference(int serviceId, long batchNumber) {
+						return serviceId + "-" + batchNumber;
+					}
+				}).
+				build();
+
+		batcher.submit(1, "username", "password", new Sms.Builder("+4741000001", "content").build());
+		batcher.submit(2, "username", "password", new Sms.Builder("+4741000002", "content").build());
+		batcher.submit(1, "username", "other", new Sms.Builder("+4741000003", "content").build());
+		batcher.submit(1, "username", "password", new Sms.Builder("+4741000004", "content").build());
+		batcher.close();
+
+		ArgumentCaptor<Request> captor = ArgumentCaptor.forClass(Request.class);
+		verify(gatewayClient, times(3)).sendAsync(captor.capture(), Matchers.<InvocationCallback<Response>>any());
+		int messages = 0;
+		for(Request request : captor.getAllValues()) {
+			messages += request.getMessage().size();
+			assertThat(request.getBatchReference()).startsWith(request.getServiceId() + "-");
+			if(request.getServiceId() == 1 && request.getPassword().equals("password")) {
+				assertThat(request.getMessage()).hasSize(2);
+			}
+		}
+		assertThat(messages).isEqualTo(4);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldFailAllMessagesOfFailedBatch() throws Exception {
+		final RuntimeException failure = new RuntimeException("failure");
+		GatewayClient failingClient = mock(GatewayClient.class);
+		when(failingClient.sendAsync(any(Request.class), any(InvocationCallback.class))).thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) throws Throwable {
+				((InvocationCallback<Response>) invocation.getArguments()[1]).failed(failure);
+				return null;
+			}
+		});
+		SmsBatcher batcher = new SmsBatcher.Builder(failingClient).withMaxBatchSize(1).build();
+
+		Future<MessageStatus> status = batcher.submit(1, "username", "password", new Sms.Builder("+4741000001", "content").build());
+
+		try {
+			status.get();
+			failBecauseExceptionWasNotThrown(ExecutionException.class);
+		} catch(ExecutionException expected) {
+			assertThat(expected.getCause()).isEqualTo(failure);
+		}
+		batcher.close();
+	}
+
+	@Test
+	public void shouldNotAcceptMessagesWhenClosed() {
+		SmsBatcher batcher = new SmsBatcher.Builder(gatewayClient).build();
+		batcher.close();
+		try {
+			batcher.submit(1, "username", "password", new Sms.Builder("+4741000001", "content").build());
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch(IllegalStateException expected) { }
+	}
+
+	@Test
+	public void shouldSendAtOnceWhenLingerCannotBeScheduled() throws Exception {
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		scheduler.shutdown();
+		SmsBatcher batcher = new SmsBatcher.Builder(gatewayClient).
+				withLinger(1, TimeUnit.HOURS).
+				withScheduler(scheduler).
+				build();
+
+		Future<MessageStatus> status = batcher.submit(1, "username", "password", new Sms.Builder("+4741000001", "content").build());
+
+		assertThat(status.get(1, TimeUnit.SECONDS).getRecipient()).isEqualTo("+4741000001");
+		batcher.close();
+	}
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void initialize() {
+		gatewayClient = mock(GatewayClient.class);
+		when(gatewayClient.sendAsync(any(Request.class), any(InvocationCallback.class))).thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) throws Throwable {
+				Request request = (Request) invocation.getArguments()[0];
+				Response response = new Response();
+				int sequenceIndex = SmsBatcher.FIRST_SEQUENCE_INDEX;
+				for(Message message : request.getMessage()) {
+					MessageStatus messageStatus = new MessageStatus();
+					messageStatus.setRecipient(message.getRecipient());
+					messageStatus.setSequenceIndex(sequenceIndex++);
+					response.getMessageStatus().add(messageStatus);
+				}
+				((InvocationCallback<Response>) invocation.getArguments()[1]).completed(response);
+				return null;
+			}
+		});
+	}
+}
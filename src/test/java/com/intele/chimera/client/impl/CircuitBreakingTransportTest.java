@@ -0,0 +1,136 @@
+package com.intele.chimera.client.impl;
+
+import static com.intele.chimera.client.impl.Fixtures.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.InvocationCallback;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.intele.chimera.client.CircuitBreaker;
+import com.intele.chimera.client.CircuitBreakerOpenException;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CircuitBreakingTransportTest {
+
+	@Mock
+	private GatewayTransport transport;
+	private final CircuitBreaker circuitBreaker = new CircuitBreaker.Builder().withSlidingWindow(3, 2).build();
+
+	@Test
+	public void shouldFailFastWhenOpen() {
+		CircuitBreakingTransport circuitBreakingTransport = new CircuitBreakingTransport(transport, circuitBreaker);
+		when(transport.send(any(Request.class), eq(Response.class))).
+				thenThrow(new WebApplicationException(400)).
+				thenThrow(new WebApplicationException(400)).
+				thenThrow(new ProcessingException(new ConnectException())).
+				thenThrow(new WebApplicationException(502));
+
+		for(int i = 0; i < 4; i++) {
+			assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+			try {
+				circuitBreakingTransport.send(request("content"), Response.class);
+				failBecauseExceptionWasNotThrown(ProcessingException.class);
+			} catch(ProcessingException | WebApplicationException expected) { }
+		}
+		// a 400, a connection failure and a 502 in the window
+		assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		try {
+			circuitBreakingTransport.send(request("content"), Response.class);
+			failBecauseExceptionWasNotThrown(CircuitBreakerOpenException.class);
+		} catch(CircuitBreakerOpenException expected) {
+			assertThat(expected.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		}
+		verify(transport, times(4)).send(any(Request.class), eq(Response.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldRecordAsynchronousCalls() throws Exception {
+		CircuitBreakingTransport circuitBreakingTransport = new CircuitBreakingTransport(transport, circuitBreaker);
+		when(transport.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+				thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[4]);
+				future.fail(new WebApplicationException(503));
+				return future;
+			}
+		});
+
+		for(int i = 0; i < 2; i++) {
+			circuitBreakingTransport.sendAsync(request("content"), Response.class, 0, TimeUnit.SECONDS, null);
+		}
+		assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		try {
+			circuitBreakingTransport.sendAsync(request("content"), Response.class, 0, TimeUnit.SECONDS, null).get();
+			failBecauseExceptionWasNotThrown(ExecutionException.class);
+		} catch(ExecutionException expected) {
+			assertThat(expected.getCause()).isInstanceOf(CircuitBreakerOpenException.class);
+		}
+		verify(transport, times(2)).sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldNotCountCallsSentWhileClosedAsProbes() throws Exception {
+		CircuitBreaker circuitBreaker = new CircuitBreaker.Builder().
+				withSlidingWindow(2, 2).
+				withOpenDuration(50, TimeUnit.MILLISECONDS).
+				withHalfOpenCalls(1).
+				build();
+		CircuitBreakingTransport circuitBreakingTransport = new CircuitBreakingTransport(transport, circuitBreaker);
+		final List<InvocationCallback<Response>> pending = new ArrayList<>();
+		when(transport.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+				thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				InvocationCallback<Response> callback = (InvocationCallback<Response>) invocation.getArguments()[4];
+				pending.add(callback);
+				return new SettableFuture<>(callback);
+			}
+		});
+		when(transport.send(any(Request.class), eq(Response.class))).thenThrow(new WebApplicationException(502));
+
+		circuitBreakingTransport.sendAsync(request("content"), Response.class, 0, TimeUnit.SECONDS, null);
+		for(int i = 0; i < 2; i++) {
+			try {
+				circuitBreakingTransport.send(request("content"), Response.class);
+				failBecauseExceptionWasNotThrown(WebApplicationException.class);
+			} catch(WebApplicationException expected) { }
+		}
+		assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		Thread.sleep(60);
+		circuitBreakingTransport.sendAsync(request("content"), Response.class, 0, TimeUnit.SECONDS, null);
+		assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+		// the call sent while closed fails during half-open, and does not open the breaker again
+		pending.get(0).failed(new WebApplicationException(503));
+		assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+		pending.get(1).completed(new Response());
+		assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+}
@@ -0,0 +1,83 @@
+package com.intele.chimera.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+public class CompressingOutputStreamTest {
+
+	private final ByteArrayOutputStream target = new ByteArrayOutputStream();
+	private Boolean compressed;
+
+	@Test
+	public void shouldSendEntityUpToThresholdUncompressed() throws Exception {
+		CompressingOutputStream out = new CompressingOutputStream(10, target());
+		out.write(new byte[] {1, 2, 3, 4, 5});
+		out.write(6);
+		out.flush();
+		assertThat(compressed).isNull();
+		out.write(new byte[] {7, 8, 9, 10}, 0, 4);
+		out.finish();
+
+		assertThat(compressed).isFalse();
+		assertThat(out.isCompressed()).isFalse();
+		assertThat(target.toByteArray()).isEqualTo(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+	}
+
+	@Test
+	public void shouldCompressEntityAboveThreshold() throws Exception {
+		byte[] entity = new byte[100000];
+		for(int i = 0; i < entity.length; i++) {
+			entity[i] = (byte) (i % 7);
+		}
+		CompressingOutputStream out = new CompressingOutputStream(1000, target());
+		out.write(entity, 0, 600);
+		out.write(entity[600]);
+		out.write(entity, 601, entity.length - 601);
+		out.close();
+
+		assertThat(compressed).isTrue();
+		assertThat(out.isCompressed()).isTrue();
+		assertThat(target.size()).isLessThan(entity.length / 20);
+		assertThat(decompress(target.toByteArray())).isEqualTo(entity);
+	}
+
+	@Test
+	public void shouldAlwaysCompressWithZeroThreshold() throws Exception {
+		CompressingOutputStream out = new CompressingOutputStream(0, target());
+		out.write(42);
+		out.finish();
+		out.finish();
+
+		assertThat(compressed).isTrue();
+		assertThat(decompress(target.toByteArray())).isEqualTo(new byte[] {42});
+	}
+
+	private CompressingOutputStream.Target target() {
+		return new CompressingOutputStream.Target() {
+			@Override
+			public OutputStream open(boolean compressed) {
+				assertThat(CompressingOutputStreamTest.this.compressed).isNull();
+				CompressingOutputStreamTest.this.compressed = compressed;
+				return target;
+			}
+		};
+	}
+
+	private static byte[] decompress(byte[] bytes) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try(GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			byte[] buffer = new byte[4096];
+			for(int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+				out.write(buffer, 0, read);
+			}
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,47 @@
+package com.intele.chimera.client.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+/**
+ * Requests and stream helpers shared by the transport tests.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+final class Fixtures {
+
+	private Fixtures() {
+	}
+
+	/**
+	 * @param contents the content of each message
+	 * @return a request with a message to +4741000000 per content
+	 */
+	static Request request(String... contents) {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(1, "username", "password").build();
+		for(String content : contents) {
+			gatewayRequest.addMessage(new Sms.Builder("+4741000000", content).build());
+		}
+		return gatewayRequest.getRequest();
+	}
+
+	static String read(InputStream in) throws IOException {
+		return new String(bytes(in), StandardCharsets.UTF_8);
+	}
+
+	static byte[] bytes(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		for(int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+}
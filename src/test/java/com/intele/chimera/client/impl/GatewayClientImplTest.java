@@ -4,14 +4,24 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.InternalServerErrorException;
+import javax.ws.rs.client.AsyncInvoker;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.Invocation.Builder;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
 
@@ -40,21 +50,22 @@ public class GatewayClientImplTest {
 	private Client client;
 	@Captor
 	private ArgumentCaptor<Entity<Request>> requestCaptor;
+	@Captor
+	private ArgumentCaptor<InvocationCallback<javax.ws.rs.core.Response>> callbackCaptor;
+	@Mock
+	private WebTarget webTarget;
+	@Mock
+	private Builder builder;
 	private String target = "target";
 	private MediaType mediaType = MediaType.APPLICATION_XML_TYPE;
 
 	@Test
 	public void testSendRequest() {
-		WebTarget webTarget = mock(WebTarget.class);
-		Builder builder = mock(Builder.class);
 		Invocation invocation = mock(Invocation.class);
 
 		Request request = new Request();
 		Response response = new Response();
 
-		when(client.target(anyString())).thenReturn(webTarget);
-		when(webTarget.request()).thenReturn(builder);
-		when(builder.accept(any(MediaType.class))).thenReturn(builder);
 		when(builder.buildPost(any(Entity.class))).thenReturn(invocation);
 		when(invocation.invoke(Response.class)).thenReturn(response);
 
@@ -72,17 +83,12 @@ public class GatewayClientImplTest {
 
 	@Test
 	public void testSendGatewayRequest() {
-		WebTarget webTarget = mock(WebTarget.class);
-		Builder builder = mock(Builder.class);
 		Invocation invocation = mock(Invocation.class);
 
 		GatewayRequest gatewayRequest = new GatewayRequest.Builder(1, "username", "password").build();
 		Request request = gatewayRequest.getRequest();
 		Response response = new Response();
 
-		when(client.target(anyString())).thenReturn(webTarget);
-		when(webTarget.request()).thenReturn(builder);
-		when(builder.accept(any(MediaType.class))).thenReturn(builder);
 		when(builder.buildPost(any(Entity.class))).thenReturn(invocation);
 		when(invocation.invoke(Response.class)).thenReturn(response);
 
@@ -100,13 +106,8 @@ public class GatewayClientImplTest {
 	
 	@Test
 	public void testSupportedFormats() {
-		WebTarget webTarget = mock(WebTarget.class);
-		Builder builder = mock(Builder.class);
 		Invocation invocation = mock(Invocation.class);
 
-		when(client.target(anyString())).thenReturn(webTarget);
-		when(webTarget.request()).thenReturn(builder);
-		when(builder.accept(any(MediaType.class))).thenReturn(builder);
 		when(builder.buildPost(any(Entity.class))).thenReturn(invocation);
 		when(invocation.invoke(Response.class)).thenReturn(new Response());
 
@@ -133,8 +134,113 @@ public class GatewayClientImplTest {
 		gc.close();
 	}
 	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSendAsyncRequest() throws Exception {
+		AsyncInvoker asyncInvoker = mock(AsyncInvoker.class);
+
+		Request request = new Request();
+		Response response = new Response();
+		javax.ws.rs.core.Response rawResponse = mock(javax.ws.rs.core.Response.class);
+		when(rawResponse.getStatus()).thenReturn(200);
+		when(rawResponse.readEntity(Response.class)).thenReturn(response);
+
+		when(builder.async()).thenReturn(asyncInvoker);
+
+		// method to test
+		Future<Response> future = this.gatewayClient.sendAsync(request);
+
+		verify(client).target(target);
+		verify(builder).accept(mediaType);
+		verify(builder, never()).property(anyString(), any());
+		verify(asyncInvoker).post(requestCaptor.capture(), callbackCaptor.capture());
+		Entity<Request> entity = requestCaptor.getValue();
+		assertThat(entity.getEntity()).isEqualTo(request);
+
+		assertThat(future.isDone()).isFalse();
+		callbackCaptor.getValue().completed(rawResponse);
+		assertThat(future.get()).isEqualTo(response);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSendAsyncWithCallbackAndTimeout() throws Exception {
+		AsyncInvoker asyncInvoker = mock(AsyncInvoker.class);
+		Future<javax.ws.rs.core.Response> rawFuture = mock(Future.class);
+		InvocationCallback<Response> callback = mock(InvocationCallback.class);
+
+		Request request = new Request();
+		javax.ws.rs.core.Response rawResponse = mock(javax.ws.rs.core.Response.class);
+		when(rawResponse.getStatus()).thenReturn(500);
+		when(rawResponse.getStatusInfo()).thenReturn(javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR);
+
+		when(builder.async()).thenReturn(asyncInvoker);
+		when(asyncInvoker.post(any(Entity.class), any(InvocationCallback.class))).thenReturn(rawFuture);
+
+		// method to test
+		Future<Response> future = this.gatewayClient.sendAsync(request, 2, TimeUnit.SECONDS, callback);
+
+		verify(builder).property(GatewayClientImpl.READ_TIMEOUT_PROPERTY, 2000);
+		verify(asyncInvoker).post(requestCaptor.capture(), callbackCaptor.capture());
+		assertThat(requestCaptor.getValue().getEntity()).isEqualTo(request);
+
+		callbackCaptor.getValue().completed(rawResponse);
+		verify(callback).failed(any(InternalServerErrorException.class));
+		try {
+			future.get();
+			failBecauseExceptionWasNotThrown(ExecutionException.class);
+		} catch(ExecutionException expected) {
+			assertThat(expected.getCause()).isInstanceOf(InternalServerErrorException.class);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCancelAsyncRequest() throws Exception {
+		AsyncInvoker asyncInvoker = mock(AsyncInvoker.class);
+		Future<javax.ws.rs.core.Response> rawFuture = mock(Future.class);
+
+		when(builder.async()).thenReturn(asyncInvoker);
+		when(asyncInvoker.post(any(Entity.class), any(InvocationCallback.class))).thenReturn(rawFuture);
+
+		Future<Response> future = this.gatewayClient.sendAsync(new Request());
+
+		assertThat(future.cancel(true)).isTrue();
+		assertThat(future.isCancelled()).isTrue();
+		verify(rawFuture).cancel(true);
+	}
+
+	@Test
+	public void testSendAsyncRejectsNegativeTimeout() {
+		try {
+			this.gatewayClient.sendAsync(new Request(), -1, TimeUnit.SECONDS, null);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+
+	@Test
+	public void shouldResolveTargetOnce() {
+		Invocation invocation = mock(Invocation.class);
+		when(builder.buildPost(any(Entity.class))).thenReturn(invocation);
+
+		this.gatewayClient.send(new Request());
+		this.gatewayClient.send(new Request());
+
+		verify(client, times(1)).target(target);
+		verify(webTarget).register(isA(RequestXmlWriter.class));
+		verify(webTarget).register(isA(StreamingResponseReader.class));
+		verify(webTarget).register(isA(RequestJsonWriter.class));
+		verify(webTarget).register(isA(ResponseJsonReader.class));
+		verify(webTarget).register(isA(JaxbProvider.class));
+		verify(webTarget).register(isA(JaxbContextResolver.class));
+		verify(webTarget, times(2)).request();
+	}
+
 	@Before
 	public void initialize() {
+		when(client.target(anyString())).thenReturn(webTarget);
+		when(webTarget.request()).thenReturn(builder);
+		when(builder.accept(any(MediaType.class))).thenReturn(builder);
 		this.gatewayClient = new GatewayClientImpl(client, target, mediaType);
 	}
 }
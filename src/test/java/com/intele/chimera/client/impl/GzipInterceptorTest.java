@@ -0,0 +1,160 @@
+package com.intele.chimera.client.impl;
+
+import static com.intele.chimera.client.impl.Fixtures.bytes;
+import static com.intele.chimera.client.impl.Fixtures.read;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.MediaType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.intele.chimera.client.GatewayListener;
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Sends through the JAX-RS implementation to check that the content encoding is decided while the entity is written.
+ */
+public class GzipInterceptorTest {
+
+	private static final String RESPONSE =
+			"<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+			"<ns2:response xmlns:ns2=\"http://chimera.intele.com/gw/xsd/SMSGateway/Response/2013/02\">" +
+			"<batchReference>batch</batchReference>" +
+			"<messageStatus><statusCode>1</statusCode><statusMessage>OK</statusMessage>" +
+			"<clientReference>ref</clientReference><recipient>+4741000000</recipient><messageId>id</messageId>" +
+			"<sequenceIndex>1</sequenceIndex></messageStatus>" +
+			"</ns2:response>";
+
+	private HttpServer server;
+	private volatile String receivedBody;
+	private volatile String receivedContentEncoding;
+	private volatile String receivedAcceptEncoding;
+	private volatile int receivedLength;
+	private volatile int sentLength;
+
+	@Test
+	public void shouldCompressLargeRequestsAndDecompressResponses() {
+		JaxRsTransport transport = new JaxRsTransport(ClientBuilder.newClient(), target(), MediaType.APPLICATION_XML_TYPE, 1024);
+		Response response = transport.send(request(100), Response.class);
+
+		assertThat(receivedContentEncoding).isEqualTo("gzip");
+		assertThat(receivedAcceptEncoding).isEqualTo("gzip");
+		assertThat(receivedBody).endsWith("</ns2:request>");
+		assertThat(response.getMessageStatus().get(0).getMessageId()).isEqualTo("id");
+		transport.close();
+	}
+
+	@Test
+	public void shouldSendSmallRequestsUncompressed() {
+		JaxRsTransport transport = new JaxRsTransport(ClientBuilder.newClient(), target(), MediaType.APPLICATION_XML_TYPE, 1024);
+		Response response = transport.send(request(1), Response.class);
+
+		assertThat(receivedContentEncoding).isNull();
+		assertThat(receivedAcceptEncoding).isEqualTo("gzip");
+		assertThat(receivedBody).endsWith("</ns2:request>");
+		assertThat(response.getBatchReference()).isEqualTo("batch");
+		transport.close();
+	}
+
+	@Test
+	public void shouldNotCompressWithoutThreshold() {
+		JaxRsTransport transport = new JaxRsTransport(ClientBuilder.newClient(), target(), MediaType.APPLICATION_XML_TYPE);
+		transport.send(request(100), Response.class);
+
+		assertThat(receivedContentEncoding).isNull();
+		assertThat(receivedAcceptEncoding).isNull();
+		transport.close();
+	}
+
+	@Test
+	public void shouldCountCompressedBytesOnTheWire() {
+		final AtomicLong bytesSent = new AtomicLong();
+		final AtomicLong bytesReceived = new AtomicLong();
+		GatewayListener listener = new GatewayListener.Adapter() {
+			@Override
+			public void onBytesSent(long bytes) {
+				bytesSent.addAndGet(bytes);
+			}
+			@Override
+			public void onBytesReceived(long bytes) {
+				bytesReceived.addAndGet(bytes);
+			}
+		};
+		JaxRsTransport transport = new JaxRsTransport(ClientBuilder.newClient(), target(), MediaType.APPLICATION_XML_TYPE, 1024, listener);
+		transport.send(request(100), Response.class);
+
+		assertThat(receivedContentEncoding).isEqualTo("gzip");
+		assertThat(bytesSent.get()).isEqualTo(receivedLength).isLessThan(receivedBody.length());
+		assertThat(bytesReceived.get()).isEqualTo(sentLength);
+		transport.close();
+	}
+
+	@Before
+	public void initialize() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/gw/rs/sendMessages", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				receivedContentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+				receivedAcceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+				byte[] requestBody = bytes(exchange.getRequestBody());
+				receivedLength = requestBody.length;
+				InputStream in = new ByteArrayInputStream(requestBody);
+				receivedBody = read("gzip".equals(receivedContentEncoding) ? new GZIPInputStream(in) : in);
+				byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+				if("gzip".equals(receivedAcceptEncoding)) {
+					ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+					try(GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+						gzip.write(body);
+					}
+					body = compressed.toByteArray();
+					exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+				}
+				exchange.getResponseHeaders().set("Content-Type", MediaType.APPLICATION_XML);
+				sentLength = body.length;
+				exchange.sendResponseHeaders(200, body.length);
+				try(OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			}
+		});
+		server.start();
+	}
+
+	@After
+	public void shutdown() {
+		server.stop(0);
+	}
+
+	private String target() {
+		return "http://localhost:" + server.getAddress().getPort() + "/gw/rs/sendMessages";
+	}
+
+	private static Request request(int messages) {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(1, "username", "password").build();
+		for(int i = 0; i < messages; i++) {
+			gatewayRequest.addMessage(new Sms.Builder("+4741000000", "A campaign message that repeats itself").build());
+		}
+		return gatewayRequest.getRequest();
+	}
+}
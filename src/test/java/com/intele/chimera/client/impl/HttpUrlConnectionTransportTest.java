@@ -0,0 +1,268 @@
+package com.intele.chimera.client.impl;
+
+import static com.intele.chimera.client.impl.Fixtures.bytes;
+import static com.intele.chimera.client.impl.Fixtures.read;
+import static com.intele.chimera.client.impl.Fixtures.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.InternalServerErrorException;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.MediaType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.intele.chimera.client.GatewayListener;
+import com.intele.chimera.client.response.StreamingResponse;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class HttpUrlConnectionTransportTest {
+
+	private static final String RESPONSE =
+			"<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+			"<ns2:response xmlns:ns2=\"http://chimera.intele.com/gw/xsd/SMSGateway/Response/2013/02\">" +
+			"<batchReference>batch</batchReference>" +
+			"<messageStatus><statusCode>1</statusCode><statusMessage>Message enqueued for sending</statusMessage>" +
+			"<clientReference>ref</clientReference><recipient>+4741000000</recipient><messageId>id</messageId>" +
+			"<sequenceIndex>1</sequenceIndex></messageStatus>" +
+			"</ns2:response>";
+	private static final String JSON_RESPONSE = "{\"batchReference\":\"batch\",\"messageStatus\":[{\"statusCode\":1," +
+			"\"statusMessage\":\"OK\",\"clientReference\":\"ref\",\"recipient\":\"+4741000000\",\"messageId\":\"id\"," +
+			"\"sequenceIndex\":1}]}";
+
+	private HttpServer server;
+	private volatile int status = 200;
+	private volatile String receivedBody;
+	private volatile String receivedContentType;
+	private volatile String receivedContentEncoding;
+	private volatile int receivedLength;
+	private volatile int sentLength;
+	private GatewayTransport transport;
+
+	@Test
+	public void testSend() {
+		Response response = transport.send(request("content"), Response.class);
+
+		assertThat(response.getBatchReference()).isEqualTo("batch");
+		assertThat(response.getMessageStatus()).hasSize(1);
+		assertThat(response.getMessageStatus().get(0).getMessageId()).isEqualTo("id");
+		assertThat(receivedContentType).isEqualTo(MediaType.APPLICATION_XML);
+		assertThat(receivedBody).contains("<recipient>+4741000000</recipient>");
+	}
+
+	@Test
+	public void testSendJson() {
+		GatewayTransport jsonTransport = new HttpUrlConnectionTransport.Factory().create(target(), MediaType.APPLICATION_JSON_TYPE);
+		Response response = jsonTransport.send(request("content"), Response.class);
+
+		assertThat(response.getMessageStatus().get(0).getMessageId()).isEqualTo("id");
+		assertThat(receivedContentType).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThat(receivedBody).contains("\"recipient\":\"+4741000000\"");
+		jsonTransport.close();
+	}
+
+	@Test
+	public void testSendCompressed() throws Exception {
+		GatewayTransport compressingTransport = new HttpUrlConnectionTransport.Factory().withRequestCompression(0).
+				create(target(), MediaType.APPLICATION_XML_TYPE);
+		Response response = compressingTransport.send(request("content"), Response.class);
+
+		assertThat(response.getMessageStatus().get(0).getMessageId()).isEqualTo("id");
+		assertThat(receivedContentEncoding).isEqualTo("gzip");
+		assertThat(receivedBody).contains("<recipient>+4741000000</recipient>");
+		try(StreamingResponse streamingResponse = compressingTransport.send(request("content"), StreamingResponse.class)) {
+			assertThat(streamingResponse.next()).isTrue();
+			assertThat(streamingResponse.getClientReference()).isEqualTo("ref");
+		}
+		compressingTransport.close();
+	}
+
+	@Test
+	public void testSendBelowCompressionThreshold() throws Exception {
+		GatewayTransport compressingTransport = new HttpUrlConnectionTransport.Factory().withRequestCompression(64 * 1024).
+				create(target(), MediaType.APPLICATION_XML_TYPE);
+		Response response = compressingTransport.send(request("content"), Response.class);
+
+		assertThat(response.getMessageStatus().get(0).getMessageId()).isEqualTo("id");
+		assertThat(receivedContentEncoding).isNull();
+		assertThat(receivedBody).contains("<recipient>+4741000000</recipient>");
+		compressingTransport.close();
+	}
+
+	@Test
+	public void testSendAsync() throws Exception {
+		Future<Response> future = transport.sendAsync(request("content"), Response.class, 5, TimeUnit.SECONDS, null);
+
+		assertThat(future.get(5, TimeUnit.SECONDS).getMessageStatus().get(0).getStatusCode()).isEqualTo(1);
+	}
+
+	@Test
+	public void testSendAsyncTimesOutWhileQueued() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		final CountDownLatch release = new CountDownLatch(1);
+		GatewayTransport queueingTransport = new HttpUrlConnectionTransport.Factory().withExecutor(executor).
+				create(target(), MediaType.APPLICATION_XML_TYPE);
+		try {
+			executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						release.await();
+					} catch(InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+			Future<Response> future = queueingTransport.sendAsync(request("content"), Response.class, 100, TimeUnit.MILLISECONDS, null);
+			try {
+				future.get(5, TimeUnit.SECONDS);
+				failBecauseExceptionWasNotThrown(ExecutionException.class);
+			} catch(ExecutionException expected) {
+				assertThat(expected.getCause()).isInstanceOf(ProcessingException.class);
+				assertThat(expected.getCause().getCause()).isInstanceOf(SocketTimeoutException.class);
+			}
+		} finally {
+			release.countDown();
+			queueingTransport.close();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testSendStreaming() throws Exception {
+		try(StreamingResponse response = transport.send(request("content"), StreamingResponse.class)) {
+			assertThat(response.getBatchReference()).isEqualTo("batch");
+			assertThat(response.next()).isTrue();
+			assertThat(response.getClientReference()).isEqualTo("ref");
+			assertThat(response.next()).isFalse();
+		}
+	}
+
+	@Test
+	public void testErrorStatus() throws Exception {
+		status = 500;
+		try {
+			transport.send(request("content"), Response.class);
+			failBecauseExceptionWasNotThrown(InternalServerErrorException.class);
+		} catch(InternalServerErrorException expected) { }
+
+		try {
+			transport.sendAsync(request("content"), Response.class, 0, TimeUnit.SECONDS, null).get(5, TimeUnit.SECONDS);
+			failBecauseExceptionWasNotThrown(ExecutionException.class);
+		} catch(ExecutionException expected) {
+			assertThat(expected.getCause()).isInstanceOf(InternalServerErrorException.class);
+		}
+	}
+
+	@Test
+	public void testListenerCountsBytesOnTheWire() throws Exception {
+		final AtomicLong bytesSent = new AtomicLong();
+		final AtomicLong bytesReceived = new AtomicLong();
+		GatewayListener listener = new GatewayListener.Adapter() {
+			@Override
+			public void onBytesSent(long bytes) {
+				bytesSent.addAndGet(bytes);
+			}
+			@Override
+			public void onBytesReceived(long bytes) {
+				bytesReceived.addAndGet(bytes);
+			}
+		};
+		GatewayTransport countingTransport = new HttpUrlConnectionTransport.Factory().withListener(listener).
+				create(target(), MediaType.APPLICATION_XML_TYPE);
+		countingTransport.send(request("content"), Response.class);
+		assertThat(bytesSent.get()).isEqualTo(receivedLength);
+		assertThat(bytesReceived.get()).isEqualTo(sentLength);
+		countingTransport.close();
+
+		bytesSent.set(0);
+		bytesReceived.set(0);
+		GatewayTransport compressingTransport = new HttpUrlConnectionTransport.Factory().withRequestCompression(0).withListener(listener).
+				create(target(), MediaType.APPLICATION_XML_TYPE);
+		compressingTransport.send(request("content"), Response.class);
+		assertThat(receivedContentEncoding).isEqualTo("gzip");
+		assertThat(bytesSent.get()).isEqualTo(receivedLength);
+		assertThat(bytesReceived.get()).isEqualTo(sentLength);
+		compressingTransport.close();
+	}
+
+	@Test
+	public void testUnsupportedMediaType() {
+		GatewayTransport atomTransport = new HttpUrlConnectionTransport.Factory().create(target(), MediaType.APPLICATION_ATOM_XML_TYPE);
+		try {
+			atomTransport.send(request("content"), Response.class);
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch(IllegalStateException expected) { }
+		atomTransport.close();
+	}
+
+	@Before
+	public void initialize() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/gw/rs/sendMessages", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				receivedContentType = exchange.getRequestHeaders().getFirst("Content-Type");
+				receivedContentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+				byte[] requestBody = bytes(exchange.getRequestBody());
+				receivedLength = requestBody.length;
+				InputStream in = new ByteArrayInputStream(requestBody);
+				receivedBody = read("gzip".equals(receivedContentEncoding) ? new GZIPInputStream(in) : in);
+				boolean json = MediaType.APPLICATION_JSON.equals(receivedContentType);
+				byte[] body = (json ? JSON_RESPONSE : RESPONSE).getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type", json ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_XML);
+				if("gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"))) {
+					ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+					try(GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+						gzip.write(body);
+					}
+					body = compressed.toByteArray();
+					exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+				}
+				sentLength = body.length;
+				exchange.sendResponseHeaders(status, body.length);
+				try(OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			}
+		});
+		server.start();
+		transport = new HttpUrlConnectionTransport.Factory().
+				withConnectTimeout(5, TimeUnit.SECONDS).
+				withReadTimeout(5, TimeUnit.SECONDS).
+				create(target(), MediaType.APPLICATION_XML_TYPE);
+	}
+
+	@After
+	public void shutdown() {
+		transport.close();
+		server.stop(0);
+	}
+
+	private String target() {
+		return "http://localhost:" + server.getAddress().getPort() + "/gw/rs/sendMessages";
+	}
+}
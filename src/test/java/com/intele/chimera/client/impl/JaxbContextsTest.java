@@ -0,0 +1,93 @@
+package com.intele.chimera.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.MediaType;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import org.junit.Test;
+
+import com.intele.chimera.gw.xsd.smsgateway.fault._2013._02.Fault;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+public class JaxbContextsTest {
+
+	@Test
+	public void shouldShareOneContextPerSchemaPackage() throws Exception {
+		JaxbContexts.initialize();
+
+		assertThat(JaxbContexts.pool(Request.class)).isSameAs(JaxbContexts.pool(Message.class));
+		assertThat(JaxbContexts.pool(Response.class)).isSameAs(JaxbContexts.pool(MessageStatus.class));
+		assertThat(JaxbContexts.pool(Response.class)).isNotSameAs(JaxbContexts.pool(Request.class));
+		assertThat(JaxbContexts.pool(Fault.class).getContext()).isNotNull();
+		assertThat(JaxbContexts.isGatewayType(Request.class)).isTrue();
+		assertThat(JaxbContexts.isGatewayType(String.class)).isFalse();
+	}
+
+	@Test
+	public void shouldReuseReleasedMarshallers() throws Exception {
+		JaxbPool pool = JaxbContexts.pool(Request.class);
+
+		Marshaller marshaller = pool.acquireMarshaller();
+		pool.release(marshaller);
+		assertThat(pool.acquireMarshaller()).isSameAs(marshaller);
+		pool.release(marshaller);
+
+		Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+		Unmarshaller other = pool.acquireUnmarshaller();
+		assertThat(other).isNotSameAs(unmarshaller);
+		pool.release(unmarshaller);
+		pool.release(other);
+	}
+
+	@Test
+	public void shouldResolveContextsForGatewayTypesOnly() {
+		JaxbContextResolver resolver = new JaxbContextResolver();
+
+		assertThat(resolver.getContext(Response.class)).isNotNull();
+		assertThat(resolver.getContext(String.class)).isNull();
+	}
+
+	@Test
+	public void shouldReadAndWriteWithPooledProvider() throws Exception {
+		JaxbProvider provider = new JaxbProvider();
+		Response response = new Response();
+		response.setBatchReference("batch");
+		MessageStatus messageStatus = new MessageStatus();
+		messageStatus.setSequenceIndex(1);
+		response.getMessageStatus().add(messageStatus);
+
+		assertThat(provider.isWriteable(Response.class, Response.class, null, MediaType.APPLICATION_XML_TYPE)).isTrue();
+		assertThat(provider.isReadable(Fault.class, Fault.class, null, MediaType.APPLICATION_XML_TYPE)).isTrue();
+		assertThat(provider.isReadable(Response.class, Response.class, null, MediaType.APPLICATION_JSON_TYPE)).isFalse();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		provider.writeTo(response, Response.class, Response.class, null, MediaType.APPLICATION_XML_TYPE, null, out);
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		Response read = (Response) provider.readFrom((Class) Response.class, Response.class, null, MediaType.APPLICATION_XML_TYPE, null,
+				new ByteArrayInputStream(out.toByteArray()));
+
+		assertThat(read.getBatchReference()).isEqualTo("batch");
+		assertThat(read.getMessageStatus().get(0).getSequenceIndex()).isEqualTo(1);
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void shouldFailMalformedEntityAsProcessingError() throws Exception {
+		try {
+			new JaxbProvider().readFrom((Class) Response.class, Response.class, null, MediaType.APPLICATION_XML_TYPE, null,
+					new ByteArrayInputStream("<response".getBytes(StandardCharsets.UTF_8)));
+			failBecauseExceptionWasNotThrown(ProcessingException.class);
+		} catch(ProcessingException expected) { }
+	}
+}
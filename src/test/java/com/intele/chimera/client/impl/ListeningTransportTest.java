@@ -0,0 +1,123 @@
+package com.intele.chimera.client.impl;
+
+import static com.intele.chimera.client.impl.Fixtures.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.InvocationCallback;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.intele.chimera.client.GatewayListener;
+import com.intele.chimera.client.GatewayMetrics;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ListeningTransportTest {
+
+	@Mock
+	private GatewayTransport transport;
+
+	@Test
+	public void shouldReportResponsesAndFailures() {
+		GatewayMetrics metrics = new GatewayMetrics();
+		ListeningTransport listeningTransport = new ListeningTransport(transport, metrics);
+		when(transport.send(any(Request.class), eq(Response.class))).
+				thenReturn(response(1, 1)).
+				thenThrow(new ProcessingException(new ConnectException()));
+
+		listeningTransport.send(request("first", "second"), Response.class);
+		try {
+			listeningTransport.send(request("first", "second"), Response.class);
+			failBecauseExceptionWasNotThrown(ProcessingException.class);
+		} catch(ProcessingException expected) { }
+
+		GatewayMetrics.Snapshot snapshot = metrics.snapshot();
+		assertThat(snapshot.getRequests()).isEqualTo(2);
+		assertThat(snapshot.getMessages()).isEqualTo(4);
+		assertThat(snapshot.getFailures()).isEqualTo(1);
+		assertThat(snapshot.getInFlight()).isEqualTo(0);
+		assertThat(snapshot.getStatusCodeCounts()).containsEntry(1, 2L).hasSize(1);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldReportAsynchronousOutcomeBeforeCallback() throws Exception {
+		final GatewayMetrics metrics = new GatewayMetrics();
+		ListeningTransport listeningTransport = new ListeningTransport(transport, metrics);
+		final AtomicReference<SettableFuture<Response>> pending = new AtomicReference<>();
+		when(transport.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+				thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				pending.set(new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[4]));
+				return pending.get();
+			}
+		});
+		final AtomicReference<GatewayMetrics.Snapshot> seenByCallback = new AtomicReference<>();
+
+		Future<Response> future = listeningTransport.sendAsync(request("first", "second"), Response.class, 0, TimeUnit.SECONDS, new InvocationCallback<Response>() {
+			@Override
+			public void completed(Response response) {
+				seenByCallback.set(metrics.snapshot());
+			}
+			@Override
+			public void failed(Throwable throwable) {
+			}
+		});
+		assertThat(metrics.snapshot().getInFlight()).isEqualTo(1);
+		pending.get().complete(response(1, 4));
+		assertThat(future.get()).isNotNull();
+		assertThat(seenByCallback.get().getInFlight()).isEqualTo(0);
+		assertThat(seenByCallback.get().getStatusCodeCounts()).containsEntry(1, 1L).containsEntry(4, 1L);
+
+		future = listeningTransport.sendAsync(request("first", "second"), Response.class, 0, TimeUnit.SECONDS, null);
+		assertThat(future.cancel(true)).isTrue();
+		assertThat(metrics.snapshot().getFailures()).isEqualTo(1);
+		assertThat(metrics.snapshot().getInFlight()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldIgnoreFailingListeners() {
+		GatewayMetrics metrics = new GatewayMetrics();
+		GatewayListener failing = new GatewayListener.Adapter() {
+			@Override
+			public void onSend(Request request) {
+				throw new IllegalStateException();
+			}
+		};
+		ListeningTransport listeningTransport = new ListeningTransport(transport, GatewayListeners.of(Arrays.asList(failing, metrics)));
+		when(transport.send(any(Request.class), eq(Response.class))).thenReturn(response(1));
+
+		assertThat(listeningTransport.send(request("first", "second"), Response.class)).isNotNull();
+		assertThat(metrics.snapshot().getRequests()).isEqualTo(1);
+	}
+
+	private static Response response(int... statusCodes) {
+		Response response = new Response();
+		for(int statusCode : statusCodes) {
+			MessageStatus messageStatus = new MessageStatus();
+			messageStatus.setStatusCode(statusCode);
+			response.getMessageStatus().add(messageStatus);
+		}
+		return response;
+	}
+}
@@ -0,0 +1,219 @@
+package com.intele.chimera.client.impl;
+
+import static com.intele.chimera.client.impl.Fixtures.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.InvocationCallback;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LoadBalancingTransportTest {
+
+	@Mock
+	private GatewayTransport primary;
+	@Mock
+	private GatewayTransport secondary;
+
+	@Test
+	public void shouldFailOverWhenNotConnected() {
+		LoadBalancingTransport transport = new LoadBalancingTransport(Arrays.asList(primary, secondary), 1, 1, TimeUnit.MINUTES);
+		Response response = new Response();
+		when(primary.send(any(Request.class), eq(Response.class))).thenThrow(new ProcessingException(new ConnectException()));
+		when(secondary.send(any(Request.class), eq(Response.class))).thenReturn(response);
+
+		for(int i = 0; i < 4; i++) {
+			assertThat(transport.send(request("content"), Response.class)).isSameAs(response);
+		}
+		// primary is ejected after its first failure
+		verify(primary, times(1)).send(any(Request.class), eq(Response.class));
+		verify(secondary, times(4)).send(any(Request.class), eq(Response.class));
+	}
+
+	@Test
+	public void shouldNotFailOverWhenRequestMayHaveBeenProcessed() {
+		LoadBalancingTransport transport = new LoadBalancingTransport(Arrays.asList(primary, secondary), 3, 1, TimeUnit.MINUTES);
+		ProcessingException timeout = new ProcessingException(new SocketTimeoutException());
+		when(primary.send(any(Request.class), eq(Response.class))).thenThrow(timeout);
+		when(secondary.send(any(Request.class), eq(Response.class))).thenThrow(timeout);
+
+		for(int i = 0; i < 2; i++) {
+			try {
+				transport.send(request("content"), Response.class);
+				failBecauseExceptionWasNotThrown(ProcessingException.class);
+			} catch(ProcessingException expected) {
+				assertThat(expected).isSameAs(timeout);
+			}
+		}
+		// the second request avoids the endpoint that failed the first
+		verify(primary, times(1)).send(any(Request.class), eq(Response.class));
+		verify(secondary, times(1)).send(any(Request.class), eq(Response.class));
+	}
+
+	@Test
+	public void shouldThrowLastFailureWhenAllEndpointsFail() {
+		LoadBalancingTransport transport = new LoadBalancingTransport(Arrays.asList(primary, secondary), 1, 1, TimeUnit.MINUTES);
+		WebApplicationException unavailable = new WebApplicationException(503);
+		ProcessingException refused = new ProcessingException(new ConnectException());
+		when(primary.send(any(Request.class), eq(Response.class))).thenThrow(unavailable);
+		when(secondary.send(any(Request.class), eq(Response.class))).thenThrow(refused);
+
+		try {
+			transport.send(request("content"), Response.class);
+			failBecauseExceptionWasNotThrown(RuntimeException.class);
+		} catch(RuntimeException expected) {
+			assertThat(expected.getSuppressed()).hasSize(1);
+		}
+		verify(primary, times(1)).send(any(Request.class), eq(Response.class));
+		verify(secondary, times(1)).send(any(Request.class), eq(Response.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldPreferLeastOutstanding() throws Exception {
+		final LoadBalancingTransport transport = new LoadBalancingTransport(Arrays.asList(primary, secondary), 1, 1, TimeUnit.MINUTES);
+		final AtomicReference<GatewayTransport> busy = new AtomicReference<>();
+		final CountDownLatch sent = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		for(final GatewayTransport endpoint : Arrays.asList(primary, secondary)) {
+			when(endpoint.send(any(Request.class), eq(Response.class))).thenAnswer(new Answer<Response>() {
+				@Override
+				public Response answer(InvocationOnMock invocation) throws InterruptedException {
+					busy.set(endpoint);
+					sent.countDown();
+					release.await();
+					return new Response();
+				}
+			});
+			when(endpoint.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+					thenAnswer(new Answer<Future<Response>>() {
+				@Override
+				public Future<Response> answer(InvocationOnMock invocation) {
+					SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[4]);
+					future.complete(new Response());
+					return future;
+				}
+			});
+		}
+
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				transport.send(request("content"), Response.class);
+			}
+		};
+		thread.start();
+		sent.await();
+		for(int i = 0; i < 4; i++) {
+			transport.sendAsync(request("content"), Response.class, 0, TimeUnit.SECONDS, null).get(1, TimeUnit.SECONDS);
+		}
+		release.countDown();
+		thread.join();
+
+		// every asynchronous request goes to the endpoint without an outstanding request
+		GatewayTransport idle = busy.get() == primary ? secondary : primary;
+		verify(busy.get(), never()).sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class));
+		verify(idle, times(4)).sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldFailOverAsynchronously() throws Exception {
+		LoadBalancingTransport transport = new LoadBalancingTransport(Arrays.asList(primary, secondary), 1, 1, TimeUnit.MINUTES);
+		final Response response = new Response();
+		when(primary.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+				thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[4]);
+				future.fail(new WebApplicationException(503));
+				return future;
+			}
+		});
+		when(secondary.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+				thenThrow(new ProcessingException(new ConnectException()));
+
+		try {
+			transport.sendAsync(request("content"), Response.class, 0, TimeUnit.SECONDS, null).get(1, TimeUnit.SECONDS);
+			failBecauseExceptionWasNotThrown(ExecutionException.class);
+		} catch(ExecutionException expected) {
+			assertThat(expected.getCause().getSuppressed()).hasSize(1);
+		}
+
+		when(primary.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+				thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[4]);
+				future.complete(response);
+				return future;
+			}
+		});
+		// both are ejected, the one ejected longest ago is used
+		assertThat(transport.sendAsync(request("content"), Response.class, 0, TimeUnit.SECONDS, null).get(1, TimeUnit.SECONDS)).isSameAs(response);
+		verify(primary, never()).send(any(Request.class), eq(Response.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldCancelFailoverAfterSynchronousFailure() {
+		LoadBalancingTransport transport = new LoadBalancingTransport(Arrays.asList(primary, secondary), 1, 1, TimeUnit.MINUTES);
+		final Future<Response> failover = mock(Future.class);
+		final AtomicInteger attempts = new AtomicInteger();
+		for(GatewayTransport endpoint : Arrays.asList(primary, secondary)) {
+			when(endpoint.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+					thenAnswer(new Answer<Future<Response>>() {
+				@Override
+				public Future<Response> answer(InvocationOnMock invocation) {
+					if(attempts.incrementAndGet() > 1) {
+						return failover;
+					}
+					SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[4]);
+					future.fail(new WebApplicationException(503));
+					return future;
+				}
+			});
+		}
+
+		Future<Response> future = transport.sendAsync(request("content"), Response.class, 0, TimeUnit.SECONDS, null);
+		assertThat(attempts.get()).isEqualTo(2);
+		assertThat(future.cancel(true)).isTrue();
+		verify(failover).cancel(true);
+	}
+
+	@Test
+	public void shouldCloseAllEndpoints() {
+		new LoadBalancingTransport(Arrays.asList(primary, secondary), 1, 1, TimeUnit.MINUTES).close();
+		verify(primary).close();
+		verify(secondary).close();
+	}
+}
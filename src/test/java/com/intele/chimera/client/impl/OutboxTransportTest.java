@@ -0,0 +1,132 @@
+package com.intele.chimera.client.impl;
+
+import static com.intele.chimera.client.impl.Fixtures.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.InvocationCallback;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.intele.chimera.client.Outbox;
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OutboxTransportTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	@Mock
+	private GatewayTransport transport;
+
+	@Test
+	public void shouldKeepMessagesPendingOnlyWhileSending() throws Exception {
+		Outbox outbox = new Outbox.Builder(folder.getRoot().toPath()).build();
+		final OutboxTransport outboxTransport = new OutboxTransport(transport, outbox);
+		final Outbox.Entry[] inFlight = new Outbox.Entry[2];
+		when(transport.send(any(Request.class), eq(Response.class))).thenAnswer(new Answer<Response>() {
+			@Override
+			public Response answer(InvocationOnMock invocation) throws Exception {
+				// a crash now leaves both messages pending
+				Outbox replayed = reopen();
+				inFlight[0] = replayed.getPending().get(0);
+				inFlight[1] = replayed.getPending().get(1);
+				return new Response();
+			}
+		}).thenThrow(new ProcessingException(new ConnectException()));
+
+		outboxTransport.send(request("first", "second"), Response.class);
+		assertThat(inFlight[0].getMessage().getContent()).isEqualTo("first");
+		assertThat(inFlight[1].getMessage().getContent()).isEqualTo("second");
+		try {
+			outboxTransport.send(request("first", "second"), Response.class);
+			failBecauseExceptionWasNotThrown(ProcessingException.class);
+		} catch(ProcessingException expected) { }
+		outbox.close();
+
+		outbox = new Outbox.Builder(folder.getRoot().toPath()).build();
+		assertThat(outbox.getPending()).isEmpty();
+		outbox.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldSendAsynchronouslyOnceSynced() throws Exception {
+		Outbox outbox = new Outbox.Builder(folder.getRoot().toPath()).build();
+		OutboxTransport outboxTransport = new OutboxTransport(transport, outbox);
+		final Response response = new Response();
+		when(transport.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+				thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[4]);
+				future.complete(response);
+				return future;
+			}
+		});
+
+		assertThat(outboxTransport.sendAsync(request("first", "second"), Response.class, 0, TimeUnit.SECONDS, null).get(1, TimeUnit.SECONDS)).isSameAs(response);
+		outbox.close();
+
+		outbox = new Outbox.Builder(folder.getRoot().toPath()).build();
+		assertThat(outbox.getPending()).isEmpty();
+		outbox.close();
+	}
+
+	@Test
+	public void shouldAcknowledgeAppendedMessagesWhenAnAppendFails() throws Exception {
+		Outbox outbox = new Outbox.Builder(folder.getRoot().toPath()).withSegmentSize(4096).build();
+		OutboxTransport outboxTransport = new OutboxTransport(transport, outbox);
+		char[] content = new char[5000];
+		Arrays.fill(content, 'x');
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(1, "username", "password").build();
+		gatewayRequest.addMessage(new Sms.Builder("+4741000000", "first").build());
+		gatewayRequest.addMessage(new Sms.Builder("+4741000000", new String(content)).build());
+
+		try {
+			outboxTransport.send(gatewayRequest.getRequest(), Response.class);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		verify(transport, never()).send(any(Request.class), eq(Response.class));
+		outbox.close();
+
+		outbox = new Outbox.Builder(folder.getRoot().toPath()).build();
+		assertThat(outbox.getPending()).isEmpty();
+		outbox.close();
+	}
+
+	/**
+	 * Opens a copy of the journal, as a restarted process would see it.
+	 */
+	private Outbox reopen() throws Exception {
+		java.io.File copy = folder.newFolder();
+		for(java.io.File segment : folder.getRoot().listFiles()) {
+			if(segment.isFile()) {
+				java.nio.file.Files.copy(segment.toPath(), copy.toPath().resolve(segment.getName()));
+			}
+		}
+		return new Outbox.Builder(copy.toPath()).build();
+	}
+}
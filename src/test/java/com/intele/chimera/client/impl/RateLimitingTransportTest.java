@@ -0,0 +1,116 @@
+package com.intele.chimera.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.InvocationCallback;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.intele.chimera.client.RateLimitExceededException;
+import com.intele.chimera.client.RateLimiter;
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RateLimitingTransportTest {
+
+	@Mock
+	private GatewayTransport transport;
+	private final RateLimiter rateLimiter = new RateLimiter.Builder(100).withBurst(10).build();
+
+	@After
+	public void close() {
+		rateLimiter.close();
+	}
+
+	@Test
+	public void shouldCountMessagesAndFailBeyondMaxWait() {
+		RateLimitingTransport rateLimitingTransport = new RateLimitingTransport(transport, rateLimiter, 0, TimeUnit.SECONDS);
+		Response response = new Response();
+		when(transport.send(any(Request.class), eq(Response.class))).thenReturn(response);
+
+		assertThat(rateLimitingTransport.send(request(1, 10), Response.class)).isSameAs(response);
+		try {
+			rateLimitingTransport.send(request(1, 1), Response.class);
+			failBecauseExceptionWasNotThrown(RateLimitExceededException.class);
+		} catch(RateLimitExceededException expected) {
+			assertThat(expected.getServiceId()).isEqualTo(1);
+			assertThat(expected.getMessages()).isEqualTo(1);
+		}
+		assertThat(rateLimitingTransport.send(request(2, 1), Response.class)).isSameAs(response);
+		verify(transport, times(2)).send(any(Request.class), eq(Response.class));
+	}
+
+	@Test
+	public void shouldBlockUntilPermitsAreDue() {
+		RateLimitingTransport rateLimitingTransport = new RateLimitingTransport(transport, rateLimiter, RateLimitingTransport.NO_MAX_WAIT, TimeUnit.SECONDS);
+
+		rateLimitingTransport.send(request(1, 10), Response.class);
+		long start = System.nanoTime();
+		rateLimitingTransport.send(request(1, 5), Response.class);
+
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(45));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldSendAsynchronouslyOnceDue() throws Exception {
+		RateLimitingTransport rateLimitingTransport = new RateLimitingTransport(transport, rateLimiter, 1, TimeUnit.SECONDS);
+		final Response response = new Response();
+		when(transport.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+				thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[4]);
+				future.complete(response);
+				return future;
+			}
+		});
+
+		assertThat(rateLimitingTransport.sendAsync(request(1, 10), Response.class, 0, TimeUnit.SECONDS, null).get(0, TimeUnit.SECONDS)).isSameAs(response);
+		Future<Response> waiting = rateLimitingTransport.sendAsync(request(1, 5), Response.class, 0, TimeUnit.SECONDS, null);
+		assertThat(waiting.isDone()).isFalse();
+		assertThat(waiting.get(1, TimeUnit.SECONDS)).isSameAs(response);
+
+		try {
+			rateLimitingTransport.sendAsync(request(1, 1000), Response.class, 0, TimeUnit.SECONDS, null).get(0, TimeUnit.SECONDS);
+			failBecauseExceptionWasNotThrown(ExecutionException.class);
+		} catch(ExecutionException expected) {
+			assertThat(expected.getCause()).isInstanceOf(RateLimitExceededException.class);
+		}
+
+		Future<Response> cancelled = rateLimitingTransport.sendAsync(request(1, 10), Response.class, 0, TimeUnit.SECONDS, null);
+		assertThat(cancelled.cancel(true)).isTrue();
+		Thread.sleep(150);
+		verify(transport, times(2)).sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class));
+		verify(transport, never()).send(any(Request.class), eq(Response.class));
+	}
+
+	private static Request request(int serviceId, int messages) {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(serviceId, "username", "password").build();
+		for(int i = 0; i < messages; i++) {
+			gatewayRequest.addMessage(new Sms.Builder("+4741000000", "content").build());
+		}
+		return gatewayRequest.getRequest();
+	}
+}
@@ -0,0 +1,117 @@
+package com.intele.chimera.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.ws.rs.core.MediaType;
+import javax.xml.datatype.DatatypeFactory;
+
+import org.junit.Test;
+
+import com.intele.chimera.client.request.GasSettings;
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.SendWindow;
+import com.intele.chimera.client.request.SettingsInterner;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.OriginatorTypeEnum;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Parameter;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+
+public class RequestJsonWriterTest {
+
+	private final RequestJsonWriter writer = new RequestJsonWriter();
+
+	@Test
+	public void shouldWriteRequiredFields() throws Exception {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(100, "username", "password").build();
+		gatewayRequest.addMessage(new Sms.Builder("+4741000000", "Test message").build());
+
+		assertThat(write(gatewayRequest.getRequest())).isEqualTo("{\"serviceId\":100,\"username\":\"username\",\"password\":\"password\","
+				+ "\"message\":[{\"recipient\":\"+4741000000\",\"content\":\"Test message\"}]}");
+	}
+
+	@Test
+	public void shouldWriteAllFieldsInSchemaOrder() throws Exception {
+		DatatypeFactory df = DatatypeFactory.newInstance();
+		Parameter parameter = new Parameter();
+		parameter.setKey("key");
+		parameter.setValue("value");
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(-100, "user", "pass").
+				withBatchReference("batch").
+				build();
+		gatewayRequest.addMessage(new Sms.Builder("+4741000000", "content").
+				withAge(18).
+				withClientReference("clientReference").
+				withDifferentiator("differentiator").
+				withGasSettings(new GasSettings.Builder("05002").withDescription("description").build()).
+				withInvoiceNode("invoiceNode").
+				withNewSession(false).
+				withOriginatorSettings(OriginatorTypeEnum.ALPHANUMERIC, "Intelecom").
+				withParameters(Arrays.asList(parameter)).
+				withPrice(Integer.MIN_VALUE).
+				withPriority(3).
+				withSafeRemoveNonGsmCharacters(true).
+				withSendWindow(new SendWindow.Builder(df.newXMLGregorianCalendar("2015-08-06T09:05:03.25+02:00")).
+						withStopDate(df.newXMLGregorianCalendar("2015-08-09")).
+						withStopTime(df.newXMLGregorianCalendar("2015-08-09T23:00:00Z")).
+						build()).
+				withSessionId("sessionId").
+				withValidity(173).
+				build());
+
+		assertThat(write(gatewayRequest.getRequest())).isEqualTo("{\"serviceId\":-100,\"username\":\"user\",\"password\":\"pass\","
+				+ "\"batchReference\":\"batch\",\"message\":[{\"recipient\":\"+4741000000\",\"content\":\"content\","
+				+ "\"price\":-2147483648,\"clientReference\":\"clientReference\",\"settings\":{"
+				+ "\"originatorSettings\":{\"originator\":\"Intelecom\",\"originatorType\":\"Alphanumeric\"},"
+				+ "\"priority\":3,\"validity\":173,\"differentiator\":\"differentiator\",\"age\":18,"
+				+ "\"gasSettings\":{\"serviceCode\":\"05002\",\"description\":\"description\"},"
+				+ "\"newSession\":false,\"sessionId\":\"sessionId\",\"invoiceNode\":\"invoiceNode\","
+				+ "\"sendWindow\":{\"startDate\":\"2015-08-06+02:00\",\"stopDate\":\"2015-08-09\",\"startTime\":\"09:05:03.25+02:00\",\"stopTime\":\"23:00:00Z\"},"
+				+ "\"safeRemoveNonGsmCharacters\":true,\"parameter\":[{\"key\":\"key\",\"value\":\"value\"}]}}]}");
+	}
+
+	@Test
+	public void shouldEscapeStrings() throws Exception {
+		Request request = new Request();
+		request.setUsername("\"quoted\" \\ /\r\n\t\b\f\u0001");
+		request.setPassword("Blåbær 20€ 😀");
+
+		assertThat(write(request)).isEqualTo("{\"serviceId\":0,\"username\":\"\\\"quoted\\\" \\\\ /\\r\\n\\t\\b\\f\\u0001\","
+				+ "\"password\":\"Blåbær 20€ 😀\",\"message\":[]}");
+	}
+
+	@Test
+	public void shouldWriteSharedSettingsLikeOwnSettings() throws Exception {
+		SettingsInterner interner = new SettingsInterner.Builder().build();
+		GatewayRequest shared = new GatewayRequest.Builder(100, "username", "password").build();
+		GatewayRequest own = new GatewayRequest.Builder(100, "username", "password").build();
+		for(int i = 0; i < 3; i++) {
+			Sms.Builder builder = new Sms.Builder("+474100000" + i, "Test message").
+					withGasSettings(new GasSettings.Builder("05002").withDescription("description").build()).
+					withOriginatorSettings(OriginatorTypeEnum.ALPHANUMERIC, "Intelecom \"co\"").
+					withPriority(3);
+			own.addMessage(builder.build());
+			shared.addMessage(builder.withSettingsInterner(interner).build());
+		}
+
+		assertThat(write(shared.getRequest())).isEqualTo(write(own.getRequest()));
+		assertThat(write(shared.getRequest())).isEqualTo(write(own.getRequest()));
+	}
+
+	@Test
+	public void shouldOnlyWriteJsonRequests() {
+		assertThat(writer.isWriteable(Request.class, Request.class, null, MediaType.APPLICATION_JSON_TYPE)).isTrue();
+		assertThat(writer.isWriteable(Request.class, Request.class, null, MediaType.APPLICATION_XML_TYPE)).isFalse();
+		assertThat(writer.isWriteable(Message.class, Message.class, null, MediaType.APPLICATION_JSON_TYPE)).isFalse();
+	}
+
+	private String write(Request request) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writer.writeTo(request, Request.class, Request.class, null, MediaType.APPLICATION_JSON_TYPE, null, out);
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
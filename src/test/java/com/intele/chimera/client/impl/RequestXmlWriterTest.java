@@ -0,0 +1,121 @@
+package com.intele.chimera.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.ws.rs.core.MediaType;
+import javax.xml.bind.JAXBContext;
+import javax.xml.datatype.DatatypeFactory;
+
+import org.junit.Test;
+
+import com.intele.chimera.client.request.GasSettings;
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.SendWindow;
+import com.intele.chimera.client.request.SettingsInterner;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.OriginatorTypeEnum;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Parameter;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Settings;
+
+/**
+ * Compares the output of the writer with the JAXB reference implementation.
+ */
+public class RequestXmlWriterTest {
+
+	private final RequestXmlWriter writer = new RequestXmlWriter();
+
+	@Test
+	public void shouldWriteSameBytesAsJaxbForRequiredFields() throws Exception {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(100, "username", "password").build();
+		gatewayRequest.addMessage(new Sms.Builder("+4741000000", "Test message").build());
+
+		assertSameAsJaxb(gatewayRequest.getRequest());
+	}
+
+	@Test
+	public void shouldWriteSameBytesAsJaxbForAllFields() throws Exception {
+		DatatypeFactory df = DatatypeFactory.newInstance();
+		Parameter parameter = new Parameter();
+		parameter.setKey("key");
+		parameter.setValue("value");
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(-100, "user & <name>", "\"pass'word\"\r\n\t").
+				withBatchReference("").
+				build();
+		gatewayRequest.addMessage(new Sms.Builder("+4741000000", "Blåbærsyltetøy koster 20€ 😀 ]]>").
+				withAge(18).
+				withClientReference("clientReference").
+				withDifferentiator("differentiator").
+				withGasSettings(new GasSettings.Builder("05002").withDescription("description").build()).
+				withInvoiceNode("invoiceNode").
+				withNewSession(false).
+				withOriginatorSettings(OriginatorTypeEnum.ALPHANUMERIC, "Intelecom").
+				withParameters(Arrays.asList(parameter, new Parameter())).
+				withPrice(Integer.MIN_VALUE).
+				withPriority(3).
+				withSafeRemoveNonGsmCharacters(true).
+				withSendWindow(new SendWindow.Builder(df.newXMLGregorianCalendar("2015-08-06T09:05:03.25+02:00")).
+						withStopDate(df.newXMLGregorianCalendar("2015-08-09")).
+						withStopTime(df.newXMLGregorianCalendar("2015-08-09T23:00:00Z")).
+						build()).
+				withSessionId("sessionId").
+				withValidity(173).
+				build());
+		gatewayRequest.addMessage(new Sms.Builder("+4741000001", "").withGasSettings(new GasSettings.Builder("05002").build()).build());
+
+		assertSameAsJaxb(gatewayRequest.getRequest());
+	}
+
+	@Test
+	public void shouldWriteSharedSettingsLikeJaxb() throws Exception {
+		DatatypeFactory df = DatatypeFactory.newInstance();
+		SettingsInterner interner = new SettingsInterner.Builder().build();
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(100, "username", "password").build();
+		for(int i = 0; i < 3; i++) {
+			gatewayRequest.addMessage(new Sms.Builder("+474100000" + i, "Test message").
+					withGasSettings(new GasSettings.Builder("05002").withDescription("description").build()).
+					withOriginatorSettings(OriginatorTypeEnum.ALPHANUMERIC, "Intelecom & co").
+					withPriority(3).
+					withSendWindow(new SendWindow.Builder(df.newXMLGregorianCalendar("2015-08-06T09:05:03.25+02:00")).build()).
+					withSettingsInterner(interner).
+					build());
+		}
+
+		assertSameAsJaxb(gatewayRequest.getRequest());
+		assertSameAsJaxb(gatewayRequest.getRequest());
+	}
+
+	@Test
+	public void shouldWriteEmptyElementsLikeJaxb() throws Exception {
+		Request request = new Request();
+		Message message = new Message();
+		message.setSettings(new Settings());
+		message.getSettings().setAutoDetectEncoding(true);
+		request.getMessage().add(message);
+		request.getMessage().add(new Message());
+
+		assertSameAsJaxb(request);
+	}
+
+	@Test
+	public void shouldOnlyWriteXmlRequests() {
+		assertThat(writer.isWriteable(Request.class, Request.class, null, MediaType.APPLICATION_XML_TYPE)).isTrue();
+		assertThat(writer.isWriteable(Request.class, Request.class, null, MediaType.APPLICATION_JSON_TYPE)).isFalse();
+		assertThat(writer.isWriteable(Message.class, Message.class, null, MediaType.APPLICATION_XML_TYPE)).isFalse();
+	}
+
+	private void assertSameAsJaxb(Request request) throws Exception {
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		JAXBContext.newInstance(Request.class).createMarshaller().marshal(request, expected);
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		writer.writeTo(request, Request.class, Request.class, null, MediaType.APPLICATION_XML_TYPE, null, actual);
+
+		assertThat(new String(actual.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(new String(expected.toByteArray(), StandardCharsets.UTF_8));
+		assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+	}
+}
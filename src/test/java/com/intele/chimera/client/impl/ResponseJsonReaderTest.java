@@ -0,0 +1,95 @@
+package com.intele.chimera.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+public class ResponseJsonReaderTest {
+
+	private final ResponseJsonReader reader = new ResponseJsonReader();
+
+	@Test
+	public void shouldReadAllFields() throws Exception {
+		Response response = read("{\"batchReference\":\"batch\",\"messageStatus\":[{\"statusCode\":1,\"statusMessage\":\"OK\","
+				+ "\"clientReference\":\"ref\",\"recipient\":\"+4741000000\",\"messageId\":\"id\",\"sessionId\":\"session\","
+				+ "\"sequenceIndex\":1},{\"statusCode\":-3,\"sequenceIndex\":2}]}");
+
+		assertThat(response.getBatchReference()).isEqualTo("batch");
+		assertThat(response.getMessageStatus()).hasSize(2);
+		MessageStatus first = response.getMessageStatus().get(0);
+		assertThat(first.getStatusCode()).isEqualTo(1);
+		assertThat(first.getStatusMessage()).isEqualTo("OK");
+		assertThat(first.getClientReference()).isEqualTo("ref");
+		assertThat(first.getRecipient()).isEqualTo("+4741000000");
+		assertThat(first.getMessageId()).isEqualTo("id");
+		assertThat(first.getSessionId()).isEqualTo("session");
+		assertThat(first.getSequenceIndex()).isEqualTo(1);
+		assertThat(response.getMessageStatus().get(1).getStatusCode()).isEqualTo(-3);
+		assertThat(response.getMessageStatus().get(1).getStatusMessage()).isNull();
+	}
+
+	@Test
+	public void shouldAcceptProviderVariants() throws Exception {
+		Response response = read(" {\"response\" : {\"unknown\":{\"a\":[1,{\"b\":null}]},\"messageStatus\":{\"statusCode\":\"7\","
+				+ "\"statusMessage\":\"Bl\\u00e5bær \\\"20€\\\" 😀\",\"sequenceIndex\":1.0,\"recipient\":null},"
+				+ "\"batchReference\":\"batch\"}}\n");
+
+		assertThat(response.getBatchReference()).isEqualTo("batch");
+		assertThat(response.getMessageStatus()).hasSize(1);
+		MessageStatus messageStatus = response.getMessageStatus().get(0);
+		assertThat(messageStatus.getStatusCode()).isEqualTo(7);
+		assertThat(messageStatus.getStatusMessage()).isEqualTo("Blåbær \"20€\" 😀");
+		assertThat(messageStatus.getSequenceIndex()).isEqualTo(1);
+		assertThat(messageStatus.getRecipient()).isNull();
+	}
+
+	@Test
+	public void shouldReadLargeResponses() throws Exception {
+		StringBuilder json = new StringBuilder("{\"batchReference\":\"batch\",\"messageStatus\":[");
+		for(int i = 1; i <= 10000; i++) {
+			json.append(i > 1 ? "," : "").append("{\"statusCode\":1,\"statusMessage\":\"Message ").append(i).
+					append(" accepted\",\"sequenceIndex\":").append(i).append('}');
+		}
+		Response response = read(json.append("]}").toString());
+
+		assertThat(response.getMessageStatus()).hasSize(10000);
+		assertThat(response.getMessageStatus().get(9999).getSequenceIndex()).isEqualTo(10000);
+		assertThat(response.getMessageStatus().get(9999).getStatusMessage()).isEqualTo("Message 10000 accepted");
+	}
+
+	@Test
+	public void shouldRejectMalformedDocuments() throws Exception {
+		for(String json : new String[] {"", "[]", "{\"batchReference\":\"batch\"", "{\"batchReference\" \"batch\"}",
+				"{\"messageStatus\":[{\"statusCode\":1.5}]}", "{\"messageStatus\":[{\"statusCode\":99999999999}]}",
+				"{\"batchReference\":tru}", "{} {}"}) {
+			try {
+				read(json);
+				fail("Expected failure for " + json);
+			} catch(IOException e) {
+				assertThat(e.getMessage()).contains("offset");
+			}
+		}
+	}
+
+	@Test
+	public void shouldOnlyReadJsonResponses() {
+		assertThat(reader.isReadable(Response.class, Response.class, null, MediaType.APPLICATION_JSON_TYPE)).isTrue();
+		assertThat(reader.isReadable(Response.class, Response.class, null, MediaType.APPLICATION_XML_TYPE)).isFalse();
+		assertThat(reader.isReadable(MessageStatus.class, MessageStatus.class, null, MediaType.APPLICATION_JSON_TYPE)).isFalse();
+	}
+
+	private Response read(String json) throws Exception {
+		return reader.readFrom(Response.class, Response.class, null, MediaType.APPLICATION_JSON_TYPE, null,
+				new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+}
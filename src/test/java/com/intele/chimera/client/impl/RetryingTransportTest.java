@@ -0,0 +1,229 @@
+package com.intele.chimera.client.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.InvocationCallback;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import com.intele.chimera.client.RetryPolicy;
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RetryingTransportTest {
+
+	@Mock
+	private GatewayTransport transport;
+
+	@Test
+	public void shouldRetryUntilSuccess() {
+		RetryingTransport retryingTransport = new RetryingTransport(transport, policy().build());
+		Response response = new Response();
+		when(transport.send(any(Request.class), eq(Response.class))).
+				thenThrow(new ProcessingException(new ConnectException())).
+				thenThrow(new WebApplicationException(503)).
+				thenReturn(response);
+
+		assertThat(retryingTransport.send(request(null), Response.class)).isSameAs(response);
+		verify(transport, times(3)).send(any(Request.class), eq(Response.class));
+		retryingTransport.close();
+	}
+
+	@Test
+	public void shouldThrowLastFailureWithEarlierSuppressed() {
+		RetryingTransport retryingTransport = new RetryingTransport(transport, policy().withMaxAttempts(2).build());
+		ProcessingException first = new ProcessingException(new ConnectException());
+		WebApplicationException last = new WebApplicationException(503);
+		when(transport.send(any(Request.class), eq(Response.class))).thenThrow(first).thenThrow(last);
+
+		try {
+			retryingTransport.send(request(null), Response.class);
+			failBecauseExceptionWasNotThrown(WebApplicationException.class);
+		} catch(WebApplicationException expected) {
+			assertThat(expected).isSameAs(last);
+			assertThat(expected.getSuppressed()).containsExactly(first);
+		}
+		verify(transport, times(2)).send(any(Request.class), eq(Response.class));
+		retryingTransport.close();
+	}
+
+	@Test
+	public void shouldNotRetryAmbiguousFailuresByDefault() {
+		RetryingTransport retryingTransport = new RetryingTransport(transport, policy().build());
+		when(transport.send(any(Request.class), eq(Response.class))).thenThrow(new ProcessingException(new SocketTimeoutException()));
+
+		try {
+			retryingTransport.send(request("ref-1"), Response.class);
+			failBecauseExceptionWasNotThrown(ProcessingException.class);
+		} catch(ProcessingException expected) { }
+		verify(transport, times(1)).send(any(Request.class), eq(Response.class));
+		retryingTransport.close();
+	}
+
+	@Test
+	public void shouldRetryAmbiguousFailuresOnlyWithClientReferences() {
+		RetryingTransport retryingTransport = new RetryingTransport(transport, policy().withAmbiguousRetries(true).build());
+		when(transport.send(any(Request.class), eq(Response.class))).thenThrow(new ProcessingException(new SocketTimeoutException()));
+
+		try {
+			retryingTransport.send(request(null), Response.class);
+			failBecauseExceptionWasNotThrown(ProcessingException.class);
+		} catch(ProcessingException expected) { }
+		verify(transport, times(1)).send(any(Request.class), eq(Response.class));
+
+		try {
+			retryingTransport.send(request("ref-1"), Response.class);
+			failBecauseExceptionWasNotThrown(ProcessingException.class);
+		} catch(ProcessingException expected) { }
+		verify(transport, times(4)).send(any(Request.class), eq(Response.class));
+		retryingTransport.close();
+	}
+
+	@Test
+	public void shouldNotRetryPermanentFailures() {
+		RetryingTransport retryingTransport = new RetryingTransport(transport, policy().build());
+		when(transport.send(any(Request.class), eq(Response.class))).thenThrow(new WebApplicationException(400));
+
+		try {
+			retryingTransport.send(request("ref-1"), Response.class);
+			failBecauseExceptionWasNotThrown(WebApplicationException.class);
+		} catch(WebApplicationException expected) { }
+		verify(transport, times(1)).send(any(Request.class), eq(Response.class));
+		retryingTransport.close();
+	}
+
+	@Test
+	public void shouldStopRetryingWhenBudgetIsSpent() {
+		RetryingTransport retryingTransport = new RetryingTransport(transport, policy().withRetryBudget(0, 2).build());
+		when(transport.send(any(Request.class), eq(Response.class))).thenThrow(new WebApplicationException(503));
+
+		for(int i = 0; i < 3; i++) {
+			try {
+				retryingTransport.send(request(null), Response.class);
+				failBecauseExceptionWasNotThrown(WebApplicationException.class);
+			} catch(WebApplicationException expected) { }
+		}
+		// 3 attempts for the first request, 1 for each later request
+		verify(transport, times(5)).send(any(Request.class), eq(Response.class));
+		retryingTransport.close();
+	}
+
+	@Test
+	public void shouldNotRetryBeyondDeadline() {
+		RetryingTransport retryingTransport = new RetryingTransport(transport, new RetryPolicy.Builder().
+				withBackoff(1, 1, TimeUnit.SECONDS).
+				withDeadline(500, TimeUnit.MILLISECONDS).
+				build());
+		when(transport.send(any(Request.class), eq(Response.class))).thenThrow(new WebApplicationException(
+				javax.ws.rs.core.Response.status(503).header("Retry-After", "1").build()));
+
+		long start = System.nanoTime();
+		try {
+			retryingTransport.send(request(null), Response.class);
+			failBecauseExceptionWasNotThrown(WebApplicationException.class);
+		} catch(WebApplicationException expected) { }
+		assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+		verify(transport, times(1)).send(any(Request.class), eq(Response.class));
+		retryingTransport.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldRetryAsynchronously() throws Exception {
+		RetryingTransport retryingTransport = new RetryingTransport(transport, policy().build());
+		final Response response = new Response();
+		final AtomicInteger attempts = new AtomicInteger();
+		when(transport.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+				thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				assertThat((Long) invocation.getArguments()[2]).isGreaterThan(0L).isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+				SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[4]);
+				if(attempts.incrementAndGet() < 3) {
+					future.fail(new WebApplicationException(503));
+				} else {
+					future.complete(response);
+				}
+				return future;
+			}
+		});
+
+		assertThat(retryingTransport.sendAsync(request(null), Response.class, 1, TimeUnit.SECONDS, null).get(1, TimeUnit.SECONDS)).isSameAs(response);
+		assertThat(attempts.get()).isEqualTo(3);
+
+		attempts.set(-100);
+		try {
+			retryingTransport.sendAsync(request(null), Response.class, 1, TimeUnit.SECONDS, null).get(1, TimeUnit.SECONDS);
+			failBecauseExceptionWasNotThrown(ExecutionException.class);
+		} catch(ExecutionException expected) {
+			assertThat(expected.getCause()).isInstanceOf(WebApplicationException.class);
+			assertThat(expected.getCause().getSuppressed()).hasSize(2);
+		}
+		retryingTransport.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldCancelPendingRetry() throws Exception {
+		ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+		ScheduledFuture<?> pendingRetry = mock(ScheduledFuture.class);
+		doReturn(pendingRetry).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+		RetryingTransport retryingTransport = new RetryingTransport(transport, new RetryPolicy.Builder().
+				withBackoff(200, 200, TimeUnit.MILLISECONDS).
+				withScheduler(scheduler).
+				build());
+		when(transport.sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class))).
+				thenAnswer(new Answer<Future<Response>>() {
+			@Override
+			public Future<Response> answer(InvocationOnMock invocation) {
+				SettableFuture<Response> future = new SettableFuture<>((InvocationCallback<Response>) invocation.getArguments()[4]);
+				future.fail(new WebApplicationException(503));
+				return future;
+			}
+		});
+
+		Future<Response> future = retryingTransport.sendAsync(request(null), Response.class, 0, TimeUnit.SECONDS, null);
+		assertThat(future.cancel(true)).isTrue();
+		verify(pendingRetry).cancel(true);
+		verify(transport, times(1)).sendAsync(any(Request.class), eq(Response.class), anyLong(), any(TimeUnit.class), any(InvocationCallback.class));
+		retryingTransport.close();
+	}
+
+	private static RetryPolicy.Builder policy() {
+		return new RetryPolicy.Builder().withBackoff(1, 5, TimeUnit.MILLISECONDS);
+	}
+
+	private static Request request(String clientReference) {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(1, "username", "password").build();
+		gatewayRequest.addMessage(new Sms.Builder("+4741000000", "content").withClientReference(clientReference).build());
+		return gatewayRequest.getRequest();
+	}
+}
@@ -0,0 +1,69 @@
+package com.intele.chimera.client.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.intele.chimera.client.request.ContentAnalysis.Encoding;
+
+public class ContentAnalysisTest {
+
+	@Test
+	public void shouldCountSeptetsOfTheBasicAndExtensionSets() {
+		ContentAnalysis analysis = ContentAnalysis.of("Æ@£ {€}\n");
+
+		assertThat(analysis.getEncoding()).isEqualTo(Encoding.GSM_7);
+		assertThat(analysis.getLength()).isEqualTo(11);
+		assertThat(analysis.getSegments()).isEqualTo(1);
+		assertThat(analysis.getNonGsmCharacters()).isEmpty();
+		assertThat(ContentAnalysis.isGsm("Æ@£ {€}\n")).isTrue();
+	}
+
+	@Test
+	public void shouldSplitGsmContentInSegments() {
+		assertThat(ContentAnalysis.segments(repeat('a', 160))).isEqualTo(1);
+		assertThat(ContentAnalysis.segments(repeat('a', 161))).isEqualTo(2);
+		assertThat(ContentAnalysis.segments(repeat('a', 306))).isEqualTo(2);
+		assertThat(ContentAnalysis.segments(repeat('a', 307))).isEqualTo(3);
+		// 80 escaped characters fit a single message, but an escaped character is not split over two segments
+		assertThat(ContentAnalysis.segments(repeat('€', 80))).isEqualTo(1);
+		assertThat(ContentAnalysis.of(repeat('a', 152) + "€" + repeat('a', 10)).getSegments()).isEqualTo(2);
+		assertThat(ContentAnalysis.of(repeat('a', 152) + "€" + repeat('a', 152)).getSegments()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldFallBackToUcs2ForOtherCharacters() {
+		ContentAnalysis analysis = ContentAnalysis.of("Hello `world` 😀 ǅ 😀");
+
+		assertThat(analysis.getEncoding()).isEqualTo(Encoding.UCS_2);
+		assertThat(analysis.getLength()).isEqualTo(42);
+		assertThat(analysis.getSegments()).isEqualTo(1);
+		assertThat(analysis.getNonGsmCharacters()).isEqualTo("`😀ǅ");
+		assertThat(ContentAnalysis.isGsm("Hello `world`")).isFalse();
+		assertThat(ContentAnalysis.isGsm('`')).isFalse();
+	}
+
+	@Test
+	public void shouldSplitUcs2ContentInSegments() {
+		assertThat(ContentAnalysis.segments(repeat('ж', 70))).isEqualTo(1);
+		assertThat(ContentAnalysis.segments(repeat('ж', 71))).isEqualTo(2);
+		assertThat(ContentAnalysis.segments(repeat('ж', 134))).isEqualTo(2);
+		// a surrogate pair is not split over two segments
+		assertThat(ContentAnalysis.segments(repeat('ж', 66) + "😀" + repeat('ж', 66))).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldAnalyzeEmptyContentAsOneSegment() {
+		assertThat(ContentAnalysis.of(null).getSegments()).isEqualTo(1);
+		assertThat(ContentAnalysis.of("").getLength()).isEqualTo(0);
+		assertThat(ContentAnalysis.isGsm((CharSequence) null)).isTrue();
+	}
+
+	private static String repeat(char c, int count) {
+		StringBuilder builder = new StringBuilder();
+		for(int i = 0; i < count; i++) {
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,73 @@
+package com.intele.chimera.client.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import org.junit.Test;
+
+import com.intele.chimera.client.request.ContentOptimizer.Fidelity;
+
+public class ContentOptimizerTest {
+
+	@Test
+	public void shouldReturnGsmContentAsIs() {
+		String content = "Hei, {navn}! Æ ø å €";
+
+		assertThat(ContentOptimizer.DEFAULT.optimize(content)).isSameAs(content);
+		assertThat(ContentOptimizer.DEFAULT.optimize(null)).isNull();
+	}
+
+	@Test
+	public void shouldTransliterateToGsm() {
+		String optimized = ContentOptimizer.DEFAULT.optimize("“Don’t” – Łódź café​…");
+
+		assertThat(optimized).isEqualTo("\"Don't\" - Lodz café...");
+		assertThat(ContentAnalysis.isGsm(optimized)).isTrue();
+	}
+
+	@Test
+	public void shouldReduceTheSegments() {
+		StringBuilder content = new StringBuilder("It’s");
+		for(int i = 0; i < 100; i++) {
+			content.append('a');
+		}
+		assertThat(ContentAnalysis.segments(content)).isEqualTo(2);
+
+		assertThat(ContentAnalysis.segments(ContentOptimizer.DEFAULT.optimize(content.toString()))).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldKeepContentWithoutTransliterationWhenStrict() {
+		String content = "“Done” ✓";
+
+		assertThat(ContentOptimizer.DEFAULT.optimize(content)).isSameAs(content);
+	}
+
+	@Test
+	public void shouldReplaceCharactersWithoutTransliterationWhenLossy() {
+		ContentOptimizer optimizer = new ContentOptimizer.Builder().
+				withTransliteration('✓', "OK").
+				withFidelity(Fidelity.LOSSY).
+				withReplacement("").
+				build();
+
+		assertThat(optimizer.optimize("“Done” ✓ 😀")).isEqualTo("\"Done\" OK ");
+	}
+
+	@Test
+	public void shouldKeepTheContentWhenTransliterationTakesMoreSegments() {
+		StringBuilder content = new StringBuilder();
+		for(int i = 0; i < 70; i++) {
+			content.append('…');
+		}
+		assertThat(ContentOptimizer.DEFAULT.optimize(content.toString())).isEqualTo(content.toString());
+	}
+
+	@Test
+	public void transliterationsMustBeGsm() {
+		try {
+			new ContentOptimizer.Builder().withTransliteration('✓', "✔");
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+}
@@ -1,10 +1,12 @@
 package com.intele.chimera.client.request;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 import org.junit.Test;
 
 import com.intele.chimera.client.request.GatewayRequest.Builder;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
 import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Request;
 
 /**
@@ -53,4 +55,78 @@ public class GatewayRequestTest {
 		assertThat(request.getBatchReference()).isEqualTo(batchReference);
 		assertThat(request.getMessage()).containsExactly(sms.getMessage());
 	}
+
+	@Test
+	public void testCampaignWithSharedContent() {
+		Sms prototype = new Sms.Builder(null, null).withPrice(100).withPriority(3).build();
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(123, "username", "password").build();
+		gatewayRequest.addMessage(new Sms.Builder("+4741000000", "first").build());
+
+		gatewayRequest.addMessages(new GatewayRequest.Campaign(new String[] {"+4741000001", "+4741000002"}).
+				withContent("content").
+				withClientReferences(new String[] {"ref1", null}).
+				withPrototype(prototype));
+
+		Request request = gatewayRequest.getRequest();
+		assertThat(request.getMessage()).hasSize(3);
+		Message first = request.getMessage().get(1);
+		Message second = request.getMessage().get(2);
+		assertThat(first.getRecipient()).isEqualTo("+4741000001");
+		assertThat(first.getContent()).isEqualTo("content");
+		assertThat(first.getClientReference()).isEqualTo("ref1");
+		assertThat(first.getPrice()).isEqualTo(100);
+		assertThat(second.getRecipient()).isEqualTo("+4741000002");
+		assertThat(second.getContent()).isEqualTo("content");
+		assertThat(second.getClientReference()).isNull();
+		assertThat(first.getSettings()).isSameAs(second.getSettings()).isNotSameAs(prototype.getMessage().getSettings());
+		assertThat(first.getSettings().getPriority()).isEqualTo(3);
+		try {
+			first.getSettings().setPriority(1);
+			failBecauseExceptionWasNotThrown(UnsupportedOperationException.class);
+		} catch(UnsupportedOperationException e) {
+		}
+	}
+
+	@Test
+	public void testCampaignWithContentPerRecipient() {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(123, "username", "password").build();
+
+		gatewayRequest.addMessages(new GatewayRequest.Campaign(new String[] {"+4741000001", "+4741000002"}).
+				withContents(new String[] {"one", "two"}).
+				withPrices(new int[] {0, 200}));
+
+		Request request = gatewayRequest.getRequest();
+		assertThat(request.getMessage()).hasSize(2);
+		assertThat(request.getMessage().get(0).getContent()).isEqualTo("one");
+		assertThat(request.getMessage().get(0).getPrice()).isEqualTo(0);
+		assertThat(request.getMessage().get(1).getContent()).isEqualTo("two");
+		assertThat(request.getMessage().get(1).getPrice()).isEqualTo(200);
+		assertThat(request.getMessage().get(1).getSettings()).isNull();
+	}
+
+	@Test
+	public void testCampaignRejectsColumnsOfOtherLengths() {
+		GatewayRequest.Campaign campaign = new GatewayRequest.Campaign(new String[] {"+4741000001", "+4741000002"});
+		try {
+			campaign.withContents(new String[] {"one"});
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException e) {
+		}
+		try {
+			campaign.withPrices(new int[3]);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException e) {
+		}
+	}
+
+	@Test
+	public void testCampaignRequiresContent() {
+		GatewayRequest gatewayRequest = new GatewayRequest.Builder(123, "username", "password").build();
+		try {
+			gatewayRequest.addMessages(new GatewayRequest.Campaign(new String[] {"+4741000001"}));
+			failBecauseExceptionWasNotThrown(IllegalStateException.class);
+		} catch(IllegalStateException e) {
+		}
+		assertThat(gatewayRequest.getRequest().getMessage()).isEmpty();
+	}
 }
@@ -0,0 +1,78 @@
+package com.intele.chimera.client.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class RecipientNormalizerTest {
+
+	private final RecipientNormalizer normalizer = new RecipientNormalizer.Builder().
+			withDefaultCountryCode(47).
+			withNationalNumberLength(47, 8, 8).
+			build();
+
+	@Test
+	public void shouldNormalizeInternationalNumbers() {
+		assertThat(normalizer.normalize("+4741700000")).isEqualTo("+4741700000");
+		assertThat(normalizer.normalize(" +47 417 00 000 ")).isEqualTo("+4741700000");
+		assertThat(normalizer.normalize("0047 (417) 00-000")).isEqualTo("+4741700000");
+		assertThat(normalizer.normalize("+1 (212) 555-0100")).isEqualTo("+12125550100");
+		assertThat(normalizer.normalize("+44 20 7946 0958")).isEqualTo("+442079460958");
+		assertThat(normalizer.normalize("+354 555 1234")).isEqualTo("+3545551234");
+	}
+
+	@Test
+	public void shouldNormalizeNationalNumbersToTheDefaultCountry() {
+		assertThat(normalizer.normalize("417 00 000")).isEqualTo("+4741700000");
+		assertThat(normalizer.normalize("041700000")).isEqualTo("+4741700000");
+		assertThat(normalizer.normalize("x41700000".toCharArray(), 1, 8)).isEqualTo("+4741700000");
+		assertThat(new RecipientNormalizer.Builder().build().normalize("41700000")).isNull();
+	}
+
+	@Test
+	public void shouldRejectInvalidNumbers() {
+		String[] invalid = {
+				"", "+", "+47 417", "4170000", "+47 417 00 0000", "+0 417 00 000", "+28 12345678", "+3 0 5", "+47+41700000",
+				"41 70 00 0a", "+1234567890123456", "00"
+		};
+		for(String recipient : invalid) {
+			assertThat(normalizer.normalize(recipient)).as(recipient).isNull();
+			assertThat(normalizer.isValid(recipient)).isFalse();
+		}
+		assertThat(normalizer.normalize((CharSequence) null)).isNull();
+	}
+
+	@Test
+	public void shouldCacheResults() {
+		RecipientNormalizer cachingNormalizer = new RecipientNormalizer.Builder().withDefaultCountryCode(47).withCacheSize(2).build();
+		String first = cachingNormalizer.normalize("417 00 000");
+
+		assertThat(cachingNormalizer.normalize("417 00 000")).isSameAs(first);
+		assertThat(cachingNormalizer.normalize("+47 1")).isNull();
+		assertThat(cachingNormalizer.normalize("+47 1")).isNull();
+	}
+
+	@Test
+	public void shouldDeduplicateBatches() {
+		RecipientNormalizer.Batch batch = normalizer.normalizeAll(Arrays.asList("+4741700000", "417 00 000", "invalid", "41700001", "0047 41700001"));
+
+		assertThat(batch.getRecipients()).containsExactly("+4741700000", "+4741700001");
+		assertThat(batch.getInvalid()).containsExactly("invalid");
+		assertThat(batch.getDuplicates()).isEqualTo(2);
+	}
+
+	@Test
+	public void countryCodesMustBeAssigned() {
+		try {
+			new RecipientNormalizer.Builder().withDefaultCountryCode(28);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			new RecipientNormalizer.Builder().withNationalNumberLength(47, 8, 14);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+}
@@ -0,0 +1,130 @@
+package com.intele.chimera.client.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.Arrays;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.junit.Test;
+
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.OriginatorTypeEnum;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Parameter;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Settings;
+
+public class SettingsInternerTest {
+
+	@Test
+	public void shouldShareEqualSettings() {
+		SettingsInterner interner = new SettingsInterner.Builder().build();
+		Settings first = settings(interner, "Intelecom", 3);
+		Settings second = settings(interner, "Intelecom", 3);
+
+		assertThat(first).isSameAs(second).isInstanceOf(SettingsInterner.SharedSettings.class);
+		assertThat(SettingsInterner.isShared(first)).isTrue();
+		assertThat(SettingsInterner.isShared(first.getOriginatorSettings())).isTrue();
+		assertThat(SettingsInterner.isShared(first.getGasSettings())).isTrue();
+		assertThat(first.getPriority()).isEqualTo(3);
+		assertThat(first.getOriginatorSettings().getOriginator()).isEqualTo("Intelecom");
+		assertThat(first.getGasSettings().getServiceCode()).isEqualTo("05002");
+		assertThat(first.getParameter()).hasSize(1);
+		assertThat(first.getParameter().get(0).getKey()).isEqualTo("key");
+		assertThat(interner.intern(first)).isSameAs(first);
+	}
+
+	@Test
+	public void shouldNotShareDifferentSettings() {
+		SettingsInterner interner = new SettingsInterner.Builder().build();
+
+		assertThat(settings(interner, "Intelecom", 3)).isNotSameAs(settings(interner, "Intelecom", 2));
+		assertThat(settings(interner, "Intelecom", 3).getOriginatorSettings()).
+				isSameAs(settings(interner, "Intelecom", 2).getOriginatorSettings()).
+				isNotSameAs(settings(interner, "Other", 3).getOriginatorSettings());
+		assertThat(interner.intern((Settings) null)).isNull();
+	}
+
+	@Test
+	public void shouldRejectModifications() throws Exception {
+		SettingsInterner interner = new SettingsInterner.Builder().build();
+		XMLGregorianCalendar start = DatatypeFactory.newInstance().newXMLGregorianCalendar("2015-08-06T09:05:03Z");
+		Settings settings = new Sms.Builder("+4741000000", "Test message").
+				withOriginatorSettings(OriginatorTypeEnum.ALPHANUMERIC, "Intelecom").
+				withParameters(Arrays.asList(parameter("key", "value"))).
+				withSendWindow(new SendWindow.Builder(start).build()).
+				withSettingsInterner(interner).
+				build().getMessage().getSettings();
+		try {
+			settings.setPriority(1);
+			failBecauseExceptionWasNotThrown(UnsupportedOperationException.class);
+		} catch(UnsupportedOperationException e) {
+		}
+		try {
+			settings.getOriginatorSettings().setOriginator("Other");
+			failBecauseExceptionWasNotThrown(UnsupportedOperationException.class);
+		} catch(UnsupportedOperationException e) {
+		}
+		try {
+			settings.getParameter().add(parameter("other", "value"));
+			failBecauseExceptionWasNotThrown(UnsupportedOperationException.class);
+		} catch(UnsupportedOperationException e) {
+		}
+		try {
+			settings.getParameter().get(0).setValue("other");
+			failBecauseExceptionWasNotThrown(UnsupportedOperationException.class);
+		} catch(UnsupportedOperationException e) {
+		}
+		start.setYear(2016);
+		settings.getSendWindow().getStartDate().setYear(2017);
+		assertThat(settings.getSendWindow().getStartDate().getYear()).isEqualTo(2015);
+	}
+
+	@Test
+	public void shouldKeepMostRecentlyUsedSettings() {
+		SettingsInterner interner = new SettingsInterner.Builder().withMaxSize(2).build();
+		Settings first = settings(interner, "Intelecom", 1);
+		Settings second = settings(interner, "Intelecom", 2);
+		assertThat(settings(interner, "Intelecom", 1)).isSameAs(first);
+
+		settings(interner, "Intelecom", 3);
+		assertThat(settings(interner, "Intelecom", 1)).isSameAs(first);
+		assertThat(settings(interner, "Intelecom", 2)).isNotSameAs(second);
+	}
+
+	@Test
+	public void shouldRejectInvalidMaxSize() {
+		try {
+			new SettingsInterner.Builder().withMaxSize(0);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException e) {
+		}
+	}
+
+	@Test
+	public void shouldCacheBytesBySerializer() {
+		SettingsInterner.SharedSettings settings = (SettingsInterner.SharedSettings) settings(new SettingsInterner.Builder().build(), "Intelecom", 3);
+		byte[] bytes = {1, 2, 3};
+		settings.putCachedBytes(String.class, bytes);
+
+		assertThat(settings.getCachedBytes(String.class)).isSameAs(bytes);
+		assertThat(settings.getCachedBytes(Integer.class)).isNull();
+	}
+
+	private static Settings settings(SettingsInterner interner, String originator, int priority) {
+		return new Sms.Builder("+4741000000", "Test message").
+				withOriginatorSettings(OriginatorTypeEnum.ALPHANUMERIC, originator).
+				withGasSettings(new GasSettings.Builder("05002").build()).
+				withParameters(Arrays.asList(parameter("key", "value"))).
+				withPriority(priority).
+				withSettingsInterner(interner).
+				build().getMessage().getSettings();
+	}
+
+	private static Parameter parameter(String key, String value) {
+		Parameter parameter = new Parameter();
+		parameter.setKey(key);
+		parameter.setValue(value);
+		return parameter;
+	}
+}
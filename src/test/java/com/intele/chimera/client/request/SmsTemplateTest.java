@@ -0,0 +1,90 @@
+package com.intele.chimera.client.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.intele.chimera.client.request.ContentAnalysis.Encoding;
+import com.intele.chimera.gw.xsd.smsgateway.request._2013._02.Message;
+
+public class SmsTemplateTest {
+
+	@Test
+	public void shouldRenderPlaceholdersInOrderOfFirstAppearance() {
+		SmsTemplate template = new SmsTemplate.Builder("Hi {name}, order {id} has shipped. {{{name}}}").build();
+
+		assertThat(template.getPlaceholders()).containsExactly("name", "id");
+		Message message = template.render("+4741000000", "ref", "Kari", "42").getMessage();
+		assertThat(message.getContent()).isEqualTo("Hi Kari, order 42 has shipped. {Kari}");
+		assertThat(message.getRecipient()).isEqualTo("+4741000000");
+		assertThat(message.getClientReference()).isEqualTo("ref");
+
+		Map<String, String> values = new HashMap<>();
+		values.put("name", "Ola");
+		values.put("id", "7");
+		assertThat(template.render("+4741000001", null, values).getMessage().getContent()).isEqualTo("Hi Ola, order 7 has shipped. {Ola}");
+	}
+
+	@Test
+	public void shouldShareThePrototypeSettings() {
+		Sms prototype = new Sms.Builder(null, null).withPrice(100).withPriority(3).build();
+		SmsTemplate template = new SmsTemplate.Builder("Your code is {code}").withPrototype(prototype).build();
+
+		Message first = template.render("+4741000000", null, "1234").getMessage();
+		Message second = template.render("+4741000001", null, "5678").getMessage();
+		assertThat(first.getSettings()).isSameAs(second.getSettings()).isNotSameAs(prototype.getMessage().getSettings());
+		assertThat(first.getPrice()).isEqualTo(100);
+
+		prototype.getMessage().getSettings().setPriority(1);
+		assertThat(first.getSettings().getPriority()).isEqualTo(3);
+		try {
+			first.getSettings().setPriority(1);
+			failBecauseExceptionWasNotThrown(UnsupportedOperationException.class);
+		} catch(UnsupportedOperationException expected) { }
+		assertThat(second.getContent()).isEqualTo("Your code is 5678");
+		assertThat(new SmsTemplate.Builder("text").build().render("+4741000000", null).getMessage().getSettings()).isNull();
+	}
+
+	@Test
+	public void shouldRecordTheEncodingAndWorstCaseSegments() {
+		SmsTemplate code = new SmsTemplate.Builder("Your code is {code}").withMaxLength("code", 6).build();
+		assertThat(code.getEncoding()).isEqualTo(Encoding.GSM_7);
+		assertThat(code.getMaxSegments()).isEqualTo(1);
+
+		SmsTemplate unbounded = new SmsTemplate.Builder("Your code is {code}").build();
+		assertThat(unbounded.getMaxSegments()).isEqualTo(SmsTemplate.UNBOUNDED);
+
+		SmsTemplate long160 = new SmsTemplate.Builder("{a}").withMaxLength("a", 80).build();
+		assertThat(long160.getMaxSegments()).isEqualTo(1);
+		SmsTemplate long162 = new SmsTemplate.Builder("{a}").withMaxLength("a", 81).build();
+		assertThat(long162.getMaxSegments()).isEqualTo(2);
+
+		SmsTemplate ucs = new SmsTemplate.Builder("Ваш код {code}").withMaxLength("code", 62).build();
+		assertThat(ucs.getEncoding()).isEqualTo(Encoding.UCS_2);
+		assertThat(ucs.getMaxSegments()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldRejectInvalidTemplatesAndValues() {
+		for(String invalid : new String[] {"{", "{}", "}", "a {b {c}}", "{a"}) {
+			try {
+				new SmsTemplate.Builder(invalid);
+				failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+			} catch(IllegalArgumentException expected) { }
+		}
+		SmsTemplate template = new SmsTemplate.Builder("Your code is {code}").withMaxLength("code", 4).build();
+		try {
+			template.render("+4741000000", null, "12345");
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+		try {
+			template.render("+4741000000", null, Collections.<String, String> emptyMap());
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+}
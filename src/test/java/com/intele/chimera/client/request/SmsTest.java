@@ -1,6 +1,7 @@
 package com.intele.chimera.client.request;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 
 import java.util.Arrays;
 import java.util.List;
@@ -107,4 +108,59 @@ public class SmsTest {
 		assertThat(settings.isNewSession()).isEqualTo(newSession);
 		assertThat(settings.isSafeRemoveNonGsmCharacters()).isEqualTo(safeRemoveNonGsmCharacters);
 	}
+
+	@Test
+	public void testContentAnalysis() {
+		Sms.Builder builder = new Sms.Builder("recipient", "Ærlig talt {}");
+
+		assertThat(builder.analyzeContent().getLength()).isEqualTo(15);
+		assertThat(builder.build().analyzeContent().getEncoding()).isEqualTo(ContentAnalysis.Encoding.GSM_7);
+	}
+
+	@Test
+	public void testBuilderRejectsContentAboveMaxSegments() {
+		StringBuilder content = new StringBuilder();
+		for(int i = 0; i < 161; i++) {
+			content.append('a');
+		}
+		assertThat(new Sms.Builder("recipient", content.toString()).withMaxSegments(2).build()).isNotNull();
+		try {
+			new Sms.Builder("recipient", content.toString()).withMaxSegments(1).build();
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+
+	@Test
+	public void testBuilderRejectsNonGsmCharacters() {
+		try {
+			new Sms.Builder("recipient", "Grüß Gott ✓").withGsmCharactersOnly(true).build();
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) {
+			assertThat(expected).hasMessageEndingWith("✓");
+		}
+		assertThat(new Sms.Builder("recipient", "Grüß Gott ✓").
+				withGsmCharactersOnly(true).
+				withSafeRemoveNonGsmCharacters(true).
+				build()).isNotNull();
+	}
+
+	@Test
+	public void testBuilderOptimizesContent() {
+		Sms.Builder builder = new Sms.Builder("recipient", "It’s “ok”").withContentOptimizer(ContentOptimizer.DEFAULT);
+
+		assertThat(builder.analyzeContent().getEncoding()).isEqualTo(ContentAnalysis.Encoding.GSM_7);
+		assertThat(builder.withGsmCharactersOnly(true).build().getMessage().getContent()).isEqualTo("It's \"ok\"");
+	}
+
+	@Test
+	public void testBuilderNormalizesRecipient() {
+		RecipientNormalizer normalizer = new RecipientNormalizer.Builder().withDefaultCountryCode(47).build();
+
+		assertThat(new Sms.Builder("417 00 000", "content").withRecipientNormalizer(normalizer).build().getMessage().getRecipient()).
+				isEqualTo("+4741700000");
+		try {
+			new Sms.Builder("417", "content").withRecipientNormalizer(normalizer).build();
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
 }
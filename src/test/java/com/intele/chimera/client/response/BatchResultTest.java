@@ -0,0 +1,96 @@
+package com.intele.chimera.client.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.bind.JAXBContext;
+
+import org.junit.Test;
+
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+public class BatchResultTest {
+
+	@Test
+	public void shouldLookUpStatusesByClientReferenceAndMessageId() {
+		BatchResult result = BatchResult.of(response(10000));
+
+		assertThat(result.getBatchReference()).isEqualTo("batch");
+		assertThat(result.size()).isEqualTo(10000);
+		for(int i = 0; i < 10000; i++) {
+			int slot = result.indexOfClientReference("ref-" + i);
+			assertThat(slot).isEqualTo(i);
+			assertThat(result.indexOfMessageId("id-" + i)).isEqualTo(slot);
+			assertThat(result.getSequenceIndex(slot)).isEqualTo(i + 1);
+			assertThat(result.getStatusCode(slot)).isEqualTo(i % 10 == 0 ? 4 : 1);
+			assertThat(result.getRecipient(slot)).isEqualTo("+47" + (41000000 + i));
+		}
+		assertThat(result.indexOfClientReference("ref-10000")).isEqualTo(BatchResult.NOT_FOUND);
+		assertThat(result.indexOfMessageId(null)).isEqualTo(BatchResult.NOT_FOUND);
+	}
+
+	@Test
+	public void shouldShareStatusMessages() {
+		BatchResult result = BatchResult.of(response(20));
+
+		assertThat(result.getStatusMessage(0)).isEqualTo("Invalid recipient");
+		assertThat(result.getStatusMessage(1)).isSameAs(result.getStatusMessage(2)).isEqualTo("Message enqueued for sending");
+	}
+
+	@Test
+	public void shouldKeepTheFirstSlotOfDuplicateReferences() {
+		BatchResult result = new BatchResult.Builder(null, 0).
+				add(status(1, "ref", null, 1)).
+				add(status(2, "ref", null, 1)).
+				add(status(3, null, null, 1)).
+				build();
+
+		assertThat(result.indexOfClientReference("ref")).isEqualTo(0);
+		assertThat(result.getMessageId(2)).isNull();
+		assertThat(result.getSessionId(2)).isNull();
+	}
+
+	@Test
+	public void shouldReadStreamingResponses() throws Exception {
+		Response response = response(3);
+		response.getMessageStatus().get(1).setSessionId("session");
+		ByteArrayOutputStream xml = new ByteArrayOutputStream();
+		JAXBContext.newInstance(Response.class).createMarshaller().marshal(response, xml);
+
+		BatchResult result;
+		try(StreamingResponse streamingResponse = new StreamingResponse(new ByteArrayInputStream(xml.toByteArray()))) {
+			result = BatchResult.of(streamingResponse);
+		}
+
+		assertThat(result.size()).isEqualTo(3);
+		MessageStatus messageStatus = result.toMessageStatus(result.indexOfClientReference("ref-1"));
+		assertThat(messageStatus.getSequenceIndex()).isEqualTo(2);
+		assertThat(messageStatus.getMessageId()).isEqualTo("id-1");
+		assertThat(messageStatus.getSessionId()).isEqualTo("session");
+		assertThat(messageStatus.getStatusMessage()).isEqualTo("Message enqueued for sending");
+	}
+
+	private static Response response(int size) {
+		Response response = new Response();
+		response.setBatchReference("batch");
+		for(int i = 0; i < size; i++) {
+			response.getMessageStatus().add(status(i + 1, "ref-" + i, "id-" + i, i % 10 == 0 ? 4 : 1));
+		}
+		return response;
+	}
+
+	private static MessageStatus status(int sequenceIndex, String clientReference, String messageId, int statusCode) {
+		MessageStatus messageStatus = new MessageStatus();
+		messageStatus.setSequenceIndex(sequenceIndex);
+		messageStatus.setClientReference(clientReference);
+		messageStatus.setMessageId(messageId);
+		messageStatus.setRecipient("+47" + (41000000 + sequenceIndex - 1));
+		messageStatus.setStatusCode(statusCode);
+		// distinct instances of equal messages, as unmarshalled
+		messageStatus.setStatusMessage(new String(statusCode == 4 ? "Invalid recipient" : "Message enqueued for sending"));
+		return messageStatus;
+	}
+}
@@ -0,0 +1,119 @@
+package com.intele.chimera.client.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.ProcessingException;
+import javax.xml.bind.JAXBContext;
+
+import org.junit.Test;
+
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+public class StreamingResponseTest {
+
+	@Test
+	public void shouldReadAllFieldsOfJaxbDocument() throws Exception {
+		Response response = new Response();
+		response.setBatchReference("batch");
+		for(int i = 1; i <= 3; i++) {
+			MessageStatus messageStatus = new MessageStatus();
+			messageStatus.setSequenceIndex(i);
+			messageStatus.setStatusCode(i == 2 ? 7 : 1);
+			messageStatus.setStatusMessage("status & message " + i);
+			messageStatus.setClientReference("ref" + i);
+			messageStatus.setRecipient("+474100000" + i);
+			messageStatus.setMessageId(i == 3 ? null : "id" + i);
+			messageStatus.setSessionId(i == 1 ? "session" : null);
+			response.getMessageStatus().add(messageStatus);
+		}
+		ByteArrayOutputStream xml = new ByteArrayOutputStream();
+		JAXBContext.newInstance(Response.class).createMarshaller().marshal(response, xml);
+
+		try(StreamingResponse streamingResponse = new StreamingResponse(new ByteArrayInputStream(xml.toByteArray()))) {
+			assertThat(streamingResponse.getBatchReference()).isEqualTo("batch");
+			for(MessageStatus expected : response.getMessageStatus()) {
+				assertThat(streamingResponse.next()).isTrue();
+				MessageStatus actual = streamingResponse.toMessageStatus();
+				assertThat(actual.getSequenceIndex()).isEqualTo(expected.getSequenceIndex());
+				assertThat(actual.getStatusCode()).isEqualTo(expected.getStatusCode());
+				assertThat(actual.getStatusMessage()).isEqualTo(expected.getStatusMessage());
+				assertThat(actual.getClientReference()).isEqualTo(expected.getClientReference());
+				assertThat(actual.getRecipient()).isEqualTo(expected.getRecipient());
+				assertThat(actual.getMessageId()).isEqualTo(expected.getMessageId());
+				assertThat(actual.getSessionId()).isEqualTo(expected.getSessionId());
+			}
+			assertThat(streamingResponse.next()).isFalse();
+			assertThat(streamingResponse.next()).isFalse();
+		}
+	}
+
+	@Test
+	public void shouldVisitLargeResponseWithoutReadingItFirst() throws Exception {
+		final int count = 50000;
+		InputStream document = new SequenceInputStream(
+				stream("<ns2:response xmlns:ns2=\"http://chimera.intele.com/gw/xsd/SMSGateway/Response/2013/02\">\n  <batchReference/>\n"),
+				new SequenceInputStream(new java.util.Enumeration<InputStream>() {
+					private int index = 0;
+
+					@Override
+					public boolean hasMoreElements() {
+						return index <= count;
+					}
+
+					@Override
+					public InputStream nextElement() {
+						index++;
+						if(index > count) {
+							return stream("</ns2:response>");
+						}
+						return stream("<messageStatus><statusCode>1</statusCode><statusMessage>OK</statusMessage>" +
+								"<clientReference>ref" + index + "</clientReference><recipient>+4741000000</recipient>" +
+								"<sequenceIndex>" + index + "</sequenceIndex></messageStatus>");
+					}
+				}));
+
+		final List<Integer> mismatches = new ArrayList<>();
+		final int[] visited = new int[1];
+		try(StreamingResponse streamingResponse = new StreamingResponse(document)) {
+			assertThat(streamingResponse.getBatchReference()).isEmpty();
+			streamingResponse.accept(new MessageStatusVisitor() {
+				@Override
+				public void visit(int sequenceIndex, String clientReference, String recipient, String messageId,
+						int statusCode, String statusMessage, String sessionId) {
+					visited[0]++;
+					if(!clientReference.equals("ref" + sequenceIndex) || messageId != null || statusCode != 1) {
+						mismatches.add(sequenceIndex);
+					}
+				}
+			});
+		}
+		assertThat(visited[0]).isEqualTo(count);
+		assertThat(mismatches).isEmpty();
+	}
+
+	@Test
+	public void shouldReportMalformedDocument() throws Exception {
+		StreamingResponse streamingResponse = new StreamingResponse(stream(
+				"<response><batchReference>b</batchReference><messageStatus><statusCode>x</statusCode></messageStatus></response>"));
+		try {
+			streamingResponse.next();
+			failBecauseExceptionWasNotThrown(ProcessingException.class);
+		} catch(ProcessingException expected) { }
+		assertThat(streamingResponse.next()).isFalse();
+		streamingResponse.close();
+	}
+
+	private static InputStream stream(String value) {
+		return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,102 @@
+package com.intele.chimera.stub;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Distribution of the time the {@link StubGateway} waits before it responds.
+ * <p>Responses are delayed on a scheduler rather than on the request threads, so long latencies do not limit
+ * the throughput of the stub.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public abstract class Latency {
+
+	private static final Latency NONE = new Latency() {
+		@Override
+		public long nextNanos(Random random) {
+			return 0;
+		}
+	};
+
+	/**
+	 * @param random the random number generator of the current thread
+	 * @return the latency of the next response in nanoseconds
+	 */
+	public abstract long nextNanos(Random random);
+
+	/**
+	 * @return responds at once
+	 */
+	public static Latency none() {
+		return NONE;
+	}
+
+	/**
+	 * @param latency
+	 * @param unit
+	 * @return always waits the same time
+	 */
+	public static Latency fixed(long latency, TimeUnit unit) {
+		final long nanos = toNanos(latency, unit);
+		return new Latency() {
+			@Override
+			public long nextNanos(Random random) {
+				return nanos;
+			}
+		};
+	}
+
+	/**
+	 * @param min the shortest latency
+	 * @param max the longest latency
+	 * @param unit
+	 * @return waits a time uniformly distributed between min and max
+	 */
+	public static Latency uniform(long min, long max, TimeUnit unit) {
+		final long minNanos = toNanos(min, unit);
+		final long maxNanos = toNanos(max, unit);
+		if(maxNanos < minNanos) {
+			throw new IllegalArgumentException("Max latency cannot be less than min latency.");
+		}
+		return new Latency() {
+			@Override
+			public long nextNanos(Random random) {
+				return minNanos + (long) (random.nextDouble() * (maxNanos - minNanos));
+			}
+		};
+	}
+
+	/**
+	 * <p>Log-normal latency, the usual shape of service latencies: most responses close to the median and a long tail.
+	 *
+	 * @param median the latency half of the responses are faster than
+	 * @param p99 the latency 99% of the responses are faster than
+	 * @param unit
+	 * @return waits a log-normally distributed time
+	 */
+	public static Latency logNormal(long median, long p99, TimeUnit unit) {
+		long medianNanos = toNanos(median, unit);
+		long p99Nanos = toNanos(p99, unit);
+		if(medianNanos <= 0 || p99Nanos < medianNanos) {
+			throw new IllegalArgumentException("Median latency must be positive and p99 latency cannot be less than the median.");
+		}
+		final double mu = Math.log(medianNanos);
+		// 2.326 is the 99th percentile of the standard normal distribution
+		final double sigma = Math.log((double) p99Nanos / medianNanos) / 2.326;
+		return new Latency() {
+			@Override
+			public long nextNanos(Random random) {
+				return (long) Math.exp(mu + sigma * random.nextGaussian());
+			}
+		};
+	}
+
+	private static long toNanos(long latency, TimeUnit unit) {
+		if(latency < 0) {
+			throw new IllegalArgumentException("Latency cannot be negative.");
+		}
+		return unit.toNanos(latency);
+	}
+}
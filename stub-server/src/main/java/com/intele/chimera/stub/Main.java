@@ -0,0 +1,97 @@
+package com.intele.chimera.stub;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Runs a {@link StubGateway} until the process is stopped.
+ * <p>Options, all optional:
+ * <pre>
+ * --port=8080                          port on all interfaces; a free port on the loopback interface by default
+ * --threads=8                          threads parsing requests
+ * --latency=fixed:20                   latency in milliseconds: fixed:ms, uniform:min:max or lognormal:median:p99
+ * --status=0.01:4:Invalid recipient    share of messages answered with a status code and message; repeatable
+ * --fault=0.001:503:1001:Unavailable   share of requests answered with an HTTP status and fault; repeatable
+ * --throttle=10000                     messages per second above which requests are answered with 429
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public final class Main {
+
+	private Main() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		StubGateway.Builder builder = new StubGateway.Builder();
+		try {
+			for(String arg : args) {
+				configure(builder, arg);
+			}
+		} catch(IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+		final StubGateway stub = builder.build();
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			@Override
+			public void run() {
+				stub.close();
+			}
+		}));
+		System.out.println("Stub gateway listening on " + stub.getTarget() + StubGateway.PATH);
+		new CountDownLatch(1).await();
+	}
+
+	static void configure(StubGateway.Builder builder, String arg) {
+		int equals = arg.indexOf('=');
+		if(!arg.startsWith("--") || equals < 0) {
+			throw new IllegalArgumentException("Invalid option " + arg + ", expected --name=value.");
+		}
+		String name = arg.substring(2, equals);
+		String value = arg.substring(equals + 1);
+		try {
+			switch(name) {
+			case "port":
+				builder.withAddress(new InetSocketAddress(Integer.parseInt(value)));
+				break;
+			case "threads":
+				builder.withThreads(Integer.parseInt(value));
+				break;
+			case "latency":
+				builder.withLatency(latency(value.split(":")));
+				break;
+			case "status":
+				String[] status = value.split(":", 3);
+				builder.withMessageStatus(Double.parseDouble(status[0]), Integer.parseInt(status[1]), status[2]);
+				break;
+			case "fault":
+				String[] fault = value.split(":", 4);
+				builder.withFault(Double.parseDouble(fault[0]), Integer.parseInt(fault[1]), Integer.parseInt(fault[2]), fault[3]);
+				break;
+			case "throttle":
+				builder.withThrottling(Integer.parseInt(value));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown option " + arg + ".");
+			}
+		} catch(NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Invalid option " + arg + ".", e);
+		}
+	}
+
+	private static Latency latency(String[] value) {
+		switch(value[0]) {
+		case "fixed":
+			return Latency.fixed(Long.parseLong(value[1]), TimeUnit.MILLISECONDS);
+		case "uniform":
+			return Latency.uniform(Long.parseLong(value[1]), Long.parseLong(value[2]), TimeUnit.MILLISECONDS);
+		case "lognormal":
+			return Latency.logNormal(Long.parseLong(value[1]), Long.parseLong(value[2]), TimeUnit.MILLISECONDS);
+		default:
+			throw new IllegalArgumentException("Unknown latency " + value[0] + ".");
+		}
+	}
+}
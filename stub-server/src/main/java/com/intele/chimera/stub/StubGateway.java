@@ -0,0 +1,580 @@
+package com.intele.chimera.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Stub of the SMS Gateway send API, to load-test and failure-test senders without sending messages.
+ * <p>The stub answers {@code POST /gw/rs/sendMessages} with SMSGateway-2013-02 documents, as XML or JSON depending on
+ * the {@code Accept} header. Requests are checked for a service, and a recipient and content per message; invalid
+ * requests are answered with 400 and a fault document. Gzip-compressed requests are accepted.
+ * <p>What the stub answers is configurable:
+ * <ul>
+ * <li>the latency of the responses, see {@link Latency}</li>
+ * <li>the share of messages answered with other status codes than {@value #DEFAULT_STATUS_CODE}</li>
+ * <li>the share of requests answered with an HTTP error and a fault document</li>
+ * <li>a message rate above which requests are answered with 429 and {@code Retry-After}</li>
+ * </ul>
+ * <p>Requests are parsed without an object model and responses are delayed on a scheduler rather than on the
+ * request threads, so the stub handles tens of thousands of messages per second on a laptop. The stub enables
+ * {@code TCP_NODELAY} of the JDK HTTP server by setting {@code sun.net.httpserver.nodelay}, unless it has been set.
+ * <p>Example:
+ * <pre>
+ * {@code
+ * try(StubGateway stub = new StubGateway.Builder().
+ * 		withLatency(Latency.logNormal(20, 200, TimeUnit.MILLISECONDS)).
+ * 		withMessageStatus(0.01, 4, "Invalid recipient").
+ * 		withFault(0.001, 503, 1001, "Service unavailable").
+ * 		build()) {
+ * 	GatewayClient gatewayClient = new GatewayClientBuilder().
+ * 		withTargetServer(stub.getTarget()).
+ * 		build();
+ * 	...
+ * }
+ * }
+ * </pre>
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+public class StubGateway implements AutoCloseable {
+
+	public static final String PATH = "/gw/rs/sendMessages";
+	public static final int DEFAULT_STATUS_CODE = 1;
+	public static final String DEFAULT_STATUS_MESSAGE = "Message enqueued for sending";
+
+	/**
+	 * Message rate without throttling.
+	 */
+	public static final int NO_THROTTLING = 0;
+
+	private static final String XML = "application/xml";
+	private static final String JSON = "application/json";
+	private static final int BAD_REQUEST = 400;
+	private static final int TOO_MANY_REQUESTS = 429;
+	private static final int INVALID_REQUEST_FAULT_CODE = 1000;
+	private static final int THROTTLED_FAULT_CODE = 1002;
+
+	static {
+		// without TCP_NODELAY the body of each response waits for the delayed ACK of its headers, about 40 ms
+		if(System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	public static class Builder {
+		private InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+		private int threads = Runtime.getRuntime().availableProcessors() * 2;
+		private Latency latency = Latency.none();
+		private final List<Outcome> messageStatuses = new ArrayList<>();
+		private final List<Outcome> faults = new ArrayList<>();
+		private int messagesPerSecond = NO_THROTTLING;
+
+		/**
+		 * <p>Listen on the port of the loopback interface; 0, the default, picks a free port.
+		 * @param port
+		 * @return the updated builder
+		 */
+		public Builder withPort(int port) {
+			if(port < 0 || port > 65535) {
+				throw new IllegalArgumentException("Port must be between 0 and 65535.");
+			}
+			return this.withAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+		}
+
+		/**
+		 * <p>Listen on the address, e.g. on all interfaces to be reached from other hosts.
+		 * @param address
+		 * @return the updated builder
+		 */
+		public Builder withAddress(InetSocketAddress address) {
+			if(address == null) {
+				throw new IllegalArgumentException("Address cannot be null.");
+			}
+			this.address = address;
+			return this;
+		}
+
+		/**
+		 * @param threads the number of threads parsing requests; twice the number of processors by default
+		 * @return the updated builder
+		 */
+		public Builder withThreads(int threads) {
+			if(threads < 1) {
+				throw new IllegalArgumentException("Threads must be at least 1.");
+			}
+			this.threads = threads;
+			return this;
+		}
+
+		/**
+		 * @param latency the distribution of the time before each response; none by default
+		 * @return the updated builder
+		 */
+		public Builder withLatency(Latency latency) {
+			if(latency == null) {
+				throw new IllegalArgumentException("Latency cannot be null.");
+			}
+			this.latency = latency;
+			return this;
+		}
+
+		/**
+		 * <p>Answer a share of the messages with a status code. Messages not covered by any share are answered with
+		 * {@value #DEFAULT_STATUS_CODE}.
+		 * @param rate the share of messages, from 0 to 1
+		 * @param statusCode
+		 * @param statusMessage
+		 * @return the updated builder
+		 */
+		public Builder withMessageStatus(double rate, int statusCode, String statusMessage) {
+			if(statusMessage == null) {
+				throw new IllegalArgumentException("Status message cannot be null.");
+			}
+			add(messageStatuses, new Outcome(rate, 200, statusCode, statusMessage), "message statuses");
+			return this;
+		}
+
+		/**
+		 * <p>Answer a share of the valid requests with an HTTP error status and a fault document.
+		 * @param rate the share of requests, from 0 to 1
+		 * @param httpStatus the HTTP status, e.g. 500 or 503
+		 * @param code the code of the fault document
+		 * @param reason the reason of the fault document
+		 * @return the updated builder
+		 */
+		public Builder withFault(double rate, int httpStatus, int code, String reason) {
+			if(httpStatus < 400 || httpStatus > 599) {
+				throw new IllegalArgumentException("HTTP status must be between 400 and 599.");
+			}
+			if(reason == null) {
+				throw new IllegalArgumentException("Reason cannot be null.");
+			}
+			add(faults, new Outcome(rate, httpStatus, code, reason), "faults");
+			return this;
+		}
+
+		/**
+		 * <p>Answer requests with 429 and {@code Retry-After} while the messages per second exceed the rate.
+		 * The stub admits bursts of up to one second of messages.
+		 * @param messagesPerSecond the highest message rate, or {@link StubGateway#NO_THROTTLING}
+		 * @return the updated builder
+		 */
+		public Builder withThrottling(int messagesPerSecond) {
+			if(messagesPerSecond < 0) {
+				throw new IllegalArgumentException("Messages per second cannot be negative.");
+			}
+			this.messagesPerSecond = messagesPerSecond;
+			return this;
+		}
+
+		/**
+		 * Starts the stub.
+		 *
+		 * @return the started stub
+		 * @throws IOException if the address cannot be bound
+		 */
+		public StubGateway build() throws IOException {
+			return new StubGateway(this);
+		}
+
+		private static void add(List<Outcome> outcomes, Outcome outcome, String name) {
+			if(outcome.rate < 0 || outcome.rate > 1) {
+				throw new IllegalArgumentException("Rate must be between 0 and 1.");
+			}
+			double total = outcome.rate;
+			for(Outcome other : outcomes) {
+				total += other.rate;
+			}
+			if(total > 1) {
+				throw new IllegalArgumentException("The rates of the " + name + " cannot add up to more than 1.");
+			}
+			outcomes.add(outcome);
+		}
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final ScheduledExecutorService scheduler;
+	private final Latency latency;
+	private final Outcome[] messageStatuses;
+	private final Outcome[] faults;
+	private final Throttle throttle;
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong messages = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong throttled = new AtomicLong();
+	private final AtomicLong faulted = new AtomicLong();
+	private final AtomicLong messageIds = new AtomicLong();
+
+	private StubGateway(Builder builder) throws IOException {
+		this.latency = builder.latency;
+		this.messageStatuses = builder.messageStatuses.toArray(new Outcome[builder.messageStatuses.size()]);
+		this.faults = builder.faults.toArray(new Outcome[builder.faults.size()]);
+		this.throttle = builder.messagesPerSecond == NO_THROTTLING ? null : new Throttle(builder.messagesPerSecond);
+		this.server = HttpServer.create(builder.address, 1024);
+		this.executor = Executors.newFixedThreadPool(builder.threads, new DaemonThreadFactory("smsgw-stub-"));
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("smsgw-stub-latency-"));
+		this.server.setExecutor(executor);
+		this.server.createContext(PATH, new SendMessagesHandler());
+		this.server.start();
+	}
+
+	/**
+	 * @return the port the stub listens on
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * @return the target server URL to send to, without the path
+	 */
+	public String getTarget() {
+		return "http://" + server.getAddress().getHostString() + ":" + this.getPort();
+	}
+
+	/**
+	 * @return the number of requests received
+	 */
+	public long getRequests() {
+		return requests.get();
+	}
+
+	/**
+	 * @return the number of messages answered with message statuses
+	 */
+	public long getMessages() {
+		return messages.get();
+	}
+
+	/**
+	 * @return the number of requests answered with 400 because they were invalid
+	 */
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	/**
+	 * @return the number of requests answered with 429
+	 */
+	public long getThrottled() {
+		return throttled.get();
+	}
+
+	/**
+	 * @return the number of requests answered with a configured fault
+	 */
+	public long getFaulted() {
+		return faulted.get();
+	}
+
+	/**
+	 * Stops the stub. Responses still waiting for their latency are not sent.
+	 */
+	@Override
+	public void close() {
+		server.stop(0);
+		scheduler.shutdownNow();
+		executor.shutdownNow();
+	}
+
+	private final class SendMessagesHandler implements HttpHandler {
+		@Override
+		public void handle(HttpExchange exchange) throws IOException {
+			requests.incrementAndGet();
+			if(!"POST".equals(exchange.getRequestMethod())) {
+				exchange.getResponseHeaders().set("Allow", "POST");
+				exchange.sendResponseHeaders(405, -1);
+				exchange.close();
+				return;
+			}
+			boolean json = accepts(exchange, JSON);
+			Documents documents = new Documents(json);
+			StubRequest request;
+			try(InputStream in = entity(exchange)) {
+				request = contentTypeIs(exchange, JSON) ? StubRequest.readJson(in) : StubRequest.readXml(in);
+			} catch(IllegalArgumentException e) {
+				rejected.incrementAndGet();
+				respond(exchange, BAD_REQUEST, json, documents.fault(INVALID_REQUEST_FAULT_CODE, e.getMessage()), 0);
+				return;
+			}
+
+			long delayNanos = latency.nextNanos(ThreadLocalRandom.current());
+			if(throttle != null) {
+				long retryAfterSeconds = throttle.tryAcquire(request.size());
+				if(retryAfterSeconds > 0) {
+					throttled.incrementAndGet();
+					exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+					respond(exchange, TOO_MANY_REQUESTS, json, documents.fault(THROTTLED_FAULT_CODE, "Too many messages."), delayNanos);
+					return;
+				}
+			}
+			Outcome fault = choose(faults);
+			if(fault != null) {
+				faulted.incrementAndGet();
+				respond(exchange, fault.httpStatus, json, documents.fault(fault.code, fault.message), delayNanos);
+				return;
+			}
+
+			String batchReference = request.getBatchReference() != null ? request.getBatchReference() : "stub-" + messageIds.incrementAndGet();
+			documents.beginResponse(batchReference);
+			for(int i = 0; i < request.size(); i++) {
+				Outcome status = choose(messageStatuses);
+				documents.messageStatus(status == null ? DEFAULT_STATUS_CODE : status.code,
+						status == null ? DEFAULT_STATUS_MESSAGE : status.message,
+						request.getClientReference(i), request.getRecipient(i), "stub-" + messageIds.incrementAndGet(), i + 1);
+			}
+			messages.addAndGet(request.size());
+			respond(exchange, 200, json, documents.endResponse(), delayNanos);
+		}
+
+		private void respond(final HttpExchange exchange, final int status, boolean json, final byte[] body, long delayNanos) {
+			exchange.getResponseHeaders().set("Content-Type", json ? JSON : XML);
+			Runnable send = new Runnable() {
+				@Override
+				public void run() {
+					try {
+						exchange.sendResponseHeaders(status, body.length);
+						try(OutputStream out = exchange.getResponseBody()) {
+							out.write(body);
+						}
+					} catch(IOException e) {
+						// the client went away
+					} finally {
+						exchange.close();
+					}
+				}
+			};
+			if(delayNanos <= 0) {
+				send.run();
+			} else {
+				scheduler.schedule(send, delayNanos, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	private static InputStream entity(HttpExchange exchange) throws IOException {
+		InputStream in = exchange.getRequestBody();
+		String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+		if(contentEncoding != null && ("gzip".equalsIgnoreCase(contentEncoding.trim()) || "x-gzip".equalsIgnoreCase(contentEncoding.trim()))) {
+			return new GZIPInputStream(in);
+		}
+		return in;
+	}
+
+	private static boolean contentTypeIs(HttpExchange exchange, String mediaType) {
+		String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+		return contentType != null && contentType.toLowerCase().startsWith(mediaType);
+	}
+
+	/**
+	 * XML unless JSON is accepted and XML is not.
+	 */
+	private static boolean accepts(HttpExchange exchange, String mediaType) {
+		String accept = exchange.getRequestHeaders().getFirst("Accept");
+		if(accept == null) {
+			return contentTypeIs(exchange, mediaType);
+		}
+		accept = accept.toLowerCase();
+		return accept.contains(mediaType) && !accept.contains(XML);
+	}
+
+	private static Outcome choose(Outcome[] outcomes) {
+		if(outcomes.length == 0) {
+			return null;
+		}
+		double random = ThreadLocalRandom.current().nextDouble();
+		for(Outcome outcome : outcomes) {
+			random -= outcome.rate;
+			if(random < 0) {
+				return outcome;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * A share of requests answered with a fault, or of messages answered with a status.
+	 */
+	private static final class Outcome {
+		private final double rate;
+		private final int httpStatus;
+		private final int code;
+		private final String message;
+
+		private Outcome(double rate, int httpStatus, int code, String message) {
+			this.rate = rate;
+			this.httpStatus = httpStatus;
+			this.code = code;
+			this.message = message;
+		}
+	}
+
+	/**
+	 * Token bucket of messages holding up to one second of messages. A request larger than the bucket is admitted
+	 * when the bucket is full, and leaves it in debt.
+	 */
+	private static final class Throttle {
+		private final int messagesPerSecond;
+		private double tokens;
+		private long refilled = System.nanoTime();
+
+		private Throttle(int messagesPerSecond) {
+			this.messagesPerSecond = messagesPerSecond;
+			this.tokens = messagesPerSecond;
+		}
+
+		/**
+		 * @return 0 if the messages are admitted, or else the seconds until they would be
+		 */
+		synchronized long tryAcquire(int messages) {
+			long now = System.nanoTime();
+			tokens = Math.min(messagesPerSecond, tokens + (now - refilled) / 1e9 * messagesPerSecond);
+			refilled = now;
+			double needed = Math.min(messages, messagesPerSecond);
+			if(tokens >= needed) {
+				tokens -= messages;
+				return 0;
+			}
+			return Math.max(1, (long) Math.ceil((needed - tokens) / messagesPerSecond));
+		}
+	}
+
+	private static final class DaemonThreadFactory implements ThreadFactory {
+		private final String prefix;
+		private final AtomicInteger count = new AtomicInteger();
+
+		private DaemonThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	/**
+	 * Writes SMSGateway-2013-02 response and fault documents.
+	 */
+	private static final class Documents {
+		private static final String RESPONSE_NAMESPACE = "http://chimera.intele.com/gw/xsd/SMSGateway/Response/2013/02";
+		private static final String FAULT_NAMESPACE = "http://chimera.intele.com/gw/xsd/SMSGateway/Fault/2013/02";
+
+		private final boolean json;
+		private final StringBuilder out = new StringBuilder(256);
+		private boolean first = true;
+
+		private Documents(boolean json) {
+			this.json = json;
+		}
+
+		void beginResponse(String batchReference) {
+			if(json) {
+				out.append("{\"batchReference\":");
+				this.jsonString(batchReference);
+				out.append(",\"messageStatus\":[");
+			} else {
+				out.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><ns2:response xmlns:ns2=\"")
+						.append(RESPONSE_NAMESPACE).append("\"><batchReference>");
+				this.xmlText(batchReference);
+				out.append("</batchReference>");
+			}
+		}
+
+		void messageStatus(int statusCode, String statusMessage, String clientReference, String recipient, String messageId, int sequenceIndex) {
+			if(json) {
+				out.append(first ? "" : ",").append("{\"statusCode\":").append(statusCode).append(",\"statusMessage\":");
+				this.jsonString(statusMessage);
+				out.append(",\"clientReference\":");
+				this.jsonString(clientReference);
+				out.append(",\"recipient\":");
+				this.jsonString(recipient);
+				out.append(",\"messageId\":");
+				this.jsonString(messageId);
+				out.append(",\"sequenceIndex\":").append(sequenceIndex).append('}');
+			} else {
+				out.append("<messageStatus><statusCode>").append(statusCode).append("</statusCode><statusMessage>");
+				this.xmlText(statusMessage);
+				out.append("</statusMessage><clientReference>");
+				this.xmlText(clientReference);
+				out.append("</clientReference><recipient>");
+				this.xmlText(recipient);
+				out.append("</recipient><messageId>");
+				this.xmlText(messageId);
+				out.append("</messageId><sequenceIndex>").append(sequenceIndex).append("</sequenceIndex></messageStatus>");
+			}
+			first = false;
+		}
+
+		byte[] endResponse() {
+			out.append(json ? "]}" : "</ns2:response>");
+			return out.toString().getBytes(StandardCharsets.UTF_8);
+		}
+
+		byte[] fault(int code, String reason) {
+			out.setLength(0);
+			if(json) {
+				out.append("{\"code\":").append(code).append(",\"reason\":");
+				this.jsonString(reason);
+				out.append('}');
+			} else {
+				out.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><ns2:fault xmlns:ns2=\"")
+						.append(FAULT_NAMESPACE).append("\"><code>").append(code).append("</code><reason>");
+				this.xmlText(reason);
+				out.append("</reason></ns2:fault>");
+			}
+			return out.toString().getBytes(StandardCharsets.UTF_8);
+		}
+
+		private void xmlText(String value) {
+			for(int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				switch(c) {
+				case '&': out.append("&amp;"); break;
+				case '<': out.append("&lt;"); break;
+				case '>': out.append("&gt;"); break;
+				case '\r': out.append("&#xD;"); break;
+				default: out.append(c);
+				}
+			}
+		}
+
+		private void jsonString(String value) {
+			out.append('"');
+			for(int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if(c == '"' || c == '\\') {
+					out.append('\\').append(c);
+				} else if(c < 0x20) {
+					out.append(String.format("\\u%04x", (int) c));
+				} else {
+					out.append(c);
+				}
+			}
+			out.append('"');
+		}
+	}
+}
@@ -0,0 +1,373 @@
+package com.intele.chimera.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * <p>The parts of a SMSGateway-2013-02 request the stub answers with: the service, the batch reference and the
+ * recipient and client reference of every message.
+ * <p>XML requests are read with StAX and JSON requests with a small scanner, both without building an object model
+ * of the request, so that parsing stays cheap at high message rates. Other elements are checked for well-formedness
+ * only.
+ *
+ * @author  gre
+ * @version 1.1		Oct 18, 2026
+ */
+final class StubRequest {
+
+	private static final XMLInputFactory XML_INPUT_FACTORY = xmlInputFactory();
+
+	private int serviceId = -1;
+	private String batchReference;
+	private final List<String> recipients = new ArrayList<>();
+	private final List<String> clientReferences = new ArrayList<>();
+
+	private StubRequest() {
+	}
+
+	int getServiceId() {
+		return serviceId;
+	}
+
+	String getBatchReference() {
+		return batchReference;
+	}
+
+	int size() {
+		return recipients.size();
+	}
+
+	String getRecipient(int index) {
+		return recipients.get(index);
+	}
+
+	String getClientReference(int index) {
+		return clientReferences.get(index);
+	}
+
+	/**
+	 * @param in the request entity
+	 * @return the request
+	 * @throws IllegalArgumentException if the entity is not a valid request
+	 * @throws IOException
+	 */
+	static StubRequest readXml(InputStream in) throws IOException {
+		StubRequest request = new StubRequest();
+		try {
+			XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+			try {
+				if(reader.nextTag() != XMLStreamConstants.START_ELEMENT || !"request".equals(reader.getLocalName())) {
+					throw new IllegalArgumentException("Expected a request element.");
+				}
+				request.readXmlRequest(reader);
+			} finally {
+				reader.close();
+			}
+		} catch(XMLStreamException e) {
+			throw new IllegalArgumentException("Malformed request: " + e.getMessage(), e);
+		}
+		return request.validated();
+	}
+
+	/**
+	 * @param in the request entity
+	 * @return the request
+	 * @throws IllegalArgumentException if the entity is not a valid request
+	 * @throws IOException
+	 */
+	static StubRequest readJson(InputStream in) throws IOException {
+		StubRequest request = new StubRequest();
+		JsonScanner json = new JsonScanner(readFully(in));
+		json.expect('{');
+		if(!json.tryConsume('}')) {
+			do {
+				String name = json.readString();
+				json.expect(':');
+				if("serviceId".equals(name)) {
+					request.serviceId = json.readInt();
+				} else if("batchReference".equals(name)) {
+					request.batchReference = json.readString();
+				} else if("message".equals(name)) {
+					request.readJsonMessages(json);
+				} else {
+					json.skipValue();
+				}
+			} while(json.tryConsume(','));
+			json.expect('}');
+		}
+		json.expectEnd();
+		return request.validated();
+	}
+
+	private void readXmlRequest(XMLStreamReader reader) throws XMLStreamException {
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			String name = reader.getLocalName();
+			if("serviceId".equals(name)) {
+				serviceId = parseInt(reader.getElementText());
+			} else if("batchReference".equals(name)) {
+				batchReference = reader.getElementText();
+			} else if("message".equals(name)) {
+				this.readXmlMessage(reader);
+			} else {
+				skipElement(reader);
+			}
+		}
+	}
+
+	private void readXmlMessage(XMLStreamReader reader) throws XMLStreamException {
+		String recipient = null;
+		String clientReference = null;
+		boolean content = false;
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			String name = reader.getLocalName();
+			if("recipient".equals(name)) {
+				recipient = reader.getElementText();
+			} else if("clientReference".equals(name)) {
+				clientReference = reader.getElementText();
+			} else if("content".equals(name)) {
+				reader.getElementText();
+				content = true;
+			} else {
+				skipElement(reader);
+			}
+		}
+		this.addMessage(recipient, content, clientReference);
+	}
+
+	private void readJsonMessages(JsonScanner json) {
+		if(!json.tryConsume('[')) {
+			this.readJsonMessage(json);
+			return;
+		}
+		if(!json.tryConsume(']')) {
+			do {
+				this.readJsonMessage(json);
+			} while(json.tryConsume(','));
+			json.expect(']');
+		}
+	}
+
+	private void readJsonMessage(JsonScanner json) {
+		String recipient = null;
+		String clientReference = null;
+		boolean content = false;
+		json.expect('{');
+		if(!json.tryConsume('}')) {
+			do {
+				String name = json.readString();
+				json.expect(':');
+				if("recipient".equals(name)) {
+					recipient = json.readString();
+				} else if("clientReference".equals(name)) {
+					clientReference = json.readString();
+				} else if("content".equals(name)) {
+					json.readString();
+					content = true;
+				} else {
+					json.skipValue();
+				}
+			} while(json.tryConsume(','));
+			json.expect('}');
+		}
+		this.addMessage(recipient, content, clientReference);
+	}
+
+	private void addMessage(String recipient, boolean content, String clientReference) {
+		if(recipient == null || !content) {
+			throw new IllegalArgumentException("Message " + (recipients.size() + 1) + " must have a recipient and content.");
+		}
+		recipients.add(recipient);
+		clientReferences.add(clientReference == null ? "" : clientReference);
+	}
+
+	private StubRequest validated() {
+		if(serviceId < 0) {
+			throw new IllegalArgumentException("Request must have a serviceId.");
+		}
+		if(recipients.isEmpty()) {
+			throw new IllegalArgumentException("Request must have at least one message.");
+		}
+		return this;
+	}
+
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		for(int depth = 1; depth > 0;) {
+			int event = reader.next();
+			if(event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if(event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	private static int parseInt(String value) {
+		try {
+			return Integer.parseInt(value.trim());
+		} catch(NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid number " + value + ".", e);
+		}
+	}
+
+	private static char[] readFully(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+		byte[] buffer = new byte[8192];
+		for(int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+			out.write(buffer, 0, read);
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8).toCharArray();
+	}
+
+	private static XMLInputFactory xmlInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		return factory;
+	}
+
+	/**
+	 * Reads the tokens of a JSON document, skipping the values that are not needed.
+	 */
+	private static final class JsonScanner {
+		private final char[] chars;
+		private int position;
+
+		private JsonScanner(char[] chars) {
+			this.chars = chars;
+		}
+
+		void expect(char c) {
+			if(!this.tryConsume(c)) {
+				throw this.syntaxError("Expected '" + c + "'");
+			}
+		}
+
+		boolean tryConsume(char c) {
+			this.skipWhitespace();
+			if(position < chars.length && chars[position] == c) {
+				position++;
+				return true;
+			}
+			return false;
+		}
+
+		void expectEnd() {
+			this.skipWhitespace();
+			if(position != chars.length) {
+				throw this.syntaxError("Expected the end of the document");
+			}
+		}
+
+		String readString() {
+			this.expect('"');
+			StringBuilder value = null;
+			int start = position;
+			while(position < chars.length) {
+				char c = chars[position++];
+				if(c == '"') {
+					return value == null ? new String(chars, start, position - 1 - start) :
+							value.append(chars, start, position - 1 - start).toString();
+				}
+				if(c == '\\') {
+					if(value == null) {
+						value = new StringBuilder();
+					}
+					value.append(chars, start, position - 1 - start).append(this.readEscape());
+					start = position;
+				}
+			}
+			throw this.syntaxError("Unterminated string");
+		}
+
+		int readInt() {
+			this.skipWhitespace();
+			int start = position;
+			if(position < chars.length && chars[position] == '-') {
+				position++;
+			}
+			while(position < chars.length && chars[position] >= '0' && chars[position] <= '9') {
+				position++;
+			}
+			return parseInt(new String(chars, start, position - start));
+		}
+
+		void skipValue() {
+			this.skipWhitespace();
+			if(position >= chars.length) {
+				throw this.syntaxError("Expected a value");
+			}
+			char c = chars[position];
+			if(c == '"') {
+				this.readString();
+			} else if(c == '{' || c == '[') {
+				char end = c == '{' ? '}' : ']';
+				position++;
+				if(!this.tryConsume(end)) {
+					do {
+						if(c == '{') {
+							this.readString();
+							this.expect(':');
+						}
+						this.skipValue();
+					} while(this.tryConsume(','));
+					this.expect(end);
+				}
+			} else {
+				int start = position;
+				while(position < chars.length && "-+.eE0123456789truefalsn".indexOf(chars[position]) >= 0) {
+					position++;
+				}
+				if(position == start) {
+					throw this.syntaxError("Unexpected character '" + c + "'");
+				}
+			}
+		}
+
+		private char readEscape() {
+			if(position >= chars.length) {
+				throw this.syntaxError("Unterminated escape");
+			}
+			char c = chars[position++];
+			switch(c) {
+			case 'b': return '\b';
+			case 'f': return '\f';
+			case 'n': return '\n';
+			case 'r': return '\r';
+			case 't': return '\t';
+			case 'u':
+				if(position + 4 > chars.length) {
+					throw this.syntaxError("Unterminated escape");
+				}
+				try {
+					char unicode = (char) Integer.parseInt(new String(chars, position, 4), 16);
+					position += 4;
+					return unicode;
+				} catch(NumberFormatException e) {
+					throw this.syntaxError("Invalid escape");
+				}
+			default:
+				return c;
+			}
+		}
+
+		private void skipWhitespace() {
+			while(position < chars.length && (chars[position] == ' ' || chars[position] == '\n' || chars[position] == '\r' || chars[position] == '\t')) {
+				position++;
+			}
+		}
+
+		private IllegalArgumentException syntaxError(String message) {
+			return new IllegalArgumentException("Malformed request: " + message + " at character " + position + ".");
+		}
+	}
+}
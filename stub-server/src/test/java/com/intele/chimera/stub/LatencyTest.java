@@ -0,0 +1,44 @@
+package com.intele.chimera.stub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LatencyTest {
+
+	private final Random random = new Random(42);
+
+	@Test
+	public void uniformLatencyShouldStayWithinBounds() {
+		Latency latency = Latency.uniform(10, 20, TimeUnit.MILLISECONDS);
+		for(int i = 0; i < 1000; i++) {
+			assertThat(latency.nextNanos(random)).isBetween(TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(20));
+		}
+	}
+
+	@Test
+	public void logNormalLatencyShouldHaveTheMedianAndTail() {
+		Latency latency = Latency.logNormal(20, 200, TimeUnit.MILLISECONDS);
+		long[] samples = new long[100000];
+		for(int i = 0; i < samples.length; i++) {
+			samples[i] = latency.nextNanos(random);
+		}
+		Arrays.sort(samples);
+
+		assertThat(TimeUnit.NANOSECONDS.toMillis(samples[samples.length / 2])).isBetween(19L, 21L);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(samples[samples.length * 99 / 100])).isBetween(180L, 220L);
+	}
+
+	@Test
+	public void latencyCannotBeNegative() {
+		try {
+			Latency.fixed(-1, TimeUnit.MILLISECONDS);
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+}
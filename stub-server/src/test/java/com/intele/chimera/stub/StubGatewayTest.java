@@ -0,0 +1,197 @@
+package com.intele.chimera.stub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+
+import com.intele.chimera.client.GatewayClient;
+import com.intele.chimera.client.GatewayClientBuilder;
+import com.intele.chimera.client.impl.GatewayFaults;
+import com.intele.chimera.client.impl.HttpUrlConnectionTransport;
+import com.intele.chimera.client.request.GatewayRequest;
+import com.intele.chimera.client.request.Sms;
+import com.intele.chimera.gw.xsd.smsgateway.fault._2013._02.Fault;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.MessageStatus;
+import com.intele.chimera.gw.xsd.smsgateway.response._2013._02.Response;
+
+public class StubGatewayTest {
+
+	@Test
+	public void shouldAnswerEveryMessageAsXml() throws Exception {
+		try(StubGateway stub = new StubGateway.Builder().build();
+				GatewayClient gatewayClient = client(stub, MediaType.APPLICATION_XML_TYPE)) {
+			Response response = gatewayClient.send(request(3, "batch-1"));
+
+			assertThat(response.getBatchReference()).isEqualTo("batch-1");
+			assertThat(response.getMessageStatus()).hasSize(3);
+			MessageStatus status = response.getMessageStatus().get(2);
+			assertThat(status.getStatusCode()).isEqualTo(StubGateway.DEFAULT_STATUS_CODE);
+			assertThat(status.getStatusMessage()).isEqualTo(StubGateway.DEFAULT_STATUS_MESSAGE);
+			assertThat(status.getClientReference()).isEqualTo("ref-2");
+			assertThat(status.getRecipient()).isEqualTo("+4741000002");
+			assertThat(status.getMessageId()).startsWith("stub-");
+			assertThat(status.getSequenceIndex()).isEqualTo(3);
+			assertThat(stub.getRequests()).isEqualTo(1);
+			assertThat(stub.getMessages()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	public void shouldAnswerJsonAndCompressedRequests() throws Exception {
+		try(StubGateway stub = new StubGateway.Builder().build();
+				GatewayClient jsonClient = client(stub, MediaType.APPLICATION_JSON_TYPE);
+				GatewayClient compressingClient = new GatewayClientBuilder().
+						withTargetServer(stub.getTarget()).
+						withTransport(new HttpUrlConnectionTransport.Factory().withRequestCompression(0)).
+						build()) {
+			Response response = jsonClient.send(request(2, null));
+			assertThat(response.getBatchReference()).startsWith("stub-");
+			assertThat(response.getMessageStatus()).hasSize(2);
+			assertThat(response.getMessageStatus().get(1).getClientReference()).isEqualTo("ref-1");
+
+			assertThat(compressingClient.send(request(2, "batch")).getMessageStatus()).hasSize(2);
+		}
+	}
+
+	@Test
+	public void shouldAnswerSharesOfMessagesWithOtherStatuses() throws Exception {
+		try(StubGateway stub = new StubGateway.Builder().withMessageStatus(1, 4, "Invalid recipient").build();
+				GatewayClient gatewayClient = client(stub, MediaType.APPLICATION_XML_TYPE)) {
+			for(MessageStatus status : gatewayClient.send(request(5, "batch")).getMessageStatus()) {
+				assertThat(status.getStatusCode()).isEqualTo(4);
+				assertThat(status.getStatusMessage()).isEqualTo("Invalid recipient");
+			}
+		}
+	}
+
+	@Test
+	public void shouldAnswerFaults() throws Exception {
+		try(StubGateway stub = new StubGateway.Builder().withFault(1, 503, 1001, "Try again").build();
+				GatewayClient xmlClient = client(stub, MediaType.APPLICATION_XML_TYPE);
+				GatewayClient jsonClient = client(stub, MediaType.APPLICATION_JSON_TYPE)) {
+			for(GatewayClient gatewayClient : new GatewayClient[] {xmlClient, jsonClient}) {
+				try {
+					gatewayClient.send(request(1, "batch"));
+					failBecauseExceptionWasNotThrown(ServiceUnavailableException.class);
+				} catch(ServiceUnavailableException expected) {
+					Fault fault = GatewayFaults.of(expected);
+					assertThat(fault.getCode()).isEqualTo(1001);
+					assertThat(fault.getReason()).isEqualTo("Try again");
+				}
+			}
+			assertThat(stub.getFaulted()).isEqualTo(2);
+			assertThat(stub.getMessages()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void shouldThrottleAboveTheMessageRate() throws Exception {
+		try(StubGateway stub = new StubGateway.Builder().withThrottling(5).build()) {
+			String request = "<request><serviceId>1</serviceId><username>u</username><password>p</password>" +
+					"<message><recipient>+4741000000</recipient><content>c</content></message></request>";
+			for(int i = 0; i < 5; i++) {
+				assertThat(post(stub, request).getResponseCode()).isEqualTo(200);
+			}
+			HttpURLConnection connection = post(stub, request);
+
+			assertThat(connection.getResponseCode()).isEqualTo(429);
+			assertThat(connection.getHeaderField("Retry-After")).isEqualTo("1");
+			assertThat(read(connection.getErrorStream())).contains("<code>1002</code>");
+			assertThat(stub.getThrottled()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void shouldRejectInvalidRequests() throws Exception {
+		try(StubGateway stub = new StubGateway.Builder().build()) {
+			String request = "<request><serviceId>1</serviceId><username>u</username><password>p</password></request>";
+			HttpURLConnection connection = post(stub, request);
+
+			assertThat(connection.getResponseCode()).isEqualTo(400);
+			assertThat(read(connection.getErrorStream())).contains("<code>1000</code>").contains("at least one message");
+			assertThat(stub.getRejected()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void shouldDelayResponsesWithoutHoldingRequestThreads() throws Exception {
+		try(StubGateway stub = new StubGateway.Builder().withThreads(1).withLatency(Latency.fixed(200, TimeUnit.MILLISECONDS)).build();
+				GatewayClient gatewayClient = client(stub, MediaType.APPLICATION_XML_TYPE)) {
+			long start = System.nanoTime();
+			List<Future<Response>> responses = new ArrayList<>();
+			for(int i = 0; i < 5; i++) {
+				responses.add(gatewayClient.sendAsync(request(1, "batch")));
+			}
+			for(Future<Response> response : responses) {
+				assertThat(response.get(5, TimeUnit.SECONDS).getMessageStatus()).hasSize(1);
+			}
+			long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			assertThat(elapsedMillis).isGreaterThanOrEqualTo(200).isLessThan(900);
+		}
+	}
+
+	@Test
+	public void ratesCannotAddUpToMoreThanOne() {
+		try {
+			new StubGateway.Builder().withFault(0.6, 500, 1, "a").withFault(0.6, 503, 2, "b");
+			failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+		} catch(IllegalArgumentException expected) { }
+	}
+
+	private static GatewayClient client(StubGateway stub, MediaType mediaType) {
+		return new GatewayClientBuilder().
+				withTargetServer(stub.getTarget()).
+				withMediaType(mediaType).
+				withTransport(new HttpUrlConnectionTransport.Factory()).
+				build();
+	}
+
+	private static GatewayRequest request(int messages, String batchReference) {
+		GatewayRequest.Builder builder = new GatewayRequest.Builder(1, "username", "password");
+		if(batchReference != null) {
+			builder.withBatchReference(batchReference);
+		}
+		GatewayRequest gatewayRequest = builder.build();
+		for(int i = 0; i < messages; i++) {
+			gatewayRequest.addMessage(new Sms.Builder("+474100000" + i, "Message & <content> " + i).withClientReference("ref-" + i).build());
+		}
+		return gatewayRequest;
+	}
+
+	private static HttpURLConnection post(StubGateway stub, String body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(stub.getTarget() + StubGateway.PATH).openConnection();
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		connection.setRequestProperty("Content-Type", "application/xml");
+		try(OutputStream out = connection.getOutputStream()) {
+			out.write(body.getBytes(StandardCharsets.UTF_8));
+		}
+		return connection;
+	}
+
+	private static String read(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		for(int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+			out.write(buffer, 0, read);
+		}
+		in.close();
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,75 @@
+package com.intele.chimera.stub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class StubRequestTest {
+
+	@Test
+	public void shouldReadXmlRequests() throws IOException {
+		StubRequest request = StubRequest.readXml(stream(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+				"<ns2:request xmlns:ns2=\"http://chimera.intele.com/gw/xsd/SMSGateway/Request/2013/02\">" +
+				"<serviceId>7</serviceId><username>u</username><password>p</password><batchReference>b</batchReference>" +
+				"<message><recipient>+4741000000</recipient><content>a &amp; b</content><clientReference>r1</clientReference>" +
+				"<settings><sessionId>s</sessionId><parameter><key>k</key><value>v</value></parameter></settings></message>" +
+				"<message><recipient>+4741000001</recipient><content><![CDATA[<c>]]></content></message>" +
+				"</ns2:request>"));
+
+		assertThat(request.getServiceId()).isEqualTo(7);
+		assertThat(request.getBatchReference()).isEqualTo("b");
+		assertThat(request.size()).isEqualTo(2);
+		assertThat(request.getRecipient(0)).isEqualTo("+4741000000");
+		assertThat(request.getClientReference(0)).isEqualTo("r1");
+		assertThat(request.getRecipient(1)).isEqualTo("+4741000001");
+		assertThat(request.getClientReference(1)).isEmpty();
+	}
+
+	@Test
+	public void shouldReadJsonRequests() throws IOException {
+		StubRequest request = StubRequest.readJson(stream(
+				"{\"serviceId\":7,\"username\":\"u\",\"password\":\"p\",\"message\":[" +
+				"{\"recipient\":\"+4741000000\",\"content\":\"a \\\"b\\\" \\u00e6\",\"clientReference\":\"r1\"," +
+				"\"settings\":{\"priority\":1,\"newSession\":true,\"parameter\":[{\"key\":\"k\",\"value\":\"v\"}]}}," +
+				"{\"content\":\"c\",\"recipient\":\"+4741000001\"}]}"));
+
+		assertThat(request.getServiceId()).isEqualTo(7);
+		assertThat(request.getBatchReference()).isNull();
+		assertThat(request.size()).isEqualTo(2);
+		assertThat(request.getClientReference(0)).isEqualTo("r1");
+		assertThat(request.getRecipient(1)).isEqualTo("+4741000001");
+	}
+
+	@Test
+	public void shouldRejectInvalidRequests() throws IOException {
+		String[] invalid = {
+				"<request><serviceId>1</serviceId></request>",
+				"<request><serviceId>1</serviceId><message><recipient>+47</recipient></message></request>",
+				"<request><message><recipient>+47</recipient><content>c</content></message></request>",
+				"<request><serviceId>x</serviceId>",
+				"<response/>"
+		};
+		for(String xml : invalid) {
+			try {
+				StubRequest.readXml(stream(xml));
+				failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+			} catch(IllegalArgumentException expected) { }
+		}
+		for(String json : new String[] {"{\"serviceId\":1,\"message\":[]}", "{\"serviceId\":1,", "[]"}) {
+			try {
+				StubRequest.readJson(stream(json));
+				failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+			} catch(IllegalArgumentException expected) { }
+		}
+	}
+
+	private static ByteArrayInputStream stream(String value) {
+		return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+	}
+}